@@ -0,0 +1,109 @@
+package cn.itcast.hotel.benchmark;
+
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.service.impl.HotelSearchRequests;
+import com.alibaba.fastjson.JSON;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 搜索热点路径的基准：组装DSL、解析列表响应、Hotel转HotelDoc、解析聚合
+ * 响应都来自fixtures里录制的JSON，完全离线运行
+ *
+ * mvn -P benchmark verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class HotelSearchBenchmark {
+
+    private RequestParams fullParams;
+    private RequestParams locationParams;
+    private SearchResponse pageResponse;
+    private Aggregations aggregations;
+    private List<Hotel> hotels;
+
+    @Setup
+    public void setup() {
+        fullParams = new RequestParams();
+        fullParams.setKey("如家");
+        fullParams.setPage(3);
+        fullParams.setSize(10);
+        fullParams.setCity("上海");
+        fullParams.setBrand("如家");
+        fullParams.setStarName("二钻");
+        fullParams.setMinPrice(300);
+        fullParams.setMaxPrice(600);
+
+        locationParams = new RequestParams();
+        locationParams.setPage(1);
+        locationParams.setSize(10);
+        locationParams.setLocation("31.21, 121.5");
+
+        pageResponse = SearchResponseFixtures.searchResponse("search-page.json");
+        aggregations = SearchResponseFixtures.searchResponse("search-filters.json").getAggregations();
+        hotels = SearchResponseFixtures.hotels("hotels.json");
+    }
+
+    @Benchmark
+    public SearchRequest builderBasicQuery() {
+        SearchRequest request = new SearchRequest("hotel");
+        HotelSearchRequests.builderBasicQuery(fullParams, request);
+        return request;
+    }
+
+    @Benchmark
+    public PageResult handleResponse() {
+        return HotelSearchRequests.handleResponse(pageResponse, locationParams);
+    }
+
+    /**
+     * 原来getSourceAsString() + fastjson的解析方式，作为handleResponse的对照
+     */
+    @Benchmark
+    public void decodeWithFastjson(Blackhole bh) {
+        for (SearchHit hit : pageResponse.getHits().getHits()) {
+            bh.consume(JSON.parseObject(hit.getSourceAsString(), HotelDoc.class));
+        }
+    }
+
+    @Benchmark
+    public void hotelDocFromHotel(Blackhole bh) {
+        for (Hotel hotel : hotels) {
+            bh.consume(new HotelDoc(hotel));
+        }
+    }
+
+    @Benchmark
+    public void getAggByName(Blackhole bh) {
+        List<FacetBucket> brands = HotelSearchRequests.getAggByName(aggregations, "brandAgg");
+        List<FacetBucket> cities = HotelSearchRequests.getAggByName(aggregations, "cityAgg");
+        List<FacetBucket> stars = HotelSearchRequests.getAggByName(aggregations, "starNameAgg");
+        bh.consume(brands);
+        bh.consume(cities);
+        bh.consume(stars);
+    }
+}
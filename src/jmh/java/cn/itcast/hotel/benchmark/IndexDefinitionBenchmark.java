@@ -0,0 +1,295 @@
+package cn.itcast.hotel.benchmark;
+
+import cn.itcast.hotel.index.IndexDefinition;
+import cn.itcast.hotel.index.IndexDefinitions;
+import cn.itcast.hotel.pojo.Hotel;
+import com.alibaba.fastjson.JSONObject;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.FieldType;
+import org.apache.lucene.document.IntPoint;
+import org.apache.lucene.document.LatLonDocValuesField;
+import org.apache.lucene.document.LatLonPoint;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.SortedDocValuesField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.index.DocValues;
+import org.apache.lucene.index.IndexOptions;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.LeafReaderContext;
+import org.apache.lucene.index.NoMergePolicy;
+import org.apache.lucene.index.OrdinalMap;
+import org.apache.lucene.index.SortedDocValues;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.search.ConstantScoreQuery;
+import org.apache.lucene.search.DocIdSetIterator;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreMode;
+import org.apache.lucene.search.Scorer;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldCollector;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.Weight;
+import org.apache.lucene.store.ByteBuffersDirectory;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.util.BytesRef;
+import org.apache.lucene.util.packed.PackedInts;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 不同版本索引定义的对比，每加一个定义版本就把版本号加进version参数
+ * 没有ES，按定义里的mapping和索引排序在内存里建一个同样结构的Lucene索引：
+ * 1.cityTopByScore：限定城市按评分取前10，和ES收到的排序一致(city, score, id)，有索引排序时每个段取够就结束
+ * 2.facetsAfterRefresh：刷新后第一次按品牌、城市、星级聚合；eager_global_ordinals把全局序号的构建挪到刷新时
+ * 3.buildIndex：导入全部文档的耗时，索引排序会让写入变慢
+ *
+ * mvn -P benchmark verify
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class IndexDefinitionBenchmark {
+    private static final String[] CITIES = {"上海", "北京", "深圳", "杭州", "广州", "成都", "武汉", "西安"};
+    private static final String[] STARS = {"一钻", "二钻", "三钻", "四钻", "五钻", "二星", "三星", "四星", "五星"};
+    private static final String[] FACETS = {"brand", "city", "starName"};
+    /**
+     * 和ES默认的track_total_hits一致，数够这么多以后才允许提前结束
+     */
+    private static final int TOTAL_HITS_THRESHOLD = 10_000;
+    private static final int SEGMENT_DOCS = 20_000;
+
+    @Param({"1", "2"})
+    public int version;
+    @Param({"200000"})
+    public int docs;
+
+    private IndexDefinition definition;
+    private List<Document> documents;
+    private Directory directory;
+    private DirectoryReader reader;
+    private IndexSearcher searcher;
+    private Query cityQuery;
+    private Sort cityScoreSort;
+    /**
+     * 定义了eager_global_ordinals的字段，刷新时已经建好的全局序号
+     */
+    private final Map<String, OrdinalMap> eagerOrdinals = new HashMap<>();
+
+    @Setup
+    public void setup() throws IOException {
+        definition = IndexDefinitions.get(version);
+        documents = documents(SearchResponseFixtures.hotels("hotels.json"));
+        directory = build();
+        reader = DirectoryReader.open(directory);
+        searcher = new IndexSearcher(reader);
+        cityQuery = new ConstantScoreQuery(new TermQuery(new Term("city", "上海")));
+        cityScoreSort = new Sort(
+                new SortField("city", SortField.Type.STRING),
+                new SortField("score", SortField.Type.INT, true),
+                new SortField("id", SortField.Type.STRING));
+        for (String field : FACETS) {
+            if (definition.eagerGlobalOrdinals(field)) {
+                eagerOrdinals.put(field, ordinalMap(field));
+            }
+        }
+    }
+
+    @TearDown
+    public void tearDown() throws IOException {
+        reader.close();
+        directory.close();
+    }
+
+    @Benchmark
+    public TopFieldDocs cityTopByScore() throws IOException {
+        TopFieldCollector collector = TopFieldCollector.create(cityScoreSort, 10, TOTAL_HITS_THRESHOLD);
+        searcher.search(cityQuery, collector);
+        return collector.topDocs();
+    }
+
+    @Benchmark
+    public int[][] facetsAfterRefresh() throws IOException {
+        Weight weight = searcher.createWeight(searcher.rewrite(cityQuery), ScoreMode.COMPLETE_NO_SCORES, 1);
+        int[][] counts = new int[FACETS.length][];
+        for (int f = 0; f < FACETS.length; f++) {
+            OrdinalMap ordinals = eagerOrdinals.get(FACETS[f]);
+            if (ordinals == null) {
+                //没有eager_global_ordinals时，刷新后的第一个聚合请求现场构建
+                ordinals = ordinalMap(FACETS[f]);
+            }
+            counts[f] = new int[(int) ordinals.getValueCount()];
+            for (LeafReaderContext leaf : reader.leaves()) {
+                Scorer scorer = weight.scorer(leaf);
+                if (scorer == null) {
+                    continue;
+                }
+                SortedDocValues values = DocValues.getSorted(leaf.reader(), FACETS[f]);
+                DocIdSetIterator docs = scorer.iterator();
+                for (int doc = docs.nextDoc(); doc != DocIdSetIterator.NO_MORE_DOCS; doc = docs.nextDoc()) {
+                    if (values.advanceExact(doc)) {
+                        counts[f][(int) ordinals.getGlobalOrds(leaf.ord).get(values.ordValue())]++;
+                    }
+                }
+            }
+        }
+        return counts;
+    }
+
+    @Benchmark
+    @BenchmarkMode(Mode.SingleShotTime)
+    @OutputTimeUnit(TimeUnit.MILLISECONDS)
+    @Measurement(iterations = 5)
+    public long buildIndex() throws IOException {
+        try (Directory built = build()) {
+            return built.listAll().length;
+        }
+    }
+
+    private OrdinalMap ordinalMap(String field) throws IOException {
+        SortedDocValues[] values = new SortedDocValues[reader.leaves().size()];
+        for (LeafReaderContext leaf : reader.leaves()) {
+            values[leaf.ord] = DocValues.getSorted(leaf.reader(), field);
+        }
+        return OrdinalMap.build(null, values, PackedInts.DEFAULT);
+    }
+
+    /**
+     * 每SEGMENT_DOCS条一个段，不合并，模拟持续写入时的多段索引
+     */
+    private Directory build() throws IOException {
+        Directory directory = new ByteBuffersDirectory();
+        IndexWriterConfig config = new IndexWriterConfig(new StandardAnalyzer())
+                .setMergePolicy(NoMergePolicy.INSTANCE)
+                .setMaxBufferedDocs(SEGMENT_DOCS)
+                .setRAMBufferSizeMB(IndexWriterConfig.DISABLE_AUTO_FLUSH);
+        List<String[]> indexSort = definition.indexSort();
+        if (!indexSort.isEmpty()) {
+            SortField[] fields = new SortField[indexSort.size()];
+            for (int i = 0; i < fields.length; i++) {
+                String field = indexSort.get(i)[0];
+                boolean reverse = "desc".equals(indexSort.get(i)[1]);
+                String type = definition.field(field).getString("type");
+                fields[i] = "keyword".equals(type)
+                        ? new SortField(field, SortField.Type.STRING, reverse)
+                        : new SortField(field, SortField.Type.INT, reverse);
+            }
+            config.setIndexSort(new Sort(fields));
+        }
+        try (IndexWriter writer = new IndexWriter(directory, config)) {
+            for (Document document : documents) {
+                writer.addDocument(document);
+            }
+            writer.commit();
+        }
+        return directory;
+    }
+
+    /**
+     * 按定义里每个字段的类型、index、doc_values、norms、copy_to生成Lucene字段
+     */
+    private List<Document> documents(List<Hotel> fixtures) {
+        Random random = new Random(42);
+        List<Document> result = new ArrayList<>(docs);
+        for (int i = 0; i < docs; i++) {
+            Hotel hotel = fixtures.get(i % fixtures.size());
+            Map<String, Object> values = new HashMap<>();
+            values.put("id", String.valueOf(i + 1));
+            values.put("name", hotel.getName());
+            values.put("address", hotel.getAddress());
+            values.put("price", 100 + random.nextInt(900));
+            values.put("score", 35 + random.nextInt(15));
+            values.put("rankScore", (35 + random.nextInt(15)) / 50.0);
+            values.put("brand", hotel.getBrand() + random.nextInt(20));
+            values.put("city", CITIES[random.nextInt(CITIES.length)]);
+            values.put("starName", STARS[random.nextInt(STARS.length)]);
+            values.put("business", hotel.getBusiness());
+            values.put("location", new double[]{31 + random.nextDouble(), 121 + random.nextDouble()});
+            values.put("pic", hotel.getPic());
+
+            Document document = new Document();
+            for (String field : definition.fields()) {
+                Object value = values.get(field);
+                if (value == null) {
+                    continue;
+                }
+                add(document, field, value);
+                JSONObject mapping = definition.field(field);
+                if (mapping.get("copy_to") != null) {
+                    add(document, mapping.getString("copy_to"), value);
+                }
+            }
+            result.add(document);
+        }
+        return result;
+    }
+
+    private void add(Document document, String field, Object value) {
+        String type = definition.field(field).getString("type");
+        boolean indexed = definition.indexed(field);
+        boolean docValues = definition.docValues(field);
+        switch (type) {
+            case "keyword":
+                if (indexed) {
+                    document.add(new StringField(field, value.toString(), Field.Store.NO));
+                }
+                if (docValues) {
+                    document.add(new SortedDocValuesField(field, new BytesRef(value.toString())));
+                }
+                break;
+            case "text":
+                FieldType text = new FieldType();
+                text.setIndexOptions(IndexOptions.DOCS_AND_FREQS_AND_POSITIONS);
+                text.setTokenized(true);
+                text.setOmitNorms(!definition.norms(field));
+                text.freeze();
+                document.add(new Field(field, value.toString(), text));
+                break;
+            case "geo_point":
+                double[] point = (double[]) value;
+                document.add(new LatLonPoint(field, point[0], point[1]));
+                document.add(new LatLonDocValuesField(field, point[0], point[1]));
+                break;
+            case "scaled_float":
+                if (docValues) {
+                    document.add(new NumericDocValuesField(field, Math.round(((Number) value).doubleValue() * 1000)));
+                }
+                break;
+            default:
+                int number = ((Number) value).intValue();
+                if (indexed) {
+                    document.add(new IntPoint(field, number));
+                }
+                if (docValues) {
+                    document.add(new NumericDocValuesField(field, number));
+                }
+        }
+    }
+}
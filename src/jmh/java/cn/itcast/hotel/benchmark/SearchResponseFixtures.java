@@ -0,0 +1,79 @@
+package cn.itcast.hotel.benchmark;
+
+import cn.itcast.hotel.pojo.Hotel;
+import com.alibaba.fastjson.JSON;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.ParseField;
+import org.elasticsearch.common.xcontent.ContextParser;
+import org.elasticsearch.common.xcontent.DeprecationHandler;
+import org.elasticsearch.common.xcontent.NamedXContentRegistry;
+import org.elasticsearch.common.xcontent.XContentParser;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.search.aggregations.Aggregation;
+import org.elasticsearch.search.aggregations.bucket.terms.LongTerms;
+import org.elasticsearch.search.aggregations.bucket.terms.ParsedLongTerms;
+import org.elasticsearch.search.aggregations.bucket.terms.ParsedStringTerms;
+import org.elasticsearch.search.aggregations.bucket.terms.StringTerms;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 从classpath下fixtures目录读取录制好的ES响应，还原成SearchResponse，不需要连ES
+ */
+public final class SearchResponseFixtures {
+
+    /**
+     * 响应里的聚合带typed_keys前缀（如sterms#brandAgg），解析时按类型找解析器
+     */
+    private static final NamedXContentRegistry REGISTRY = new NamedXContentRegistry(aggregationParsers());
+
+    private SearchResponseFixtures() {
+    }
+
+    public static SearchResponse searchResponse(String name) {
+        try (XContentParser parser = XContentType.JSON.xContent().createParser(REGISTRY,
+                DeprecationHandler.IGNORE_DEPRECATIONS, read(name))) {
+            return SearchResponse.fromXContent(parser);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static List<Hotel> hotels(String name) {
+        return JSON.parseArray(new String(read(name), StandardCharsets.UTF_8), Hotel.class);
+    }
+
+    public static byte[] read(String name) {
+        try (InputStream in = SearchResponseFixtures.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("fixture不存在: " + name);
+            }
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            byte[] buffer = new byte[8192];
+            int n;
+            while ((n = in.read(buffer)) != -1) {
+                out.write(buffer, 0, n);
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static List<NamedXContentRegistry.Entry> aggregationParsers() {
+        List<NamedXContentRegistry.Entry> entries = new ArrayList<>();
+        entries.add(aggregation(StringTerms.NAME, (p, c) -> ParsedStringTerms.fromXContent(p, (String) c)));
+        entries.add(aggregation(LongTerms.NAME, (p, c) -> ParsedLongTerms.fromXContent(p, (String) c)));
+        return entries;
+    }
+
+    private static NamedXContentRegistry.Entry aggregation(String type, ContextParser<Object, ? extends Aggregation> parser) {
+        return new NamedXContentRegistry.Entry(Aggregation.class, new ParseField(type), parser);
+    }
+}
@@ -0,0 +1,212 @@
+package cn.itcast.hotel.loadtest;
+
+import com.alibaba.fastjson.JSON;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * 本地的ES替身：按请求体里的DSL回放录制好的响应，并按配置加上延迟
+ * 只实现应用会用到的_search和存储模板（_scripts、_search/template），其它请求一律返回空的成功响应
+ * 可以注入故障：一定比例的_search返回503，或者额外卡住一段时间，用来验证熔断、超时和对冲
+ */
+@Slf4j
+public class ElasticsearchStandIn implements AutoCloseable {
+
+    private static final byte[] UNAVAILABLE = ("{\"error\":{\"root_cause\":[],\"type\":\"search_phase_execution_exception\","
+            + "\"reason\":\"injected fault\"},\"status\":503}").getBytes(StandardCharsets.UTF_8);
+    private static final byte[] SCRIPT_MISSING = ("{\"error\":{\"root_cause\":[],\"type\":\"resource_not_found_exception\","
+            + "\"reason\":\"unable to find script\"},\"status\":404}").getBytes(StandardCharsets.UTF_8);
+
+    private final HttpServer server;
+    private final ExecutorService workers;
+    private final long baseLatencyMicros;
+    private final long jitterMicros;
+    private final byte[] pageResponse;
+    private final byte[] filtersResponse;
+    private final byte[] suggestionResponse;
+    /**
+     * 注册过的搜索模板，id -> 模板原文
+     */
+    private final Map<String, String> scripts = new ConcurrentHashMap<>();
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong errorsInjected = new AtomicLong();
+    private final AtomicLong slowInjected = new AtomicLong();
+    private volatile double errorRate;
+    private volatile double slowRate;
+    private volatile long slowMs;
+
+    /**
+     * @param baseLatencyMs 每个请求固定的延迟
+     * @param jitterMs      在固定延迟上再加的指数分布延迟的均值，模拟长尾
+     */
+    public ElasticsearchStandIn(double baseLatencyMs, double jitterMs, int threads) throws IOException {
+        this.baseLatencyMicros = (long) (baseLatencyMs * 1000);
+        this.jitterMicros = (long) (jitterMs * 1000);
+        this.pageResponse = fixture("search-page.json");
+        this.filtersResponse = fixture("search-filters.json");
+        this.suggestionResponse = fixture("search-suggestion.json");
+        this.workers = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "es-stand-in");
+            t.setDaemon(true);
+            return t;
+        });
+        this.server = HttpServer.create(new InetSocketAddress("127.0.0.1", 0), 1024);
+        this.server.createContext("/", this::handle);
+        this.server.setExecutor(workers);
+        this.server.start();
+        log.info("ES替身已启动 {}，延迟 {}ms + exp({}ms)", url(), baseLatencyMs, jitterMs);
+    }
+
+    public String url() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    public long requests() {
+        return requests.get();
+    }
+
+    /**
+     * @param errorRate _search返回503的比例
+     * @param slowRate  _search额外卡住slowMs的比例
+     */
+    public void faults(double errorRate, double slowRate, long slowMs) {
+        this.errorRate = errorRate;
+        this.slowRate = slowRate;
+        this.slowMs = slowMs;
+        if (errorRate > 0 || slowRate > 0) {
+            log.info("ES替身注入故障：{}%返回503，{}%卡住{}ms", errorRate * 100, slowRate * 100, slowMs);
+        }
+    }
+
+    public long errorsInjected() {
+        return errorsInjected.get();
+    }
+
+    public long slowInjected() {
+        return slowInjected.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            requests.incrementAndGet();
+            //先把请求体读完再回响应，否则客户端还在发最后一个chunk时就收到响应会报错
+            byte[] raw = readAll(exchange.getRequestBody());
+            if ("gzip".equalsIgnoreCase(exchange.getRequestHeaders().getFirst("Content-Encoding"))) {
+                //客户端开了压缩
+                raw = readAll(new GZIPInputStream(new ByteArrayInputStream(raw)));
+            }
+            String body = new String(raw, StandardCharsets.UTF_8);
+            sleep();
+            byte[] response;
+            int status = 200;
+            String path = exchange.getRequestURI().getPath();
+            boolean template = path.endsWith("/_search/template");
+            if (template) {
+                //按模板原文判断是哪类查询
+                String source = scripts.get(JSON.parseObject(body).getString("id"));
+                body = source != null ? source : "";
+            }
+            if (path.startsWith("/_scripts/")) {
+                scripts.put(path.substring("/_scripts/".length()).split("/")[0],
+                        JSON.parseObject(body).getJSONObject("script").getString("source"));
+                response = "{\"acknowledged\":true}".getBytes(StandardCharsets.UTF_8);
+            } else if (template && body.isEmpty()) {
+                status = 404;
+                response = SCRIPT_MISSING;
+            } else if (path.endsWith("/_search") || template) {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                if (slowRate > 0 && random.nextDouble() < slowRate) {
+                    slowInjected.incrementAndGet();
+                    pause(TimeUnit.MILLISECONDS.toMicros(slowMs));
+                }
+                if (errorRate > 0 && random.nextDouble() < errorRate) {
+                    errorsInjected.incrementAndGet();
+                    status = 503;
+                    response = UNAVAILABLE;
+                } else if (body.contains("\"suggest\"")) {
+                    response = suggestionResponse;
+                } else if (body.contains("\"aggregations\"")) {
+                    response = filtersResponse;
+                } else {
+                    response = pageResponse;
+                }
+            } else {
+                response = "{\"acknowledged\":true}".getBytes(StandardCharsets.UTF_8);
+            }
+            exchange.getResponseHeaders().set("Content-Type", "application/json; charset=UTF-8");
+            exchange.sendResponseHeaders(status, response.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(response);
+            }
+        } catch (IOException | RuntimeException e) {
+            log.warn("ES替身处理请求失败", e);
+            throw e;
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private void sleep() {
+        long micros = baseLatencyMicros;
+        if (jitterMicros > 0) {
+            double u = ThreadLocalRandom.current().nextDouble();
+            micros += (long) (-Math.log(1 - u) * jitterMicros);
+        }
+        pause(micros);
+    }
+
+    private static void pause(long micros) {
+        if (micros > 0) {
+            try {
+                TimeUnit.MICROSECONDS.sleep(micros);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        workers.shutdownNow();
+    }
+
+    private static byte[] fixture(String name) {
+        try (InputStream in = ElasticsearchStandIn.class.getResourceAsStream("/fixtures/" + name)) {
+            if (in == null) {
+                throw new IllegalArgumentException("fixture不存在: " + name);
+            }
+            return readAll(in);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static byte[] readAll(InputStream in) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buffer = new byte[8192];
+        int n;
+        while ((n = in.read(buffer)) != -1) {
+            out.write(buffer, 0, n);
+        }
+        return out.toByteArray();
+    }
+}
@@ -0,0 +1,195 @@
+package cn.itcast.hotel.loadtest;
+
+import cn.itcast.hotel.HotelDemoApplication;
+import lombok.extern.slf4j.Slf4j;
+import org.HdrHistogram.Histogram;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.boot.web.servlet.context.ServletWebServerApplicationContext;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.net.HttpURLConnection;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.text.SimpleDateFormat;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 压测入口：启动ES替身和内存库，把应用起在随机端口上，按开放模型（泊松到达）发请求
+ * 延迟从计划发出的时间算起，应用变慢时请求不会跟着少发，排队时间也计入结果
+ *
+ * mvn -P loadtest verify -Dloadtest.rate=300 -Dloadtest.duration=60
+ */
+@Slf4j
+public class LoadTestHarness {
+
+    public static void main(String[] args) throws Exception {
+        double rate = Double.parseDouble(System.getProperty("loadtest.rate", "200"));
+        int warmupSeconds = Integer.getInteger("loadtest.warmup", 10);
+        int durationSeconds = Integer.getInteger("loadtest.duration", 60);
+        int maxConcurrency = Integer.getInteger("loadtest.max-concurrency", 256);
+        double esLatencyMs = Double.parseDouble(System.getProperty("loadtest.es.latency-ms", "3"));
+        double esJitterMs = Double.parseDouble(System.getProperty("loadtest.es.jitter-ms", "2"));
+        int esThreads = Integer.getInteger("loadtest.es.threads", 64);
+        double esErrorRate = Double.parseDouble(System.getProperty("loadtest.es.error-rate", "0"));
+        double esSlowRate = Double.parseDouble(System.getProperty("loadtest.es.slow-rate", "0"));
+        long esSlowMs = Long.getLong("loadtest.es.slow-ms", 1000L);
+        double listRatio = Double.parseDouble(System.getProperty("loadtest.mix.list", "0.7"));
+        double filtersRatio = Double.parseDouble(System.getProperty("loadtest.mix.filters", "0.2"));
+        long seed = Long.getLong("loadtest.seed", 42L);
+        File outputDir = new File(System.getProperty("loadtest.output", "target/loadtest"));
+
+        //HttpURLConnection的keep-alive连接池默认只留5个
+        System.setProperty("http.maxConnections", String.valueOf(maxConcurrency));
+
+        try (ElasticsearchStandIn es = new ElasticsearchStandIn(esLatencyMs, esJitterMs, esThreads);
+             ConfigurableApplicationContext app = new SpringApplicationBuilder(HotelDemoApplication.class)
+                     .profiles("loadtest")
+                     //命令行参数的优先级高于application.yaml
+                     .run(appArgs(args, "--server.port=0", "--hotel.elasticsearch.hosts=" + es.url()))) {
+            //应用启动完再注入故障，启动期间的请求不受影响
+            es.faults(esErrorRate, esSlowRate, esSlowMs);
+            int port = ((ServletWebServerApplicationContext) app).getWebServer().getPort();
+            String base = "http://127.0.0.1:" + port;
+
+            Map<String, EndpointStats> stats = new LinkedHashMap<>();
+            for (String endpoint : new String[]{RequestMix.LIST, RequestMix.FILTERS, RequestMix.SUGGESTION}) {
+                stats.put(endpoint, new EndpointStats(endpoint));
+            }
+            RequestMix mix = new RequestMix(listRatio, filtersRatio);
+            ExecutorService senders = Executors.newFixedThreadPool(maxConcurrency);
+            Random random = new Random(seed);
+
+            log.info("预热 {}s", warmupSeconds);
+            drive(base, mix, random, rate, warmupSeconds, senders, stats);
+            stats.values().forEach(EndpointStats::reset);
+            long esBefore = es.requests();
+
+            log.info("压测 {}s，目标 {} req/s", durationSeconds, rate);
+            drive(base, mix, random, rate, durationSeconds, senders, stats);
+            senders.shutdown();
+            senders.awaitTermination(1, TimeUnit.MINUTES);
+
+            String name = "loadtest-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date());
+            File report = new File(outputDir, name + ".txt");
+            outputDir.mkdirs();
+            try (PrintStream out = new PrintStream(new FileOutputStream(report), true, "UTF-8")) {
+                out.printf("rate=%.1f req/s, duration=%ds, warmup=%ds, max-concurrency=%d, mix(list/filters/suggestion)=%.2f/%.2f/%.2f%n",
+                        rate, durationSeconds, warmupSeconds, maxConcurrency, listRatio, filtersRatio, 1 - listRatio - filtersRatio);
+                out.printf("es stand-in: latency=%.1fms + exp(%.1fms), requests=%d%n",
+                        esLatencyMs, esJitterMs, es.requests() - esBefore);
+                out.printf("es faults: error-rate=%.2f slow-rate=%.2f slow=%dms, injected errors=%d slow=%d%n%n",
+                        esErrorRate, esSlowRate, esSlowMs, es.errorsInjected(), es.slowInjected());
+                printSummary(out, stats.values(), durationSeconds);
+                for (EndpointStats s : stats.values()) {
+                    out.printf("%n%s (ms)%n", s.getEndpoint());
+                    s.getHistogram().outputPercentileDistribution(out, 5, 1000.0);
+                }
+            }
+            printSummary(System.out, stats.values(), durationSeconds);
+            //应用自己的指标（各阶段耗时、缓存、连接池）一起存下来
+            try (InputStream in = new URL(base + "/actuator/prometheus").openStream();
+                 OutputStream out = new FileOutputStream(new File(outputDir, name + ".prom"))) {
+                byte[] buffer = new byte[8192];
+                int n;
+                while ((n = in.read(buffer)) != -1) {
+                    out.write(buffer, 0, n);
+                }
+            }
+            log.info("结果已写入 {}", report.getAbsolutePath());
+        }
+    }
+
+    /**
+     * 按泊松过程安排发送时间，到点就把请求交给发送线程，不等上一个请求返回
+     */
+    private static void drive(String base, RequestMix mix, Random random, double rate, int seconds,
+                              ExecutorService senders, Map<String, EndpointStats> stats) {
+        long start = System.nanoTime();
+        long end = start + TimeUnit.SECONDS.toNanos(seconds);
+        double meanGapNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long intended = start;
+        while (true) {
+            intended += (long) (-Math.log(1 - random.nextDouble()) * meanGapNanos);
+            if (intended >= end) {
+                break;
+            }
+            long wait;
+            while ((wait = intended - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            RequestMix.Request request = mix.next(random);
+            long scheduledAt = intended;
+            senders.execute(() -> {
+                boolean ok = send(base, request);
+                long latencyMicros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt);
+                stats.get(request.getEndpoint()).record(latencyMicros, ok);
+            });
+        }
+    }
+
+    private static String[] appArgs(String[] args, String... overrides) {
+        String[] all = Arrays.copyOf(args, args.length + overrides.length);
+        System.arraycopy(overrides, 0, all, args.length, overrides.length);
+        return all;
+    }
+
+    private static boolean send(String base, RequestMix.Request request) {
+        HttpURLConnection conn = null;
+        try {
+            conn = (HttpURLConnection) new URL(base + request.getPath()).openConnection();
+            conn.setRequestMethod(request.getMethod());
+            conn.setConnectTimeout(5_000);
+            conn.setReadTimeout(30_000);
+            if (request.getBody() != null) {
+                conn.setDoOutput(true);
+                conn.setRequestProperty("Content-Type", "application/json;charset=UTF-8");
+                try (OutputStream out = conn.getOutputStream()) {
+                    out.write(request.getBody().getBytes(StandardCharsets.UTF_8));
+                }
+            }
+            int status = conn.getResponseCode();
+            InputStream in = status < 400 ? conn.getInputStream() : conn.getErrorStream();
+            if (in != null) {
+                //读完响应体，连接才能放回keep-alive池
+                try (InputStream body = in) {
+                    byte[] buffer = new byte[8192];
+                    while (body.read(buffer) != -1) {
+                        //丢弃
+                    }
+                }
+            }
+            return status < 400;
+        } catch (IOException e) {
+            if (conn != null) {
+                conn.disconnect();
+            }
+            return false;
+        }
+    }
+
+    private static void printSummary(PrintStream out, Iterable<EndpointStats> stats, int seconds) {
+        out.printf("%-20s %10s %10s %8s %10s %10s %10s %10s%n",
+                "endpoint", "count", "req/s", "errors", "p50(ms)", "p99(ms)", "p999(ms)", "max(ms)");
+        for (EndpointStats s : stats) {
+            Histogram h = s.getHistogram();
+            out.printf("%-20s %10d %10.1f %8d %10.2f %10.2f %10.2f %10.2f%n",
+                    s.getEndpoint(), h.getTotalCount(), h.getTotalCount() / (double) seconds, s.getErrors(),
+                    h.getValueAtPercentile(50) / 1000.0, h.getValueAtPercentile(99) / 1000.0,
+                    h.getValueAtPercentile(99.9) / 1000.0, h.getMaxValue() / 1000.0);
+        }
+    }
+}
@@ -0,0 +1,104 @@
+package cn.itcast.hotel.loadtest;
+
+import com.alibaba.fastjson.JSONObject;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.io.UnsupportedEncodingException;
+import java.net.URLEncoder;
+import java.util.Random;
+
+/**
+ * 压测的请求组合，比例和参数分布参考线上访问日志：
+ * 大部分是列表页，其次是过滤项，少量自动补全；
+ * 城市、品牌偏向头部，页码集中在前几页
+ */
+public class RequestMix {
+
+    public static final String LIST = "/hotel/list";
+    public static final String FILTERS = "/hotel/filters";
+    public static final String SUGGESTION = "/hotel/suggestion";
+
+    private static final String[] CITIES = {"上海", "北京", "深圳", "广州", "杭州"};
+    private static final String[] BRANDS = {"如家", "7天酒店", "汉庭", "速8", "万怡", "华美达", "和颐", "万豪",
+            "皇冠假日", "喜来登", "希尔顿", "锦江", "君悦", "凯悦", "维也纳", "天独立"};
+    private static final String[] STARS = {"二钻", "三钻", "四钻", "五钻", "四星级", "五星级"};
+    private static final String[] KEYS = {"如家", "外滩", "机场", "地铁站", "火车站", "商业区", "酒店"};
+    private static final String[] PREFIXES = {"如", "如家", "汉", "万", "皇冠", "rj", "hy", "sh", "wh", "x"};
+    private static final int[][] PRICES = {{0, 100}, {100, 300}, {300, 600}, {600, 1500}, {150, 450}};
+
+    private final double listRatio;
+    private final double filtersRatio;
+
+    public RequestMix(double listRatio, double filtersRatio) {
+        this.listRatio = listRatio;
+        this.filtersRatio = filtersRatio;
+    }
+
+    public Request next(Random random) {
+        double r = random.nextDouble();
+        if (r < listRatio) {
+            JSONObject params = params(random);
+            //页码集中在前几页
+            params.put("page", 1 + (int) Math.min(20, -Math.log(1 - random.nextDouble()) * 1.5));
+            params.put("size", 10);
+            if (random.nextDouble() < 0.3) {
+                params.put("location", String.format("%.3f, %.3f",
+                        31 + random.nextDouble() * 0.5, 121 + random.nextDouble() * 0.5));
+            }
+            return new Request(LIST, "POST", LIST, params.toJSONString());
+        }
+        if (r < listRatio + filtersRatio) {
+            return new Request(FILTERS, "POST", FILTERS, params(random).toJSONString());
+        }
+        String prefix = PREFIXES[skewed(random, PREFIXES.length)];
+        return new Request(SUGGESTION, "GET", SUGGESTION + "?key=" + encode(prefix), null);
+    }
+
+    private JSONObject params(Random random) {
+        JSONObject params = new JSONObject();
+        if (random.nextDouble() < 0.35) {
+            params.put("key", KEYS[skewed(random, KEYS.length)]);
+        }
+        if (random.nextDouble() < 0.6) {
+            params.put("city", CITIES[skewed(random, CITIES.length)]);
+        }
+        if (random.nextDouble() < 0.3) {
+            params.put("brand", BRANDS[skewed(random, BRANDS.length)]);
+        }
+        if (random.nextDouble() < 0.2) {
+            params.put("starName", STARS[random.nextInt(STARS.length)]);
+        }
+        if (random.nextDouble() < 0.25) {
+            int[] price = PRICES[random.nextInt(PRICES.length)];
+            params.put("minPrice", price[0]);
+            params.put("maxPrice", price[1]);
+        }
+        return params;
+    }
+
+    /**
+     * 近似Zipf的下标：越靠前的取值被选中的概率越大
+     */
+    private static int skewed(Random random, int n) {
+        double u = random.nextDouble();
+        return Math.min(n - 1, (int) (n * u * u));
+    }
+
+    private static String encode(String s) {
+        try {
+            return URLEncoder.encode(s, "UTF-8");
+        } catch (UnsupportedEncodingException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Request {
+        private final String endpoint;
+        private final String method;
+        private final String path;
+        private final String body;
+    }
+}
@@ -0,0 +1,302 @@
+-- 压测用的酒店数据，品牌、城市、星级分布和线上大致相当
+INSERT INTO tb_hotel (id, name, address, price, score, brand, city, star_name, business, longitude, latitude, pic) VALUES
+(36934, '维也纳(广州白云机场店)', '深南大道876号', 2525, 38, '维也纳', '广州', '三钻', '白云机场', '121.803900', '31.475763', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1000_w200_h200_c1_t0.jpg'),
+(37065, '华美达(杭州西湖店)', '长安街311号', 700, 36, '华美达', '杭州', '一钻', '西湖', '121.595437', '31.396160', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1001_w200_h200_c1_t0.jpg'),
+(37196, '华美达(广州珠江新城店)', '交通路852号', 2284, 36, '华美达', '广州', '一钻', '珠江新城', '121.035653', '31.879565', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1002_w200_h200_c1_t0.jpg'),
+(37327, '7天酒店(杭州钱江新城店)', '延安西路452号', 2540, 48, '7天酒店', '杭州', '四钻', '钱江新城', '121.519124', '31.640292', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1003_w200_h200_c1_t0.jpg'),
+(37458, '7天酒店(广州珠江新城店)', '交通路469号', 2802, 39, '7天酒店', '广州', '四星级', '珠江新城', '121.997656', '31.995692', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1004_w200_h200_c1_t0.jpg'),
+(37589, '皇冠假日(上海虹桥地区店)', '解放路236号', 2220, 39, '皇冠假日', '上海', '一钻', '虹桥地区', '121.070223', '31.766288', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1005_w200_h200_c1_t0.jpg'),
+(37720, '速8(广州白云机场店)', '长安街69号', 189, 48, '速8', '广州', '一钻', '白云机场', '121.213502', '31.927042', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1006_w200_h200_c1_t0.jpg'),
+(37851, '天独立(上海陆家嘴金融贸易区店)', '天河路407号', 1839, 36, '天独立', '上海', '四钻', '陆家嘴金融贸易区', '121.778511', '31.269776', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1007_w200_h200_c1_t0.jpg'),
+(37982, '喜来登(上海虹桥地区店)', '交通路988号', 1799, 47, '喜来登', '上海', '二钻', '虹桥地区', '121.134596', '31.707016', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1008_w200_h200_c1_t0.jpg'),
+(38113, '如家(上海陆家嘴金融贸易区店)', '解放路499号', 847, 45, '如家', '上海', '四钻', '陆家嘴金融贸易区', '121.447425', '31.190684', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1009_w200_h200_c1_t0.jpg'),
+(38244, '凯悦(北京西单店)', '交通路405号', 1843, 38, '凯悦', '北京', '一钻', '西单、金融街地区', '121.269795', '31.970929', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1010_w200_h200_c1_t0.jpg'),
+(38375, '喜来登(杭州西湖店)', '南京东路192号', 1734, 48, '喜来登', '杭州', '二钻', '西湖', '121.042108', '31.146359', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1011_w200_h200_c1_t0.jpg'),
+(38506, '皇冠假日(广州天河体育中心店)', '解放路625号', 1467, 48, '皇冠假日', '广州', '五钻', '天河体育中心', '121.386170', '31.074281', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1012_w200_h200_c1_t0.jpg'),
+(38637, '万豪(北京国贸地区店)', '深南大道378号', 1642, 44, '万豪', '北京', '五星级', '国贸地区', '121.127221', '31.587271', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1013_w200_h200_c1_t0.jpg'),
+(38768, '万怡(杭州钱江新城店)', '南京东路643号', 751, 39, '万怡', '杭州', '四钻', '钱江新城', '121.817802', '31.249499', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1014_w200_h200_c1_t0.jpg'),
+(38899, '华美达(北京三里屯店)', '天河路973号', 1710, 49, '华美达', '北京', '五星级', '三里屯、工体地区', '121.603534', '31.421457', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1015_w200_h200_c1_t0.jpg'),
+(39030, '速8(上海四川北路商业区店)', '深南大道986号', 1165, 38, '速8', '上海', '四星级', '四川北路商业区', '121.256981', '31.823718', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1016_w200_h200_c1_t0.jpg'),
+(39161, '天独立(杭州钱江新城店)', '深南大道180号', 401, 37, '天独立', '杭州', '四钻', '钱江新城', '121.479300', '31.653508', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1017_w200_h200_c1_t0.jpg'),
+(39292, '汉庭(杭州钱江新城店)', '南京东路940号', 955, 46, '汉庭', '杭州', '一钻', '钱江新城', '121.069154', '31.411427', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1018_w200_h200_c1_t0.jpg'),
+(39423, '如家(北京国贸地区店)', '南京东路289号', 1630, 43, '如家', '北京', '三钻', '国贸地区', '121.092192', '31.138408', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1019_w200_h200_c1_t0.jpg'),
+(39554, '希尔顿(广州珠江新城店)', '天河路708号', 2257, 44, '希尔顿', '广州', '三钻', '珠江新城', '121.589876', '31.923587', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1020_w200_h200_c1_t0.jpg'),
+(39685, '锦江(广州珠江新城店)', '延安西路986号', 257, 35, '锦江', '广州', '二钻', '珠江新城', '121.482236', '31.730498', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1021_w200_h200_c1_t0.jpg'),
+(39816, '万怡(深圳福田中心区店)', '交通路464号', 2356, 40, '万怡', '深圳', '一钻', '福田中心区', '121.900196', '31.737088', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1022_w200_h200_c1_t0.jpg'),
+(39947, '希尔顿(北京王府井店)', '交通路702号', 2058, 49, '希尔顿', '北京', '二钻', '王府井/东单地区', '121.871101', '31.417153', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1023_w200_h200_c1_t0.jpg'),
+(40078, '天独立(上海静安寺店)', '交通路640号', 2832, 41, '天独立', '上海', '四星级', '静安寺/南京西路', '121.582679', '31.608867', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1024_w200_h200_c1_t0.jpg'),
+(40209, '汉庭(上海四川北路商业区店)', '延安西路901号', 1824, 46, '汉庭', '上海', '三星级', '四川北路商业区', '121.388436', '31.735038', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1025_w200_h200_c1_t0.jpg'),
+(40340, '维也纳(杭州钱江新城店)', '长安街859号', 2336, 36, '维也纳', '杭州', '一钻', '钱江新城', '121.310235', '31.087732', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1026_w200_h200_c1_t0.jpg'),
+(40471, '万豪(上海四川北路商业区店)', '长安街799号', 2637, 45, '万豪', '上海', '五星级', '四川北路商业区', '121.255830', '31.011307', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1027_w200_h200_c1_t0.jpg'),
+(40602, '万怡(深圳罗湖口岸店)', '深南大道208号', 2243, 37, '万怡', '深圳', '三星级', '罗湖口岸/火车站', '121.659990', '31.441932', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1028_w200_h200_c1_t0.jpg'),
+(40733, '希尔顿(北京西单店)', '天河路257号', 933, 45, '希尔顿', '北京', '四星级', '西单、金融街地区', '121.803714', '31.754630', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1029_w200_h200_c1_t0.jpg'),
+(40864, '和颐(北京西单店)', '南京东路598号', 1416, 38, '和颐', '北京', '三钻', '西单、金融街地区', '121.134553', '31.350745', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1030_w200_h200_c1_t0.jpg'),
+(40995, '汉庭(上海虹桥地区店)', '解放路174号', 582, 42, '汉庭', '上海', '五星级', '虹桥地区', '121.275163', '31.214080', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1031_w200_h200_c1_t0.jpg'),
+(41126, '君悦(广州珠江新城店)', '深南大道506号', 2873, 40, '君悦', '广州', '五星级', '珠江新城', '121.320346', '31.828727', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1032_w200_h200_c1_t0.jpg'),
+(41257, '如家(深圳罗湖口岸店)', '天河路288号', 2457, 40, '如家', '深圳', '五钻', '罗湖口岸/火车站', '121.649286', '31.564039', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1033_w200_h200_c1_t0.jpg'),
+(41388, '君悦(北京西单店)', '南京东路26号', 1211, 38, '君悦', '北京', '三钻', '西单、金融街地区', '121.796847', '31.984013', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1034_w200_h200_c1_t0.jpg'),
+(41519, '维也纳(上海四川北路商业区店)', '天河路549号', 2803, 45, '维也纳', '上海', '三星级', '四川北路商业区', '121.958461', '31.684493', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1035_w200_h200_c1_t0.jpg'),
+(41650, '天独立(北京王府井店)', '南京东路732号', 164, 47, '天独立', '北京', '五星级', '王府井/东单地区', '121.534849', '31.036175', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1036_w200_h200_c1_t0.jpg'),
+(41781, '皇冠假日(北京王府井店)', '深南大道715号', 2251, 43, '皇冠假日', '北京', '三钻', '王府井/东单地区', '121.393516', '31.791932', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1037_w200_h200_c1_t0.jpg'),
+(41912, '汉庭(北京西单店)', '天河路398号', 652, 42, '汉庭', '北京', '五星级', '西单、金融街地区', '121.196877', '31.887326', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1038_w200_h200_c1_t0.jpg'),
+(42043, '君悦(上海静安寺店)', '深南大道669号', 2178, 47, '君悦', '上海', '三星级', '静安寺/南京西路', '121.463708', '31.651323', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1039_w200_h200_c1_t0.jpg'),
+(42174, '速8(北京国贸地区店)', '南京东路249号', 1718, 36, '速8', '北京', '五钻', '国贸地区', '121.536957', '31.790787', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1040_w200_h200_c1_t0.jpg'),
+(42305, '皇冠假日(深圳罗湖口岸店)', '解放路17号', 1547, 43, '皇冠假日', '深圳', '二钻', '罗湖口岸/火车站', '121.037135', '31.342054', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1041_w200_h200_c1_t0.jpg'),
+(42436, '皇冠假日(广州白云机场店)', '交通路224号', 382, 41, '皇冠假日', '广州', '一钻', '白云机场', '121.172896', '31.335004', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1042_w200_h200_c1_t0.jpg'),
+(42567, '天独立(北京三里屯店)', '深南大道923号', 2242, 48, '天独立', '北京', '五星级', '三里屯、工体地区', '121.945747', '31.492581', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1043_w200_h200_c1_t0.jpg'),
+(42698, '万豪(上海陆家嘴金融贸易区店)', '深南大道573号', 1308, 48, '万豪', '上海', '三钻', '陆家嘴金融贸易区', '121.522783', '31.843623', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1044_w200_h200_c1_t0.jpg'),
+(42829, '皇冠假日(杭州钱江新城店)', '天河路391号', 2616, 38, '皇冠假日', '杭州', '五钻', '钱江新城', '121.850771', '31.968440', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1045_w200_h200_c1_t0.jpg'),
+(42960, '皇冠假日(杭州武林广场店)', '长安街206号', 1803, 43, '皇冠假日', '杭州', '二钻', '武林广场', '121.503174', '31.605228', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1046_w200_h200_c1_t0.jpg'),
+(43091, '如家(上海静安寺店)', '长安街558号', 2425, 36, '如家', '上海', '五星级', '静安寺/南京西路', '121.093222', '31.166771', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1047_w200_h200_c1_t0.jpg'),
+(43222, '维也纳(杭州钱江新城店)', '解放路946号', 1775, 39, '维也纳', '杭州', '四钻', '钱江新城', '121.473161', '31.126968', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1048_w200_h200_c1_t0.jpg'),
+(43353, '天独立(广州珠江新城店)', '延安西路112号', 904, 41, '天独立', '广州', '一钻', '珠江新城', '121.925271', '31.129461', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1049_w200_h200_c1_t0.jpg'),
+(43484, '如家(上海人民广场地区店)', '南京东路233号', 168, 45, '如家', '上海', '五钻', '人民广场地区', '121.322082', '31.355347', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1050_w200_h200_c1_t0.jpg'),
+(43615, '天独立(杭州西湖店)', '长安街749号', 2504, 36, '天独立', '杭州', '五钻', '西湖', '121.717696', '31.701368', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1051_w200_h200_c1_t0.jpg'),
+(43746, '7天酒店(广州白云机场店)', '天河路424号', 2288, 44, '7天酒店', '广州', '三钻', '白云机场', '121.538184', '31.863839', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1052_w200_h200_c1_t0.jpg'),
+(43877, '和颐(杭州武林广场店)', '南京东路872号', 2343, 44, '和颐', '杭州', '三钻', '武林广场', '121.232658', '31.740772', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1053_w200_h200_c1_t0.jpg'),
+(44008, '华美达(深圳华强北商圈店)', '深南大道323号', 917, 38, '华美达', '深圳', '四钻', '华强北商圈', '121.887542', '31.133932', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1054_w200_h200_c1_t0.jpg'),
+(44139, '万怡(北京国贸地区店)', '延安西路398号', 517, 41, '万怡', '北京', '四星级', '国贸地区', '121.543277', '31.704839', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1055_w200_h200_c1_t0.jpg'),
+(44270, '君悦(北京国贸地区店)', '交通路206号', 2454, 45, '君悦', '北京', '三星级', '国贸地区', '121.911373', '31.968378', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1056_w200_h200_c1_t0.jpg'),
+(44401, '希尔顿(上海静安寺店)', '天河路853号', 894, 47, '希尔顿', '上海', '二钻', '静安寺/南京西路', '121.482074', '31.024305', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1057_w200_h200_c1_t0.jpg'),
+(44532, '天独立(杭州西湖店)', '南京东路189号', 590, 38, '天独立', '杭州', '三钻', '西湖', '121.840214', '31.990301', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1058_w200_h200_c1_t0.jpg'),
+(44663, '如家(上海人民广场地区店)', '天河路474号', 437, 47, '如家', '上海', '二钻', '人民广场地区', '121.326827', '31.466960', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1059_w200_h200_c1_t0.jpg'),
+(44794, '锦江(杭州钱江新城店)', '南京东路616号', 1648, 35, '锦江', '杭州', '一钻', '钱江新城', '121.844263', '31.181269', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1060_w200_h200_c1_t0.jpg'),
+(44925, '锦江(广州珠江新城店)', '延安西路416号', 919, 44, '锦江', '广州', '三钻', '珠江新城', '121.094802', '31.792349', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1061_w200_h200_c1_t0.jpg'),
+(45056, '汉庭(深圳罗湖口岸店)', '解放路931号', 2697, 41, '汉庭', '深圳', '四钻', '罗湖口岸/火车站', '121.504289', '31.982680', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1062_w200_h200_c1_t0.jpg'),
+(45187, '皇冠假日(深圳福田中心区店)', '天河路761号', 775, 48, '皇冠假日', '深圳', '四星级', '福田中心区', '121.133215', '31.329911', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1063_w200_h200_c1_t0.jpg'),
+(45318, '锦江(杭州钱江新城店)', '解放路186号', 1781, 38, '锦江', '杭州', '三钻', '钱江新城', '121.070552', '31.341719', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1064_w200_h200_c1_t0.jpg'),
+(45449, '速8(广州天河体育中心店)', '延安西路655号', 2675, 35, '速8', '广州', '四钻', '天河体育中心', '121.272976', '31.961424', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1065_w200_h200_c1_t0.jpg'),
+(45580, '希尔顿(深圳福田中心区店)', '天河路416号', 2452, 37, '希尔顿', '深圳', '二钻', '福田中心区', '121.389594', '31.999887', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1066_w200_h200_c1_t0.jpg'),
+(45711, '速8(北京西单店)', '深南大道24号', 590, 44, '速8', '北京', '二钻', '西单、金融街地区', '121.738795', '31.256633', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1067_w200_h200_c1_t0.jpg'),
+(45842, '如家(广州天河体育中心店)', '天河路385号', 164, 36, '如家', '广州', '五钻', '天河体育中心', '121.250887', '31.905643', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1068_w200_h200_c1_t0.jpg'),
+(45973, '凯悦(杭州武林广场店)', '深南大道867号', 528, 45, '凯悦', '杭州', '五星级', '武林广场', '121.809528', '31.076196', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1069_w200_h200_c1_t0.jpg'),
+(46104, '如家(杭州钱江新城店)', '南京东路396号', 2052, 37, '如家', '杭州', '五星级', '钱江新城', '121.541954', '31.596562', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1070_w200_h200_c1_t0.jpg'),
+(46235, '天独立(广州白云机场店)', '延安西路540号', 1752, 44, '天独立', '广州', '五钻', '白云机场', '121.365575', '31.285750', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1071_w200_h200_c1_t0.jpg'),
+(46366, '喜来登(深圳罗湖口岸店)', '天河路766号', 1332, 35, '喜来登', '深圳', '一钻', '罗湖口岸/火车站', '121.772488', '31.585808', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1072_w200_h200_c1_t0.jpg'),
+(46497, '凯悦(北京西单店)', '交通路920号', 1410, 46, '凯悦', '北京', '四星级', '西单、金融街地区', '121.050158', '31.988769', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1073_w200_h200_c1_t0.jpg'),
+(46628, '汉庭(深圳福田中心区店)', '长安街737号', 2076, 39, '汉庭', '深圳', '四钻', '福田中心区', '121.045434', '31.098473', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1074_w200_h200_c1_t0.jpg'),
+(46759, '万怡(广州天河体育中心店)', '深南大道724号', 591, 35, '万怡', '广州', '四星级', '天河体育中心', '121.455689', '31.203657', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1075_w200_h200_c1_t0.jpg'),
+(46890, '锦江(上海静安寺店)', '南京东路128号', 1608, 42, '锦江', '上海', '三钻', '静安寺/南京西路', '121.667891', '31.455553', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1076_w200_h200_c1_t0.jpg'),
+(47021, '凯悦(深圳华强北商圈店)', '解放路762号', 2294, 48, '凯悦', '深圳', '三钻', '华强北商圈', '121.952635', '31.734285', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1077_w200_h200_c1_t0.jpg'),
+(47152, '天独立(北京国贸地区店)', '深南大道915号', 1384, 47, '天独立', '北京', '三星级', '国贸地区', '121.274755', '31.609809', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1078_w200_h200_c1_t0.jpg'),
+(47283, '和颐(杭州武林广场店)', '延安西路772号', 1100, 38, '和颐', '杭州', '四钻', '武林广场', '121.502149', '31.652938', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1079_w200_h200_c1_t0.jpg'),
+(47414, '如家(北京国贸地区店)', '交通路278号', 1182, 41, '如家', '北京', '一钻', '国贸地区', '121.623349', '31.102470', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1080_w200_h200_c1_t0.jpg'),
+(47545, '皇冠假日(杭州西湖店)', '解放路89号', 2890, 37, '皇冠假日', '杭州', '四钻', '西湖', '121.631105', '31.373184', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1081_w200_h200_c1_t0.jpg'),
+(47676, '锦江(广州天河体育中心店)', '延安西路352号', 2145, 46, '锦江', '广州', '三钻', '天河体育中心', '121.838554', '31.074347', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1082_w200_h200_c1_t0.jpg'),
+(47807, '维也纳(上海静安寺店)', '解放路788号', 993, 42, '维也纳', '上海', '四星级', '静安寺/南京西路', '121.747321', '31.390126', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1083_w200_h200_c1_t0.jpg'),
+(47938, '锦江(北京三里屯店)', '天河路857号', 2563, 40, '锦江', '北京', '五钻', '三里屯、工体地区', '121.548613', '31.746105', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1084_w200_h200_c1_t0.jpg'),
+(48069, '凯悦(北京王府井店)', '深南大道100号', 2012, 49, '凯悦', '北京', '三星级', '王府井/东单地区', '121.078508', '31.083021', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1085_w200_h200_c1_t0.jpg'),
+(48200, '天独立(杭州武林广场店)', '长安街307号', 158, 36, '天独立', '杭州', '五钻', '武林广场', '121.213260', '31.662098', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1086_w200_h200_c1_t0.jpg'),
+(48331, '喜来登(上海陆家嘴金融贸易区店)', '天河路783号', 2962, 40, '喜来登', '上海', '五钻', '陆家嘴金融贸易区', '121.881711', '31.218753', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1087_w200_h200_c1_t0.jpg'),
+(48462, '锦江(深圳福田中心区店)', '延安西路727号', 1926, 44, '锦江', '深圳', '五钻', '福田中心区', '121.437993', '31.803049', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1088_w200_h200_c1_t0.jpg'),
+(48593, '维也纳(深圳华强北商圈店)', '南京东路410号', 2234, 38, '维也纳', '深圳', '二钻', '华强北商圈', '121.361694', '31.365564', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1089_w200_h200_c1_t0.jpg'),
+(48724, '君悦(深圳罗湖口岸店)', '长安街816号', 918, 46, '君悦', '深圳', '三星级', '罗湖口岸/火车站', '121.797083', '31.540561', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1090_w200_h200_c1_t0.jpg'),
+(48855, '华美达(杭州西湖店)', '交通路778号', 1981, 49, '华美达', '杭州', '五钻', '西湖', '121.811852', '31.221240', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1091_w200_h200_c1_t0.jpg'),
+(48986, '华美达(上海静安寺店)', '延安西路990号', 211, 45, '华美达', '上海', '四星级', '静安寺/南京西路', '121.064056', '31.546816', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1092_w200_h200_c1_t0.jpg'),
+(49117, '汉庭(杭州钱江新城店)', '交通路281号', 551, 49, '汉庭', '杭州', '三星级', '钱江新城', '121.084700', '31.634128', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1093_w200_h200_c1_t0.jpg'),
+(49248, '速8(北京西单店)', '南京东路730号', 1022, 42, '速8', '北京', '三星级', '西单、金融街地区', '121.764709', '31.394383', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1094_w200_h200_c1_t0.jpg'),
+(49379, '希尔顿(深圳罗湖口岸店)', '南京东路506号', 2119, 43, '希尔顿', '深圳', '二钻', '罗湖口岸/火车站', '121.708141', '31.914977', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1095_w200_h200_c1_t0.jpg'),
+(49510, '锦江(广州天河体育中心店)', '解放路388号', 485, 49, '锦江', '广州', '五星级', '天河体育中心', '121.957787', '31.640273', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1096_w200_h200_c1_t0.jpg'),
+(49641, '锦江(杭州武林广场店)', '交通路822号', 570, 41, '锦江', '杭州', '四星级', '武林广场', '121.915562', '31.245720', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1097_w200_h200_c1_t0.jpg'),
+(49772, '君悦(北京三里屯店)', '延安西路210号', 1714, 41, '君悦', '北京', '五钻', '三里屯、工体地区', '121.274040', '31.886087', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1098_w200_h200_c1_t0.jpg'),
+(49903, '喜来登(广州珠江新城店)', '交通路311号', 2774, 37, '喜来登', '广州', '三钻', '珠江新城', '121.912196', '31.753135', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1099_w200_h200_c1_t0.jpg'),
+(50034, '天独立(上海四川北路商业区店)', '延安西路112号', 929, 37, '天独立', '上海', '三星级', '四川北路商业区', '121.217364', '31.235409', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1100_w200_h200_c1_t0.jpg'),
+(50165, '万豪(广州白云机场店)', '南京东路916号', 1271, 41, '万豪', '广州', '三钻', '白云机场', '121.910678', '31.937352', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1101_w200_h200_c1_t0.jpg'),
+(50296, '天独立(杭州钱江新城店)', '长安街909号', 1769, 49, '天独立', '杭州', '三星级', '钱江新城', '121.660250', '31.771680', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1102_w200_h200_c1_t0.jpg'),
+(50427, '天独立(上海人民广场地区店)', '长安街51号', 1010, 37, '天独立', '上海', '四星级', '人民广场地区', '121.976029', '31.794708', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1103_w200_h200_c1_t0.jpg'),
+(50558, '如家(深圳罗湖口岸店)', '南京东路914号', 164, 48, '如家', '深圳', '五星级', '罗湖口岸/火车站', '121.905229', '31.450019', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1104_w200_h200_c1_t0.jpg'),
+(50689, '凯悦(北京三里屯店)', '长安街161号', 1438, 37, '凯悦', '北京', '五钻', '三里屯、工体地区', '121.908105', '31.810008', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1105_w200_h200_c1_t0.jpg'),
+(50820, '皇冠假日(北京国贸地区店)', '南京东路586号', 850, 35, '皇冠假日', '北京', '四钻', '国贸地区', '121.821418', '31.846183', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1106_w200_h200_c1_t0.jpg'),
+(50951, '汉庭(北京王府井店)', '延安西路630号', 2282, 36, '汉庭', '北京', '五星级', '王府井/东单地区', '121.693692', '31.082859', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1107_w200_h200_c1_t0.jpg'),
+(51082, '喜来登(杭州西湖店)', '解放路193号', 1827, 38, '喜来登', '杭州', '二钻', '西湖', '121.781418', '31.440191', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1108_w200_h200_c1_t0.jpg'),
+(51213, '凯悦(上海静安寺店)', '长安街162号', 1395, 40, '凯悦', '上海', '五钻', '静安寺/南京西路', '121.405461', '31.556391', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1109_w200_h200_c1_t0.jpg'),
+(51344, '汉庭(广州白云机场店)', '交通路704号', 695, 36, '汉庭', '广州', '四星级', '白云机场', '121.675859', '31.746636', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1110_w200_h200_c1_t0.jpg'),
+(51475, '维也纳(上海四川北路商业区店)', '解放路387号', 2066, 38, '维也纳', '上海', '五钻', '四川北路商业区', '121.564116', '31.458088', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1111_w200_h200_c1_t0.jpg'),
+(51606, '和颐(上海静安寺店)', '南京东路298号', 2691, 41, '和颐', '上海', '五钻', '静安寺/南京西路', '121.954089', '31.754922', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1112_w200_h200_c1_t0.jpg'),
+(51737, '汉庭(杭州钱江新城店)', '南京东路205号', 1662, 46, '汉庭', '杭州', '二钻', '钱江新城', '121.329398', '31.945038', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1113_w200_h200_c1_t0.jpg'),
+(51868, '天独立(杭州武林广场店)', '天河路340号', 1950, 48, '天独立', '杭州', '四星级', '武林广场', '121.092274', '31.140822', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1114_w200_h200_c1_t0.jpg'),
+(51999, '万怡(上海人民广场地区店)', '南京东路198号', 1767, 35, '万怡', '上海', '五星级', '人民广场地区', '121.592740', '31.090100', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1115_w200_h200_c1_t0.jpg'),
+(52130, '如家(北京三里屯店)', '交通路445号', 1786, 47, '如家', '北京', '二钻', '三里屯、工体地区', '121.341655', '31.823257', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1116_w200_h200_c1_t0.jpg'),
+(52261, '万怡(杭州武林广场店)', '南京东路786号', 726, 48, '万怡', '杭州', '四星级', '武林广场', '121.482744', '31.921325', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1117_w200_h200_c1_t0.jpg'),
+(52392, '7天酒店(杭州武林广场店)', '长安街628号', 2986, 40, '7天酒店', '杭州', '四钻', '武林广场', '121.660229', '31.608604', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1118_w200_h200_c1_t0.jpg'),
+(52523, '皇冠假日(上海虹桥地区店)', '南京东路351号', 1376, 45, '皇冠假日', '上海', '五星级', '虹桥地区', '121.106278', '31.377612', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1119_w200_h200_c1_t0.jpg'),
+(52654, '希尔顿(杭州钱江新城店)', '解放路106号', 2624, 46, '希尔顿', '杭州', '三钻', '钱江新城', '121.253879', '31.538838', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1120_w200_h200_c1_t0.jpg'),
+(52785, '万豪(深圳华强北商圈店)', '深南大道513号', 2223, 37, '万豪', '深圳', '四钻', '华强北商圈', '121.986778', '31.516036', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1121_w200_h200_c1_t0.jpg'),
+(52916, '7天酒店(北京三里屯店)', '解放路86号', 678, 38, '7天酒店', '北京', '五星级', '三里屯、工体地区', '121.576487', '31.697101', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1122_w200_h200_c1_t0.jpg'),
+(53047, '汉庭(深圳华强北商圈店)', '延安西路475号', 628, 42, '汉庭', '深圳', '三钻', '华强北商圈', '121.238630', '31.569324', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1123_w200_h200_c1_t0.jpg'),
+(53178, '汉庭(杭州武林广场店)', '延安西路173号', 1490, 44, '汉庭', '杭州', '三钻', '武林广场', '121.122653', '31.824652', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1124_w200_h200_c1_t0.jpg'),
+(53309, '锦江(深圳福田中心区店)', '解放路588号', 1607, 48, '锦江', '深圳', '三钻', '福田中心区', '121.185574', '31.547857', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1125_w200_h200_c1_t0.jpg'),
+(53440, '维也纳(上海四川北路商业区店)', '长安街185号', 2816, 37, '维也纳', '上海', '五钻', '四川北路商业区', '121.756105', '31.847361', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1126_w200_h200_c1_t0.jpg'),
+(53571, '7天酒店(广州天河体育中心店)', '南京东路422号', 2037, 35, '7天酒店', '广州', '三钻', '天河体育中心', '121.527859', '31.118276', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1127_w200_h200_c1_t0.jpg'),
+(53702, '华美达(广州白云机场店)', '深南大道135号', 1199, 38, '华美达', '广州', '三星级', '白云机场', '121.053473', '31.783977', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1128_w200_h200_c1_t0.jpg'),
+(53833, '君悦(北京西单店)', '深南大道105号', 2044, 40, '君悦', '北京', '四星级', '西单、金融街地区', '121.896698', '31.913056', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1129_w200_h200_c1_t0.jpg'),
+(53964, '凯悦(杭州钱江新城店)', '长安街911号', 2018, 48, '凯悦', '杭州', '四星级', '钱江新城', '121.825115', '31.117369', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1130_w200_h200_c1_t0.jpg'),
+(54095, '希尔顿(上海静安寺店)', '深南大道443号', 1841, 49, '希尔顿', '上海', '一钻', '静安寺/南京西路', '121.320690', '31.054681', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1131_w200_h200_c1_t0.jpg'),
+(54226, '凯悦(杭州武林广场店)', '长安街612号', 1438, 47, '凯悦', '杭州', '五钻', '武林广场', '121.882597', '31.877056', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1132_w200_h200_c1_t0.jpg'),
+(54357, '速8(北京西单店)', '南京东路515号', 1744, 35, '速8', '北京', '五星级', '西单、金融街地区', '121.694905', '31.526220', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1133_w200_h200_c1_t0.jpg'),
+(54488, '喜来登(北京西单店)', '南京东路901号', 400, 49, '喜来登', '北京', '三星级', '西单、金融街地区', '121.866492', '31.421403', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1134_w200_h200_c1_t0.jpg'),
+(54619, '万豪(北京西单店)', '深南大道126号', 413, 36, '万豪', '北京', '三钻', '西单、金融街地区', '121.123796', '31.537590', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1135_w200_h200_c1_t0.jpg'),
+(54750, '7天酒店(广州白云机场店)', '南京东路746号', 1345, 35, '7天酒店', '广州', '三星级', '白云机场', '121.172013', '31.440771', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1136_w200_h200_c1_t0.jpg'),
+(54881, '君悦(广州天河体育中心店)', '延安西路709号', 2518, 38, '君悦', '广州', '一钻', '天河体育中心', '121.306224', '31.454875', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1137_w200_h200_c1_t0.jpg'),
+(55012, '喜来登(深圳华强北商圈店)', '长安街147号', 2055, 49, '喜来登', '深圳', '四钻', '华强北商圈', '121.202693', '31.859007', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1138_w200_h200_c1_t0.jpg'),
+(55143, '和颐(上海虹桥地区店)', '解放路880号', 1570, 49, '和颐', '上海', '五星级', '虹桥地区', '121.016037', '31.635378', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1139_w200_h200_c1_t0.jpg'),
+(55274, '和颐(杭州武林广场店)', '天河路242号', 904, 49, '和颐', '杭州', '一钻', '武林广场', '121.650114', '31.306080', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1140_w200_h200_c1_t0.jpg'),
+(55405, '皇冠假日(深圳华强北商圈店)', '天河路901号', 672, 40, '皇冠假日', '深圳', '五星级', '华强北商圈', '121.415171', '31.169393', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1141_w200_h200_c1_t0.jpg'),
+(55536, '速8(深圳罗湖口岸店)', '天河路202号', 1221, 37, '速8', '深圳', '四钻', '罗湖口岸/火车站', '121.501428', '31.295462', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1142_w200_h200_c1_t0.jpg'),
+(55667, '锦江(深圳罗湖口岸店)', '深南大道906号', 594, 44, '锦江', '深圳', '四钻', '罗湖口岸/火车站', '121.977134', '31.895482', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1143_w200_h200_c1_t0.jpg'),
+(55798, '万豪(北京王府井店)', '南京东路656号', 2855, 36, '万豪', '北京', '五星级', '王府井/东单地区', '121.983028', '31.440344', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1144_w200_h200_c1_t0.jpg'),
+(55929, '汉庭(杭州武林广场店)', '交通路8号', 2576, 44, '汉庭', '杭州', '五钻', '武林广场', '121.537255', '31.423448', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1145_w200_h200_c1_t0.jpg'),
+(56060, '汉庭(杭州西湖店)', '延安西路774号', 896, 38, '汉庭', '杭州', '三钻', '西湖', '121.279102', '31.548105', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1146_w200_h200_c1_t0.jpg'),
+(56191, '万怡(北京国贸地区店)', '深南大道473号', 2515, 41, '万怡', '北京', '一钻', '国贸地区', '121.929264', '31.499900', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1147_w200_h200_c1_t0.jpg'),
+(56322, '汉庭(北京王府井店)', '延安西路675号', 2100, 47, '汉庭', '北京', '一钻', '王府井/东单地区', '121.516735', '31.505629', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1148_w200_h200_c1_t0.jpg'),
+(56453, '华美达(杭州武林广场店)', '解放路790号', 796, 36, '华美达', '杭州', '四星级', '武林广场', '121.235344', '31.440433', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1149_w200_h200_c1_t0.jpg'),
+(56584, '万豪(深圳华强北商圈店)', '长安街558号', 1026, 48, '万豪', '深圳', '五星级', '华强北商圈', '121.261337', '31.202507', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1150_w200_h200_c1_t0.jpg'),
+(56715, '维也纳(上海人民广场地区店)', '延安西路156号', 2611, 35, '维也纳', '上海', '五星级', '人民广场地区', '121.806174', '31.503714', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1151_w200_h200_c1_t0.jpg'),
+(56846, '7天酒店(深圳福田中心区店)', '交通路930号', 849, 44, '7天酒店', '深圳', '四钻', '福田中心区', '121.623222', '31.053979', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1152_w200_h200_c1_t0.jpg'),
+(56977, '如家(广州珠江新城店)', '延安西路840号', 2664, 46, '如家', '广州', '五钻', '珠江新城', '121.765296', '31.498345', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1153_w200_h200_c1_t0.jpg'),
+(57108, '华美达(杭州钱江新城店)', '延安西路255号', 774, 42, '华美达', '杭州', '五星级', '钱江新城', '121.061142', '31.410630', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1154_w200_h200_c1_t0.jpg'),
+(57239, '和颐(深圳罗湖口岸店)', '交通路132号', 2125, 47, '和颐', '深圳', '三钻', '罗湖口岸/火车站', '121.144577', '31.455320', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1155_w200_h200_c1_t0.jpg'),
+(57370, '7天酒店(上海人民广场地区店)', '长安街912号', 2272, 37, '7天酒店', '上海', '二钻', '人民广场地区', '121.392920', '31.298068', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1156_w200_h200_c1_t0.jpg'),
+(57501, '汉庭(广州天河体育中心店)', '天河路735号', 2628, 38, '汉庭', '广州', '五钻', '天河体育中心', '121.253209', '31.551887', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1157_w200_h200_c1_t0.jpg'),
+(57632, '凯悦(北京西单店)', '交通路955号', 1050, 40, '凯悦', '北京', '五钻', '西单、金融街地区', '121.337046', '31.981249', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1158_w200_h200_c1_t0.jpg'),
+(57763, '和颐(杭州西湖店)', '南京东路413号', 2517, 45, '和颐', '杭州', '一钻', '西湖', '121.737432', '31.567404', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1159_w200_h200_c1_t0.jpg'),
+(57894, '华美达(杭州钱江新城店)', '解放路403号', 993, 41, '华美达', '杭州', '四星级', '钱江新城', '121.781345', '31.215392', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1160_w200_h200_c1_t0.jpg'),
+(58025, '万豪(深圳福田中心区店)', '解放路563号', 791, 42, '万豪', '深圳', '四钻', '福田中心区', '121.400222', '31.593887', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1161_w200_h200_c1_t0.jpg'),
+(58156, '天独立(深圳华强北商圈店)', '长安街642号', 2901, 37, '天独立', '深圳', '五星级', '华强北商圈', '121.204584', '31.382961', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1162_w200_h200_c1_t0.jpg'),
+(58287, '如家(上海虹桥地区店)', '延安西路972号', 1244, 44, '如家', '上海', '一钻', '虹桥地区', '121.518903', '31.741617', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1163_w200_h200_c1_t0.jpg'),
+(58418, '君悦(杭州武林广场店)', '天河路733号', 1011, 39, '君悦', '杭州', '二钻', '武林广场', '121.361098', '31.153519', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1164_w200_h200_c1_t0.jpg'),
+(58549, '万怡(深圳福田中心区店)', '天河路860号', 608, 35, '万怡', '深圳', '三星级', '福田中心区', '121.838820', '31.449935', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1165_w200_h200_c1_t0.jpg'),
+(58680, '希尔顿(广州白云机场店)', '解放路900号', 2247, 45, '希尔顿', '广州', '一钻', '白云机场', '121.302238', '31.607917', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1166_w200_h200_c1_t0.jpg'),
+(58811, '如家(广州天河体育中心店)', '南京东路527号', 2558, 37, '如家', '广州', '一钻', '天河体育中心', '121.208524', '31.410683', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1167_w200_h200_c1_t0.jpg'),
+(58942, '万怡(广州珠江新城店)', '天河路562号', 1186, 40, '万怡', '广州', '五星级', '珠江新城', '121.666174', '31.147191', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1168_w200_h200_c1_t0.jpg'),
+(59073, '皇冠假日(北京西单店)', '长安街140号', 1703, 43, '皇冠假日', '北京', '三星级', '西单、金融街地区', '121.226044', '31.292074', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1169_w200_h200_c1_t0.jpg'),
+(59204, '和颐(深圳福田中心区店)', '交通路869号', 220, 46, '和颐', '深圳', '五星级', '福田中心区', '121.565939', '31.808768', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1170_w200_h200_c1_t0.jpg'),
+(59335, '汉庭(深圳福田中心区店)', '深南大道706号', 1567, 45, '汉庭', '深圳', '二钻', '福田中心区', '121.955143', '31.868375', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1171_w200_h200_c1_t0.jpg'),
+(59466, '皇冠假日(北京国贸地区店)', '解放路438号', 610, 41, '皇冠假日', '北京', '五星级', '国贸地区', '121.060106', '31.383356', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1172_w200_h200_c1_t0.jpg'),
+(59597, '喜来登(深圳华强北商圈店)', '天河路287号', 1027, 37, '喜来登', '深圳', '四星级', '华强北商圈', '121.201918', '31.768294', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1173_w200_h200_c1_t0.jpg'),
+(59728, '万豪(深圳罗湖口岸店)', '交通路761号', 1520, 49, '万豪', '深圳', '四星级', '罗湖口岸/火车站', '121.804194', '31.478307', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1174_w200_h200_c1_t0.jpg'),
+(59859, '喜来登(深圳罗湖口岸店)', '交通路925号', 1723, 36, '喜来登', '深圳', '三星级', '罗湖口岸/火车站', '121.909688', '31.912420', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1175_w200_h200_c1_t0.jpg'),
+(59990, '如家(深圳华强北商圈店)', '长安街868号', 2519, 39, '如家', '深圳', '五星级', '华强北商圈', '121.719194', '31.886082', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1176_w200_h200_c1_t0.jpg'),
+(60121, '7天酒店(上海四川北路商业区店)', '延安西路332号', 1648, 44, '7天酒店', '上海', '五钻', '四川北路商业区', '121.261898', '31.668058', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1177_w200_h200_c1_t0.jpg'),
+(60252, '天独立(北京西单店)', '深南大道350号', 1605, 35, '天独立', '北京', '四钻', '西单、金融街地区', '121.771473', '31.627340', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1178_w200_h200_c1_t0.jpg'),
+(60383, '凯悦(杭州武林广场店)', '长安街66号', 1251, 36, '凯悦', '杭州', '五星级', '武林广场', '121.879725', '31.381877', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1179_w200_h200_c1_t0.jpg'),
+(60514, '如家(广州天河体育中心店)', '天河路520号', 1237, 39, '如家', '广州', '五星级', '天河体育中心', '121.360399', '31.976978', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1180_w200_h200_c1_t0.jpg'),
+(60645, '和颐(北京王府井店)', '南京东路265号', 2905, 38, '和颐', '北京', '四钻', '王府井/东单地区', '121.520594', '31.926477', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1181_w200_h200_c1_t0.jpg'),
+(60776, '7天酒店(广州天河体育中心店)', '深南大道506号', 2783, 47, '7天酒店', '广州', '二钻', '天河体育中心', '121.624387', '31.560764', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1182_w200_h200_c1_t0.jpg'),
+(60907, '皇冠假日(深圳华强北商圈店)', '交通路908号', 199, 40, '皇冠假日', '深圳', '四钻', '华强北商圈', '121.695386', '31.686553', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1183_w200_h200_c1_t0.jpg'),
+(61038, '华美达(北京三里屯店)', '延安西路637号', 2943, 42, '华美达', '北京', '五钻', '三里屯、工体地区', '121.369522', '31.285708', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1184_w200_h200_c1_t0.jpg'),
+(61169, '天独立(杭州西湖店)', '天河路256号', 1603, 40, '天独立', '杭州', '三钻', '西湖', '121.917436', '31.737518', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1185_w200_h200_c1_t0.jpg'),
+(61300, '汉庭(上海四川北路商业区店)', '天河路318号', 581, 48, '汉庭', '上海', '五星级', '四川北路商业区', '121.512355', '31.679255', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1186_w200_h200_c1_t0.jpg'),
+(61431, '华美达(上海静安寺店)', '解放路423号', 2094, 35, '华美达', '上海', '三星级', '静安寺/南京西路', '121.253896', '31.507450', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1187_w200_h200_c1_t0.jpg'),
+(61562, '皇冠假日(广州珠江新城店)', '天河路258号', 1626, 46, '皇冠假日', '广州', '三星级', '珠江新城', '121.183580', '31.856029', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1188_w200_h200_c1_t0.jpg'),
+(61693, '万怡(北京西单店)', '天河路724号', 634, 44, '万怡', '北京', '五钻', '西单、金融街地区', '121.801238', '31.125220', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1189_w200_h200_c1_t0.jpg'),
+(61824, '喜来登(广州天河体育中心店)', '天河路190号', 176, 42, '喜来登', '广州', '三钻', '天河体育中心', '121.268022', '31.271105', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1190_w200_h200_c1_t0.jpg'),
+(61955, '君悦(深圳华强北商圈店)', '天河路143号', 319, 37, '君悦', '深圳', '二钻', '华强北商圈', '121.870815', '31.193801', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1191_w200_h200_c1_t0.jpg'),
+(62086, '速8(深圳华强北商圈店)', '延安西路927号', 228, 48, '速8', '深圳', '五星级', '华强北商圈', '121.171230', '31.067380', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1192_w200_h200_c1_t0.jpg'),
+(62217, '喜来登(广州天河体育中心店)', '长安街740号', 2650, 41, '喜来登', '广州', '三钻', '天河体育中心', '121.980974', '31.389347', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1193_w200_h200_c1_t0.jpg'),
+(62348, '喜来登(北京三里屯店)', '长安街180号', 558, 43, '喜来登', '北京', '五钻', '三里屯、工体地区', '121.880527', '31.432623', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1194_w200_h200_c1_t0.jpg'),
+(62479, '希尔顿(北京国贸地区店)', '延安西路580号', 2449, 37, '希尔顿', '北京', '五钻', '国贸地区', '121.625292', '31.274014', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1195_w200_h200_c1_t0.jpg'),
+(62610, '汉庭(北京西单店)', '南京东路375号', 2378, 39, '汉庭', '北京', '一钻', '西单、金融街地区', '121.151615', '31.007130', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1196_w200_h200_c1_t0.jpg'),
+(62741, '汉庭(深圳福田中心区店)', '南京东路345号', 2100, 37, '汉庭', '深圳', '四钻', '福田中心区', '121.991641', '31.408563', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1197_w200_h200_c1_t0.jpg'),
+(62872, '凯悦(上海虹桥地区店)', '解放路574号', 1741, 43, '凯悦', '上海', '一钻', '虹桥地区', '121.214947', '31.616708', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1198_w200_h200_c1_t0.jpg'),
+(63003, '皇冠假日(杭州钱江新城店)', '南京东路962号', 1311, 48, '皇冠假日', '杭州', '四钻', '钱江新城', '121.994293', '31.443201', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1199_w200_h200_c1_t0.jpg'),
+(63134, '华美达(上海四川北路商业区店)', '南京东路552号', 606, 45, '华美达', '上海', '二钻', '四川北路商业区', '121.271026', '31.023991', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1200_w200_h200_c1_t0.jpg'),
+(63265, '喜来登(杭州西湖店)', '深南大道478号', 162, 49, '喜来登', '杭州', '四钻', '西湖', '121.063704', '31.364517', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1201_w200_h200_c1_t0.jpg'),
+(63396, '皇冠假日(杭州西湖店)', '解放路947号', 2147, 41, '皇冠假日', '杭州', '五钻', '西湖', '121.803079', '31.827660', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1202_w200_h200_c1_t0.jpg'),
+(63527, '天独立(上海陆家嘴金融贸易区店)', '解放路723号', 1793, 39, '天独立', '上海', '一钻', '陆家嘴金融贸易区', '121.009486', '31.140782', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1203_w200_h200_c1_t0.jpg'),
+(63658, '君悦(深圳罗湖口岸店)', '延安西路519号', 2810, 39, '君悦', '深圳', '三星级', '罗湖口岸/火车站', '121.626907', '31.449795', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1204_w200_h200_c1_t0.jpg'),
+(63789, '皇冠假日(深圳福田中心区店)', '天河路330号', 2553, 36, '皇冠假日', '深圳', '五钻', '福田中心区', '121.334802', '31.741633', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1205_w200_h200_c1_t0.jpg'),
+(63920, '如家(北京三里屯店)', '深南大道312号', 2906, 38, '如家', '北京', '三钻', '三里屯、工体地区', '121.347477', '31.155613', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1206_w200_h200_c1_t0.jpg'),
+(64051, '锦江(深圳福田中心区店)', '长安街23号', 158, 41, '锦江', '深圳', '一钻', '福田中心区', '121.403353', '31.321498', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1207_w200_h200_c1_t0.jpg'),
+(64182, '和颐(杭州西湖店)', '南京东路329号', 392, 47, '和颐', '杭州', '二钻', '西湖', '121.578792', '31.321531', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1208_w200_h200_c1_t0.jpg'),
+(64313, '万豪(广州白云机场店)', '长安街800号', 848, 48, '万豪', '广州', '五钻', '白云机场', '121.069950', '31.390105', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1209_w200_h200_c1_t0.jpg'),
+(64444, '华美达(深圳华强北商圈店)', '深南大道11号', 726, 46, '华美达', '深圳', '四星级', '华强北商圈', '121.911058', '31.055302', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1210_w200_h200_c1_t0.jpg'),
+(64575, '锦江(杭州钱江新城店)', '解放路732号', 2694, 41, '锦江', '杭州', '二钻', '钱江新城', '121.121429', '31.738675', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1211_w200_h200_c1_t0.jpg'),
+(64706, '凯悦(广州珠江新城店)', '长安街430号', 1695, 43, '凯悦', '广州', '四钻', '珠江新城', '121.375456', '31.541168', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1212_w200_h200_c1_t0.jpg'),
+(64837, '如家(上海静安寺店)', '天河路463号', 1950, 39, '如家', '上海', '一钻', '静安寺/南京西路', '121.594572', '31.931610', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1213_w200_h200_c1_t0.jpg'),
+(64968, '维也纳(北京王府井店)', '延安西路756号', 2671, 40, '维也纳', '北京', '四钻', '王府井/东单地区', '121.736750', '31.989418', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1214_w200_h200_c1_t0.jpg'),
+(65099, '如家(广州天河体育中心店)', '解放路919号', 2131, 36, '如家', '广州', '四钻', '天河体育中心', '121.186928', '31.923919', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1215_w200_h200_c1_t0.jpg'),
+(65230, '速8(北京国贸地区店)', '深南大道258号', 1191, 36, '速8', '北京', '三钻', '国贸地区', '121.870097', '31.711638', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1216_w200_h200_c1_t0.jpg'),
+(65361, '锦江(深圳华强北商圈店)', '南京东路550号', 178, 48, '锦江', '深圳', '四星级', '华强北商圈', '121.195990', '31.279621', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1217_w200_h200_c1_t0.jpg'),
+(65492, '汉庭(北京国贸地区店)', '深南大道452号', 2130, 49, '汉庭', '北京', '四钻', '国贸地区', '121.072160', '31.496652', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1218_w200_h200_c1_t0.jpg'),
+(65623, '汉庭(上海人民广场地区店)', '解放路375号', 851, 36, '汉庭', '上海', '三星级', '人民广场地区', '121.036804', '31.345788', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1219_w200_h200_c1_t0.jpg'),
+(65754, '喜来登(北京国贸地区店)', '长安街187号', 2636, 41, '喜来登', '北京', '一钻', '国贸地区', '121.849200', '31.617056', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1220_w200_h200_c1_t0.jpg'),
+(65885, '汉庭(广州天河体育中心店)', '天河路212号', 2300, 45, '汉庭', '广州', '三星级', '天河体育中心', '121.876565', '31.727656', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1221_w200_h200_c1_t0.jpg'),
+(66016, '凯悦(北京西单店)', '交通路837号', 1510, 46, '凯悦', '北京', '三星级', '西单、金融街地区', '121.844652', '31.945931', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1222_w200_h200_c1_t0.jpg'),
+(66147, '和颐(杭州武林广场店)', '南京东路186号', 644, 37, '和颐', '杭州', '五星级', '武林广场', '121.041352', '31.278234', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1223_w200_h200_c1_t0.jpg'),
+(66278, '锦江(深圳罗湖口岸店)', '深南大道367号', 1378, 38, '锦江', '深圳', '一钻', '罗湖口岸/火车站', '121.994838', '31.691655', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1224_w200_h200_c1_t0.jpg'),
+(66409, '喜来登(深圳华强北商圈店)', '南京东路150号', 412, 45, '喜来登', '深圳', '五钻', '华强北商圈', '121.424722', '31.820148', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1225_w200_h200_c1_t0.jpg'),
+(66540, '皇冠假日(广州白云机场店)', '南京东路519号', 626, 36, '皇冠假日', '广州', '三星级', '白云机场', '121.513834', '31.417863', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1226_w200_h200_c1_t0.jpg'),
+(66671, '速8(广州白云机场店)', '交通路894号', 1293, 48, '速8', '广州', '二钻', '白云机场', '121.676682', '31.454929', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1227_w200_h200_c1_t0.jpg'),
+(66802, '君悦(广州天河体育中心店)', '天河路424号', 2582, 38, '君悦', '广州', '五星级', '天河体育中心', '121.639658', '31.367059', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1228_w200_h200_c1_t0.jpg'),
+(66933, '喜来登(深圳罗湖口岸店)', '长安街675号', 1216, 39, '喜来登', '深圳', '一钻', '罗湖口岸/火车站', '121.672064', '31.244719', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1229_w200_h200_c1_t0.jpg'),
+(67064, '锦江(广州天河体育中心店)', '深南大道917号', 1150, 41, '锦江', '广州', '四星级', '天河体育中心', '121.278321', '31.102069', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1230_w200_h200_c1_t0.jpg'),
+(67195, '速8(杭州武林广场店)', '天河路102号', 1976, 49, '速8', '杭州', '四钻', '武林广场', '121.088385', '31.363582', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1231_w200_h200_c1_t0.jpg'),
+(67326, '7天酒店(深圳罗湖口岸店)', '深南大道686号', 2976, 40, '7天酒店', '深圳', '一钻', '罗湖口岸/火车站', '121.667971', '31.155704', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1232_w200_h200_c1_t0.jpg'),
+(67457, '锦江(上海人民广场地区店)', '长安街518号', 1414, 42, '锦江', '上海', '一钻', '人民广场地区', '121.970407', '31.976457', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1233_w200_h200_c1_t0.jpg'),
+(67588, '凯悦(广州天河体育中心店)', '天河路555号', 2991, 36, '凯悦', '广州', '一钻', '天河体育中心', '121.066551', '31.462227', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1234_w200_h200_c1_t0.jpg'),
+(67719, '和颐(广州珠江新城店)', '深南大道215号', 2157, 40, '和颐', '广州', '三钻', '珠江新城', '121.515565', '31.095917', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1235_w200_h200_c1_t0.jpg'),
+(67850, '7天酒店(上海人民广场地区店)', '天河路713号', 2671, 47, '7天酒店', '上海', '五钻', '人民广场地区', '121.663361', '31.969889', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1236_w200_h200_c1_t0.jpg'),
+(67981, '速8(广州白云机场店)', '长安街160号', 184, 40, '速8', '广州', '三星级', '白云机场', '121.944536', '31.895817', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1237_w200_h200_c1_t0.jpg'),
+(68112, '速8(上海虹桥地区店)', '长安街549号', 2418, 43, '速8', '上海', '二钻', '虹桥地区', '121.776229', '31.094269', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1238_w200_h200_c1_t0.jpg'),
+(68243, '速8(杭州西湖店)', '深南大道244号', 651, 45, '速8', '杭州', '二钻', '西湖', '121.509707', '31.308461', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1239_w200_h200_c1_t0.jpg'),
+(68374, '万豪(深圳福田中心区店)', '深南大道424号', 2030, 35, '万豪', '深圳', '四钻', '福田中心区', '121.588872', '31.170195', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1240_w200_h200_c1_t0.jpg'),
+(68505, '维也纳(上海人民广场地区店)', '解放路921号', 547, 47, '维也纳', '上海', '三钻', '人民广场地区', '121.143959', '31.564336', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1241_w200_h200_c1_t0.jpg'),
+(68636, '凯悦(北京国贸地区店)', '长安街843号', 163, 38, '凯悦', '北京', '三钻', '国贸地区', '121.797131', '31.109529', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1242_w200_h200_c1_t0.jpg'),
+(68767, '华美达(广州白云机场店)', '深南大道634号', 236, 41, '华美达', '广州', '二钻', '白云机场', '121.493438', '31.912088', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1243_w200_h200_c1_t0.jpg'),
+(68898, '如家(杭州钱江新城店)', '长安街307号', 440, 38, '如家', '杭州', '五钻', '钱江新城', '121.536729', '31.657152', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1244_w200_h200_c1_t0.jpg'),
+(69029, '希尔顿(广州白云机场店)', '南京东路670号', 2414, 37, '希尔顿', '广州', '二钻', '白云机场', '121.394447', '31.299348', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1245_w200_h200_c1_t0.jpg'),
+(69160, '皇冠假日(杭州西湖店)', '延安西路87号', 1878, 47, '皇冠假日', '杭州', '五星级', '西湖', '121.384657', '31.648718', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1246_w200_h200_c1_t0.jpg'),
+(69291, '维也纳(深圳福田中心区店)', '交通路319号', 2295, 35, '维也纳', '深圳', '三钻', '福田中心区', '121.527873', '31.547542', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1247_w200_h200_c1_t0.jpg'),
+(69422, '万豪(广州珠江新城店)', '交通路731号', 1643, 35, '万豪', '广州', '三星级', '珠江新城', '121.359599', '31.950977', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1248_w200_h200_c1_t0.jpg'),
+(69553, '天独立(杭州武林广场店)', '交通路383号', 1785, 44, '天独立', '杭州', '二钻', '武林广场', '121.007078', '31.593362', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1249_w200_h200_c1_t0.jpg'),
+(69684, '锦江(北京王府井店)', '解放路309号', 979, 44, '锦江', '北京', '一钻', '王府井/东单地区', '121.315132', '31.497632', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1250_w200_h200_c1_t0.jpg'),
+(69815, '锦江(杭州西湖店)', '解放路96号', 993, 39, '锦江', '杭州', '五钻', '西湖', '121.807693', '31.943728', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1251_w200_h200_c1_t0.jpg'),
+(69946, '君悦(深圳福田中心区店)', '延安西路586号', 2904, 36, '君悦', '深圳', '二钻', '福田中心区', '121.396685', '31.225303', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1252_w200_h200_c1_t0.jpg'),
+(70077, '希尔顿(深圳福田中心区店)', '延安西路153号', 758, 47, '希尔顿', '深圳', '五钻', '福田中心区', '121.642270', '31.056740', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1253_w200_h200_c1_t0.jpg'),
+(70208, '如家(广州白云机场店)', '深南大道86号', 2381, 37, '如家', '广州', '三星级', '白云机场', '121.638688', '31.022345', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1254_w200_h200_c1_t0.jpg'),
+(70339, '7天酒店(北京西单店)', '长安街344号', 2903, 45, '7天酒店', '北京', '二钻', '西单、金融街地区', '121.172481', '31.083462', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1255_w200_h200_c1_t0.jpg'),
+(70470, '君悦(北京西单店)', '天河路448号', 603, 42, '君悦', '北京', '三星级', '西单、金融街地区', '121.897281', '31.727696', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1256_w200_h200_c1_t0.jpg'),
+(70601, '锦江(上海静安寺店)', '天河路116号', 2999, 36, '锦江', '上海', '四星级', '静安寺/南京西路', '121.310057', '31.953863', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1257_w200_h200_c1_t0.jpg'),
+(70732, '速8(杭州西湖店)', '交通路425号', 1447, 43, '速8', '杭州', '三钻', '西湖', '121.839260', '31.123360', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1258_w200_h200_c1_t0.jpg'),
+(70863, '天独立(深圳华强北商圈店)', '交通路919号', 1889, 49, '天独立', '深圳', '四星级', '华强北商圈', '121.200291', '31.702906', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1259_w200_h200_c1_t0.jpg'),
+(70994, '天独立(广州白云机场店)', '天河路818号', 1709, 43, '天独立', '广州', '五星级', '白云机场', '121.105225', '31.742342', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1260_w200_h200_c1_t0.jpg'),
+(71125, '希尔顿(北京三里屯店)', '交通路355号', 791, 45, '希尔顿', '北京', '三星级', '三里屯、工体地区', '121.377005', '31.802954', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1261_w200_h200_c1_t0.jpg'),
+(71256, '维也纳(广州珠江新城店)', '深南大道863号', 2013, 40, '维也纳', '广州', '三钻', '珠江新城', '121.480476', '31.980610', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1262_w200_h200_c1_t0.jpg'),
+(71387, '汉庭(深圳罗湖口岸店)', '长安街240号', 2710, 39, '汉庭', '深圳', '三星级', '罗湖口岸/火车站', '121.730409', '31.574979', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1263_w200_h200_c1_t0.jpg'),
+(71518, '汉庭(深圳华强北商圈店)', '长安街250号', 993, 41, '汉庭', '深圳', '二钻', '华强北商圈', '121.559530', '31.975744', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1264_w200_h200_c1_t0.jpg'),
+(71649, '维也纳(杭州钱江新城店)', '长安街121号', 1067, 37, '维也纳', '杭州', '二钻', '钱江新城', '121.679435', '31.500620', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1265_w200_h200_c1_t0.jpg'),
+(71780, '如家(北京王府井店)', '深南大道164号', 2378, 42, '如家', '北京', '三星级', '王府井/东单地区', '121.489575', '31.446708', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1266_w200_h200_c1_t0.jpg'),
+(71911, '喜来登(深圳福田中心区店)', '南京东路803号', 759, 38, '喜来登', '深圳', '四钻', '福田中心区', '121.861157', '31.737584', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1267_w200_h200_c1_t0.jpg'),
+(72042, '速8(深圳福田中心区店)', '解放路195号', 2505, 37, '速8', '深圳', '三星级', '福田中心区', '121.689278', '31.364021', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1268_w200_h200_c1_t0.jpg'),
+(72173, '皇冠假日(深圳福田中心区店)', '南京东路367号', 203, 37, '皇冠假日', '深圳', '五钻', '福田中心区', '121.667770', '31.286474', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1269_w200_h200_c1_t0.jpg'),
+(72304, '万怡(杭州钱江新城店)', '长安街78号', 1236, 35, '万怡', '杭州', '五钻', '钱江新城', '121.793621', '31.943430', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1270_w200_h200_c1_t0.jpg'),
+(72435, '君悦(北京三里屯店)', '解放路881号', 2349, 48, '君悦', '北京', '三钻', '三里屯、工体地区', '121.609396', '31.543788', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1271_w200_h200_c1_t0.jpg'),
+(72566, '皇冠假日(北京王府井店)', '交通路438号', 1605, 45, '皇冠假日', '北京', '四钻', '王府井/东单地区', '121.481015', '31.686204', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1272_w200_h200_c1_t0.jpg'),
+(72697, '和颐(深圳罗湖口岸店)', '深南大道278号', 2438, 46, '和颐', '深圳', '三星级', '罗湖口岸/火车站', '121.885526', '31.075359', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1273_w200_h200_c1_t0.jpg'),
+(72828, '速8(杭州武林广场店)', '天河路761号', 414, 39, '速8', '杭州', '一钻', '武林广场', '121.102005', '31.565432', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1274_w200_h200_c1_t0.jpg'),
+(72959, '和颐(上海虹桥地区店)', '延安西路363号', 696, 35, '和颐', '上海', '二钻', '虹桥地区', '121.140729', '31.413295', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1275_w200_h200_c1_t0.jpg'),
+(73090, '汉庭(北京西单店)', '深南大道696号', 876, 36, '汉庭', '北京', '三星级', '西单、金融街地区', '121.612524', '31.925284', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1276_w200_h200_c1_t0.jpg'),
+(73221, '凯悦(上海人民广场地区店)', '长安街198号', 442, 46, '凯悦', '上海', '五星级', '人民广场地区', '121.029544', '31.939940', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1277_w200_h200_c1_t0.jpg'),
+(73352, '汉庭(杭州西湖店)', '延安西路263号', 1494, 38, '汉庭', '杭州', '五钻', '西湖', '121.938888', '31.976025', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1278_w200_h200_c1_t0.jpg'),
+(73483, '凯悦(北京国贸地区店)', '深南大道502号', 2539, 45, '凯悦', '北京', '三星级', '国贸地区', '121.933250', '31.086400', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1279_w200_h200_c1_t0.jpg'),
+(73614, '华美达(杭州西湖店)', '交通路115号', 1340, 48, '华美达', '杭州', '五钻', '西湖', '121.957162', '31.024063', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1280_w200_h200_c1_t0.jpg'),
+(73745, '万怡(上海人民广场地区店)', '天河路620号', 2248, 48, '万怡', '上海', '二钻', '人民广场地区', '121.000681', '31.067909', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1281_w200_h200_c1_t0.jpg'),
+(73876, '君悦(北京三里屯店)', '长安街359号', 1494, 38, '君悦', '北京', '三星级', '三里屯、工体地区', '121.391971', '31.898518', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1282_w200_h200_c1_t0.jpg'),
+(74007, '皇冠假日(北京国贸地区店)', '深南大道379号', 2274, 46, '皇冠假日', '北京', '三星级', '国贸地区', '121.521143', '31.351895', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1283_w200_h200_c1_t0.jpg'),
+(74138, '凯悦(北京三里屯店)', '南京东路154号', 986, 39, '凯悦', '北京', '五星级', '三里屯、工体地区', '121.478998', '31.783659', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1284_w200_h200_c1_t0.jpg'),
+(74269, '华美达(深圳福田中心区店)', '天河路671号', 2619, 39, '华美达', '深圳', '五钻', '福田中心区', '121.573386', '31.022349', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1285_w200_h200_c1_t0.jpg'),
+(74400, '万豪(深圳福田中心区店)', '延安西路522号', 1469, 46, '万豪', '深圳', '四钻', '福田中心区', '121.674128', '31.790317', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1286_w200_h200_c1_t0.jpg'),
+(74531, '汉庭(杭州西湖店)', '天河路782号', 2182, 38, '汉庭', '杭州', '五星级', '西湖', '121.217838', '31.414363', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1287_w200_h200_c1_t0.jpg'),
+(74662, '锦江(北京王府井店)', '交通路933号', 419, 48, '锦江', '北京', '四星级', '王府井/东单地区', '121.999977', '31.419103', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1288_w200_h200_c1_t0.jpg'),
+(74793, '希尔顿(北京三里屯店)', '长安街929号', 1295, 43, '希尔顿', '北京', '二钻', '三里屯、工体地区', '121.475855', '31.818337', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1289_w200_h200_c1_t0.jpg'),
+(74924, '如家(上海陆家嘴金融贸易区店)', '交通路390号', 386, 41, '如家', '上海', '三钻', '陆家嘴金融贸易区', '121.143468', '31.205586', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1290_w200_h200_c1_t0.jpg'),
+(75055, '万豪(广州白云机场店)', '延安西路142号', 678, 37, '万豪', '广州', '三星级', '白云机场', '121.945602', '31.192664', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1291_w200_h200_c1_t0.jpg'),
+(75186, '万豪(北京西单店)', '延安西路382号', 612, 49, '万豪', '北京', '五钻', '西单、金融街地区', '121.146442', '31.870721', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1292_w200_h200_c1_t0.jpg'),
+(75317, '锦江(北京国贸地区店)', '交通路315号', 1435, 37, '锦江', '北京', '二钻', '国贸地区', '121.273884', '31.521974', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1293_w200_h200_c1_t0.jpg'),
+(75448, '维也纳(杭州武林广场店)', '延安西路970号', 497, 36, '维也纳', '杭州', '四钻', '武林广场', '121.016514', '31.921666', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1294_w200_h200_c1_t0.jpg'),
+(75579, '华美达(杭州西湖店)', '延安西路654号', 2448, 36, '华美达', '杭州', '五钻', '西湖', '121.483642', '31.893173', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1295_w200_h200_c1_t0.jpg'),
+(75710, '维也纳(杭州钱江新城店)', '深南大道867号', 2120, 42, '维也纳', '杭州', '一钻', '钱江新城', '121.190792', '31.944066', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1296_w200_h200_c1_t0.jpg'),
+(75841, '维也纳(上海静安寺店)', '长安街557号', 332, 39, '维也纳', '上海', '三钻', '静安寺/南京西路', '121.045502', '31.401192', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1297_w200_h200_c1_t0.jpg'),
+(75972, '7天酒店(北京国贸地区店)', '南京东路435号', 2164, 44, '7天酒店', '北京', '二钻', '国贸地区', '121.465093', '31.182564', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1298_w200_h200_c1_t0.jpg'),
+(76103, '华美达(上海虹桥地区店)', '交通路345号', 1187, 48, '华美达', '上海', '三星级', '虹桥地区', '121.687737', '31.250754', 'https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH1299_w200_h200_c1_t0.jpg');
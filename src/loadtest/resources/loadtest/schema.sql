@@ -0,0 +1,31 @@
+-- 压测用的内存库表结构，字段和线上tb_hotel、发件箱、同步进度表一致
+CREATE TABLE IF NOT EXISTS tb_hotel (
+  id bigint NOT NULL,
+  name varchar(255) NOT NULL,
+  address varchar(255) NOT NULL,
+  price int NOT NULL,
+  score int NOT NULL,
+  brand varchar(32) NOT NULL,
+  city varchar(32) NOT NULL,
+  star_name varchar(16),
+  business varchar(255),
+  latitude varchar(32) NOT NULL,
+  longitude varchar(32) NOT NULL,
+  pic varchar(255),
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_hotel_outbox (
+  id bigint NOT NULL AUTO_INCREMENT,
+  hotel_id bigint NOT NULL,
+  op char(1) NOT NULL,
+  create_time timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (id)
+);
+
+CREATE TABLE IF NOT EXISTS tb_sync_checkpoint (
+  name varchar(64) NOT NULL,
+  watermark bigint NOT NULL DEFAULT 0,
+  update_time timestamp NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (name)
+);
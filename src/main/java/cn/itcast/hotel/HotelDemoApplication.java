@@ -7,9 +7,11 @@ import org.mybatis.spring.annotation.MapperScan;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Bean;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @MapperScan("cn.itcast.hotel.mapper")
 @SpringBootApplication
+@EnableScheduling
 public class HotelDemoApplication {
 
     public static void main(String[] args) {
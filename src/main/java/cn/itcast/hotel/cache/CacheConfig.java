@@ -0,0 +1,19 @@
+package cn.itcast.hotel.cache;
+
+import cn.itcast.hotel.config.CacheProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnMissingBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class CacheConfig {
+
+    /**
+     * 没有配置共享存储时使用进程内实现
+     */
+    @Bean
+    @ConditionalOnMissingBean(SearchResultStore.class)
+    public SearchResultStore searchResultStore(CacheProperties properties) {
+        return new InMemorySearchResultStore(properties.getSharedMaximumSize());
+    }
+}
@@ -0,0 +1,205 @@
+package cn.itcast.hotel.cache;
+
+import cn.itcast.hotel.config.DetailProperties;
+import cn.itcast.hotel.mapper.HotelMapper;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.service.HotelChangeListener;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按id查酒店详情：先查本地缓存，未命中的id攒一个很短的窗口，合并成一次selectBatchIds
+ * 同一个窗口里不同请求要的同一个id只查一次；查不到的id也缓存，避免反复打数据库
+ * 酒店有写入时失效对应的条目，加载期间发生过失效的结果不进缓存
+ */
+@Slf4j
+@Component
+public class HotelDetailLoader implements HotelChangeListener, MeterBinder {
+    @Autowired
+    private HotelMapper hotelMapper;
+    @Autowired
+    private DetailProperties properties;
+
+    private Cache<Long, Optional<HotelDoc>> cache;
+    private ScheduledExecutorService executor;
+    /**
+     * 等待下一批查询的id，按加入顺序
+     */
+    private final Map<Long, CompletableFuture<Optional<HotelDoc>>> pending = new LinkedHashMap<>();
+    private boolean flushScheduled;
+    /**
+     * 每次失效加一，加载前后不一致说明加载期间有写入
+     */
+    private final AtomicLong invalidations = new AtomicLong();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder batchedIds = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        cache = Caffeine.newBuilder()
+                .maximumSize(properties.getCacheMaximumSize())
+                .expireAfterWrite(properties.getCacheTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "hotel-detail-loader");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * 酒店不存在时结果为null
+     */
+    public CompletableFuture<HotelDoc> load(Long id) {
+        return loadAll(Collections.singletonList(id))
+                .thenApply(hotels -> hotels.isEmpty() ? null : hotels.get(0));
+    }
+
+    /**
+     * 按传入的顺序返回，重复的id只返回一次，不存在的id跳过
+     */
+    public CompletableFuture<List<HotelDoc>> loadAll(Collection<Long> ids) {
+        Map<Long, CompletableFuture<Optional<HotelDoc>>> futures = new LinkedHashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : new LinkedHashSet<>(ids)) {
+            Optional<HotelDoc> cached = cache.getIfPresent(id);
+            if (cached != null) {
+                futures.put(id, CompletableFuture.completedFuture(cached));
+            } else {
+                futures.put(id, null);
+                misses.add(id);
+            }
+        }
+        if (!misses.isEmpty()) {
+            synchronized (pending) {
+                for (Long id : misses) {
+                    futures.put(id, pending.computeIfAbsent(id, k -> new CompletableFuture<>()));
+                }
+                if (!flushScheduled) {
+                    flushScheduled = true;
+                    executor.schedule(this::flush, properties.getBatchWindowMs(), TimeUnit.MILLISECONDS);
+                }
+            }
+        }
+        return CompletableFuture.allOf(futures.values().toArray(new CompletableFuture[0])).thenApply(v -> {
+            List<HotelDoc> hotels = new ArrayList<>(futures.size());
+            for (CompletableFuture<Optional<HotelDoc>> future : futures.values()) {
+                future.join().ifPresent(hotels::add);
+            }
+            return hotels;
+        });
+    }
+
+    private void flush() {
+        Map<Long, CompletableFuture<Optional<HotelDoc>>> batch;
+        synchronized (pending) {
+            batch = new LinkedHashMap<>(pending);
+            pending.clear();
+            flushScheduled = false;
+        }
+        List<Long> ids = new ArrayList<>(batch.keySet());
+        for (int from = 0; from < ids.size(); from += properties.getMaxBatchSize()) {
+            List<Long> chunk = ids.subList(from, Math.min(ids.size(), from + properties.getMaxBatchSize()));
+            long before = invalidations.get();
+            Map<Long, HotelDoc> found = new HashMap<>();
+            try {
+                for (Hotel hotel : hotelMapper.selectBatchIds(chunk)) {
+                    found.put(hotel.getId(), new HotelDoc(hotel));
+                }
+            } catch (RuntimeException e) {
+                log.warn("批量查询{}家酒店失败", chunk.size(), e);
+                for (Long id : chunk) {
+                    batch.get(id).completeExceptionally(e);
+                }
+                continue;
+            }
+            batches.increment();
+            batchedIds.add(chunk.size());
+            for (Long id : chunk) {
+                cache.put(id, Optional.ofNullable(found.get(id)));
+            }
+            //放进缓存以后再检查一次：加载期间有失效，刚放进去的可能是旧数据
+            if (invalidations.get() != before) {
+                cache.invalidateAll(chunk);
+            }
+            for (Long id : chunk) {
+                batch.get(id).complete(Optional.ofNullable(found.get(id)));
+            }
+        }
+    }
+
+    /**
+     * 写库事务提交后调用；先加计数再删条目，和flush里的检查配合，不会留下旧数据
+     */
+    public void invalidate(Long id) {
+        invalidations.incrementAndGet();
+        cache.invalidate(id);
+    }
+
+    @Override
+    public void onUpsert(Hotel hotel) {
+        invalidate(hotel.getId());
+    }
+
+    @Override
+    public void onDelete(Long id) {
+        invalidate(id);
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, "hotelDetail");
+        FunctionCounter.builder("hotel.detail.batches", batches, LongAdder::sum)
+                .description("合并后查数据库的次数")
+                .register(registry);
+        FunctionCounter.builder("hotel.detail.batched.ids", batchedIds, LongAdder::sum)
+                .description("合并查询里的id总数")
+                .register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = cache.stats();
+        long batchCount = batches.sum();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("requests", stats.requestCount());
+        map.put("hitRate", stats.hitRate());
+        map.put("size", cache.estimatedSize());
+        map.put("evictions", stats.evictionCount());
+        map.put("batches", batchCount);
+        map.put("averageBatchSize", batchCount == 0 ? 0 : batchedIds.sum() / (double) batchCount);
+        return map;
+    }
+}
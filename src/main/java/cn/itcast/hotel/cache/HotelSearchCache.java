@@ -0,0 +1,154 @@
+package cn.itcast.hotel.cache;
+
+import cn.itcast.hotel.config.CacheProperties;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.utils.Futures;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * /hotel/list的两级缓存
+ * 一级：进程内Caffeine（W-TinyLFU淘汰），二级：共享的SearchResultStore
+ * key = 索引代数 + 规范化后的查询参数，索引有写入时代数加一，旧结果不再命中
+ */
+@Component
+public class HotelSearchCache implements MeterBinder {
+    private static final String LIST_PREFIX = "list";
+
+    @Autowired
+    private CacheProperties properties;
+    @Autowired
+    private SearchResultStore store;
+    @Autowired
+    private IndexGeneration generation;
+
+    private Cache<String, Object> local;
+    private final LongAdder sharedHits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadNanos = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        local = Caffeine.newBuilder()
+                .maximumSize(properties.getLocalMaximumSize())
+                .expireAfterWrite(properties.getLocalTtlSeconds(), TimeUnit.SECONDS)
+                .recordStats()
+                .build();
+    }
+
+    public PageResult search(RequestParams params, Function<RequestParams, PageResult> loader) {
+        if (!properties.isEnabled() || !SearchKeys.isCacheable(params)) {
+            return loader.apply(params);
+        }
+        RequestParams canonical = SearchKeys.canonicalize(params, properties.getGeoPrecision());
+        String key = generation.current() + ":" + SearchKeys.key(LIST_PREFIX, canonical);
+        //同一个key并发未命中时只有一个线程去加载；取整只用于key，距离按请求里的真实坐标算
+        return (PageResult) local.get(key, k -> loadShared(k, () -> loader.apply(params)));
+    }
+
+    /**
+     * 异步版本，未命中时不阻塞调用线程
+     */
+    public CompletableFuture<PageResult> searchAsync(RequestParams params,
+                                                     Function<RequestParams, CompletableFuture<PageResult>> loader) {
+        if (!properties.isEnabled() || !SearchKeys.isCacheable(params)) {
+            return loader.apply(params);
+        }
+        RequestParams canonical = SearchKeys.canonicalize(params, properties.getGeoPrecision());
+        String key = generation.current() + ":" + SearchKeys.key(LIST_PREFIX, canonical);
+        Object value = local.getIfPresent(key);
+        if (value == null) {
+            value = store.get(key);
+            if (value != null) {
+                sharedHits.increment();
+                local.put(key, value);
+            }
+        }
+        if (value != null) {
+            return CompletableFuture.completedFuture((PageResult) value);
+        }
+        long start = System.nanoTime();
+        CompletableFuture<PageResult> loading = loader.apply(params);
+        CompletableFuture<PageResult> result = loading.whenComplete((page, e) -> {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+            if (page != null) {
+                local.put(key, page);
+                store.put(key, page, TimeUnit.SECONDS.toMillis(properties.getSharedTtlSeconds()));
+            }
+        });
+        return Futures.propagateCancellation(result, loading);
+    }
+
+    private Object loadShared(String key, Supplier<Object> loader) {
+        Object value = store.get(key);
+        if (value != null) {
+            sharedHits.increment();
+            return value;
+        }
+        long start = System.nanoTime();
+        try {
+            value = loader.get();
+        } finally {
+            loads.increment();
+            loadNanos.add(System.nanoTime() - start);
+        }
+        if (value != null) {
+            store.put(key, value, TimeUnit.SECONDS.toMillis(properties.getSharedTtlSeconds()));
+        }
+        return value;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, local, "hotelList");
+        FunctionCounter.builder("hotel.cache.shared.hits", sharedHits, LongAdder::sum)
+                .description("本地未命中、共享缓存命中的次数")
+                .register(registry);
+        FunctionCounter.builder("hotel.cache.loads", loads, LongAdder::sum)
+                .description("两级都未命中、查ES的次数")
+                .register(registry);
+    }
+
+    public void invalidateAll() {
+        generation.bump();
+        local.invalidateAll();
+    }
+
+    public Map<String, Object> stats() {
+        CacheStats stats = local.stats();
+        long requests = stats.requestCount();
+        long shared = sharedHits.sum();
+        long loadCount = loads.sum();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("generation", generation.current());
+        map.put("requests", requests);
+        map.put("localHits", stats.hitCount());
+        map.put("sharedHits", shared);
+        map.put("misses", loadCount);
+        map.put("localHitRate", stats.hitRate());
+        map.put("hitRate", requests == 0 ? 0 : (stats.hitCount() + shared) / (double) requests);
+        map.put("missRate", requests == 0 ? 0 : loadCount / (double) requests);
+        map.put("averageLoadMillis", loadCount == 0 ? 0 : loadNanos.sum() / 1_000_000.0 / loadCount);
+        map.put("evictions", stats.evictionCount());
+        map.put("localSize", local.estimatedSize());
+        return map;
+    }
+}
@@ -0,0 +1,84 @@
+package cn.itcast.hotel.cache;
+
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 进程内的二级缓存，单实例部署和测试时使用
+ */
+public class InMemorySearchResultStore implements SearchResultStore {
+    private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final String id = UUID.randomUUID().toString().replace("-", "").substring(0, 12);
+    private final int maximumSize;
+
+    public InMemorySearchResultStore(int maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    @Override
+    public Object get(String key) {
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            return null;
+        }
+        if (entry.expireAt < System.currentTimeMillis()) {
+            entries.remove(key, entry);
+            return null;
+        }
+        return entry.value;
+    }
+
+    @Override
+    public void put(String key, Object value, long ttlMillis) {
+        if (entries.size() >= maximumSize) {
+            evict();
+        }
+        entries.put(key, new Entry(value, System.currentTimeMillis() + ttlMillis));
+    }
+
+    @Override
+    public long generation() {
+        return generation.get();
+    }
+
+    @Override
+    public long incrementGeneration() {
+        return generation.incrementAndGet();
+    }
+
+    @Override
+    public String id() {
+        return id;
+    }
+
+    public int size() {
+        return entries.size();
+    }
+
+    /**
+     * 先清理过期的，还不够就随便淘汰一部分
+     */
+    private void evict() {
+        long now = System.currentTimeMillis();
+        entries.values().removeIf(entry -> entry.expireAt < now);
+        Iterator<String> iterator = entries.keySet().iterator();
+        while (entries.size() >= maximumSize && iterator.hasNext()) {
+            iterator.next();
+            iterator.remove();
+        }
+    }
+
+    private static class Entry {
+        final Object value;
+        final long expireAt;
+
+        Entry(Object value, long expireAt) {
+            this.value = value;
+            this.expireAt = expireAt;
+        }
+    }
+}
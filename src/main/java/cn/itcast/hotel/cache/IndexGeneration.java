@@ -0,0 +1,75 @@
+package cn.itcast.hotel.cache;
+
+import cn.itcast.hotel.config.CacheProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 索引代数：索引每次有写入就加一，所有缓存key都带上代数
+ * 本地短暂缓存共享存储里的值，避免每次查询都访问共享存储
+ * 增量同步的写入合并起来，最多每writeInvalidationMs加一次，持续有写入时缓存不会每一批都整个失效
+ */
+@Component
+public class IndexGeneration {
+    @Autowired
+    private SearchResultStore store;
+    @Autowired
+    private CacheProperties properties;
+
+    private volatile long cached = -1;
+    private volatile long refreshedAt;
+    private volatile long bumpedAt;
+    /**
+     * 有增量写入还没让缓存失效
+     */
+    private final AtomicBoolean pending = new AtomicBoolean();
+
+    public long current() {
+        long now = System.currentTimeMillis();
+        if (pending.get() && now - bumpedAt >= properties.getWriteInvalidationMs()) {
+            bumpPending();
+        }
+        if (cached < 0 || now - refreshedAt > properties.getGenerationRefreshMs()) {
+            cached = store.generation();
+            refreshedAt = now;
+        }
+        return cached;
+    }
+
+    /**
+     * 代数的来源，代数只在同一个来源里有意义
+     */
+    public String source() {
+        return store.id();
+    }
+
+    /**
+     * 马上让所有缓存失效，切换索引、改排序配置时用
+     */
+    public long bump() {
+        long generation = store.incrementGeneration();
+        cached = generation;
+        refreshedAt = System.currentTimeMillis();
+        bumpedAt = refreshedAt;
+        return generation;
+    }
+
+    /**
+     * 增量同步写入了酒店：离上次失效够久就马上失效，否则记下来，下次查代数时再失效
+     * 要在写入已经能被搜到（bulk等到刷新）以后调用，这样修改后最多writeInvalidationMs能在列表里看到
+     */
+    public void changed() {
+        pending.set(true);
+        if (System.currentTimeMillis() - bumpedAt >= properties.getWriteInvalidationMs()) {
+            bumpPending();
+        }
+    }
+
+    private void bumpPending() {
+        if (pending.compareAndSet(true, false)) {
+            bump();
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package cn.itcast.hotel.cache;
+
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.ranking.SortMode;
+import cn.itcast.hotel.utils.HitCount;
+import org.springframework.util.StringUtils;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * 查询参数规范化：去掉空白、补齐分页默认值、坐标按精度取整，
+ * 语义相同的请求得到同一个key
+ */
+public final class SearchKeys {
+    public static final int DEFAULT_PAGE = 1;
+    public static final int DEFAULT_SIZE = 10;
+
+    private SearchKeys() {
+    }
+
+    public static RequestParams canonicalize(RequestParams params, int geoPrecision) {
+        RequestParams canonical = normalize(params);
+        canonical.setLocation(roundLocation(canonical.getLocation(), geoPrecision));
+        return canonical;
+    }
+
+    /**
+     * 只做不改变查询语义的规范化（去空白、补默认值、排序方式换成解析后的写法），坐标原样保留
+     */
+    public static RequestParams normalize(RequestParams params) {
+        RequestParams canonical = new RequestParams();
+        canonical.setKey(trim(params.getKey()));
+        canonical.setPage(params.getPage() == null || params.getPage() < 1 ? DEFAULT_PAGE : params.getPage());
+        canonical.setSize(params.getSize() == null || params.getSize() < 1 ? DEFAULT_SIZE : params.getSize());
+        canonical.setSort(SortMode.of(params).key());
+        canonical.setCity(trim(params.getCity()));
+        canonical.setBrand(trim(params.getBrand()));
+        canonical.setStarName(trim(params.getStarName()));
+        canonical.setMinPrice(params.getMinPrice());
+        canonical.setMaxPrice(params.getMaxPrice());
+        canonical.setLocation(trim(params.getLocation()));
+        canonical.setRadius(params.getRadius());
+        canonical.setBbox(trim(params.getBbox()));
+        canonical.setPaging(trim(params.getPaging()));
+        canonical.setCursor(trim(params.getCursor()));
+        canonical.setPit(params.getPit());
+        canonical.setCount(HitCount.of(params).key());
+        return canonical;
+    }
+
+    /**
+     * point in time是每个用户自己的快照，不能共享结果
+     */
+    public static boolean isCacheable(RequestParams params) {
+        return !Boolean.TRUE.equals(params.getPit());
+    }
+
+    /**
+     * 规范化以后的参数拼成key，字段顺序固定
+     */
+    public static String key(String prefix, RequestParams canonical) {
+        return prefix
+                + '|' + nullToEmpty(canonical.getKey())
+                + '|' + canonical.getPage()
+                + '|' + canonical.getSize()
+                + '|' + nullToEmpty(canonical.getSort())
+                + '|' + nullToEmpty(canonical.getCity())
+                + '|' + nullToEmpty(canonical.getBrand())
+                + '|' + nullToEmpty(canonical.getStarName())
+                + '|' + nullToEmpty(canonical.getMinPrice())
+                + '|' + nullToEmpty(canonical.getMaxPrice())
+                + '|' + nullToEmpty(canonical.getLocation())
+                + '|' + nullToEmpty(canonical.getRadius())
+                + '|' + nullToEmpty(canonical.getBbox())
+                + '|' + nullToEmpty(canonical.getPaging())
+                + '|' + nullToEmpty(canonical.getCursor())
+                + '|' + nullToEmpty(canonical.getCount());
+    }
+
+    /**
+     * 过滤项聚合只和过滤条件有关，分页、排序、坐标不同的请求可以共用
+     */
+    public static String filtersKey(RequestParams params) {
+        return "filters"
+                + '|' + nullToEmpty(trim(params.getKey()))
+                + '|' + nullToEmpty(trim(params.getCity()))
+                + '|' + nullToEmpty(trim(params.getBrand()))
+                + '|' + nullToEmpty(trim(params.getStarName()))
+                + '|' + nullToEmpty(params.getMinPrice())
+                + '|' + nullToEmpty(params.getMaxPrice())
+                + '|' + (params.getRadius() == null ? "" : trim(params.getLocation()) + '~' + params.getRadius())
+                + '|' + nullToEmpty(trim(params.getBbox()));
+    }
+
+    static String roundLocation(String location, int precision) {
+        if (location == null) {
+            return null;
+        }
+        String[] parts = location.split(",");
+        if (parts.length != 2) {
+            return location;
+        }
+        try {
+            BigDecimal lat = new BigDecimal(parts[0].trim()).setScale(precision, RoundingMode.HALF_UP);
+            BigDecimal lon = new BigDecimal(parts[1].trim()).setScale(precision, RoundingMode.HALF_UP);
+            return lat.toPlainString() + ", " + lon.toPlainString();
+        } catch (NumberFormatException e) {
+            return location;
+        }
+    }
+
+    private static String trim(String value) {
+        return StringUtils.hasText(value) ? value.trim() : null;
+    }
+
+    private static String nullToEmpty(Object value) {
+        return value == null ? "" : value.toString();
+    }
+}
@@ -0,0 +1,24 @@
+package cn.itcast.hotel.cache;
+
+/**
+ * 多实例共享的二级缓存，默认是进程内实现，可以换成Redis等共享存储
+ */
+public interface SearchResultStore {
+
+    Object get(String key);
+
+    void put(String key, Object value, long ttlMillis);
+
+    /**
+     * 当前的索引代数，每次写入索引加一，缓存key里带着代数，代数变化后旧缓存自然失效
+     */
+    long generation();
+
+    long incrementGeneration();
+
+    /**
+     * 代数的来源：同一个来源的代数才能比较
+     * 进程内实现每次启动都不同，重启后代数从头数也不会和之前的混淆；共享存储在各实例上相同
+     */
+    String id();
+}
@@ -0,0 +1,43 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 搜索结果缓存的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.cache")
+public class CacheProperties {
+    private boolean enabled = true;
+    /**
+     * 本地缓存最多多少条
+     */
+    private long localMaximumSize = 10_000;
+    /**
+     * 本地缓存过期时间，秒
+     */
+    private long localTtlSeconds = 60;
+    /**
+     * 共享缓存过期时间，秒
+     */
+    private long sharedTtlSeconds = 300;
+    /**
+     * 共享缓存最多多少条，只对内存版实现有效
+     */
+    private int sharedMaximumSize = 100_000;
+    /**
+     * 坐标保留几位小数参与缓存key，3位大约100米
+     */
+    private int geoPrecision = 3;
+    /**
+     * 本地多久从共享缓存同步一次索引代数，毫秒
+     */
+    private long generationRefreshMs = 200;
+    /**
+     * 增量同步的写入最多隔多久让缓存失效一次，毫秒，也是修改后最长多久能在列表里看到
+     */
+    private long writeInvalidationMs = 2_000;
+}
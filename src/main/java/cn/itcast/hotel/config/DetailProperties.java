@@ -0,0 +1,34 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 酒店详情、按id批量查询的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.detail")
+public class DetailProperties {
+    /**
+     * 详情缓存最多多少家酒店
+     */
+    private long cacheMaximumSize = 20_000;
+    /**
+     * 写入时会主动失效，这里只是兜底的过期时间，秒
+     */
+    private long cacheTtlSeconds = 600;
+    /**
+     * 未命中的id攒多久一起查一次数据库，毫秒
+     */
+    private long batchWindowMs = 2;
+    /**
+     * 一次selectBatchIds最多查多少个id
+     */
+    private int maxBatchSize = 500;
+    /**
+     * /hotel/batch一次最多传多少个id
+     */
+    private int maxIds = 100;
+}
@@ -0,0 +1,68 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * ES客户端的连接参数，默认值按线上的并发量调过，比RestClient自带的30/10连接上限大得多
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.elasticsearch")
+public class ElasticsearchProperties {
+    /**
+     * 节点地址，多个节点时轮询，某个节点失败会换下一个重试并暂时拉黑
+     */
+    private List<String> hosts = new ArrayList<>(Collections.singletonList("http://192.168.7.136:9200"));
+    /**
+     * 连接池总连接数
+     */
+    private int maxConnTotal = 200;
+    /**
+     * 每个节点的连接数
+     */
+    private int maxConnPerRoute = 100;
+    /**
+     * 建连超时，毫秒
+     */
+    private int connectTimeoutMs = 1000;
+    /**
+     * 读超时，毫秒
+     */
+    private int socketTimeoutMs = 30000;
+    /**
+     * 从连接池拿连接的最长等待，池子满了快速失败而不是无限排队，毫秒
+     */
+    private int connectionRequestTimeoutMs = 500;
+    /**
+     * 请求体gzip压缩并接受gzip响应
+     */
+    private boolean compression = true;
+    /**
+     * 空闲连接最多保留多久，服务端给的keep-alive更短时以服务端为准，毫秒
+     */
+    private long keepAliveMs = 60000;
+    /**
+     * IO线程数，0表示按CPU核数
+     */
+    private int ioThreads = 0;
+    private Sniff sniff = new Sniff();
+
+    @Data
+    public static class Sniff {
+        /**
+         * 定期从集群拉取节点列表，节点增减不用改配置
+         */
+        private boolean enabled = false;
+        private long intervalMs = 300000;
+        /**
+         * 请求失败后隔多久再探一次
+         */
+        private long afterFailureDelayMs = 60000;
+    }
+}
@@ -0,0 +1,35 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 进程内搜索引擎的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.embedded")
+public class EmbeddedProperties {
+    /**
+     * 启动时在内存里建列式索引；hotel.search.engine=embedded时必须打开
+     */
+    private boolean enabled = true;
+    /**
+     * ES请求失败时用本地索引兜底
+     */
+    private boolean fallback = true;
+    /**
+     * 数据库里没有广告标记，定期从ES同步ADing=true的酒店id，毫秒
+     */
+    private long adRefreshMs = 300_000;
+    /**
+     * BM25参数
+     */
+    private double k1 = 1.2;
+    private double b = 0.75;
+    /**
+     * 全量加载失败后的重试间隔，秒
+     */
+    private int reloadRetrySeconds = 30;
+}
@@ -0,0 +1,33 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 本地聚合统计的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.facet")
+public class FacetProperties {
+    private boolean enabled = true;
+    /**
+     * 价格区间的分界点，和页面上的价格过滤项保持一致
+     */
+    private List<Integer> priceBoundaries = Arrays.asList(100, 300, 600, 1500);
+    /**
+     * 大于等于这个值的最高价视为不限
+     */
+    private int unboundedMaxPrice = 999999;
+    private int brandSize = 20;
+    private int citySize = 50;
+    private int starNameSize = 50;
+    /**
+     * 全量加载失败后的重试间隔，秒
+     */
+    private int reloadRetrySeconds = 30;
+}
@@ -0,0 +1,36 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 附近酒店查询的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.geo")
+public class GeoProperties {
+    /**
+     * 本地网格索引，不带关键字的附近查询直接在本地算
+     */
+    private boolean enabled = true;
+    /**
+     * 网格边长，度；0.02度大约2公里
+     */
+    private double cellDegrees = 0.02;
+    /**
+     * 只传坐标不传半径时，先在小范围里查，结果不够再逐步扩大，而不是对全部命中算距离
+     */
+    private boolean adaptive = true;
+    private double initialRadiusKm = 3;
+    private double expandFactor = 2;
+    /**
+     * 扩到这个半径还不够就去掉半径限制
+     */
+    private double maxRadiusKm = 50;
+    /**
+     * 全量加载失败后的重试间隔，秒
+     */
+    private int reloadRetrySeconds = 30;
+}
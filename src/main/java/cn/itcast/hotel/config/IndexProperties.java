@@ -0,0 +1,56 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 蓝绿重建索引的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.index")
+public class IndexProperties {
+    /**
+     * 新建索引的主分片数，建好以后改不了，改了要重建索引
+     * 按城市路由时要多于1个，限定城市的查询才能只发给一个分片
+     */
+    private int shards = 1;
+    /**
+     * 切换别名前恢复的副本数
+     */
+    private int replicas = 1;
+    /**
+     * 切换别名前恢复的刷新间隔
+     */
+    private String refreshInterval = "1s";
+    /**
+     * 段合并的目标段数
+     */
+    private int maxNumSegments = 1;
+    /**
+     * 段合并请求的超时，分钟
+     */
+    private int forceMergeTimeoutMinutes = 30;
+    /**
+     * 切换别名前等待的集群健康状态，单节点集群用yellow
+     */
+    private String waitForStatus = "yellow";
+    /**
+     * 比别名指向的版本更早的索引保留几个用于回滚
+     */
+    private int retainVersions = 1;
+    /**
+     * 重建时用哪个版本的索引定义（resources/index/hotel-v{n}.json），0表示最新版本
+     */
+    private int definitionVersion = 0;
+    /**
+     * 重建索引时按什么路由：city按城市，同一城市的酒店放在一个分片上；空表示按id分片
+     * 改了以后要重建索引才生效，分片数见shards
+     */
+    private String routing = "";
+    /**
+     * 多久重新读一次线上索引的路由方式，毫秒；其它实例切换了别名时，最多这么久以后跟上
+     */
+    private long routingRefreshMs = 30_000;
+}
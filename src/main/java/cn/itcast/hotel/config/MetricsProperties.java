@@ -0,0 +1,19 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 搜索指标和慢查询日志的参数
+ */
+@Data
+@Component("hotelMetricsProperties")
+@ConfigurationProperties(prefix = "hotel.metrics")
+public class MetricsProperties {
+    /**
+     * 超过这个耗时的查询把DSL打到日志里，毫秒
+     */
+    private long slowQueryMs = 500;
+    private boolean slowQueryLog = true;
+}
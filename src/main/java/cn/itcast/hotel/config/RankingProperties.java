@@ -0,0 +1,24 @@
+package cn.itcast.hotel.config;
+
+import cn.itcast.hotel.ranking.RankingConfig;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 排序的参数，pipeline是启动时的算分流水线，之后可以热更新
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.ranking")
+public class RankingProperties {
+    private RankingConfig pipeline = new RankingConfig();
+    /**
+     * 外部JSON文件，字段和pipeline相同；文件修改后自动加载，不用重启。不配则只能通过管理接口修改
+     */
+    private String file;
+    /**
+     * 检查文件是否修改的间隔，毫秒
+     */
+    private long reloadMs = 10_000;
+}
@@ -0,0 +1,58 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 全量重建索引的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.reindex")
+public class ReindexProperties {
+    /**
+     * 每次从数据库游标读取的条数
+     */
+    private int fetchSize = 1000;
+    /**
+     * 转换HotelDoc的线程数
+     */
+    private int workers = Runtime.getRuntime().availableProcessors();
+    /**
+     * 转换线程池的排队任务上限，满了以后由读库线程自己转换，起到限流作用
+     */
+    private int queueCapacity = 8;
+    /**
+     * 每个转换任务处理的条数
+     */
+    private int chunkSize = 200;
+    /**
+     * 一个bulk最多多少条
+     */
+    private int bulkActions = 1000;
+    /**
+     * 一个bulk最多多少MB
+     */
+    private int bulkSizeMb = 5;
+    /**
+     * 同时在途的bulk请求数，超过后添加文档会阻塞
+     */
+    private int concurrentRequests = 2;
+    /**
+     * 429拒绝时的首次重试间隔，毫秒
+     */
+    private long retryInitialDelayMs = 200;
+    /**
+     * 429拒绝时的最大重试次数
+     */
+    private int maxRetries = 8;
+    /**
+     * 进度日志的输出间隔，秒
+     */
+    private int reportIntervalSeconds = 10;
+    /**
+     * 等待最后一批bulk完成的超时，秒
+     */
+    private int awaitCloseSeconds = 300;
+}
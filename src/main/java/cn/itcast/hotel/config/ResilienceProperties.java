@@ -0,0 +1,83 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * ES调用的熔断、隔离、截止时间和对冲请求的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.resilience")
+public class ResilienceProperties {
+    private boolean enabled = true;
+    /**
+     * 请求头里的剩余时间，毫秒；没有时用hotel.search.timeout-ms，有时取两者较小的
+     */
+    private String deadlineHeader = "X-Request-Timeout-Ms";
+    /**
+     * ES调用在截止时间前预留的时间，留给本地兜底和写响应
+     */
+    private long deadlineReserveMs = 50;
+    private Breaker breaker = new Breaker();
+    /**
+     * 每类查询同时在飞的ES请求上限，自动补全的流量挤占不了列表的名额
+     */
+    private Map<String, Integer> bulkheads = defaultBulkheads();
+    private int defaultBulkhead = 32;
+    private Hedge hedge = new Hedge();
+
+    @Data
+    public static class Breaker {
+        /**
+         * 按最近多少次调用算失败率
+         */
+        private int windowSize = 50;
+        /**
+         * 窗口里不到这么多次调用时不熔断
+         */
+        private int minimumCalls = 20;
+        private int failureRatePercent = 50;
+        /**
+         * 熔断后多久进入半开状态放探测请求
+         */
+        private long openMs = 10_000;
+        /**
+         * 半开状态放行的探测请求数，全部成功才关闭熔断
+         */
+        private int halfOpenCalls = 3;
+    }
+
+    @Data
+    public static class Hedge {
+        /**
+         * 请求超过同类请求的p95还没返回时，再发一个相同的请求，先返回的为准
+         * 客户端按轮询选节点，第二个请求会落到另一个节点上；只有一个节点时不对冲
+         */
+        private boolean enabled = false;
+        private double percentile = 0.95;
+        private long minDelayMs = 10;
+        /**
+         * 对冲请求数最多占总请求数的百分比，防止ES整体变慢时请求翻倍
+         */
+        private int budgetPercent = 10;
+        /**
+         * 统计延迟分位数用的最近样本数，样本不够时不对冲
+         */
+        private int windowSize = 1000;
+        private int minSamples = 50;
+    }
+
+    private static Map<String, Integer> defaultBulkheads() {
+        Map<String, Integer> bulkheads = new LinkedHashMap<>();
+        bulkheads.put("list", 64);
+        bulkheads.put("search", 64);
+        bulkheads.put("filters", 32);
+        bulkheads.put("suggestion", 16);
+        return bulkheads;
+    }
+}
@@ -0,0 +1,45 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 搜索接口的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.search")
+public class SearchProperties {
+    public static final String ENGINE_ELASTICSEARCH = "elasticsearch";
+    public static final String ENGINE_EMBEDDED = "embedded";
+
+    /**
+     * 异步接口的超时，超时后取消ES请求，毫秒
+     */
+    private long timeoutMs = 3000;
+    /**
+     * 游标分页使用point in time时，两次翻页之间最长间隔
+     */
+    private String pitKeepAlive = "1m";
+    /**
+     * 相同的并发请求合并成一个ES请求
+     */
+    private boolean singleFlight = true;
+    /**
+     * 查询引擎：elasticsearch，或embedded（只用进程内索引，不访问ES）
+     */
+    private String engine = ENGINE_ELASTICSEARCH;
+    /**
+     * 列表、过滤项查询用ES里存储的搜索模板，每次只发模板id和参数
+     */
+    private boolean templates = true;
+    /**
+     * 同一个用户会话的查询带上相同的preference，落到同一组分片副本上
+     */
+    private boolean sessionPreference = true;
+    /**
+     * 标识会话的请求头，前后端分离、没有HttpSession时用；都没有时不指定preference
+     */
+    private String sessionHeader = "X-Session-Id";
+}
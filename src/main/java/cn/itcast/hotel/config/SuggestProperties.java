@@ -0,0 +1,23 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * 本地自动补全的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.suggest")
+public class SuggestProperties {
+    private boolean enabled = true;
+    /**
+     * 返回的补全条数
+     */
+    private int size = 10;
+    /**
+     * 有数据变更时，两次重建之间的最短间隔，毫秒
+     */
+    private long minRebuildIntervalMs = 60_000;
+}
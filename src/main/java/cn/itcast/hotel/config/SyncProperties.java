@@ -0,0 +1,55 @@
+package cn.itcast.hotel.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+/**
+ * MySQL到ES增量同步的参数
+ */
+@Data
+@Component
+@ConfigurationProperties(prefix = "hotel.sync")
+public class SyncProperties {
+    /**
+     * 是否启动同步线程，多实例部署时只在一个实例上打开，其它实例跟随发件箱，见follow
+     */
+    private boolean enabled = true;
+    /**
+     * 没打开同步的实例是否跟随发件箱更新本地索引（过滤项统计、坐标网格、本地搜索、联想词、详情缓存），
+     * 跟随时只读发件箱和数据库，不写ES、不存同步进度
+     */
+    private boolean follow = true;
+    /**
+     * 跟随发件箱时从启动前多久的变更开始读，毫秒；本地索引的全量加载和开始跟随之间的修改不会漏掉，重复应用没有影响
+     */
+    private long followReplayMs = 60_000;
+    /**
+     * 空闲时轮询发件箱的间隔，毫秒
+     */
+    private long pollIntervalMs = 200;
+    /**
+     * 收到本地写入通知后再等一小段时间，把同一酒店的多次修改合并成一次
+     */
+    private long coalesceWindowMs = 50;
+    /**
+     * 每次从发件箱读取的条数
+     */
+    private int batchSize = 1000;
+    /**
+     * 发件箱id出现空洞时（事务还没提交）最多等多久，毫秒
+     */
+    private long gapTimeoutMs = 5000;
+    /**
+     * 超过这个大小的id空洞不再跟踪
+     */
+    private int maxGapSize = 1000;
+    /**
+     * 同步失败后的重试间隔，毫秒
+     */
+    private long errorBackoffMs = 1000;
+    /**
+     * 已同步的发件箱记录保留多少小时
+     */
+    private int outboxRetentionHours = 24;
+}
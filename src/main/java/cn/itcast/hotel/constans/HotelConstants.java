@@ -1,52 +1,19 @@
 package cn.itcast.hotel.constans;
 
+import cn.itcast.hotel.index.IndexDefinitions;
+
 public class HotelConstants {
-    public static final String MAPPING_TEMPLATE = "{\n" +
-            "  \"mappings\": {\n" +
-            "    \"properties\": {\n" +
-            "      \"id\":{\n" +
-            "        \"type\": \"keyword\"\n" +
-            "      },\n" +
-            "      \"name\":{\n" +
-            "        \"type\": \"text\",\n" +
-            "        \"analyzer\": \"ik_max_word\",\n" +
-            "        \"copy_to\": \"all\"\n" +
-            "      },\n" +
-            "      \"address\":{\n" +
-            "        \"type\": \"text\",\n" +
-            "         \"analyzer\": \"ik_max_word\",\n" +
-            "        \"copy_to\": \"all\"\n" +
-            "      },\n" +
-            "      \"price\":{\n" +
-            "        \"type\": \"integer\"\n" +
-            "      },\n" +
-            "      \"score\":{\n" +
-            "        \"type\": \"integer\"\n" +
-            "      },\n" +
-            "      \"brand\":{\n" +
-            "        \"type\": \"keyword\"\n" +
-            "      },\n" +
-            "      \"city\":{\n" +
-            "        \"type\": \"keyword\"\n" +
-            "      },\n" +
-            "      \"starName\":{\n" +
-            "        \"type\": \"keyword\"\n" +
-            "      },\n" +
-            "      \"business\":{\n" +
-            "        \"type\": \"keyword\"\n" +
-            "      },\n" +
-            "      \"location\":{\n" +
-            "        \"type\": \"geo_point\"\n" +
-            "      },\n" +
-            "      \"pic\":{\n" +
-            "        \"type\": \"keyword\",\n" +
-            "         \"index\": false\n" +
-            "      },\n" +
-            "      \"all\":{\n" +
-            "        \"type\": \"text\",\n" +
-            "        \"analyzer\": \"ik_max_word\"\n" +
-            "      }\n" +
-            "    }\n" +
-            "  }\n" +
-            "}";
+    /**
+     * 酒店索引库的读别名，查询一律走别名
+     */
+    public static final String INDEX_ALIAS = "hotel";
+    /**
+     * 实际索引库名的前缀，完整名字是hotel_v1、hotel_v2...
+     */
+    public static final String INDEX_VERSION_PREFIX = "hotel_v";
+
+    /**
+     * 最新版本索引定义的建索引请求体，定义本身在resources/index/hotel-v{n}.json
+     */
+    public static final String MAPPING_TEMPLATE = IndexDefinitions.latest().source();
 }
@@ -0,0 +1,560 @@
+package cn.itcast.hotel.embedded;
+
+import cn.itcast.hotel.config.EmbeddedProperties;
+import cn.itcast.hotel.config.FacetProperties;
+import cn.itcast.hotel.facet.Dictionary;
+import cn.itcast.hotel.geo.Haversine;
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.ranking.RankFeatures;
+import cn.itcast.hotel.ranking.RankingConfig;
+import cn.itcast.hotel.ranking.RankingSettings;
+import cn.itcast.hotel.ranking.SortMode;
+import cn.itcast.hotel.service.LocalHotelIndex;
+import cn.itcast.hotel.utils.HitCount;
+import cn.itcast.hotel.utils.InvalidRequestException;
+import cn.itcast.hotel.utils.SearchCursor;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+
+/**
+ * 进程内的酒店索引，按列存：每家酒店占一个槽位，价格、评分、坐标各是一个数组，
+ * 品牌/城市/星级编码成字典号，每个字典值一个BitSet，酒店名按词建倒排表
+ * 查询时过滤条件按位与，只对剩下的槽位读价格、坐标、算分，结果和ES的查询语义保持一致
+ * 启动时从数据库全量加载，之后跟随增量同步维护
+ */
+@Component
+public class EmbeddedHotelIndex extends LocalHotelIndex {
+    private static final int NO_PRICE = Integer.MIN_VALUE;
+    private static final int NO_SCORE = Integer.MIN_VALUE;
+
+    @Autowired
+    private EmbeddedProperties properties;
+    @Autowired
+    private FacetProperties facetProperties;
+    @Autowired
+    private RankingSettings ranking;
+
+    private final Dictionary brands = new Dictionary();
+    private final Dictionary cities = new Dictionary();
+    private final Dictionary starNames = new Dictionary();
+    /**
+     * 字典号 -> 有这个值的槽位
+     */
+    private final List<BitSet> brandBits = new ArrayList<>();
+    private final List<BitSet> cityBits = new ArrayList<>();
+    private final List<BitSet> starBits = new ArrayList<>();
+    /**
+     * 酒店名的倒排表：词 -> 名字里有这个词的槽位
+     */
+    private final Map<String, BitSet> postings = new HashMap<>();
+    private final BitSet live = new BitSet();
+    private final BitSet advertisedSlots = new BitSet();
+    private final Map<Long, Integer> slotOfId = new HashMap<>();
+    private final Deque<Integer> freeSlots = new ArrayDeque<>();
+    private int slotCount;
+
+    private long[] ids = new long[0];
+    /**
+     * id的字符串写法，ES里id是keyword，兜底排序按字符串比较
+     */
+    private String[] idKeys = new String[0];
+    private int[] prices = new int[0];
+    private int[] scores = new int[0];
+    private float[] rankScores = new float[0];
+    private int[] brandCodes = new int[0];
+    private int[] cityCodes = new int[0];
+    private int[] starCodes = new int[0];
+    private double[] lats = new double[0];
+    private double[] lons = new double[0];
+    private String[][] nameTokens = new String[0][];
+    private HotelDoc[] docs = new HotelDoc[0];
+    private long totalNameTokens;
+
+    private Set<Long> advertised = Collections.emptySet();
+
+    @PostConstruct
+    public void init() {
+        brandBits.add(new BitSet());
+        cityBits.add(new BitSet());
+        starBits.add(new BitSet());
+        if (!properties.isEnabled()) {
+            return;
+        }
+        startLoading("embedded-loader");
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return slotOfId.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 替换广告酒店的id集合，对应ES文档里的ADing=true
+     */
+    public void setAdvertised(Collection<Long> hotelIds) {
+        lock.writeLock().lock();
+        try {
+            advertised = new HashSet<>(hotelIds);
+            advertisedSlots.clear();
+            for (Long id : advertised) {
+                Integer slot = slotOfId.get(id);
+                if (slot != null) {
+                    advertisedSlots.set(slot);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 和HotelSearchRequests.searchRequest + handleResponse的结果一致：
+     * 按SortMode排序，带坐标时距离排在第二位；价格、评分排序和游标分页用id兜底
+     */
+    public PageResult search(RequestParams params) {
+        int size = params.getSize() == null || params.getSize() < 1 ? 10 : params.getSize();
+        int page = params.getPage() == null || params.getPage() < 1 ? 1 : params.getPage();
+        int from = params.isCursorPaging() ? 0 : (page - 1) * size;
+        SortMode mode = SortMode.of(params);
+        double[] center = Haversine.parse(params.getLocation());
+        RankingConfig rankingConfig = ranking.current();
+        lock.readLock().lock();
+        try {
+            BitSet matched = match(params);
+            float[] relevance = mode == SortMode.RELEVANCE ? score(params, matched) : null;
+            Comparator<Hit> order = order(mode);
+            Hit after = params.isCursorPaging() && StringUtils.hasText(params.getCursor())
+                    ? afterCursor(params, mode, center != null) : null;
+            //只保留排在前from+size的命中，堆顶是目前排最后的
+            int want = from + size;
+            PriorityQueue<Hit> top = new PriorityQueue<>(want + 1, order.reversed());
+            for (int slot = matched.nextSetBit(0); slot >= 0; slot = matched.nextSetBit(slot + 1)) {
+                double distance = center != null
+                        ? Haversine.distanceKm(center[0], center[1], lats[slot], lons[slot])
+                        : Double.NaN;
+                double sortValue;
+                switch (mode) {
+                    case DISTANCE:
+                        sortValue = distance;
+                        break;
+                    case PRICE:
+                        //和ES一样，没有价格的排最后
+                        sortValue = prices[slot] == NO_PRICE ? Long.MAX_VALUE : prices[slot];
+                        break;
+                    case SCORE:
+                        sortValue = scores[slot] == NO_SCORE ? Long.MIN_VALUE : scores[slot];
+                        break;
+                    default:
+                        sortValue = (float) rankingConfig.score(relevance[slot], advertisedSlots.get(slot),
+                                rankScores[slot], center != null ? distance : null);
+                }
+                Hit hit = new Hit(slot, idKeys[slot], sortValue, distance);
+                if (after != null && order.compare(hit, after) <= 0) {
+                    continue;
+                }
+                if (top.size() < want) {
+                    top.add(hit);
+                } else if (order.compare(hit, top.peek()) < 0) {
+                    top.poll();
+                    top.add(hit);
+                }
+            }
+            Hit[] sorted = top.toArray(new Hit[0]);
+            Arrays.sort(sorted, order);
+            List<HotelDoc> hotels = new ArrayList<>(size);
+            for (int i = from; i < sorted.length; i++) {
+                HotelDoc doc = copy(docs[sorted[i].slot]);
+                if (center != null) {
+                    doc.setDistance(sorted[i].distance);
+                }
+                if (advertisedSlots.get(sorted[i].slot)) {
+                    doc.setADing(true);
+                }
+                hotels.add(doc);
+            }
+            //和ES一样按计数方式截断总数
+            HitCount count = HitCount.of(params);
+            int total = matched.cardinality();
+            PageResult result = new PageResult(count.total(total), count.relation(total), hotels);
+            if (params.isCursorPaging() && !hotels.isEmpty() && hotels.size() >= size) {
+                result.setCursor(cursorOf(sorted[sorted.length - 1], params, mode, center != null));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 距离只在前面的排序值相同时比较，没带坐标时都是NaN，不影响顺序
+     * id按字符串比较，和ES里keyword字段的顺序一致，"10"排在"9"前面
+     */
+    private static Comparator<Hit> order(SortMode mode) {
+        Comparator<Hit> primary = mode == SortMode.DISTANCE || mode == SortMode.PRICE
+                ? Comparator.comparingDouble((Hit h) -> h.sortValue)
+                : Comparator.comparingDouble((Hit h) -> -h.sortValue);
+        return primary.thenComparingDouble(h -> h.distance).thenComparing(h -> h.id);
+    }
+
+    /**
+     * 和filtersRequest的三个terms聚合一致：命中的酒店按品牌/城市/星级计数，按数量降序取前N个
+     */
+    public Map<String, List<FacetBucket>> facets(RequestParams params) {
+        lock.readLock().lock();
+        try {
+            BitSet matched = match(params);
+            long[] brandCounts = new long[brands.size()];
+            long[] cityCounts = new long[cities.size()];
+            long[] starCounts = new long[starNames.size()];
+            for (int slot = matched.nextSetBit(0); slot >= 0; slot = matched.nextSetBit(slot + 1)) {
+                brandCounts[brandCodes[slot]]++;
+                cityCounts[cityCodes[slot]]++;
+                starCounts[starCodes[slot]]++;
+            }
+            Map<String, List<FacetBucket>> map = new HashMap<>();
+            map.put("品牌", top(brands, brandCounts, facetProperties.getBrandSize()));
+            map.put("城市", top(cities, cityCounts, facetProperties.getCitySize()));
+            map.put("星级", top(starNames, starCounts, facetProperties.getStarNameSize()));
+            return map;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 和builderBasicQuery的bool查询一致，调用方持有读锁
+     */
+    private BitSet match(RequestParams params) {
+        BitSet bits = (BitSet) live.clone();
+        filterTerm(bits, brands, brandBits, params.getBrand());
+        filterTerm(bits, cities, cityBits, params.getCity());
+        filterTerm(bits, starNames, starBits, params.getStarName());
+        if (StringUtils.hasText(params.getKey())) {
+            BitSet any = new BitSet();
+            for (String token : NameTokenizer.queryTokens(params.getKey())) {
+                BitSet posting = postings.get(token);
+                if (posting != null) {
+                    any.or(posting);
+                }
+            }
+            bits.and(any);
+        }
+        boolean priceRange = params.getMinPrice() != null && params.getMaxPrice() != null;
+        double[] center = params.getRadius() != null ? Haversine.parse(params.getLocation()) : null;
+        double[] box = parseBbox(params.getBbox());
+        if (!priceRange && center == null && box == null) {
+            return bits;
+        }
+        for (int slot = bits.nextSetBit(0); slot >= 0; slot = bits.nextSetBit(slot + 1)) {
+            if (priceRange && (prices[slot] == NO_PRICE
+                    || prices[slot] < params.getMinPrice() || prices[slot] > params.getMaxPrice())) {
+                bits.clear(slot);
+            } else if (center != null && (Double.isNaN(lats[slot])
+                    || Haversine.distanceKm(center[0], center[1], lats[slot], lons[slot]) > params.getRadius())) {
+                bits.clear(slot);
+            } else if (box != null && !inBox(box, lats[slot], lons[slot])) {
+                bits.clear(slot);
+            }
+        }
+        return bits;
+    }
+
+    private static void filterTerm(BitSet bits, Dictionary dictionary, List<BitSet> valueBits, String value) {
+        if (!StringUtils.hasText(value)) {
+            return;
+        }
+        int code = dictionary.lookup(value.trim());
+        if (code <= 0) {
+            bits.clear();
+        } else {
+            bits.and(valueBits.get(code));
+        }
+    }
+
+    /**
+     * 有关键字时按BM25算分，没有关键字时和match_all一样都是1；广告、质量分、距离衰减在search里按RankingConfig合并
+     * 调用方持有读锁
+     */
+    private float[] score(RequestParams params, BitSet matched) {
+        float[] relevance = new float[slotCount];
+        List<String> tokens = StringUtils.hasText(params.getKey())
+                ? new ArrayList<>(new LinkedHashSet<>(NameTokenizer.queryTokens(params.getKey())))
+                : Collections.emptyList();
+        int docCount = slotOfId.size();
+        double avgLength = docCount == 0 ? 1 : Math.max(1.0, (double) totalNameTokens / docCount);
+        double[] idf = new double[tokens.size()];
+        for (int t = 0; t < tokens.size(); t++) {
+            BitSet posting = postings.get(tokens.get(t));
+            int df = posting == null ? 0 : posting.cardinality();
+            idf[t] = Math.log(1 + (docCount - df + 0.5) / (df + 0.5));
+        }
+        double k1 = properties.getK1();
+        double b = properties.getB();
+        for (int slot = matched.nextSetBit(0); slot >= 0; slot = matched.nextSetBit(slot + 1)) {
+            double score;
+            if (tokens.isEmpty()) {
+                score = 1;
+            } else {
+                score = 0;
+                String[] name = nameTokens[slot];
+                double norm = k1 * (1 - b + b * name.length / avgLength);
+                for (int t = 0; t < tokens.size(); t++) {
+                    int tf = 0;
+                    for (String token : name) {
+                        if (token.equals(tokens.get(t))) {
+                            tf++;
+                        }
+                    }
+                    if (tf > 0) {
+                        score += idf[t] * tf * (k1 + 1) / (tf + norm);
+                    }
+                }
+            }
+            relevance[slot] = (float) score;
+        }
+        return relevance;
+    }
+
+    /**
+     * 游标和ES的排序值一致：[城市(按评分排且限定城市时), 主排序值, 距离(带坐标且不按距离排时), id]
+     * 价格、评分是整数，算分是float，距离是double，id是字符串；ES发出的游标在兜底到本地时也能接着翻
+     */
+    private static String cursorOf(Hit last, RequestParams params, SortMode mode, boolean located) {
+        Object first;
+        switch (mode) {
+            case DISTANCE:
+                first = last.sortValue;
+                break;
+            case PRICE:
+            case SCORE:
+                first = (long) last.sortValue;
+                break;
+            default:
+                first = (float) last.sortValue;
+        }
+        Object[] values = located && mode != SortMode.DISTANCE
+                ? new Object[]{first, last.distance, last.id}
+                : new Object[]{first, last.id};
+        if (SortMode.sortsByCityFirst(params)) {
+            Object[] withCity = new Object[values.length + 1];
+            withCity[0] = params.getCity();
+            System.arraycopy(values, 0, withCity, 1, values.length);
+            values = withCity;
+        }
+        return new SearchCursor(values, null).encode();
+    }
+
+    private static Hit afterCursor(RequestParams params, SortMode mode, boolean located) {
+        String cursor = params.getCursor();
+        Object[] values = SearchCursor.decode(cursor).getSortValues();
+        if (SortMode.sortsByCityFirst(params)) {
+            //城市是过滤条件，对本地排序没有影响
+            if (values.length == 0 || !(values[0] instanceof String)) {
+                throw new InvalidRequestException("无效的游标：" + cursor);
+            }
+            values = Arrays.copyOfRange(values, 1, values.length);
+        }
+        int length = located && mode != SortMode.DISTANCE ? 3 : 2;
+        if (values.length != length) {
+            throw new InvalidRequestException("无效的游标：" + cursor);
+        }
+        for (int i = 0; i < length - 1; i++) {
+            if (!(values[i] instanceof Number)) {
+                throw new InvalidRequestException("无效的游标：" + cursor);
+            }
+        }
+        //id是keyword，ES给的是字符串；之前本地发出的游标里是数字
+        Object id = values[length - 1];
+        if (!(id instanceof String) && !(id instanceof Integer) && !(id instanceof Long)) {
+            throw new InvalidRequestException("无效的游标：" + cursor);
+        }
+        double sortValue = ((Number) values[0]).doubleValue();
+        double distance = length == 3 ? ((Number) values[1]).doubleValue() : Double.NaN;
+        //算分是float，游标里的小数要还原成同一个float才能和命中比较
+        return new Hit(-1, id.toString(), mode == SortMode.RELEVANCE ? (float) sortValue : sortValue, distance);
+    }
+
+    /**
+     * 左上纬度,左上经度,右下纬度,右下经度
+     */
+    private static double[] parseBbox(String bbox) {
+        if (!StringUtils.hasText(bbox)) {
+            return null;
+        }
+        String[] corners = bbox.split(",");
+        if (corners.length != 4) {
+            throw new InvalidRequestException("bbox格式应为 左上纬度,左上经度,右下纬度,右下经度");
+        }
+        double[] box = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                box[i] = Double.parseDouble(corners[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("bbox格式应为 左上纬度,左上经度,右下纬度,右下经度", e);
+        }
+        return box;
+    }
+
+    private static boolean inBox(double[] box, double lat, double lon) {
+        if (Double.isNaN(lat) || lat > box[0] || lat < box[2]) {
+            return false;
+        }
+        //左边经度大于右边时矩形跨过了180度经线
+        return box[1] <= box[3] ? lon >= box[1] && lon <= box[3] : lon >= box[1] || lon <= box[3];
+    }
+
+    private static List<FacetBucket> top(Dictionary dictionary, long[] counts, int size) {
+        List<FacetBucket> buckets = new ArrayList<>();
+        for (int code = 1; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                buckets.add(new FacetBucket(dictionary.decode(code), counts[code]));
+            }
+        }
+        buckets.sort(Comparator.comparingLong(FacetBucket::getCount).reversed()
+                .thenComparing(FacetBucket::getKey));
+        return buckets.size() > size ? new ArrayList<>(buckets.subList(0, size)) : buckets;
+    }
+
+    @Override
+    protected void add(Hotel hotel) {
+        remove(hotel.getId());
+        int slot = freeSlots.isEmpty() ? slotCount++ : freeSlots.pop();
+        ensureCapacity(slotCount);
+        ids[slot] = hotel.getId();
+        idKeys[slot] = hotel.getId().toString();
+        prices[slot] = hotel.getPrice() == null ? NO_PRICE : hotel.getPrice();
+        scores[slot] = hotel.getScore() == null ? NO_SCORE : hotel.getScore();
+        rankScores[slot] = RankFeatures.quality(hotel.getScore());
+        brandCodes[slot] = encode(brands, brandBits, hotel.getBrand(), slot);
+        cityCodes[slot] = encode(cities, cityBits, hotel.getCity(), slot);
+        starCodes[slot] = encode(starNames, starBits, hotel.getStarName(), slot);
+        try {
+            lats[slot] = Double.parseDouble(hotel.getLatitude().trim());
+            lons[slot] = Double.parseDouble(hotel.getLongitude().trim());
+        } catch (RuntimeException e) {
+            lats[slot] = Double.NaN;
+            lons[slot] = Double.NaN;
+        }
+        String[] tokens = NameTokenizer.indexTokens(hotel.getName()).toArray(new String[0]);
+        nameTokens[slot] = tokens;
+        totalNameTokens += tokens.length;
+        for (String token : tokens) {
+            postings.computeIfAbsent(token, k -> new BitSet()).set(slot);
+        }
+        docs[slot] = toDoc(hotel);
+        live.set(slot);
+        advertisedSlots.set(slot, advertised.contains(hotel.getId()));
+        slotOfId.put(hotel.getId(), slot);
+    }
+
+    @Override
+    protected void remove(Long id) {
+        Integer slot = slotOfId.remove(id);
+        if (slot == null) {
+            return;
+        }
+        live.clear(slot);
+        advertisedSlots.clear(slot);
+        brandBits.get(brandCodes[slot]).clear(slot);
+        cityBits.get(cityCodes[slot]).clear(slot);
+        starBits.get(starCodes[slot]).clear(slot);
+        for (String token : nameTokens[slot]) {
+            BitSet posting = postings.get(token);
+            if (posting != null) {
+                posting.clear(slot);
+                if (posting.isEmpty()) {
+                    postings.remove(token);
+                }
+            }
+        }
+        totalNameTokens -= nameTokens[slot].length;
+        nameTokens[slot] = null;
+        idKeys[slot] = null;
+        docs[slot] = null;
+        freeSlots.push(slot);
+    }
+
+    private static int encode(Dictionary dictionary, List<BitSet> valueBits, String value, int slot) {
+        int code = dictionary.encode(value);
+        while (valueBits.size() <= code) {
+            valueBits.add(new BitSet());
+        }
+        valueBits.get(code).set(slot);
+        return code;
+    }
+
+    private void ensureCapacity(int needed) {
+        if (needed <= ids.length) {
+            return;
+        }
+        int capacity = Math.max(needed, Math.max(1024, ids.length * 2));
+        ids = Arrays.copyOf(ids, capacity);
+        idKeys = Arrays.copyOf(idKeys, capacity);
+        prices = Arrays.copyOf(prices, capacity);
+        scores = Arrays.copyOf(scores, capacity);
+        rankScores = Arrays.copyOf(rankScores, capacity);
+        brandCodes = Arrays.copyOf(brandCodes, capacity);
+        cityCodes = Arrays.copyOf(cityCodes, capacity);
+        starCodes = Arrays.copyOf(starCodes, capacity);
+        lats = Arrays.copyOf(lats, capacity);
+        lons = Arrays.copyOf(lons, capacity);
+        nameTokens = Arrays.copyOf(nameTokens, capacity);
+        docs = Arrays.copyOf(docs, capacity);
+    }
+
+    @Override
+    protected String name() {
+        return "本地搜索索引";
+    }
+
+    @Override
+    protected String summary() {
+        return slotOfId.size() + "家酒店，" + postings.size() + "个词";
+    }
+
+    @Override
+    protected int reloadRetrySeconds() {
+        return properties.getReloadRetrySeconds();
+    }
+
+    private static final class Hit {
+        private final int slot;
+        private final String id;
+        private final double sortValue;
+        private final double distance;
+
+        private Hit(int slot, String id, double sortValue, double distance) {
+            this.slot = slot;
+            this.id = id;
+            this.sortValue = sortValue;
+            this.distance = distance;
+        }
+    }
+}
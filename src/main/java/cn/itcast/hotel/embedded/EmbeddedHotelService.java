@@ -0,0 +1,135 @@
+package cn.itcast.hotel.embedded;
+
+import cn.itcast.hotel.config.EmbeddedProperties;
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.mapper.HotelMapper;
+import cn.itcast.hotel.metrics.SearchMetrics;
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.pojo.SearchResult;
+import cn.itcast.hotel.service.IHotelService;
+import cn.itcast.hotel.service.impl.HotelSearchRequests;
+import cn.itcast.hotel.service.impl.HotelService;
+import cn.itcast.hotel.suggest.SuggestionIndex;
+import cn.itcast.hotel.utils.Futures;
+import com.baomidou.mybatisplus.extension.service.impl.ServiceImpl;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Lazy;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * 不访问ES的IHotelService：查询全部在进程内的EmbeddedHotelIndex上完成
+ * hotel.search.engine=embedded时作为主引擎，否则在ES失败时兜底
+ * 写操作仍交给HotelService，保证写发件箱、同步ES
+ */
+@Slf4j
+@Service("embeddedHotelService")
+public class EmbeddedHotelService extends ServiceImpl<HotelMapper, Hotel> implements IHotelService {
+    @Autowired
+    private EmbeddedHotelIndex index;
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+    @Autowired
+    private EmbeddedProperties properties;
+    @Autowired
+    private SearchProperties searchProperties;
+    @Autowired
+    private SearchMetrics metrics;
+    @Autowired
+    private RestHighLevelClient client;
+    @Lazy
+    @Autowired
+    private HotelService hotelService;
+
+    /**
+     * 配置为本地引擎并且索引已经加载好
+     */
+    public boolean serves() {
+        return SearchProperties.ENGINE_EMBEDDED.equals(searchProperties.getEngine()) && index.isReady();
+    }
+
+    /**
+     * ES请求失败后能否改用本地索引，能的话记一次兜底
+     * 调用方取消、参数错误不兜底
+     */
+    public boolean canFallback(String op, Throwable error) {
+        Throwable cause = Futures.unwrap(error);
+        if (!properties.isFallback() || !index.isReady()
+                || cause instanceof CancellationException || cause instanceof IllegalArgumentException) {
+            return false;
+        }
+        metrics.fallback(op, cause);
+        log.warn("ES查询失败，op={}改用本地索引：{}", op, cause.toString());
+        return true;
+    }
+
+    @Override
+    public boolean save(Hotel entity) {
+        return hotelService.save(entity);
+    }
+
+    @Override
+    public boolean updateById(Hotel entity) {
+        return hotelService.updateById(entity);
+    }
+
+    @Override
+    public boolean removeById(Serializable id) {
+        return hotelService.removeById(id);
+    }
+
+    @Override
+    public PageResult search(RequestParams params) {
+        return index.search(params);
+    }
+
+    @Override
+    public Map<String, List<FacetBucket>> filters(RequestParams params) {
+        return index.facets(params);
+    }
+
+    /**
+     * 只有本地前缀树，拼音补全查不到
+     */
+    @Override
+    public List<String> getSuggestion(String key) {
+        return suggestionIndex.lookup(key);
+    }
+
+    @Override
+    public SearchResult searchWithFilters(RequestParams params) {
+        PageResult page = index.search(params);
+        return new SearchResult(page, index.facets(params));
+    }
+
+    /**
+     * 数据库里没有广告标记，从ES取ADing=true的酒店；ES不可用时保留上次的结果
+     * 本地索引做主引擎和做兜底时都要带广告标记，两种模式都刷新
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${hotel.embedded.ad-refresh-ms:300000}")
+    public void refreshAdvertised() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        try {
+            List<Long> ids = HotelSearchRequests.handleIds(
+                    client.search(HotelSearchRequests.advertisedRequest(10000), RequestOptions.DEFAULT));
+            index.setAdvertised(ids);
+            log.debug("广告酒店{}家", ids.size());
+        } catch (IOException | RuntimeException e) {
+            log.info("广告酒店同步失败，沿用上次的结果：{}", e.toString());
+        }
+    }
+}
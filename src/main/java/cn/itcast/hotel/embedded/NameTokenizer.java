@@ -0,0 +1,70 @@
+package cn.itcast.hotel.embedded;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 酒店名的简易分词：连续的中文切成单字和相邻两字，字母数字按整词转小写
+ * 建索引时单字和两字都收录；查询时中文只用两字词，避免“如家”匹配到所有带“家”的酒店，
+ * 和ES里ik分词的match查询命中范围接近
+ */
+public final class NameTokenizer {
+
+    private NameTokenizer() {
+    }
+
+    public static List<String> indexTokens(String text) {
+        return tokenize(text, true);
+    }
+
+    public static List<String> queryTokens(String text) {
+        return tokenize(text, false);
+    }
+
+    private static List<String> tokenize(String text, boolean index) {
+        List<String> tokens = new ArrayList<>();
+        if (text == null) {
+            return tokens;
+        }
+        String lower = text.toLowerCase();
+        int i = 0;
+        while (i < lower.length()) {
+            char c = lower.charAt(i);
+            if (isCjk(c)) {
+                int end = i;
+                while (end < lower.length() && isCjk(lower.charAt(end))) {
+                    end++;
+                }
+                cjkRun(lower, i, end, index, tokens);
+                i = end;
+            } else if (Character.isLetterOrDigit(c)) {
+                int end = i;
+                while (end < lower.length() && Character.isLetterOrDigit(lower.charAt(end))
+                        && !isCjk(lower.charAt(end))) {
+                    end++;
+                }
+                tokens.add(lower.substring(i, end));
+                i = end;
+            } else {
+                i++;
+            }
+        }
+        return tokens;
+    }
+
+    private static void cjkRun(String text, int start, int end, boolean index, List<String> tokens) {
+        //查询里只有一个字时只能按单字查
+        if (index || end - start == 1) {
+            for (int i = start; i < end; i++) {
+                tokens.add(text.substring(i, i + 1));
+            }
+        }
+        for (int i = start; i + 1 < end; i++) {
+            tokens.add(text.substring(i, i + 2));
+        }
+    }
+
+    private static boolean isCjk(char c) {
+        return Character.UnicodeScript.of(c) == Character.UnicodeScript.HAN;
+    }
+}
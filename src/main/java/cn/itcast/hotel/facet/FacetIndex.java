@@ -0,0 +1,247 @@
+package cn.itcast.hotel.facet;
+
+import cn.itcast.hotel.config.FacetProperties;
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.service.LocalHotelIndex;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.*;
+
+/**
+ * 品牌×城市×星级×价格桶的文档数，只存有酒店的组合：品牌×城市×星级 -> 各价格桶的数量
+ * 组合数不超过酒店数，不会随着各维度取值变多成倍增长；每个组合占一行，数量都在基本类型数组里，不装箱
+ * 启动时从数据库全量加载，之后跟随增量同步维护，不带关键字的过滤项查询直接在本地计算
+ */
+@Component
+public class FacetIndex extends LocalHotelIndex {
+    /**
+     * 各维度编号占的位数，品牌、城市各约100万个取值，星级6万多个，价格桶255个
+     */
+    private static final int BRAND_BITS = 20;
+    private static final int CITY_BITS = 20;
+    private static final int STAR_BITS = 16;
+    private static final int PRICE_BITS = 8;
+
+    @Autowired
+    private FacetProperties properties;
+
+    private final Dictionary brands = new Dictionary();
+    private final Dictionary cities = new Dictionary();
+    private final Dictionary starNames = new Dictionary();
+    private PriceBuckets priceBuckets;
+    /**
+     * pack(品牌, 城市, 星级) -> 行号，全部减到0的组合会删掉，行留给新组合复用
+     */
+    private final LongLongMap rowOfKey = new LongLongMap();
+    /**
+     * 每行的组合key、各价格桶的酒店数（rowCounts[行号 * 价格桶数 + 桶]）、酒店总数，总数为0的是空行
+     */
+    private long[] rowKeys = new long[0];
+    private int[] rowCounts = new int[0];
+    private int[] rowTotals = new int[0];
+    private int rows;
+    private int[] freeRows = new int[0];
+    private int freeCount;
+    /**
+     * 酒店id -> 所在的格子(行号 << PRICE_BITS | 价格桶)，修改和删除时先减掉旧格子
+     */
+    private final LongLongMap cellOfHotel = new LongLongMap();
+
+    @PostConstruct
+    public void init() {
+        priceBuckets = new PriceBuckets(properties.getPriceBoundaries(), properties.getUnboundedMaxPrice());
+        if (priceBuckets.size() >= 1 << PRICE_BITS) {
+            throw new IllegalArgumentException("价格分界点太多，最多" + ((1 << PRICE_BITS) - 1) + "个价格桶");
+        }
+        if (!properties.isEnabled()) {
+            return;
+        }
+        startLoading("facet-loader");
+    }
+
+    /**
+     * 本地能否回答：没有关键字、没有地理范围、价格区间能用整桶表示
+     */
+    public boolean canAnswer(RequestParams params) {
+        return isReady()
+                && !StringUtils.hasText(params.getKey())
+                && !params.hasGeoFilter()
+                && priceBuckets.range(params.getMinPrice(), params.getMaxPrice()) != null;
+    }
+
+    /**
+     * 和ES的brandAgg/cityAgg/starNameAgg语义一致：统计满足所有过滤条件的酒店
+     */
+    public Map<String, List<FacetBucket>> facets(RequestParams params) {
+        int[] priceRange = priceBuckets.range(params.getMinPrice(), params.getMaxPrice());
+        lock.readLock().lock();
+        try {
+            long[] brandCounts = new long[brands.size()];
+            long[] cityCounts = new long[cities.size()];
+            long[] starCounts = new long[starNames.size()];
+            int[] b = constraint(brands, params.getBrand());
+            int[] c = constraint(cities, params.getCity());
+            int[] s = constraint(starNames, params.getStarName());
+            if (b != null && c != null && s != null && priceRange != null) {
+                int width = priceBuckets.size();
+                for (int row = 0; row < rows; row++) {
+                    if (rowTotals[row] == 0) {
+                        continue;
+                    }
+                    long key = rowKeys[row];
+                    int bi = brandOf(key);
+                    int ci = cityOf(key);
+                    int si = starOf(key);
+                    if (bi < b[0] || bi >= b[1] || ci < c[0] || ci >= c[1] || si < s[0] || si >= s[1]) {
+                        continue;
+                    }
+                    long sum = 0;
+                    for (int p = priceRange[0]; p < priceRange[1]; p++) {
+                        sum += rowCounts[row * width + p];
+                    }
+                    brandCounts[bi] += sum;
+                    cityCounts[ci] += sum;
+                    starCounts[si] += sum;
+                }
+            }
+            Map<String, List<FacetBucket>> map = new HashMap<>();
+            map.put("品牌", top(brands, brandCounts, properties.getBrandSize()));
+            map.put("城市", top(cities, cityCounts, properties.getCitySize()));
+            map.put("星级", top(starNames, starCounts, properties.getStarNameSize()));
+            return map;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    protected void add(Hotel hotel) {
+        long old = cellOfHotel.get(hotel.getId(), -1);
+        if (old >= 0) {
+            decrement(old);
+        }
+        long key = pack(
+                checkCode(brands.encode(hotel.getBrand()), BRAND_BITS, "品牌"),
+                checkCode(cities.encode(hotel.getCity()), CITY_BITS, "城市"),
+                checkCode(starNames.encode(hotel.getStarName()), STAR_BITS, "星级"));
+        int p = priceBuckets.bucketOf(hotel.getPrice());
+        int row = (int) rowOfKey.get(key, -1);
+        if (row < 0) {
+            row = allocateRow(key);
+        }
+        rowCounts[row * priceBuckets.size() + p]++;
+        rowTotals[row]++;
+        cellOfHotel.put(hotel.getId(), (long) row << PRICE_BITS | p);
+    }
+
+    @Override
+    protected void remove(Long id) {
+        long cell = cellOfHotel.remove(id, -1);
+        if (cell >= 0) {
+            decrement(cell);
+        }
+    }
+
+    @Override
+    protected String name() {
+        return "过滤项统计";
+    }
+
+    @Override
+    protected String summary() {
+        return cellOfHotel.size() + "家酒店，" + rowOfKey.size() + "个组合";
+    }
+
+    @Override
+    protected int reloadRetrySeconds() {
+        return properties.getReloadRetrySeconds();
+    }
+
+    private void decrement(long cell) {
+        int row = (int) (cell >>> PRICE_BITS);
+        rowCounts[row * priceBuckets.size() + (int) (cell & ((1 << PRICE_BITS) - 1))]--;
+        if (--rowTotals[row] > 0) {
+            return;
+        }
+        rowOfKey.remove(rowKeys[row], -1);
+        if (freeCount == freeRows.length) {
+            freeRows = Arrays.copyOf(freeRows, Math.max(16, freeRows.length * 2));
+        }
+        freeRows[freeCount++] = row;
+    }
+
+    /**
+     * 新组合优先用空行，没有空行时加一行，数组按倍数扩容
+     */
+    private int allocateRow(long key) {
+        int row;
+        if (freeCount > 0) {
+            row = freeRows[--freeCount];
+        } else {
+            row = rows++;
+            if (row == rowKeys.length) {
+                int capacity = Math.max(16, rowKeys.length * 2);
+                rowKeys = Arrays.copyOf(rowKeys, capacity);
+                rowTotals = Arrays.copyOf(rowTotals, capacity);
+                rowCounts = Arrays.copyOf(rowCounts, capacity * priceBuckets.size());
+            }
+        }
+        rowKeys[row] = key;
+        rowOfKey.put(key, row);
+        return row;
+    }
+
+    private static int checkCode(int code, int bits, String dimension) {
+        if (code >= 1 << bits) {
+            throw new IllegalStateException(dimension + "的取值超过" + ((1 << bits) - 1) + "个，无法在本地统计");
+        }
+        return code;
+    }
+
+    private static long pack(int b, int c, int s) {
+        return (long) b | ((long) c << BRAND_BITS) | ((long) s << (BRAND_BITS + CITY_BITS));
+    }
+
+    private static int brandOf(long key) {
+        return (int) (key & ((1 << BRAND_BITS) - 1));
+    }
+
+    private static int cityOf(long key) {
+        return (int) ((key >>> BRAND_BITS) & ((1 << CITY_BITS) - 1));
+    }
+
+    private static int starOf(long key) {
+        return (int) ((key >>> (BRAND_BITS + CITY_BITS)) & ((1 << STAR_BITS) - 1));
+    }
+
+    /**
+     * 过滤条件对应的编号范围[from, to)，值不存在时返回null，表示没有任何结果
+     */
+    private static int[] constraint(Dictionary dictionary, String value) {
+        if (!StringUtils.hasText(value)) {
+            return new int[]{0, dictionary.size()};
+        }
+        int code = dictionary.lookup(value.trim());
+        return code <= 0 ? null : new int[]{code, code + 1};
+    }
+
+    /**
+     * 按数量倒序、key正序取前size个，和terms聚合的默认排序一致，空值和0不返回
+     */
+    private static List<FacetBucket> top(Dictionary dictionary, long[] counts, int size) {
+        List<FacetBucket> buckets = new ArrayList<>();
+        for (int code = 1; code < counts.length; code++) {
+            if (counts[code] > 0) {
+                buckets.add(new FacetBucket(dictionary.decode(code), counts[code]));
+            }
+        }
+        buckets.sort(Comparator.comparingLong(FacetBucket::getCount).reversed()
+                .thenComparing(FacetBucket::getKey));
+        return buckets.size() > size ? new ArrayList<>(buckets.subList(0, size)) : buckets;
+    }
+}
@@ -0,0 +1,110 @@
+package cn.itcast.hotel.facet;
+
+import java.util.Arrays;
+
+/**
+ * long -> long的开放寻址哈希表，线性探测，删除时把后面同一串的元素往前挪，不留墓碑
+ * 键和值都存在基本类型数组里，不装箱；key不能是Long.MIN_VALUE，不是线程安全的，调用方加锁
+ */
+final class LongLongMap {
+    private static final long FREE = Long.MIN_VALUE;
+    private static final float LOAD_FACTOR = 0.5f;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int size;
+
+    LongLongMap() {
+        allocate(16);
+    }
+
+    int size() {
+        return size;
+    }
+
+    long get(long key, long missing) {
+        for (int i = slotOf(key); ; i = (i + 1) & mask) {
+            if (keys[i] == key) {
+                return values[i];
+            }
+            if (keys[i] == FREE) {
+                return missing;
+            }
+        }
+    }
+
+    void put(long key, long value) {
+        if (key == FREE) {
+            throw new IllegalArgumentException("不支持的key：" + key);
+        }
+        int i = slotOf(key);
+        while (keys[i] != FREE && keys[i] != key) {
+            i = (i + 1) & mask;
+        }
+        if (keys[i] == FREE) {
+            keys[i] = key;
+            if (++size > keys.length * LOAD_FACTOR) {
+                values[i] = value;
+                rehash(keys.length * 2);
+                return;
+            }
+        }
+        values[i] = value;
+    }
+
+    /**
+     * 删除并返回旧值，不存在时返回missing
+     */
+    long remove(long key, long missing) {
+        int i = slotOf(key);
+        while (keys[i] != key) {
+            if (keys[i] == FREE) {
+                return missing;
+            }
+            i = (i + 1) & mask;
+        }
+        long old = values[i];
+        size--;
+        //后面的元素如果本该在i或者更前面，挪到i，保证查找时不会在空位提前停下
+        for (int j = (i + 1) & mask; keys[j] != FREE; j = (j + 1) & mask) {
+            int home = slotOf(keys[j]);
+            boolean movable = i <= j ? (home <= i || home > j) : (home <= i && home > j);
+            if (movable) {
+                keys[i] = keys[j];
+                values[i] = values[j];
+                i = j;
+            }
+        }
+        keys[i] = FREE;
+        return old;
+    }
+
+    private int slotOf(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        Arrays.fill(keys, FREE);
+        mask = capacity - 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                int j = slotOf(oldKeys[i]);
+                while (keys[j] != FREE) {
+                    j = (j + 1) & mask;
+                }
+                keys[j] = oldKeys[i];
+                values[j] = oldValues[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package cn.itcast.hotel.facet;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.TreeSet;
+
+/**
+ * 价格分桶，ES的range查询两端都是闭区间，所以每个分界点b都切成[b, b+1)的单独一桶，
+ * 这样[min, max]只要min和max+1都是切点就能用若干整桶精确表示
+ */
+public class PriceBuckets {
+    /**
+     * 切点，第i桶是[cuts[i-1], cuts[i])，第0桶是(-∞, cuts[0])，最后一桶到+∞
+     */
+    private final int[] cuts;
+    private final int unboundedMax;
+
+    public PriceBuckets(List<Integer> boundaries, int unboundedMax) {
+        TreeSet<Integer> set = new TreeSet<>();
+        set.add(0);
+        for (Integer boundary : boundaries) {
+            set.add(boundary);
+            set.add(boundary + 1);
+        }
+        this.cuts = set.stream().mapToInt(Integer::intValue).toArray();
+        this.unboundedMax = unboundedMax;
+    }
+
+    public int size() {
+        return cuts.length + 1;
+    }
+
+    public int bucketOf(Integer price) {
+        if (price == null) {
+            return 0;
+        }
+        int pos = Arrays.binarySearch(cuts, price);
+        return pos >= 0 ? pos + 1 : -pos - 1;
+    }
+
+    /**
+     * 把[min, max]换算成桶的范围[from, to)，不能用整桶表示时返回null
+     */
+    public int[] range(Integer min, Integer max) {
+        if (min == null || max == null) {
+            return new int[]{0, size()};
+        }
+        int from = Arrays.binarySearch(cuts, min);
+        if (from < 0) {
+            return null;
+        }
+        int to;
+        if (max >= unboundedMax) {
+            to = size();
+        } else {
+            to = Arrays.binarySearch(cuts, max + 1);
+            if (to < 0) {
+                return null;
+            }
+            to = to + 1;
+        }
+        return new int[]{from + 1, to};
+    }
+}
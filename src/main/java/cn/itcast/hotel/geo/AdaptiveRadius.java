@@ -0,0 +1,85 @@
+package cn.itcast.hotel.geo;
+
+import cn.itcast.hotel.cache.SearchKeys;
+import cn.itcast.hotel.config.GeoProperties;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.ranking.SortMode;
+import cn.itcast.hotel.utils.HitCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * 只传坐标的附近查询，先带一个小半径查，命中数不够当前页再按倍数扩大，
+ * 扩到上限还不够就去掉半径；范围内的酒店够一页时，结果和不带半径的全量距离排序相同
+ */
+@Component
+public class AdaptiveRadius {
+    @Autowired
+    private GeoProperties properties;
+    @Autowired
+    private GeoIndex geoIndex;
+
+    public boolean applies(RequestParams params) {
+        return properties.isAdaptive()
+                && SortMode.of(params) == SortMode.DISTANCE
+                && !params.hasGeoFilter()
+                && !params.isCursorPaging();
+    }
+
+    /**
+     * 第一次查询的半径：本地索引里满足过滤条件的第N近酒店的距离（不含关键字，是下限），
+     * 至少为配置的初始半径；本地索引确认总数不够一页时返回null，直接全量查
+     */
+    public Double initialRadius(RequestParams params) {
+        double radius = properties.getInitialRadiusKm();
+        if (geoIndex.isReady()) {
+            Double kth = geoIndex.kthDistance(params, needed(params));
+            if (kth == null) {
+                return null;
+            }
+            radius = Math.max(radius, Math.ceil(kth));
+        }
+        return radius > properties.getMaxRadiusKm() ? null : radius;
+    }
+
+    /**
+     * 下一次查询的半径，已经到上限时返回null表示去掉半径
+     */
+    public Double next(double radius) {
+        if (radius >= properties.getMaxRadiusKm()) {
+            return null;
+        }
+        return Math.min(radius * properties.getExpandFactor(), properties.getMaxRadiusKm());
+    }
+
+    public boolean enough(RequestParams params, PageResult result) {
+        if (result.getTotal() >= needed(params)) {
+            return true;
+        }
+        //计数上限比当前页还小时total只是下限，看这一页有没有取满
+        int size = params.getSize() == null || params.getSize() < 1 ? SearchKeys.DEFAULT_SIZE : params.getSize();
+        return HitCount.RELATION_GTE.equals(result.getTotalRelation()) && result.getHotels().size() >= size;
+    }
+
+    /**
+     * 半径是自动加的，total只数了半径内的酒店，不是这次查询的总数，标成下限
+     * 客户端自己传了半径时不走这里，total照旧是精确值
+     */
+    public static PageResult bounded(PageResult page) {
+        page.setTotalRelation(HitCount.RELATION_GTE);
+        return page;
+    }
+
+    public static RequestParams withRadius(RequestParams params, Double radius) {
+        RequestParams copy = SearchKeys.normalize(params);
+        copy.setRadius(radius);
+        return copy;
+    }
+
+    private static int needed(RequestParams params) {
+        int page = params.getPage() == null || params.getPage() < 1 ? SearchKeys.DEFAULT_PAGE : params.getPage();
+        int size = params.getSize() == null || params.getSize() < 1 ? SearchKeys.DEFAULT_SIZE : params.getSize();
+        return page * size;
+    }
+}
@@ -0,0 +1,346 @@
+package cn.itcast.hotel.geo;
+
+import cn.itcast.hotel.config.GeoProperties;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.ranking.SortMode;
+import cn.itcast.hotel.service.LocalHotelIndex;
+import cn.itcast.hotel.utils.HitCount;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 酒店坐标的网格索引：经纬度按固定边长切格子，查询时从所在格子一圈圈往外找，
+ * 找够一页并且确认外圈不会有更近的就停，不用对全部酒店算距离
+ * 启动时从数据库全量加载，之后跟随增量同步维护
+ */
+@Component
+public class GeoIndex extends LocalHotelIndex {
+    @Autowired
+    private GeoProperties properties;
+
+    private final Map<Long, Entry> byId = new HashMap<>();
+    private final Map<Long, List<Entry>> cells = new HashMap<>();
+    /**
+     * 有数据的格子的范围，一圈圈往外找时超出这个范围就不用再找了
+     */
+    private int minRow = Integer.MAX_VALUE;
+    private int maxRow = Integer.MIN_VALUE;
+    private int minCol = Integer.MAX_VALUE;
+    private int maxCol = Integer.MIN_VALUE;
+    private double cellDegrees;
+
+    @PostConstruct
+    public void init() {
+        cellDegrees = properties.getCellDegrees();
+        if (!properties.isEnabled()) {
+            return;
+        }
+        startLoading("geo-loader");
+    }
+
+    /**
+     * 本地能否回答：按坐标排序、没有关键字、没有矩形范围、按页码分页
+     */
+    public boolean canAnswer(RequestParams params) {
+        return isReady()
+                && SortMode.of(params) == SortMode.DISTANCE
+                && !StringUtils.hasText(params.getKey())
+                && !StringUtils.hasText(params.getBbox())
+                && !params.isCursorPaging();
+    }
+
+    /**
+     * 和ES的geo_distance排序结果一致：满足过滤条件的酒店按距离升序，distance单位公里
+     */
+    public PageResult search(RequestParams params) {
+        double[] center = Haversine.parse(params.getLocation());
+        int page = params.getPage() == null || params.getPage() < 1 ? 1 : params.getPage();
+        int size = params.getSize() == null || params.getSize() < 1 ? 10 : params.getSize();
+        int from = (page - 1) * size;
+        Double radius = params.getRadius();
+        lock.readLock().lock();
+        try {
+            List<Match> matches = nearest(center, params, from + size, radius);
+            matches.sort(Comparator.comparingDouble((Match m) -> m.distance).thenComparing(m -> m.entry.doc.getId()));
+            List<HotelDoc> hotels = new ArrayList<>(size);
+            for (int i = from; i < Math.min(from + size, matches.size()); i++) {
+                Match match = matches.get(i);
+                HotelDoc doc = copy(match.entry.doc);
+                doc.setDistance(match.distance);
+                hotels.add(doc);
+            }
+            HitCount count = HitCount.of(params);
+            long total = count(center, params, radius, count.limit());
+            return new PageResult(count.total(total), count.relation(total), hotels);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 满足结构化过滤条件（不含关键字）的第k近酒店的距离，总数不到k个时返回null
+     * 用来估计ES查询的初始半径
+     */
+    public Double kthDistance(RequestParams params, int k) {
+        double[] center = Haversine.parse(params.getLocation());
+        if (!isReady() || center == null) {
+            return null;
+        }
+        lock.readLock().lock();
+        try {
+            List<Match> matches = nearest(center, params, k, null);
+            if (matches.size() < k) {
+                return null;
+            }
+            matches.sort(Comparator.comparingDouble(m -> m.distance));
+            return matches.get(k - 1).distance;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * 从中心格子一圈圈往外找，直到确定最近的want个都已找到
+     * 找完第ring圈后，没找过的格子离中心至少ring个格子边长
+     */
+    private List<Match> nearest(double[] center, RequestParams params, int want, Double radius) {
+        List<Match> matches = new ArrayList<>();
+        if (byId.isEmpty()) {
+            return matches;
+        }
+        int row = row(center[0]);
+        int col = col(center[1]);
+        double cellKm = cellDegrees * Haversine.KM_PER_DEGREE * Math.max(0.01, Math.cos(Math.toRadians(center[0])));
+        cellKm = Math.min(cellKm, cellDegrees * Haversine.KM_PER_DEGREE);
+        for (int ring = 0; ; ring++) {
+            for (int r = row - ring; r <= row + ring; r++) {
+                boolean edgeRow = r == row - ring || r == row + ring;
+                for (int c = col - ring; c <= col + ring; c += edgeRow ? 1 : 2 * ring) {
+                    List<Entry> entries = cells.get(cell(r, c));
+                    if (entries != null) {
+                        for (Entry entry : entries) {
+                            if (matches(entry.doc, params)) {
+                                double distance = Haversine.distanceKm(center[0], center[1], entry.lat, entry.lon);
+                                if (radius == null || distance <= radius) {
+                                    matches.add(new Match(entry, distance));
+                                }
+                            }
+                        }
+                    }
+                    if (ring == 0) {
+                        break;
+                    }
+                }
+            }
+            double covered = ring * cellKm;
+            if (radius != null && covered >= radius) {
+                break;
+            }
+            if (row - ring <= minRow && row + ring >= maxRow && col - ring <= minCol && col + ring >= maxCol) {
+                break;
+            }
+            if (matches.size() >= want && countWithin(matches, covered) >= want) {
+                break;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * 满足条件的酒店数，数到limit+1就停，多数一个才知道total是不是下限，和ES的track_total_hits一样
+     * 有半径时只看半径外接矩形覆盖的格子，不对全部酒店算距离
+     */
+    private long count(double[] center, RequestParams params, Double radius, int limit) {
+        long cap = (long) limit + 1;
+        long total = 0;
+        if (radius == null) {
+            for (Entry entry : byId.values()) {
+                if (matches(entry.doc, params) && ++total >= cap) {
+                    return total;
+                }
+            }
+            return total;
+        }
+        //纬度方向每度的距离固定；经度方向按范围内最靠近极点的纬度算，宁大勿小
+        double latSpan = radius / Haversine.KM_PER_DEGREE;
+        double cos = Math.cos(Math.toRadians(Math.min(90, Math.abs(center[0]) + latSpan)));
+        int fromRow = Math.max(minRow, row(center[0] - latSpan) - 1);
+        int toRow = Math.min(maxRow, row(center[0] + latSpan) + 1);
+        int fromCol = minCol;
+        int toCol = maxCol;
+        if (cos > 1e-6) {
+            double lonSpan = latSpan / cos;
+            fromCol = Math.max(minCol, col(center[1] - lonSpan) - 1);
+            toCol = Math.min(maxCol, col(center[1] + lonSpan) + 1);
+        }
+        if (fromRow > toRow || fromCol > toCol) {
+            return 0;
+        }
+        long area = (long) (toRow - fromRow + 1) * (toCol - fromCol + 1);
+        if (area <= cells.size()) {
+            for (int r = fromRow; r <= toRow; r++) {
+                for (int c = fromCol; c <= toCol; c++) {
+                    total = countCell(cells.get(cell(r, c)), center, params, radius, total, cap);
+                    if (total >= cap) {
+                        return total;
+                    }
+                }
+            }
+            return total;
+        }
+        //范围里的格子比有数据的格子还多，反过来遍历有数据的格子
+        for (Map.Entry<Long, List<Entry>> cell : cells.entrySet()) {
+            int r = (int) (cell.getKey() >> 32);
+            int c = (int) (long) cell.getKey();
+            if (r >= fromRow && r <= toRow && c >= fromCol && c <= toCol) {
+                total = countCell(cell.getValue(), center, params, radius, total, cap);
+                if (total >= cap) {
+                    return total;
+                }
+            }
+        }
+        return total;
+    }
+
+    private static long countCell(List<Entry> entries, double[] center, RequestParams params, double radius,
+                                  long total, long cap) {
+        if (entries == null) {
+            return total;
+        }
+        for (Entry entry : entries) {
+            if (matches(entry.doc, params)
+                    && Haversine.distanceKm(center[0], center[1], entry.lat, entry.lon) <= radius
+                    && ++total >= cap) {
+                return total;
+            }
+        }
+        return total;
+    }
+
+    private static int countWithin(List<Match> matches, double distance) {
+        int n = 0;
+        for (Match match : matches) {
+            if (match.distance <= distance) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * 和builderBasicQuery里的term/range过滤条件一致
+     */
+    private static boolean matches(HotelDoc doc, RequestParams params) {
+        if (StringUtils.hasText(params.getBrand()) && !params.getBrand().trim().equals(doc.getBrand())) {
+            return false;
+        }
+        if (StringUtils.hasText(params.getCity()) && !params.getCity().trim().equals(doc.getCity())) {
+            return false;
+        }
+        if (StringUtils.hasText(params.getStarName()) && !params.getStarName().trim().equals(doc.getStarName())) {
+            return false;
+        }
+        if (params.getMinPrice() != null && params.getMaxPrice() != null) {
+            Integer price = doc.getPrice();
+            return price != null && price >= params.getMinPrice() && price <= params.getMaxPrice();
+        }
+        return true;
+    }
+
+    @Override
+    protected void add(Hotel hotel) {
+        remove(hotel.getId());
+        double lat;
+        double lon;
+        try {
+            lat = Double.parseDouble(hotel.getLatitude().trim());
+            lon = Double.parseDouble(hotel.getLongitude().trim());
+        } catch (RuntimeException e) {
+            //没有坐标的酒店不参与附近查询，ES里按距离排序时也查不到它们
+            return;
+        }
+        int row = row(lat);
+        int col = col(lon);
+        Entry entry = new Entry(toDoc(hotel), lat, lon, cell(row, col));
+        byId.put(hotel.getId(), entry);
+        cells.computeIfAbsent(entry.cell, k -> new ArrayList<>()).add(entry);
+        minRow = Math.min(minRow, row);
+        maxRow = Math.max(maxRow, row);
+        minCol = Math.min(minCol, col);
+        maxCol = Math.max(maxCol, col);
+    }
+
+    @Override
+    protected void remove(Long id) {
+        Entry old = byId.remove(id);
+        if (old != null) {
+            List<Entry> entries = cells.get(old.cell);
+            entries.remove(old);
+            if (entries.isEmpty()) {
+                cells.remove(old.cell);
+            }
+        }
+    }
+
+    @Override
+    protected String name() {
+        return "坐标网格";
+    }
+
+    @Override
+    protected String summary() {
+        return byId.size() + "家酒店，" + cells.size() + "个格子";
+    }
+
+    @Override
+    protected int reloadRetrySeconds() {
+        return properties.getReloadRetrySeconds();
+    }
+
+    private int row(double lat) {
+        return (int) Math.floor(lat / cellDegrees);
+    }
+
+    private int col(double lon) {
+        return (int) Math.floor(lon / cellDegrees);
+    }
+
+    private static long cell(int row, int col) {
+        return ((long) row << 32) | (col & 0xFFFFFFFFL);
+    }
+
+    private static final class Entry {
+        private final HotelDoc doc;
+        private final double lat;
+        private final double lon;
+        private final long cell;
+
+        private Entry(HotelDoc doc, double lat, double lon, long cell) {
+            this.doc = doc;
+            this.lat = lat;
+            this.lon = lon;
+            this.cell = cell;
+        }
+    }
+
+    private static final class Match {
+        private final Entry entry;
+        private final double distance;
+
+        private Match(Entry entry, double distance) {
+            this.entry = entry;
+            this.distance = distance;
+        }
+    }
+}
@@ -0,0 +1,255 @@
+package cn.itcast.hotel.index;
+
+import cn.itcast.hotel.config.IndexProperties;
+import cn.itcast.hotel.constans.HotelConstants;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.service.impl.HotelSearchRequests;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.GetMappingsRequest;
+import org.elasticsearch.client.indices.GetMappingsResponse;
+import org.elasticsearch.cluster.metadata.MappingMetadata;
+import org.elasticsearch.common.document.DocumentField;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * 按城市路由：hotel.index.routing=city时，新建的索引要求每个文档带_routing=city，同一城市的酒店都在一个分片上
+ * 限定了城市的列表、过滤项查询只发给那一个分片，不限城市的查询照旧发给所有分片，分片数增加时单次查询的代价不跟着涨
+ * 索引是不是按城市路由的记在mappings._meta.routing里，查询和增量同步都按别名指向的线上索引来，
+ * 配置改了但还没重建索引时不会用错
+ */
+@Slf4j
+@Component
+public class HotelRouting {
+    public static final String CITY = "city";
+    /**
+     * 写在mappings._meta里的路由方式
+     */
+    public static final String META_ROUTING = "routing";
+    /**
+     * 没有城市的酒店用的路由值
+     */
+    public static final String NO_CITY = "-";
+
+    @Autowired
+    private RestHighLevelClient client;
+    @Autowired
+    private IndexProperties properties;
+
+    /**
+     * 线上索引的路由方式，null表示按id分片或者还不知道
+     */
+    private volatile String live;
+    private volatile long checkedAt;
+    private final AtomicBoolean refreshing = new AtomicBoolean();
+
+    /**
+     * 新建索引用的路由方式，没配置时返回null
+     */
+    public String configured() {
+        String routing = properties.getRouting();
+        if (!StringUtils.hasText(routing)) {
+            return null;
+        }
+        if (!CITY.equals(routing.trim())) {
+            throw new IllegalStateException("不支持的路由方式：" + routing + "，只支持" + CITY);
+        }
+        return CITY;
+    }
+
+    /**
+     * 查询用：过期了在后台刷新，不在请求线程上等；还不知道时按不路由处理，查所有分片结果也是对的
+     */
+    public String live() {
+        if (System.currentTimeMillis() - checkedAt > properties.getRoutingRefreshMs()
+                && refreshing.compareAndSet(false, true)) {
+            client.indices().getMappingAsync(new GetMappingsRequest().indices(HotelConstants.INDEX_ALIAS),
+                    RequestOptions.DEFAULT, new ActionListener<GetMappingsResponse>() {
+                        @Override
+                        public void onResponse(GetMappingsResponse response) {
+                            update(response);
+                            refreshing.set(false);
+                        }
+
+                        @Override
+                        public void onFailure(Exception e) {
+                            //过一个周期再试
+                            checkedAt = System.currentTimeMillis();
+                            refreshing.set(false);
+                            log.debug("读取索引的路由方式失败", e);
+                        }
+                    });
+        }
+        return live;
+    }
+
+    /**
+     * 写入用：写错分片会产生重复文档，所以同步读一次线上索引；切换别名后也调用这里
+     */
+    public String refresh() throws IOException {
+        update(client.indices().getMapping(new GetMappingsRequest().indices(HotelConstants.INDEX_ALIAS),
+                RequestOptions.DEFAULT));
+        return live;
+    }
+
+    private void update(GetMappingsResponse response) {
+        String routing = null;
+        for (MappingMetadata mapping : response.mappings().values()) {
+            routing = routingOf(mapping.sourceAsMap());
+        }
+        if (!Objects.equals(routing, live)) {
+            log.info("索引[{}]的路由方式：{}", HotelConstants.INDEX_ALIAS, routing == null ? "按id" : routing);
+        }
+        live = routing;
+        checkedAt = System.currentTimeMillis();
+    }
+
+    /**
+     * 限定了城市的查询只查城市所在的分片；point in time的查询不指定路由
+     */
+    public <R extends SearchRequest> R route(R request, RequestParams params) {
+        String routing = routing(live(), params);
+        if (routing != null) {
+            request.routing(routing);
+        }
+        return request;
+    }
+
+    public static String routing(String live, RequestParams params) {
+        if (!CITY.equals(live) || !StringUtils.hasText(params.getCity())
+                || HotelSearchRequests.usesPointInTime(params)) {
+            return null;
+        }
+        return params.getCity().trim();
+    }
+
+    /**
+     * 文档的路由值，和查询时用的RequestParams.city一致
+     */
+    public static String routingOf(HotelDoc doc) {
+        return StringUtils.hasText(doc.getCity()) ? doc.getCity().trim() : NO_CITY;
+    }
+
+    /**
+     * 线上mapping里记录的路由方式
+     */
+    @SuppressWarnings("unchecked")
+    public static String routingOf(Map<String, Object> liveMapping) {
+        Object meta = liveMapping.get("_meta");
+        if (!(meta instanceof Map)) {
+            return null;
+        }
+        Object routing = ((Map<String, Object>) meta).get(META_ROUTING);
+        return routing == null ? null : routing.toString();
+    }
+
+    /**
+     * 建索引用的mapping：按城市路由时要求每次写入都带路由，漏带的写入会直接报错，不会悄悄写到别的分片
+     */
+    public static String mappingsSource(IndexDefinition definition, String routing) {
+        if (routing == null) {
+            return definition.mappingsSource();
+        }
+        JSONObject mappings = JSON.parseObject(definition.mappingsSource(), Feature.OrderedField);
+        JSONObject required = new JSONObject(true);
+        required.put("required", true);
+        mappings.put("_routing", required);
+        mappings.getJSONObject("_meta").put(META_ROUTING, routing);
+        return mappings.toJSONString();
+    }
+
+    /**
+     * 按路由的索引里，这些酒店现在放在哪个分片(_routing)、_source是什么；查不到的不在结果里
+     */
+    public Map<Long, Placement> placements(Collection<Long> ids) throws IOException {
+        SearchRequest request = new SearchRequest(HotelConstants.INDEX_ALIAS);
+        request.source()
+                .query(QueryBuilders.idsQuery().addIds(ids.stream().map(String::valueOf).toArray(String[]::new)))
+                .size(ids.size());
+        SearchResponse response = client.search(request, RequestOptions.DEFAULT);
+        Map<Long, Placement> placements = new HashMap<>();
+        for (SearchHit hit : response.getHits().getHits()) {
+            DocumentField routing = hit.field("_routing");
+            placements.put(Long.valueOf(hit.getId()), new Placement(
+                    routing == null ? null : String.valueOf((Object) routing.getValue()), hit.getSourceAsMap()));
+        }
+        return placements;
+    }
+
+    /**
+     * 增量同步一个酒店要发的写请求：
+     * 不按路由时和原来一样，删除或者局部更新；
+     * 按路由时删除要带上文档现在的路由，换了城市的酒店先从旧分片删掉，再带着ES里独有的字段(如ADing)写到新分片
+     *
+     * @param doc     数据库里的最新数据，酒店已删除时为null
+     * @param current 线上索引里的位置，只在按路由时需要，不在索引里时为null
+     */
+    public static List<DocWriteRequest<?>> writes(Long id, HotelDoc doc, boolean routed, Placement current) {
+        List<DocWriteRequest<?>> writes = new ArrayList<>(2);
+        String index = HotelConstants.INDEX_ALIAS;
+        if (doc == null) {
+            if (!routed) {
+                writes.add(new DeleteRequest(index, id.toString()));
+            } else if (current != null) {
+                writes.add(new DeleteRequest(index, id.toString()).routing(current.getRouting()));
+            }
+            return writes;
+        }
+        String json = JSON.toJSONString(doc);
+        if (!routed) {
+            writes.add(new UpdateRequest(index, id.toString()).doc(json, XContentType.JSON).docAsUpsert(true));
+            return writes;
+        }
+        String routing = routingOf(doc);
+        if (current == null || routing.equals(current.getRouting())) {
+            writes.add(new UpdateRequest(index, id.toString()).routing(routing)
+                    .doc(json, XContentType.JSON).docAsUpsert(true));
+            return writes;
+        }
+        //换了城市：同一个id在新旧两个分片上各有一份就成了重复文档
+        Map<String, Object> source = new LinkedHashMap<>(current.getSource());
+        source.putAll(JSON.parseObject(json));
+        writes.add(new DeleteRequest(index, id.toString()).routing(current.getRouting()));
+        writes.add(new IndexRequest(index).id(id.toString()).routing(routing).source(source));
+        return writes;
+    }
+
+    /**
+     * 文档在线上索引里的路由值和内容
+     */
+    @Data
+    @AllArgsConstructor
+    public static class Placement {
+        private String routing;
+        private Map<String, Object> source;
+    }
+}
@@ -0,0 +1,151 @@
+package cn.itcast.hotel.index;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一个版本的酒店索引定义：settings + mappings，原文是resources/index/hotel-v{n}.json
+ * 定义一经发布不再修改，要调整就加一个新版本，重建索引时切过去
+ */
+public class IndexDefinition {
+    /**
+     * 写在mappings._meta里，从线上索引能看出它是按哪个版本建的
+     */
+    public static final String META_VERSION = "definition";
+
+    private final int version;
+    private final JSONObject settings;
+    private final JSONObject mappings;
+
+    private IndexDefinition(int version, JSONObject settings, JSONObject mappings) {
+        this.version = version;
+        this.settings = settings;
+        this.mappings = mappings;
+    }
+
+    public static IndexDefinition parse(String json) {
+        JSONObject source = JSON.parseObject(json, Feature.OrderedField);
+        JSONObject mappings = source.getJSONObject("mappings");
+        if (mappings == null || mappings.getJSONObject("properties") == null) {
+            throw new IllegalArgumentException("索引定义缺少mappings.properties");
+        }
+        JSONObject meta = mappings.getJSONObject("_meta");
+        Integer version = meta == null ? null : meta.getInteger(META_VERSION);
+        if (version == null) {
+            throw new IllegalArgumentException("索引定义缺少mappings._meta." + META_VERSION);
+        }
+        JSONObject settings = source.getJSONObject("settings");
+        return new IndexDefinition(version, settings == null ? new JSONObject(true) : settings, mappings);
+    }
+
+    public int getVersion() {
+        return version;
+    }
+
+    /**
+     * 建索引的完整请求体
+     */
+    public String source() {
+        JSONObject source = new JSONObject(true);
+        if (!settings.isEmpty()) {
+            source.put("settings", settings);
+        }
+        source.put("mappings", mappings);
+        return source.toJSONString();
+    }
+
+    public String settingsSource() {
+        return settings.toJSONString();
+    }
+
+    public String mappingsSource() {
+        return mappings.toJSONString();
+    }
+
+    public Map<String, Object> getMappings() {
+        return Collections.unmodifiableMap(mappings);
+    }
+
+    /**
+     * 拍平的settings：index.sort.field -> [city, score, id]，和ES返回的settings写法一致
+     */
+    public Map<String, Object> flatSettings() {
+        Map<String, Object> flat = new LinkedHashMap<>();
+        flatten("", settings, flat);
+        return flat;
+    }
+
+    public List<String> fields() {
+        return new ArrayList<>(mappings.getJSONObject("properties").keySet());
+    }
+
+    public JSONObject field(String name) {
+        return mappings.getJSONObject("properties").getJSONObject(name);
+    }
+
+    /**
+     * 索引排序，每项是[字段, asc/desc]，没有索引排序时为空
+     */
+    public List<String[]> indexSort() {
+        Map<String, Object> flat = flatSettings();
+        List<String> fields = strings(flat.get("index.sort.field"));
+        List<String> orders = strings(flat.get("index.sort.order"));
+        List<String[]> sort = new ArrayList<>(fields.size());
+        for (int i = 0; i < fields.size(); i++) {
+            sort.add(new String[]{fields.get(i), i < orders.size() ? orders.get(i) : "asc"});
+        }
+        return sort;
+    }
+
+    public boolean docValues(String field) {
+        return flag(field, "doc_values", !"text".equals(field(field).getString("type")));
+    }
+
+    public boolean norms(String field) {
+        return flag(field, "norms", "text".equals(field(field).getString("type")));
+    }
+
+    public boolean indexed(String field) {
+        return flag(field, "index", true);
+    }
+
+    public boolean eagerGlobalOrdinals(String field) {
+        return flag(field, "eager_global_ordinals", false);
+    }
+
+    private boolean flag(String field, String name, boolean defaultValue) {
+        Boolean value = field(field).getBoolean(name);
+        return value == null ? defaultValue : value;
+    }
+
+    static void flatten(String prefix, Map<String, Object> source, Map<String, Object> flat) {
+        for (Map.Entry<String, Object> entry : source.entrySet()) {
+            String key = prefix + entry.getKey();
+            if (entry.getValue() instanceof Map) {
+                @SuppressWarnings("unchecked")
+                Map<String, Object> child = (Map<String, Object>) entry.getValue();
+                flatten(key + ".", child, flat);
+            } else {
+                flat.put(key, entry.getValue());
+            }
+        }
+    }
+
+    private static List<String> strings(Object value) {
+        if (value == null) {
+            return Collections.emptyList();
+        }
+        if (value instanceof JSONArray) {
+            return ((JSONArray) value).toJavaList(String.class);
+        }
+        return Collections.singletonList(String.valueOf(value));
+    }
+}
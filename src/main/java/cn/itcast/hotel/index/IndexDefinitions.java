@@ -0,0 +1,85 @@
+package cn.itcast.hotel.index;
+
+import cn.itcast.hotel.config.IndexProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StreamUtils;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 所有版本的索引定义，按版本号排好序
+ * 加新版本：新增resources/index/hotel-v{n}.json，并把n加进IndexDefinitionBenchmark的version参数，和上一版对比
+ */
+@Component
+public class IndexDefinitions {
+    private static final String LOCATION = "classpath*:index/hotel-v*.json";
+    private static final Pattern FILE_NAME = Pattern.compile("hotel-v(\\d+)\\.json");
+    private static final List<IndexDefinition> ALL = Collections.unmodifiableList(load());
+
+    @Autowired
+    private IndexProperties properties;
+
+    public static List<IndexDefinition> all() {
+        return ALL;
+    }
+
+    public static IndexDefinition latest() {
+        return ALL.get(ALL.size() - 1);
+    }
+
+    public static IndexDefinition get(int version) {
+        for (IndexDefinition definition : ALL) {
+            if (definition.getVersion() == version) {
+                return definition;
+            }
+        }
+        throw new IllegalArgumentException("没有版本" + version + "的索引定义");
+    }
+
+    /**
+     * 新建索引用的定义：配置了hotel.index.definition-version就用那个版本，否则用最新的
+     */
+    public IndexDefinition current() {
+        int version = properties.getDefinitionVersion();
+        return version > 0 ? get(version) : latest();
+    }
+
+    private static List<IndexDefinition> load() {
+        List<IndexDefinition> definitions = new ArrayList<>();
+        try {
+            for (Resource resource : new PathMatchingResourcePatternResolver().getResources(LOCATION)) {
+                Matcher matcher = FILE_NAME.matcher(String.valueOf(resource.getFilename()));
+                if (!matcher.matches()) {
+                    continue;
+                }
+                IndexDefinition definition;
+                try (InputStream in = resource.getInputStream()) {
+                    definition = IndexDefinition.parse(StreamUtils.copyToString(in, StandardCharsets.UTF_8));
+                }
+                if (definition.getVersion() != Integer.parseInt(matcher.group(1))) {
+                    throw new IllegalStateException(resource.getFilename() + "里的版本号和文件名不一致");
+                }
+                definitions.add(definition);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        if (definitions.isEmpty()) {
+            throw new IllegalStateException("classpath里没有索引定义：" + LOCATION);
+        }
+        definitions.sort(Comparator.comparingInt(IndexDefinition::getVersion));
+        return definitions;
+    }
+}
@@ -0,0 +1,159 @@
+package cn.itcast.hotel.index;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import org.elasticsearch.common.settings.Settings;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * 线上索引和目标定义的差异
+ * inPlace的变更可以直接put mapping，其它的（字段类型、doc_values、索引排序、分片数……）只能重建索引
+ */
+@Data
+public class MappingDiff {
+    /**
+     * ES允许在已有字段上修改的参数
+     */
+    private static final Set<String> UPDATABLE = new HashSet<>(Arrays.asList(
+            "eager_global_ordinals", "ignore_above", "search_analyzer", "search_quote_analyzer", "copy_to"));
+
+    private String index;
+    /**
+     * 线上索引按哪个版本的定义建的，老索引没有记录时为null
+     */
+    private Integer liveVersion;
+    private int desiredVersion;
+    private List<Change> changes = new ArrayList<>();
+
+    public boolean isRebuildRequired() {
+        return changes.stream().anyMatch(change -> !change.isInPlace());
+    }
+
+    public boolean isEmpty() {
+        return changes.isEmpty();
+    }
+
+    @Data
+    @AllArgsConstructor
+    public static class Change {
+        /**
+         * 比如mappings.properties.city.eager_global_ordinals、settings.index.sort.field
+         */
+        private String path;
+        private Object live;
+        private Object desired;
+        private boolean inPlace;
+    }
+
+    @SuppressWarnings("unchecked")
+    public static MappingDiff compare(String index, IndexDefinition desired,
+                                      Map<String, Object> liveMapping, Settings liveSettings) {
+        MappingDiff diff = new MappingDiff();
+        diff.setIndex(index);
+        diff.setDesiredVersion(desired.getVersion());
+        Object meta = liveMapping.get("_meta");
+        if (meta instanceof Map && ((Map<String, Object>) meta).get(IndexDefinition.META_VERSION) instanceof Number) {
+            diff.setLiveVersion(((Number) ((Map<String, Object>) meta).get(IndexDefinition.META_VERSION)).intValue());
+        }
+
+        //1.settings：只比较定义里写了的，其它的是ES的默认值或者运行时调整的
+        for (Map.Entry<String, Object> entry : desired.flatSettings().entrySet()) {
+            String key = entry.getKey().startsWith("index.") ? entry.getKey() : "index." + entry.getKey();
+            Object live = entry.getValue() instanceof Collection
+                    ? emptyToNull(liveSettings.getAsList(key))
+                    : liveSettings.get(key);
+            if (!same(live, entry.getValue())) {
+                //定义里的都是建索引时才能设置的静态参数
+                diff.changes.add(new Change("settings." + key, live, entry.getValue(), false));
+            }
+        }
+
+        //2.字段：按字段逐个参数比较
+        Map<String, Object> liveFields = liveMapping.get("properties") instanceof Map
+                ? (Map<String, Object>) liveMapping.get("properties") : new LinkedHashMap<>();
+        Set<String> names = new LinkedHashSet<>(desired.fields());
+        names.addAll(liveFields.keySet());
+        for (String name : names) {
+            String path = "mappings.properties." + name;
+            Map<String, Object> want = desired.fields().contains(name) ? desired.field(name) : null;
+            Map<String, Object> have = (Map<String, Object>) liveFields.get(name);
+            if (have == null) {
+                //新字段可以直接加
+                diff.changes.add(new Change(path, null, want, true));
+                continue;
+            }
+            if (want == null) {
+                //ES不能删字段，不用的字段只能等重建时去掉
+                diff.changes.add(new Change(path, have, null, false));
+                continue;
+            }
+            Map<String, Object> wantFlat = new LinkedHashMap<>();
+            IndexDefinition.flatten("", want, wantFlat);
+            Map<String, Object> haveFlat = new LinkedHashMap<>();
+            IndexDefinition.flatten("", have, haveFlat);
+            Set<String> params = new LinkedHashSet<>(wantFlat.keySet());
+            params.addAll(haveFlat.keySet());
+            for (String param : params) {
+                Object live = haveFlat.get(param);
+                Object target = wantFlat.get(param);
+                if (!same(live, target)) {
+                    diff.changes.add(new Change(path + "." + param, live, target, inPlace(param, live, target)));
+                }
+            }
+        }
+        return diff;
+    }
+
+    private static boolean inPlace(String param, Object live, Object desired) {
+        if (UPDATABLE.contains(param)) {
+            return true;
+        }
+        //norms只能关，不能再打开
+        return "norms".equals(param) && "false".equals(normalize(desired)) && !"false".equals(normalize(live));
+    }
+
+    /**
+     * ES返回的mapping会把数字写成小数、把单个copy_to写成数组，比较前统一写法
+     */
+    private static boolean same(Object live, Object desired) {
+        String a = normalize(live);
+        String b = normalize(desired);
+        return a == null ? b == null : a.equals(b);
+    }
+
+    private static String normalize(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Collection) {
+            Collection<?> values = (Collection<?>) value;
+            if (values.size() == 1) {
+                return normalize(values.iterator().next());
+            }
+            return values.stream().map(MappingDiff::normalize).collect(Collectors.joining(",", "[", "]"));
+        }
+        if (value instanceof Number) {
+            return new BigDecimal(value.toString()).stripTrailingZeros().toPlainString();
+        }
+        String text = String.valueOf(value);
+        if (text.matches("-?\\d+(\\.\\d+)?")) {
+            return new BigDecimal(text).stripTrailingZeros().toPlainString();
+        }
+        return text;
+    }
+
+    private static List<String> emptyToNull(List<String> values) {
+        return values.isEmpty() ? null : values;
+    }
+}
@@ -1,7 +1,24 @@
 package cn.itcast.hotel.mapper;
 
 import cn.itcast.hotel.pojo.Hotel;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
 import com.baomidou.mybatisplus.core.mapper.BaseMapper;
 
+import java.util.List;
+
 public interface HotelMapper extends BaseMapper<Hotel> {
+
+    /**
+     * 基于主键的游标分页（keyset），查询id大于lastId的下一批数据
+     * 不使用offset，翻到多深代价都一样
+     * @param lastId 上一批最后一条的id，第一批传null
+     * @param limit 每批条数
+     */
+    default List<Hotel> selectBatchAfter(Long lastId, int limit) {
+        LambdaQueryWrapper<Hotel> wrapper = new LambdaQueryWrapper<Hotel>()
+                .gt(lastId != null, Hotel::getId, lastId)
+                .orderByAsc(Hotel::getId)
+                .last("limit " + limit);
+        return selectList(wrapper);
+    }
 }
@@ -0,0 +1,31 @@
+package cn.itcast.hotel.mapper;
+
+import cn.itcast.hotel.pojo.HotelOutbox;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+import org.apache.ibatis.annotations.Param;
+import org.apache.ibatis.annotations.Select;
+
+import java.util.Date;
+import java.util.List;
+
+public interface HotelOutboxMapper extends BaseMapper<HotelOutbox> {
+
+    default List<HotelOutbox> selectBatchAfter(long lastId, int limit) {
+        LambdaQueryWrapper<HotelOutbox> wrapper = new LambdaQueryWrapper<HotelOutbox>()
+                .gt(HotelOutbox::getId, lastId)
+                .orderByAsc(HotelOutbox::getId)
+                .last("limit " + limit);
+        return selectList(wrapper);
+    }
+
+    @Select("select ifnull(max(id), 0) from tb_hotel_outbox")
+    long selectMaxId();
+
+    /**
+     * since以后第一条变更之前的位置，since以后没有变更时返回最大id
+     */
+    @Select("select ifnull((select min(id) - 1 from tb_hotel_outbox where create_time >= #{since}),"
+            + " (select ifnull(max(id), 0) from tb_hotel_outbox))")
+    long selectIdBefore(@Param("since") Date since);
+}
@@ -0,0 +1,7 @@
+package cn.itcast.hotel.mapper;
+
+import cn.itcast.hotel.pojo.SyncCheckpoint;
+import com.baomidou.mybatisplus.core.mapper.BaseMapper;
+
+public interface SyncCheckpointMapper extends BaseMapper<SyncCheckpoint> {
+}
@@ -0,0 +1,177 @@
+package cn.itcast.hotel.metrics;
+
+import cn.itcast.hotel.config.MetricsProperties;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.SearchResult;
+import cn.itcast.hotel.utils.Futures;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 一次搜索各阶段的耗时：组装DSL、ES往返、ES自己报告的took、解析响应
+ * 指标名 hotel.search.*，按op（list、filters、suggestion、search）区分
+ */
+@Slf4j
+@Component
+public class SearchMetrics {
+    public static final String OP_LIST = "list";
+    public static final String OP_FILTERS = "filters";
+    public static final String OP_SUGGESTION = "suggestion";
+    public static final String OP_SEARCH = "search";
+
+    @Autowired
+    private MeterRegistry registry;
+    @Autowired
+    private MetricsProperties properties;
+
+    public Trace start(String op) {
+        return new Trace(op);
+    }
+
+    /**
+     * ES失败后改用本地索引回答
+     */
+    public void fallback(String op, Throwable e) {
+        Counter.builder("hotel.search.fallback")
+                .description("ES失败后由本地索引兜底的次数")
+                .tag("op", op)
+                .tag("type", Futures.unwrap(e).getClass().getSimpleName())
+                .register(registry)
+                .increment();
+    }
+
+    private Timer phase(String op, String phase) {
+        return Timer.builder("hotel.search.phase")
+                .description("搜索各阶段耗时")
+                .tag("op", op)
+                .tag("phase", phase)
+                .publishPercentileHistogram()
+                .register(registry);
+    }
+
+    public class Trace {
+        private final String op;
+        private final long start = System.nanoTime();
+        private long mark = start;
+        private SearchRequest request;
+        private SearchTemplateRequest template;
+
+        private Trace(String op) {
+            this.op = op;
+        }
+
+        public String op() {
+            return op;
+        }
+
+        /**
+         * DSL组装完成
+         */
+        public SearchRequest built(SearchRequest request) {
+            this.request = request;
+            mark = record("build", mark);
+            return request;
+        }
+
+        /**
+         * 存储模板的请求组装完成，只有模板id和参数
+         */
+        public SearchTemplateRequest built(SearchTemplateRequest template) {
+            this.template = template;
+            mark = record("build", mark);
+            return template;
+        }
+
+        /**
+         * 收到ES响应，记录往返耗时和ES报告的took，两者的差是网络和排队
+         */
+        public void responded(SearchResponse response) {
+            mark = record("es", mark);
+            Timer.builder("hotel.search.took")
+                    .description("ES响应里的took")
+                    .tag("op", op)
+                    .register(registry)
+                    .record(response.getTook().millis(), TimeUnit.MILLISECONDS);
+        }
+
+        /**
+         * 响应解析完成，result用来统计结果条数
+         */
+        public <T> T decoded(T result) {
+            mark = record("decode", mark);
+            DistributionSummary.builder("hotel.search.results")
+                    .description("每次返回的结果条数")
+                    .tag("op", op)
+                    .register(registry)
+                    .record(sizeOf(result));
+            slowQuery(null);
+            return result;
+        }
+
+        public void failed(Throwable e) {
+            Throwable cause = Futures.unwrap(e);
+            if (cause instanceof CancellationException) {
+                //调用方超时或断开，不算ES错误
+                return;
+            }
+            Counter.builder("hotel.search.errors")
+                    .tag("op", op)
+                    .tag("type", cause.getClass().getSimpleName())
+                    .register(registry)
+                    .increment();
+            slowQuery(cause);
+        }
+
+        private long record(String phase, long from) {
+            long now = System.nanoTime();
+            phase(op, phase).record(now - from, TimeUnit.NANOSECONDS);
+            return now;
+        }
+
+        private void slowQuery(Throwable error) {
+            if (!properties.isSlowQueryLog() || (request == null && template == null)) {
+                return;
+            }
+            long millis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+            if (millis >= properties.getSlowQueryMs()) {
+                log.warn("慢查询 op={} 耗时{}ms{} DSL: {}", op, millis, error == null ? "" : " 失败:" + error,
+                        request != null ? request.source()
+                                : "模板" + template.getScript() + " 参数" + template.getScriptParams());
+            }
+        }
+    }
+
+    private static int sizeOf(Object result) {
+        if (result instanceof PageResult) {
+            return ((PageResult) result).getHotels().size();
+        }
+        if (result instanceof SearchResult) {
+            return ((SearchResult) result).getHotels().size();
+        }
+        if (result instanceof Collection) {
+            return ((Collection<?>) result).size();
+        }
+        if (result instanceof Map) {
+            //过滤项：所有分组的选项数之和
+            int size = 0;
+            for (Object value : ((Map<?, ?>) result).values()) {
+                size += value instanceof Collection ? ((Collection<?>) value).size() : 1;
+            }
+            return size;
+        }
+        return result == null ? 0 : 1;
+    }
+}
@@ -1,5 +1,9 @@
 package cn.itcast.hotel.pojo;
 
+import cn.itcast.hotel.ranking.RankFeatures;
+import com.fasterxml.jackson.annotation.JsonFilter;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
@@ -7,7 +11,14 @@ import java.util.*;
 
 @Data
 @NoArgsConstructor
+@JsonFilter(HotelDoc.FILTER)
+@JsonInclude(JsonInclude.Include.NON_NULL)
 public class HotelDoc {
+    /**
+     * 接口按fields参数只返回部分字段，见ProjectionAdvice
+     */
+    public static final String FILTER = "hotelDoc";
+
     private Long id;
     private String name;
     private String address;
@@ -21,6 +32,15 @@ public class HotelDoc {
     private String pic;
     private Object distance;
     private Boolean ADing;
+    /**
+     * 预先算好的质量分，相关性排序的field_value_factor读它
+     */
+    @JsonIgnore
+    private Float rankScore;
+    /**
+     * 只给ES的自动补全用，接口不返回
+     */
+    @JsonIgnore
     private List<String> suggestion;
 
     public HotelDoc(Hotel hotel) {
@@ -35,6 +55,7 @@ public class HotelDoc {
         this.business = hotel.getBusiness();
         this.location = hotel.getLatitude() + ", " + hotel.getLongitude();
         this.pic = hotel.getPic();
+        this.rankScore = RankFeatures.quality(hotel.getScore());
         if (this.business.contains("、")){
             //business有多个值，需要分割
             String[] arr = this.business.split("、");
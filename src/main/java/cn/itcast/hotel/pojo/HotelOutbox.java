@@ -0,0 +1,29 @@
+package cn.itcast.hotel.pojo;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Date;
+
+@Data
+@NoArgsConstructor
+@TableName("tb_hotel_outbox")
+public class HotelOutbox {
+    public static final String OP_UPSERT = "U";
+    public static final String OP_DELETE = "D";
+
+    @TableId(type = IdType.AUTO)
+    private Long id;
+    private Long hotelId;
+    private String op;
+    private Date createTime;
+
+    public HotelOutbox(Long hotelId, String op) {
+        this.hotelId = hotelId;
+        this.op = op;
+        this.createTime = new Date();
+    }
+}
@@ -0,0 +1,14 @@
+package cn.itcast.hotel.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IndexSwitchResult {
+    private String previousIndex;
+    private String currentIndex;
+    private ReindexReport reindex;
+}
@@ -1,13 +1,35 @@
 package cn.itcast.hotel.pojo;
 
+import cn.itcast.hotel.utils.HitCount;
 import lombok.AllArgsConstructor;
 import lombok.Data;
+import lombok.NoArgsConstructor;
 
 import java.util.List;
 
 @Data
+@NoArgsConstructor
 @AllArgsConstructor
 public class PageResult {
     private Long total;
     private List<HotelDoc> hotels;
+    /**
+     * 游标分页时下一页的游标，没有下一页时为null
+     */
+    private String cursor;
+    /**
+     * eq表示total是精确值；gte表示数到上限就停了，total是下限，页面显示成"1,000+"
+     */
+    private String totalRelation = HitCount.RELATION_EQ;
+
+    public PageResult(Long total, List<HotelDoc> hotels) {
+        this.total = total;
+        this.hotels = hotels;
+    }
+
+    public PageResult(Long total, String totalRelation, List<HotelDoc> hotels) {
+        this.total = total;
+        this.totalRelation = totalRelation;
+        this.hotels = hotels;
+    }
 }
@@ -0,0 +1,16 @@
+package cn.itcast.hotel.pojo;
+
+import lombok.Data;
+
+@Data
+public class ReindexReport {
+    private String index;
+    private long read;
+    private long indexed;
+    private long failed;
+    private long bulks;
+    private long bytes;
+    private long tookMillis;
+    private double docsPerSecond;
+    private boolean completed;
+}
@@ -1,5 +1,6 @@
 package cn.itcast.hotel.pojo;
 
+import com.fasterxml.jackson.annotation.JsonAlias;
 import lombok.Data;
 
 @Data
@@ -7,6 +8,10 @@ public class RequestParams {
     private String key;
     private Integer page;
     private Integer size;
+    /**
+     * 排序方式：default、price、score、distance、relevance，见SortMode；页面传的是sortBy
+     */
+    @JsonAlias("sortBy")
     private String sort;
     private String city;
     private String brand;
@@ -14,4 +19,42 @@ public class RequestParams {
     private Integer minPrice;
     private Integer maxPrice;
     private String location;
+    /**
+     * 附近查询的半径，公里，需要同时传location
+     */
+    private Double radius;
+    /**
+     * 地图可视范围：左上纬度,左上经度,右下纬度,右下经度
+     */
+    private String bbox;
+    /**
+     * 分页方式：page按页码（默认），cursor按游标，翻多深代价都一样
+     */
+    private String paging;
+    /**
+     * 游标分页时上一页返回的游标，第一页不传
+     */
+    private String cursor;
+    /**
+     * 游标分页时是否使用point in time，翻页过程中看到的数据保持一致
+     */
+    private Boolean pit;
+    /**
+     * 只返回酒店的这些字段，逗号分隔，比如id,name,price；不传返回全部
+     */
+    private String fields;
+    /**
+     * 总数怎么数：exact精确，approximate数到10000，或者一个正整数N最多数到N；不传按列表页默认，见HitCount
+     */
+    private String count;
+
+    public static final String PAGING_CURSOR = "cursor";
+
+    public boolean isCursorPaging() {
+        return PAGING_CURSOR.equals(paging);
+    }
+
+    public boolean hasGeoFilter() {
+        return radius != null || (bbox != null && !bbox.trim().isEmpty());
+    }
 }
@@ -0,0 +1,32 @@
+package cn.itcast.hotel.pojo;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 一次请求同时返回酒店列表和过滤项
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SearchResult {
+    private Long total;
+    /**
+     * 同PageResult.totalRelation
+     */
+    private String totalRelation;
+    private List<HotelDoc> hotels;
+    /**
+     * 同PageResult.cursor，point in time的id在游标里
+     */
+    private String cursor;
+    private Map<String, List<FacetBucket>> filters;
+
+    public SearchResult(PageResult page, Map<String, List<FacetBucket>> filters) {
+        this(page.getTotal(), page.getTotalRelation(), page.getHotels(), page.getCursor(), filters);
+    }
+}
@@ -0,0 +1,17 @@
+package cn.itcast.hotel.pojo;
+
+import com.baomidou.mybatisplus.annotation.IdType;
+import com.baomidou.mybatisplus.annotation.TableId;
+import com.baomidou.mybatisplus.annotation.TableName;
+import lombok.Data;
+
+import java.util.Date;
+
+@Data
+@TableName("tb_sync_checkpoint")
+public class SyncCheckpoint {
+    @TableId(type = IdType.INPUT)
+    private String name;
+    private Long watermark;
+    private Date updateTime;
+}
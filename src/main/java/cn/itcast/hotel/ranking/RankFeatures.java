@@ -0,0 +1,71 @@
+package cn.itcast.hotel.ranking;
+
+/**
+ * 写索引时预先算好的排序特征，存成数值字段（doc values），
+ * 查询时field_value_factor直接读，不用每个命中跑脚本
+ */
+public final class RankFeatures {
+    /**
+     * 评分满分，库里的score是十倍存的，45表示4.5分
+     */
+    public static final int MAX_SCORE = 50;
+    /**
+     * 没有评分的酒店按中等偏下的质量算，不让新店排到最后也不占便宜
+     */
+    public static final float DEFAULT_QUALITY = 0.6f;
+
+    private RankFeatures() {
+    }
+
+    /**
+     * 质量分：评分归一化到[0,1]
+     */
+    public static float quality(Integer score) {
+        if (score == null || score <= 0) {
+            return DEFAULT_QUALITY;
+        }
+        return Math.min(1f, (float) score / MAX_SCORE);
+    }
+
+    /**
+     * 和ES field_value_factor的modifier一致
+     */
+    public static double modify(String modifier, double value) {
+        switch (modifier) {
+            case "none":
+                return value;
+            case "log":
+                return Math.log10(value);
+            case "log1p":
+                return Math.log10(value + 1);
+            case "log2p":
+                return Math.log10(value + 2);
+            case "ln":
+                return Math.log(value);
+            case "ln1p":
+                return Math.log1p(value);
+            case "ln2p":
+                return Math.log(value + 2);
+            case "square":
+                return value * value;
+            case "sqrt":
+                return Math.sqrt(value);
+            case "reciprocal":
+                return 1.0 / value;
+            default:
+                throw new IllegalArgumentException("不支持的modifier：" + modifier);
+        }
+    }
+
+    /**
+     * 和ES gauss衰减函数一致：offset以内是1，距离offset+scale处衰减到decay
+     */
+    public static double gauss(double distanceKm, double scaleKm, double offsetKm, double decay) {
+        if (Double.isNaN(distanceKm)) {
+            return 1;
+        }
+        double sigmaSquared = -scaleKm * scaleKm / (2 * Math.log(decay));
+        double x = Math.max(0, distanceKm - offsetKm);
+        return Math.exp(-x * x / (2 * sigmaSquared));
+    }
+}
@@ -0,0 +1,125 @@
+package cn.itcast.hotel.ranking;
+
+import lombok.Data;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 相关性排序的算分流水线，对应builderBasicQuery里的function_score：
+ * 相关性算分 × 广告权重 × 质量分(field_value_factor) × 距离衰减(gauss)
+ * 可以在运行时替换，见RankingSettings
+ */
+@Data
+public class RankingConfig {
+    public static final List<String> SCORE_MODES = Arrays.asList("multiply", "sum", "max", "min");
+    public static final List<String> BOOST_MODES = Arrays.asList("multiply", "sum", "replace", "max", "min");
+    public static final List<String> MODIFIERS = Arrays.asList(
+            "none", "log", "log1p", "log2p", "ln", "ln1p", "ln2p", "square", "sqrt", "reciprocal");
+
+    /**
+     * 正在投广告的酒店乘的权重
+     */
+    private float adWeight = 10;
+    /**
+     * 按预先算好的rankScore（评分归一化）加权
+     */
+    private boolean qualityEnabled = true;
+    private float qualityFactor = 1;
+    private String qualityModifier = "sqrt";
+    /**
+     * 带坐标时按距离衰减，offset以内不衰减，offset+scale处衰减到decay
+     */
+    private boolean decayEnabled = true;
+    private double decayScaleKm = 5;
+    private double decayOffsetKm = 1;
+    private double decay = 0.5;
+    /**
+     * 各个函数之间、函数和相关性算分之间怎么合并，和ES的score_mode/boost_mode同名
+     */
+    private String scoreMode = "multiply";
+    private String boostMode = "multiply";
+
+    /**
+     * 参数不合法时抛IllegalArgumentException，不让一份坏配置替换掉正在用的
+     */
+    public RankingConfig validate() {
+        if (adWeight <= 0 || qualityFactor <= 0) {
+            throw new IllegalArgumentException("adWeight和qualityFactor必须大于0");
+        }
+        if (!MODIFIERS.contains(qualityModifier)) {
+            throw new IllegalArgumentException("不支持的qualityModifier：" + qualityModifier);
+        }
+        if (decayScaleKm <= 0 || decayOffsetKm < 0 || decay <= 0 || decay >= 1) {
+            throw new IllegalArgumentException("距离衰减要求scale>0、offset>=0、0<decay<1");
+        }
+        if (!SCORE_MODES.contains(scoreMode)) {
+            throw new IllegalArgumentException("不支持的scoreMode：" + scoreMode);
+        }
+        if (!BOOST_MODES.contains(boostMode)) {
+            throw new IllegalArgumentException("不支持的boostMode：" + boostMode);
+        }
+        return this;
+    }
+
+    /**
+     * 本地索引用的算分，和ES function_score的合并规则一致
+     * distanceKm是到查询坐标的距离，没带坐标时传null，酒店没有坐标时传NaN
+     */
+    public double score(double queryScore, boolean advertised, float rankScore, Double distanceKm) {
+        double[] values = new double[3];
+        int count = 0;
+        if (advertised) {
+            values[count++] = adWeight;
+        }
+        if (qualityEnabled) {
+            values[count++] = RankFeatures.modify(qualityModifier, qualityFactor * rankScore);
+        }
+        if (decayEnabled && distanceKm != null) {
+            values[count++] = RankFeatures.gauss(distanceKm, decayScaleKm, decayOffsetKm, decay);
+        }
+        double factor = count == 0 ? 1 : values[0];
+        for (int i = 1; i < count; i++) {
+            switch (scoreMode) {
+                case "sum":
+                    factor += values[i];
+                    break;
+                case "max":
+                    factor = Math.max(factor, values[i]);
+                    break;
+                case "min":
+                    factor = Math.min(factor, values[i]);
+                    break;
+                default:
+                    factor *= values[i];
+            }
+        }
+        switch (boostMode) {
+            case "sum":
+                return queryScore + factor;
+            case "replace":
+                return factor;
+            case "max":
+                return Math.max(queryScore, factor);
+            case "min":
+                return Math.min(queryScore, factor);
+            default:
+                return queryScore * factor;
+        }
+    }
+
+    public RankingConfig copy() {
+        RankingConfig copy = new RankingConfig();
+        copy.setAdWeight(adWeight);
+        copy.setQualityEnabled(qualityEnabled);
+        copy.setQualityFactor(qualityFactor);
+        copy.setQualityModifier(qualityModifier);
+        copy.setDecayEnabled(decayEnabled);
+        copy.setDecayScaleKm(decayScaleKm);
+        copy.setDecayOffsetKm(decayOffsetKm);
+        copy.setDecay(decay);
+        copy.setScoreMode(scoreMode);
+        copy.setBoostMode(boostMode);
+        return copy;
+    }
+}
@@ -0,0 +1,93 @@
+package cn.itcast.hotel.ranking;
+
+import cn.itcast.hotel.cache.IndexGeneration;
+import cn.itcast.hotel.config.RankingProperties;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+
+import javax.annotation.PostConstruct;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Map;
+
+/**
+ * 正在使用的算分流水线，启动时取配置，之后可以从外部文件或管理接口替换
+ * 替换是整份换掉，不改正在用的对象，已经拿到配置的请求不受影响
+ * 替换后让缓存的查询结果失效，按新的排序重新查
+ */
+@Slf4j
+@Component
+public class RankingSettings {
+    @Autowired
+    private RankingProperties properties;
+    @Autowired
+    private IndexGeneration generation;
+
+    private volatile RankingConfig current;
+    private long fileModifiedAt;
+
+    @PostConstruct
+    public void init() {
+        current = properties.getPipeline().copy().validate();
+    }
+
+    public RankingConfig current() {
+        return current;
+    }
+
+    /**
+     * 校验通过才替换，返回替换后的配置
+     */
+    public synchronized RankingConfig update(RankingConfig config) {
+        RankingConfig next = config.copy().validate();
+        if (next.equals(current)) {
+            return current;
+        }
+        current = next;
+        generation.bump();
+        log.info("排序配置已更新：{}", next);
+        return next;
+    }
+
+    /**
+     * 只改传了的字段，其余沿用当前配置
+     */
+    public RankingConfig patch(Map<String, Object> changes) {
+        return update(merge(current, changes));
+    }
+
+    private static RankingConfig merge(RankingConfig base, Map<String, Object> changes) {
+        JSONObject json = (JSONObject) JSON.toJSON(base);
+        json.putAll(changes);
+        return json.toJavaObject(RankingConfig.class);
+    }
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${hotel.ranking.reload-ms:10000}")
+    public void reloadIfChanged() {
+        if (!StringUtils.hasText(properties.getFile())) {
+            return;
+        }
+        Path path = Paths.get(properties.getFile());
+        try {
+            long modifiedAt = Files.getLastModifiedTime(path).toMillis();
+            if (modifiedAt == fileModifiedAt) {
+                return;
+            }
+            //坏文件只报一次，改过以后再试
+            fileModifiedAt = modifiedAt;
+            String json = new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+            //文件里没写的字段沿用启动配置
+            update(merge(properties.getPipeline(), JSON.parseObject(json)));
+        } catch (IOException | RuntimeException e) {
+            log.warn("排序配置文件{}加载失败，沿用当前配置：{}", path, e.toString());
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package cn.itcast.hotel.ranking;
+
+import cn.itcast.hotel.geo.Haversine;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.utils.InvalidRequestException;
+import org.springframework.util.StringUtils;
+
+/**
+ * 列表的排序方式，由RequestParams.sort解析：
+ * default带坐标按距离、不带坐标按相关性；price价格升序；score评分降序；
+ * distance距离升序，没有坐标时退回相关性；relevance相关性（含广告、评分、距离衰减）
+ * 其他写法是请求参数错误，返回400
+ */
+public enum SortMode {
+    RELEVANCE,
+    PRICE,
+    SCORE,
+    DISTANCE;
+
+    public static SortMode of(RequestParams params) {
+        boolean located = Haversine.parse(params.getLocation()) != null;
+        String sort = params.getSort();
+        if (!StringUtils.hasText(sort) || "default".equalsIgnoreCase(sort.trim())) {
+            return located ? DISTANCE : RELEVANCE;
+        }
+        switch (sort.trim().toLowerCase()) {
+            case "price":
+                return PRICE;
+            case "score":
+                return SCORE;
+            case "distance":
+                return located ? DISTANCE : RELEVANCE;
+            case "relevance":
+                return RELEVANCE;
+            default:
+                throw new InvalidRequestException("不支持的排序方式：" + sort);
+        }
+    }
+
+    /**
+     * 按评分排且限定了城市时，排序最前面加上city：过滤以后city只有一个值，顺序不变，
+     * 但排序成了索引排序(city, score, id)的前缀，ES在每个段里取够前N条就能提前结束
+     */
+    public static boolean sortsByCityFirst(RequestParams params) {
+        return of(params) == SCORE && StringUtils.hasLength(params.getCity());
+    }
+
+    /**
+     * 规范化后的写法，缓存key用，写法不同但排序相同的请求共用结果
+     */
+    public String key() {
+        return name().toLowerCase();
+    }
+}
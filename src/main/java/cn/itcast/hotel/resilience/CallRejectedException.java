@@ -0,0 +1,10 @@
+package cn.itcast.hotel.resilience;
+
+/**
+ * 熔断打开或隔离舱满了，请求没有发给ES
+ */
+public class CallRejectedException extends RuntimeException {
+    public CallRejectedException(String message) {
+        super(message);
+    }
+}
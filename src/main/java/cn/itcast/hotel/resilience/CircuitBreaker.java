@@ -0,0 +1,139 @@
+package cn.itcast.hotel.resilience;
+
+import java.util.function.LongSupplier;
+
+/**
+ * 按最近N次调用的失败率熔断：
+ * 关闭 -> 失败率超过阈值 -> 打开，所有调用直接拒绝 -> 过一段时间 -> 半开，放少量探测请求
+ * -> 探测全部成功则关闭，任何一个失败则重新打开
+ */
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final int failureRatePercent;
+    private final long openMillis;
+    private final int halfOpenCalls;
+    private final LongSupplier clock;
+
+    private State state = State.CLOSED;
+    /**
+     * 环形窗口，true表示失败
+     */
+    private final boolean[] window;
+    private int next;
+    private int calls;
+    private int failures;
+    private long openedAt;
+    private int halfOpenPermitted;
+    private int halfOpenSucceeded;
+    private long opened;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, int failureRatePercent,
+                          long openMillis, int halfOpenCalls, LongSupplier clock) {
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.min(minimumCalls, windowSize);
+        this.failureRatePercent = failureRatePercent;
+        this.openMillis = openMillis;
+        this.halfOpenCalls = halfOpenCalls;
+        this.clock = clock;
+        this.window = new boolean[windowSize];
+    }
+
+    /**
+     * 能否发起调用；返回true后必须调用onSuccess、onFailure或onIgnored之一
+     */
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (clock.getAsLong() - openedAt < openMillis) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            halfOpenPermitted = 0;
+            halfOpenSucceeded = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermitted >= halfOpenCalls) {
+                return false;
+            }
+            halfOpenPermitted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++halfOpenSucceeded >= halfOpenCalls) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            if (calls >= minimumCalls && failures * 100 >= failureRatePercent * calls) {
+                open();
+            }
+        }
+    }
+
+    /**
+     * 结果不能说明ES好坏的调用（比如调用方取消），只归还半开状态的探测名额
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && halfOpenPermitted > 0) {
+            halfOpenPermitted--;
+        }
+    }
+
+    public synchronized State state() {
+        if (state == State.OPEN && clock.getAsLong() - openedAt >= openMillis) {
+            //到时间了，下一次调用会转成半开
+            return State.HALF_OPEN;
+        }
+        return state;
+    }
+
+    /**
+     * 累计打开的次数
+     */
+    public synchronized long openedCount() {
+        return opened;
+    }
+
+    private void record(boolean failed) {
+        if (calls == windowSize) {
+            if (window[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        window[next] = failed;
+        if (failed) {
+            failures++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = clock.getAsLong();
+        opened++;
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        next = 0;
+        calls = 0;
+        failures = 0;
+    }
+}
@@ -0,0 +1,75 @@
+package cn.itcast.hotel.resilience;
+
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * 一次HTTP请求的截止时间，请求线程上用ThreadLocal传递，异步回调里用propagate带过去
+ */
+public final class Deadline {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private final long deadlineNanos;
+
+    private Deadline(long deadlineNanos) {
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    public static Deadline after(long millis) {
+        return new Deadline(System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis));
+    }
+
+    public long remainingMs() {
+        return TimeUnit.NANOSECONDS.toMillis(deadlineNanos - System.nanoTime());
+    }
+
+    public boolean expired() {
+        return deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * 当前线程上的截止时间，不在请求里时返回null
+     */
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    /**
+     * 当前的剩余时间，没有截止时间时返回defaultMs
+     */
+    public static long remainingOr(long defaultMs) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null ? defaultMs : deadline.remainingMs();
+    }
+
+    public static void set(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 把调用线程的截止时间带进异步回调，回调在ES客户端的IO线程上执行
+     */
+    public static <T, R> Function<T, R> propagate(Function<T, R> function) {
+        Deadline captured = CURRENT.get();
+        if (captured == null) {
+            return function;
+        }
+        return value -> {
+            Deadline previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                return function.apply(value);
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
@@ -0,0 +1,53 @@
+package cn.itcast.hotel.resilience;
+
+import java.util.Arrays;
+
+/**
+ * 最近N次成功请求的耗时，用来算对冲请求的等待时间
+ * 分位数每秒最多重算一次
+ */
+public class LatencyWindow {
+    private static final long RECOMPUTE_NANOS = 1_000_000_000L;
+
+    private final long[] samples;
+    private int next;
+    private int count;
+    private double cachedPercentile = Double.NaN;
+    private long cachedValue = -1;
+    private long cachedAt;
+
+    public LatencyWindow(int size) {
+        this.samples = new long[size];
+    }
+
+    public synchronized void record(long nanos) {
+        samples[next] = nanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+    }
+
+    public synchronized int count() {
+        return count;
+    }
+
+    /**
+     * 返回毫秒，样本不够minSamples时返回-1
+     */
+    public synchronized long percentileMs(double percentile, int minSamples) {
+        if (count < minSamples) {
+            return -1;
+        }
+        long now = System.nanoTime();
+        if (cachedValue < 0 || cachedPercentile != percentile || now - cachedAt > RECOMPUTE_NANOS) {
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            int index = Math.min(count - 1, (int) Math.ceil(percentile * count) - 1);
+            cachedValue = sorted[Math.max(0, index)] / 1_000_000;
+            cachedPercentile = percentile;
+            cachedAt = now;
+        }
+        return cachedValue;
+    }
+}
@@ -0,0 +1,473 @@
+package cn.itcast.hotel.resilience;
+
+import cn.itcast.hotel.config.ElasticsearchProperties;
+import cn.itcast.hotel.config.ResilienceProperties;
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.utils.Futures;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.ResponseException;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.elasticsearch.script.mustache.SearchTemplateResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 所有查询类的ES调用都经过这里：
+ * 1.熔断打开时直接失败，由调用方改用本地索引兜底
+ * 2.每类查询一个隔离舱，限制同时在飞的请求数
+ * 3.按HTTP请求的截止时间设置本次调用的超时，到点取消请求；ES在连接关闭时会取消对应的搜索任务
+ * 4.可选的对冲请求：超过p95还没返回就再发一个，先返回的为准，另一个取消
+ * 5.带上会话的preference，同一个用户的查询落到同一组分片副本上；对冲请求不带，让ES换一组副本
+ */
+@Slf4j
+@Component
+public class ResilientSearch implements MeterBinder {
+    @Autowired
+    private RestHighLevelClient client;
+    @Autowired
+    private ResilienceProperties properties;
+    @Autowired
+    private SearchProperties searchProperties;
+    @Autowired
+    private ElasticsearchProperties esProperties;
+
+    private SearchTransport transport;
+    private CircuitBreaker breaker;
+    private ScheduledExecutorService timer;
+    private final Map<String, Bulkhead> bulkheads = new ConcurrentHashMap<>();
+    private final Map<String, LatencyWindow> latencies = new ConcurrentHashMap<>();
+    private final LongAdder calls = new LongAdder();
+    private final LongAdder rejectedByBreaker = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder hedges = new LongAdder();
+    private final LongAdder hedgeWins = new LongAdder();
+
+    @PostConstruct
+    public void init() {
+        if (transport == null) {
+            transport = new SearchTransport() {
+                @Override
+                public Runnable search(SearchRequest request, RequestOptions options,
+                                       ActionListener<SearchResponse> listener) {
+                    return client.searchAsync(request, options, listener)::cancel;
+                }
+
+                @Override
+                public Runnable searchTemplate(SearchTemplateRequest request, RequestOptions options,
+                                               ActionListener<SearchResponse> listener) {
+                    return client.searchTemplateAsync(request, options,
+                            listener.<SearchTemplateResponse>map(SearchTemplateResponse::getResponse))::cancel;
+                }
+
+                @Override
+                public int nodeCount() {
+                    return client.getLowLevelClient().getNodes().size();
+                }
+            };
+        }
+        ResilienceProperties.Breaker config = properties.getBreaker();
+        breaker = new CircuitBreaker(config.getWindowSize(), config.getMinimumCalls(),
+                config.getFailureRatePercent(), config.getOpenMs(), config.getHalfOpenCalls(),
+                System::currentTimeMillis);
+        timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "es-deadline");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+
+    @PreDestroy
+    public void close() {
+        timer.shutdownNow();
+    }
+
+    /**
+     * 同步版本，在调用线程上等结果
+     */
+    public SearchResponse search(String endpoint, SearchRequest request) throws IOException {
+        return await(searchAsync(endpoint, request));
+    }
+
+    /**
+     * 同步版本的模板查询
+     */
+    public SearchResponse searchTemplate(String endpoint, SearchTemplateRequest request) throws IOException {
+        return await(searchTemplateAsync(endpoint, request));
+    }
+
+    /**
+     * @param endpoint 查询类别，决定用哪个隔离舱和延迟统计，取SearchMetrics里的op
+     */
+    public CompletableFuture<SearchResponse> searchAsync(String endpoint, SearchRequest request) {
+        //point in time已经固定了分片副本，ES不允许再指定preference
+        boolean pointInTime = request.source() != null && request.source().pointInTimeBuilder() != null;
+        return call(endpoint, pointInTime ? null : SessionPreference.current(),
+                (options, listener) -> transport.search(request, options, listener));
+    }
+
+    /**
+     * 存储模板查询，和普通查询共用熔断、隔离舱、截止时间和对冲
+     */
+    public CompletableFuture<SearchResponse> searchTemplateAsync(String endpoint, SearchTemplateRequest request) {
+        return call(endpoint, SessionPreference.current(),
+                (options, listener) -> transport.searchTemplate(request, options, listener));
+    }
+
+    private CompletableFuture<SearchResponse> call(String endpoint, String preference, Attempt attempt) {
+        if (!properties.isEnabled()) {
+            CompletableFuture<SearchResponse> future = new CompletableFuture<>();
+            Runnable cancel = attempt.send(withPreference(RequestOptions.DEFAULT, preference), listener(future));
+            future.whenComplete((value, e) -> {
+                if (future.isCancelled()) {
+                    cancel.run();
+                }
+            });
+            return future;
+        }
+        calls.increment();
+        long budgetMs = Deadline.remainingOr(searchProperties.getTimeoutMs()) - properties.getDeadlineReserveMs();
+        if (budgetMs <= 0) {
+            timeouts.increment();
+            return failed(new TimeoutException("请求已经没有剩余时间，不再调用ES"));
+        }
+        if (!breaker.tryAcquire()) {
+            rejectedByBreaker.increment();
+            return failed(new CallRejectedException("ES熔断中"));
+        }
+        Bulkhead bulkhead = bulkhead(endpoint);
+        if (!bulkhead.tryAcquire()) {
+            breaker.onIgnored();
+            return failed(new CallRejectedException("ES请求过多：" + endpoint));
+        }
+        return new Call(endpoint, attempt, options(budgetMs), preference, bulkhead).start(budgetMs);
+    }
+
+    private static SearchResponse await(CompletableFuture<SearchResponse> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("等待ES响应时被中断");
+        } catch (ExecutionException e) {
+            Throwable cause = Futures.unwrap(e);
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    public CircuitBreaker.State breakerState() {
+        return breaker.state();
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("breaker", breaker.state());
+        stats.put("breakerOpened", breaker.openedCount());
+        stats.put("calls", calls.sum());
+        stats.put("rejectedByBreaker", rejectedByBreaker.sum());
+        stats.put("timeouts", timeouts.sum());
+        stats.put("hedges", hedges.sum());
+        stats.put("hedgeWins", hedgeWins.sum());
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        bulkheads.forEach((endpoint, bulkhead) -> {
+            Map<String, Object> item = new LinkedHashMap<>();
+            item.put("inFlight", bulkhead.inFlight());
+            item.put("max", bulkhead.maxConcurrent());
+            item.put("rejected", bulkhead.rejected());
+            LatencyWindow latency = latencies.get(endpoint);
+            if (latency != null) {
+                item.put("hedgeDelayMs", hedgeDelayMs(endpoint));
+            }
+            endpoints.put(endpoint, item);
+        });
+        stats.put("endpoints", endpoints);
+        return stats;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hotel.es.breaker.state", this, s -> s.breaker.state().ordinal())
+                .description("ES熔断状态：0关闭 1打开 2半开")
+                .register(registry);
+        FunctionCounter.builder("hotel.es.breaker.opened", this, s -> s.breaker.openedCount())
+                .register(registry);
+        FunctionCounter.builder("hotel.es.breaker.rejected", rejectedByBreaker, LongAdder::sum)
+                .description("熔断打开期间直接拒绝的ES请求")
+                .register(registry);
+        FunctionCounter.builder("hotel.es.timeouts", timeouts, LongAdder::sum)
+                .description("超过截止时间被取消的ES请求")
+                .register(registry);
+        FunctionCounter.builder("hotel.es.hedges", hedges, LongAdder::sum)
+                .tag("outcome", "sent")
+                .register(registry);
+        FunctionCounter.builder("hotel.es.hedges", hedgeWins, LongAdder::sum)
+                .tag("outcome", "won")
+                .register(registry);
+        for (String endpoint : properties.getBulkheads().keySet()) {
+            Bulkhead bulkhead = bulkhead(endpoint);
+            Gauge.builder("hotel.es.bulkhead.in.flight", bulkhead, Bulkhead::inFlight)
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+            FunctionCounter.builder("hotel.es.bulkhead.rejected", bulkhead, Bulkhead::rejected)
+                    .tag("endpoint", endpoint)
+                    .register(registry);
+        }
+    }
+
+    private Bulkhead bulkhead(String endpoint) {
+        return bulkheads.computeIfAbsent(endpoint,
+                e -> new Bulkhead(properties.getBulkheads().getOrDefault(e, properties.getDefaultBulkhead())));
+    }
+
+    private LatencyWindow latency(String endpoint) {
+        return latencies.computeIfAbsent(endpoint, e -> new LatencyWindow(properties.getHedge().getWindowSize()));
+    }
+
+    /**
+     * 对冲前等待的时间，不对冲时返回-1
+     */
+    private long hedgeDelayMs(String endpoint) {
+        ResilienceProperties.Hedge hedge = properties.getHedge();
+        long percentile = latency(endpoint).percentileMs(hedge.getPercentile(), hedge.getMinSamples());
+        return percentile < 0 ? -1 : Math.max(hedge.getMinDelayMs(), percentile);
+    }
+
+    private boolean hedgeAllowed() {
+        ResilienceProperties.Hedge hedge = properties.getHedge();
+        return hedges.sum() * 100 < hedge.getBudgetPercent() * calls.sum();
+    }
+
+    /**
+     * 本次调用的超时不超过剩余时间，连接和从池里取连接的超时也不超过
+     */
+    private RequestOptions options(long budgetMs) {
+        int budget = (int) Math.min(Integer.MAX_VALUE, budgetMs);
+        RequestConfig config = RequestConfig.custom()
+                .setConnectTimeout(Math.min(esProperties.getConnectTimeoutMs(), budget))
+                .setConnectionRequestTimeout(Math.min(esProperties.getConnectionRequestTimeoutMs(), budget))
+                .setSocketTimeout(Math.min(esProperties.getSocketTimeoutMs(), budget))
+                .build();
+        return RequestOptions.DEFAULT.toBuilder().setRequestConfig(config).build();
+    }
+
+    /**
+     * preference作为URL参数加在这次请求上，不改共享的请求对象，对冲请求可以不带
+     */
+    private static RequestOptions withPreference(RequestOptions options, String preference) {
+        return preference == null ? options : options.toBuilder().addParameter("preference", preference).build();
+    }
+
+    /**
+     * 4xx说明ES是好的，是请求本身的问题，不计入熔断
+     */
+    private static boolean isFailure(Throwable cause) {
+        int status = -1;
+        if (cause instanceof ElasticsearchException) {
+            status = ((ElasticsearchException) cause).status().getStatus();
+        } else if (cause instanceof ResponseException) {
+            status = ((ResponseException) cause).getResponse().getStatusLine().getStatusCode();
+        }
+        return status < 400 || status >= 500 || status == 429;
+    }
+
+    private static ActionListener<SearchResponse> listener(CompletableFuture<SearchResponse> future) {
+        return new ActionListener<SearchResponse>() {
+            @Override
+            public void onResponse(SearchResponse response) {
+                future.complete(response);
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                future.completeExceptionally(e);
+            }
+        };
+    }
+
+    private static <T> CompletableFuture<T> failed(Throwable e) {
+        CompletableFuture<T> future = new CompletableFuture<>();
+        future.completeExceptionally(e);
+        return future;
+    }
+
+    /**
+     * 发一次请求，返回取消它的操作；对冲时同一个请求会发两次
+     */
+    private interface Attempt {
+        Runnable send(RequestOptions options, ActionListener<SearchResponse> listener);
+    }
+
+    /**
+     * 一次调用，可能包含主请求和一个对冲请求
+     */
+    private final class Call {
+        private final String endpoint;
+        private final Attempt attempt;
+        private final RequestOptions options;
+        /**
+         * 主请求的选项，带着会话的preference
+         */
+        private final RequestOptions preferred;
+        private final Bulkhead bulkhead;
+        private final CompletableFuture<SearchResponse> result = new CompletableFuture<>();
+        private final List<Runnable> attempts = new ArrayList<>();
+        /**
+         * 还没有结果的请求数，都失败了整个调用才失败
+         */
+        private final AtomicInteger pending = new AtomicInteger();
+        /**
+         * 主请求、对冲请求、超时三者谁先到谁决定结果
+         */
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Call(String endpoint, Attempt attempt, RequestOptions options, String preference, Bulkhead bulkhead) {
+            this.endpoint = endpoint;
+            this.attempt = attempt;
+            this.options = options;
+            this.preferred = withPreference(options, preference);
+            this.bulkhead = bulkhead;
+        }
+
+        private CompletableFuture<SearchResponse> start(long budgetMs) {
+            //调用方取消时没有经过settle，在这里收尾
+            result.whenComplete((response, e) -> {
+                if (settled.compareAndSet(false, true)) {
+                    finish(e);
+                }
+            });
+            send(false);
+            ScheduledFuture<?> deadline = timer.schedule(() -> {
+                TimeoutException e = new TimeoutException("ES请求超过" + budgetMs + "ms");
+                if (settle(e)) {
+                    timeouts.increment();
+                    result.completeExceptionally(e);
+                }
+            }, budgetMs, TimeUnit.MILLISECONDS);
+            result.whenComplete((response, e) -> deadline.cancel(false));
+            long hedgeDelay = properties.getHedge().isEnabled() && transport.nodeCount() > 1
+                    ? hedgeDelayMs(endpoint) : -1;
+            if (hedgeDelay >= 0 && hedgeDelay < budgetMs) {
+                ScheduledFuture<?> hedge = timer.schedule(() -> {
+                    if (!result.isDone() && hedgeAllowed()) {
+                        hedges.increment();
+                        send(true);
+                    }
+                }, hedgeDelay, TimeUnit.MILLISECONDS);
+                result.whenComplete((response, e) -> hedge.cancel(false));
+            }
+            return result;
+        }
+
+        private void send(boolean hedge) {
+            pending.incrementAndGet();
+            long start = System.nanoTime();
+            Runnable cancel = attempt.send(hedge ? options : preferred, new ActionListener<SearchResponse>() {
+                @Override
+                public void onResponse(SearchResponse response) {
+                    latency(endpoint).record(System.nanoTime() - start);
+                    if (settle(null)) {
+                        if (hedge) {
+                            hedgeWins.increment();
+                        }
+                        result.complete(response);
+                    }
+                }
+
+                @Override
+                public void onFailure(Exception e) {
+                    if (pending.decrementAndGet() == 0 && settle(e)) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            });
+            boolean done;
+            synchronized (attempts) {
+                attempts.add(cancel);
+                done = result.isDone();
+            }
+            if (done) {
+                //请求发出去之前结果已经定了
+                cancel.run();
+            }
+        }
+
+        /**
+         * 定下结果：先收尾再完成result，同步调用方从get()返回时熔断、隔离舱已经记好了
+         * 调用方取消时result已经完成，这里也返回false
+         */
+        private boolean settle(Throwable error) {
+            if (!settled.compareAndSet(false, true)) {
+                return false;
+            }
+            if (result.isDone()) {
+                //调用方刚好取消了
+                finish(new CancellationException());
+                return false;
+            }
+            finish(error);
+            return true;
+        }
+
+        /**
+         * 结束时取消还在飞的请求，归还隔离舱名额，记录熔断结果
+         */
+        private void finish(Throwable error) {
+            synchronized (attempts) {
+                for (Runnable cancel : attempts) {
+                    cancel.run();
+                }
+            }
+            bulkhead.release();
+            if (error == null) {
+                breaker.onSuccess();
+                return;
+            }
+            Throwable cause = Futures.unwrap(error);
+            if (cause instanceof CancellationException) {
+                breaker.onIgnored();
+            } else if (isFailure(cause)) {
+                breaker.onFailure();
+            } else {
+                breaker.onSuccess();
+            }
+        }
+    }
+}
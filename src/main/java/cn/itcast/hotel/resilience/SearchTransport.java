@@ -0,0 +1,28 @@
+package cn.itcast.hotel.resilience;
+
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+
+/**
+ * 真正发ES请求的地方，默认是RestHighLevelClient.searchAsync/searchTemplateAsync，测试里换成注入故障的实现
+ */
+public interface SearchTransport {
+    /**
+     * @return 取消这个请求的操作
+     */
+    Runnable search(SearchRequest request, RequestOptions options, ActionListener<SearchResponse> listener);
+
+    /**
+     * 按存储的搜索模板查询，只发模板id和参数
+     */
+    Runnable searchTemplate(SearchTemplateRequest request, RequestOptions options,
+                            ActionListener<SearchResponse> listener);
+
+    /**
+     * 可用的ES节点数，只有一个节点时不对冲
+     */
+    int nodeCount();
+}
@@ -0,0 +1,62 @@
+package cn.itcast.hotel.resilience;
+
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Function;
+
+/**
+ * 当前用户会话对应的ES preference，和Deadline一样在请求线程上用ThreadLocal传递
+ * 同一个会话的查询总是落到同一组分片副本上，翻页、改条件时用的是已经热起来的缓存
+ */
+public final class SessionPreference {
+    private static final ThreadLocal<String> CURRENT = new ThreadLocal<>();
+
+    private SessionPreference() {
+    }
+
+    /**
+     * 会话id取摘要再交给ES，preference会出现在ES的慢查询日志里；不能以_开头，那是ES保留的写法
+     */
+    public static String of(String sessionId) {
+        return "s" + DigestUtils.md5DigestAsHex(sessionId.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+    }
+
+    /**
+     * 当前线程上的preference，不在请求里或者没有会话时返回null
+     */
+    public static String current() {
+        return CURRENT.get();
+    }
+
+    public static void set(String preference) {
+        CURRENT.set(preference);
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * 把调用线程的preference带进异步回调
+     */
+    public static <T, R> Function<T, R> propagate(Function<T, R> function) {
+        String captured = CURRENT.get();
+        if (captured == null) {
+            return function;
+        }
+        return value -> {
+            String previous = CURRENT.get();
+            CURRENT.set(captured);
+            try {
+                return function.apply(value);
+            } finally {
+                if (previous == null) {
+                    CURRENT.remove();
+                } else {
+                    CURRENT.set(previous);
+                }
+            }
+        };
+    }
+}
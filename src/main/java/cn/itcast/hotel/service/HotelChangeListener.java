@@ -0,0 +1,19 @@
+package cn.itcast.hotel.service;
+
+import cn.itcast.hotel.pojo.Hotel;
+
+/**
+ * 酒店数据变更的监听器，增量同步写入ES成功后回调，用于维护各种本地索引
+ */
+public interface HotelChangeListener {
+    /**
+     * 酒店被新增或修改
+     * @param hotel 数据库里的最新数据
+     */
+    void onUpsert(Hotel hotel);
+
+    /**
+     * 酒店被删除
+     */
+    void onDelete(Long id);
+}
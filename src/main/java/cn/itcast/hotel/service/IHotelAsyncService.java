@@ -0,0 +1,34 @@
+package cn.itcast.hotel.service;
+
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.pojo.SearchResult;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * IHotelService查询方法的异步版本，不占用调用线程，取消返回的future会取消ES请求
+ */
+public interface IHotelAsyncService {
+    CompletableFuture<PageResult> searchAsync(RequestParams params);
+
+    CompletableFuture<Map<String, List<FacetBucket>>> filtersAsync(RequestParams params);
+
+    CompletableFuture<List<String>> suggestAsync(String key);
+
+    CompletableFuture<SearchResult> searchWithFiltersAsync(RequestParams params);
+
+    /**
+     * 酒店详情，不存在时结果为null
+     */
+    CompletableFuture<HotelDoc> getAsync(Long id);
+
+    /**
+     * 按id批量查，按传入顺序返回，不存在的跳过
+     */
+    CompletableFuture<List<HotelDoc>> getBatchAsync(List<Long> ids);
+}
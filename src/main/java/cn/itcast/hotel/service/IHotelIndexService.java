@@ -0,0 +1,26 @@
+package cn.itcast.hotel.service;
+
+import cn.itcast.hotel.index.MappingDiff;
+import cn.itcast.hotel.pojo.IndexSwitchResult;
+
+public interface IHotelIndexService {
+    /**
+     * 新建hotel_vN索引，全量导入后把读别名原子地切换过去
+     */
+    IndexSwitchResult rebuild();
+
+    /**
+     * 把读别名切回上一个版本
+     */
+    IndexSwitchResult rollback();
+
+    /**
+     * 读别名当前指向的索引库，没有时返回null
+     */
+    String currentIndex();
+
+    /**
+     * 读别名指向的索引和目标索引定义的差异，判断是否需要重建
+     */
+    MappingDiff diff();
+}
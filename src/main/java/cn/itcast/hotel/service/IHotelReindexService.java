@@ -0,0 +1,11 @@
+package cn.itcast.hotel.service;
+
+import cn.itcast.hotel.pojo.ReindexReport;
+
+public interface IHotelReindexService {
+    /**
+     * 把tb_hotel全量导入到指定索引库
+     * @param index 目标索引库名
+     */
+    ReindexReport reindex(String index);
+}
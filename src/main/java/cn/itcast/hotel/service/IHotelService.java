@@ -1,8 +1,10 @@
 package cn.itcast.hotel.service;
 
+import cn.itcast.hotel.pojo.FacetBucket;
 import cn.itcast.hotel.pojo.Hotel;
 import cn.itcast.hotel.pojo.PageResult;
 import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.pojo.SearchResult;
 import com.baomidou.mybatisplus.extension.service.IService;
 
 import java.util.List;
@@ -10,7 +12,12 @@ import java.util.Map;
 
 public interface IHotelService extends IService<Hotel> {
     PageResult search(RequestParams params);
-    Map<String, List<String>> filters(RequestParams params);
+    Map<String, List<FacetBucket>> filters(RequestParams params);
 
     List<String> getSuggestion(String key);
+
+    /**
+     * 一次查询同时返回酒店列表和过滤项
+     */
+    SearchResult searchWithFilters(RequestParams params);
 }
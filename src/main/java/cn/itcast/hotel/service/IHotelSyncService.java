@@ -0,0 +1,23 @@
+package cn.itcast.hotel.service;
+
+public interface IHotelSyncService {
+    /**
+     * 通知同步线程有新的写入，尽快同步
+     */
+    void wakeUp();
+
+    /**
+     * 已经同步到ES的发件箱高水位
+     */
+    long watermark();
+
+    /**
+     * 把同步进度回退到指定位置，之后的变更会重新同步一遍
+     */
+    void rewindTo(long watermark);
+
+    /**
+     * 发件箱当前的最大id
+     */
+    long headPosition();
+}
@@ -0,0 +1,173 @@
+package cn.itcast.hotel.service;
+
+import cn.itcast.hotel.mapper.HotelMapper;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.utils.HotelCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * 跟随增量同步维护的本地索引（过滤项统计、坐标网格、本地搜索）的公共部分：
+ * 启动时在后台线程从数据库全量加载，失败按间隔重试；增量变更在写锁里直接应用，
+ * 全量加载期间被增量变更过的酒店加载时跳过，以增量的数据为准
+ * 增量变更由HotelSyncService通知：写ES的实例同步成功后通知，其它实例跟随发件箱通知，每个实例的本地索引都会更新
+ * 子类只管怎么加入、删除一家酒店
+ */
+@Slf4j
+public abstract class LocalHotelIndex implements HotelChangeListener {
+    @Autowired
+    private HotelMapper hotelMapper;
+
+    protected final ReadWriteLock lock = new ReentrantReadWriteLock();
+    /**
+     * 全量加载期间被增量变更过的酒店，加载时跳过它们
+     */
+    private Set<Long> touchedWhileLoading = new HashSet<>();
+    private volatile boolean ready;
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * 在后台线程全量加载，加载完成前isReady()为false
+     */
+    protected void startLoading(String threadName) {
+        Thread loader = new Thread(this::loadWithRetry, threadName);
+        loader.setDaemon(true);
+        loader.start();
+    }
+
+    @Override
+    public void onUpsert(Hotel hotel) {
+        lock.writeLock().lock();
+        try {
+            if (touchedWhileLoading != null) {
+                touchedWhileLoading.add(hotel.getId());
+            }
+            add(hotel);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    @Override
+    public void onDelete(Long id) {
+        lock.writeLock().lock();
+        try {
+            if (touchedWhileLoading != null) {
+                touchedWhileLoading.add(id);
+            }
+            remove(id);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * 加入或替换一家酒店，调用方持有写锁
+     */
+    protected abstract void add(Hotel hotel);
+
+    /**
+     * 删除一家酒店，不存在时什么也不做，调用方持有写锁
+     */
+    protected abstract void remove(Long id);
+
+    /**
+     * 日志里的名字
+     */
+    protected abstract String name();
+
+    /**
+     * 加载完成时日志里的规模，调用方持有写锁
+     */
+    protected abstract String summary();
+
+    protected abstract int reloadRetrySeconds();
+
+    private void loadWithRetry() {
+        while (!ready) {
+            try {
+                long start = System.currentTimeMillis();
+                HotelCursor cursor = new HotelCursor(hotelMapper, 1000);
+                while (cursor.hasNext()) {
+                    List<Hotel> batch = cursor.next();
+                    lock.writeLock().lock();
+                    try {
+                        for (Hotel hotel : batch) {
+                            if (!touchedWhileLoading.contains(hotel.getId())) {
+                                add(hotel);
+                            }
+                        }
+                    } finally {
+                        lock.writeLock().unlock();
+                    }
+                }
+                String summary;
+                lock.writeLock().lock();
+                try {
+                    touchedWhileLoading = null;
+                    ready = true;
+                    summary = summary();
+                } finally {
+                    lock.writeLock().unlock();
+                }
+                log.info("{}加载完成，{}，耗时{}ms", name(), summary, System.currentTimeMillis() - start);
+            } catch (RuntimeException e) {
+                log.warn("{}加载失败，{}秒后重试", name(), reloadRetrySeconds(), e);
+                try {
+                    TimeUnit.SECONDS.sleep(reloadRetrySeconds());
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    /**
+     * 本地索引里存的酒店，和ES文档的_source字段一致，不带只给ES用的suggestion、rankScore
+     */
+    protected static HotelDoc toDoc(Hotel hotel) {
+        HotelDoc doc = new HotelDoc();
+        doc.setId(hotel.getId());
+        doc.setName(hotel.getName());
+        doc.setAddress(hotel.getAddress());
+        doc.setPrice(hotel.getPrice());
+        doc.setScore(hotel.getScore());
+        doc.setBrand(hotel.getBrand());
+        doc.setCity(hotel.getCity());
+        doc.setStarName(hotel.getStarName());
+        doc.setBusiness(hotel.getBusiness());
+        doc.setLocation(hotel.getLatitude() + ", " + hotel.getLongitude());
+        doc.setPic(hotel.getPic());
+        return doc;
+    }
+
+    /**
+     * 返回给调用方的副本，设置距离、广告标记时不改到索引里的对象
+     */
+    protected static HotelDoc copy(HotelDoc doc) {
+        HotelDoc copy = new HotelDoc();
+        copy.setId(doc.getId());
+        copy.setName(doc.getName());
+        copy.setAddress(doc.getAddress());
+        copy.setPrice(doc.getPrice());
+        copy.setScore(doc.getScore());
+        copy.setBrand(doc.getBrand());
+        copy.setCity(doc.getCity());
+        copy.setStarName(doc.getStarName());
+        copy.setBusiness(doc.getBusiness());
+        copy.setLocation(doc.getLocation());
+        copy.setPic(doc.getPic());
+        return copy;
+    }
+}
@@ -0,0 +1,293 @@
+package cn.itcast.hotel.service.impl;
+
+import cn.itcast.hotel.cache.HotelDetailLoader;
+import cn.itcast.hotel.cache.HotelSearchCache;
+import cn.itcast.hotel.cache.SearchKeys;
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.embedded.EmbeddedHotelService;
+import cn.itcast.hotel.facet.FacetIndex;
+import cn.itcast.hotel.geo.AdaptiveRadius;
+import cn.itcast.hotel.geo.GeoIndex;
+import cn.itcast.hotel.index.HotelRouting;
+import cn.itcast.hotel.metrics.SearchMetrics;
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.pojo.SearchResult;
+import cn.itcast.hotel.ranking.RankingSettings;
+import cn.itcast.hotel.resilience.Deadline;
+import cn.itcast.hotel.resilience.ResilientSearch;
+import cn.itcast.hotel.resilience.SessionPreference;
+import cn.itcast.hotel.service.IHotelAsyncService;
+import cn.itcast.hotel.suggest.SuggestionIndex;
+import cn.itcast.hotel.utils.Futures;
+import cn.itcast.hotel.utils.SingleFlight;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * 基于RestHighLevelClient.searchAsync的异步查询，ES响应在客户端的IO线程里完成future
+ */
+@Service
+public class HotelAsyncService implements IHotelAsyncService {
+    @Autowired
+    private ResilientSearch resilientSearch;
+    @Autowired
+    private HotelSearchTemplates templates;
+    @Autowired
+    private HotelRouting routing;
+    @Autowired
+    private HotelSearchCache searchCache;
+    @Autowired
+    private FacetIndex facetIndex;
+    @Autowired
+    private SuggestionIndex suggestionIndex;
+    @Autowired
+    private HotelPointInTime pointInTime;
+    @Autowired
+    private SingleFlight singleFlight;
+    @Autowired
+    private SearchProperties searchProperties;
+    @Autowired
+    private SearchMetrics metrics;
+    @Autowired
+    private GeoIndex geoIndex;
+    @Autowired
+    private AdaptiveRadius adaptiveRadius;
+    @Autowired
+    private EmbeddedHotelService embedded;
+    @Autowired
+    private RankingSettings ranking;
+    @Autowired
+    private HotelDetailLoader detailLoader;
+
+    @Override
+    public CompletableFuture<PageResult> searchAsync(RequestParams params) {
+        if (embedded.serves()) {
+            return CompletableFuture.completedFuture(embedded.search(params));
+        }
+        //不带关键字的附近查询直接用本地网格
+        if (geoIndex.canAnswer(params)) {
+            return CompletableFuture.completedFuture(geoIndex.search(params));
+        }
+        //兜底的结果不进缓存
+        return withFallback(SearchMetrics.OP_LIST, searchCache.searchAsync(params, p -> {
+            //point in time是每个用户自己的快照，不合并
+            if (!SearchKeys.isCacheable(p)) {
+                return doSearchAsync(p);
+            }
+            return coalesce(SearchKeys.key("list", SearchKeys.normalize(p)), () -> doSearchAsync(p));
+        }), () -> embedded.search(params));
+    }
+
+    private CompletableFuture<PageResult> doSearchAsync(RequestParams params) {
+        if (!adaptiveRadius.applies(params)) {
+            return doSearchOnceAsync(params);
+        }
+        //附近查询先小范围查，不够一页再扩大
+        return searchWithin(params, adaptiveRadius.initialRadius(params));
+    }
+
+    private CompletableFuture<PageResult> searchWithin(RequestParams params, Double radius) {
+        CompletableFuture<PageResult> attempt = doSearchOnceAsync(AdaptiveRadius.withRadius(params, radius));
+        CompletableFuture<PageResult> result = attempt.thenCompose(Deadline.propagate(SessionPreference.propagate(page -> {
+            if (radius == null) {
+                return CompletableFuture.completedFuture(page);
+            }
+            if (adaptiveRadius.enough(params, page)) {
+                return CompletableFuture.completedFuture(AdaptiveRadius.bounded(page));
+            }
+            return searchWithin(params, adaptiveRadius.next(radius));
+        })));
+        return Futures.propagateCancellation(result, attempt);
+    }
+
+    private CompletableFuture<PageResult> doSearchOnceAsync(RequestParams params) {
+        SearchMetrics.Trace trace = metrics.start(SearchMetrics.OP_LIST);
+        SearchTemplateRequest template = templates.list(params, ranking.current());
+        if (template != null) {
+            return execute(trace, trace.built(template), response -> HotelSearchRequests.handleResponse(response, params));
+        }
+        SearchRequest request = trace.built(routing.route(HotelSearchRequests.searchRequest(params, ranking.current()), params));
+        if (!HotelSearchRequests.usesPointInTime(params)) {
+            return execute(trace, request, response -> HotelSearchRequests.handleResponse(response, params));
+        }
+        String existing = HotelSearchRequests.pointInTimeOf(params);
+        CompletableFuture<String> pit = existing != null
+                ? CompletableFuture.completedFuture(existing)
+                : pointInTime.openAsync();
+        return pit.thenCompose(Deadline.propagate(pitId -> {
+            HotelSearchRequests.applyPointInTime(request, pitId, pointInTime.keepAlive());
+            CompletableFuture<PageResult> page = execute(trace, request, response -> {
+                PageResult result = HotelSearchRequests.handleResponse(response, params);
+                if (result.getCursor() == null) {
+                    //最后一页，释放快照
+                    pointInTime.closeQuietly(response.pointInTimeId() != null ? response.pointInTimeId() : pitId);
+                }
+                return result;
+            });
+            if (existing == null) {
+                //这次新开的快照查询失败了，游标没有带回给客户端，不关掉要等到keep_alive过期
+                page.whenComplete((result, e) -> {
+                    if (e != null) {
+                        pointInTime.closeQuietly(pitId);
+                    }
+                });
+            }
+            return page;
+        }));
+    }
+
+    @Override
+    public CompletableFuture<Map<String, List<FacetBucket>>> filtersAsync(RequestParams params) {
+        if (embedded.serves()) {
+            return CompletableFuture.completedFuture(embedded.filters(params));
+        }
+        if (facetIndex.canAnswer(params)) {
+            return CompletableFuture.completedFuture(facetIndex.facets(params));
+        }
+        return withFallback(SearchMetrics.OP_FILTERS, coalesce(SearchKeys.filtersKey(params),
+                () -> {
+                    SearchMetrics.Trace trace = metrics.start(SearchMetrics.OP_FILTERS);
+                    SearchTemplateRequest template = templates.filters(params);
+                    if (template != null) {
+                        return execute(trace, trace.built(template), HotelSearchRequests::handleFilters);
+                    }
+                    return execute(trace, trace.built(routing.route(HotelSearchRequests.filtersRequest(params), params)),
+                            HotelSearchRequests::handleFilters);
+                }), () -> embedded.filters(params));
+    }
+
+    @Override
+    public CompletableFuture<List<String>> suggestAsync(String key) {
+        List<String> local = suggestionIndex.lookup(key);
+        if (!local.isEmpty() || embedded.serves()) {
+            return CompletableFuture.completedFuture(local);
+        }
+        return withFallback(SearchMetrics.OP_SUGGESTION, coalesce("suggestion|" + key,
+                () -> {
+                    SearchMetrics.Trace trace = metrics.start(SearchMetrics.OP_SUGGESTION);
+                    return execute(trace, trace.built(HotelSearchRequests.suggestionRequest(key)),
+                            HotelSearchRequests::handleSuggestion);
+                }), () -> local);
+    }
+
+    @Override
+    public CompletableFuture<SearchResult> searchWithFiltersAsync(RequestParams params) {
+        if (embedded.serves()) {
+            return CompletableFuture.completedFuture(embedded.searchWithFilters(params));
+        }
+        //过滤项能在本地算的，ES只查列表
+        if (facetIndex.canAnswer(params)) {
+            Map<String, List<FacetBucket>> filters = facetIndex.facets(params);
+            CompletableFuture<PageResult> page = searchAsync(params);
+            return Futures.propagateCancellation(
+                    page.thenApply(result -> new SearchResult(result, filters)), page);
+        }
+        //point in time只在列表查询里打开、翻页、关闭，过滤项另发一个请求
+        if (HotelSearchRequests.usesPointInTime(params)) {
+            CompletableFuture<PageResult> page = searchAsync(params);
+            CompletableFuture<Map<String, List<FacetBucket>>> filters = filtersAsync(params);
+            CompletableFuture<SearchResult> result = page.thenCombine(filters, SearchResult::new);
+            Futures.propagateCancellation(result, filters);
+            return Futures.propagateCancellation(result, page);
+        }
+        return withFallback(SearchMetrics.OP_SEARCH, coalesce(SearchKeys.key("search", SearchKeys.normalize(params)),
+                () -> {
+                    SearchMetrics.Trace trace = metrics.start(SearchMetrics.OP_SEARCH);
+                    SearchTemplateRequest template = templates.combined(params, ranking.current());
+                    if (template != null) {
+                        return execute(trace, trace.built(template),
+                                response -> HotelSearchRequests.handleCombined(response, params));
+                    }
+                    return execute(trace, trace.built(routing.route(HotelSearchRequests.combinedRequest(params, ranking.current()), params)),
+                            response -> HotelSearchRequests.handleCombined(response, params));
+                }), () -> embedded.searchWithFilters(params));
+    }
+
+    /**
+     * 详情从数据库读，走HotelDetailLoader的缓存和合并查询，不访问ES
+     */
+    @Override
+    public CompletableFuture<HotelDoc> getAsync(Long id) {
+        return detailLoader.load(id);
+    }
+
+    @Override
+    public CompletableFuture<List<HotelDoc>> getBatchAsync(List<Long> ids) {
+        return detailLoader.loadAll(ids);
+    }
+
+    /**
+     * ES失败时改用进程内索引的结果，取消返回的future仍会取消ES请求
+     */
+    private <T> CompletableFuture<T> withFallback(String op, CompletableFuture<T> future, Supplier<T> local) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        future.whenComplete((value, e) -> {
+            if (e == null) {
+                result.complete(value);
+            } else if (embedded.canFallback(op, e)) {
+                try {
+                    result.complete(local.get());
+                } catch (RuntimeException fallbackError) {
+                    e.addSuppressed(fallbackError);
+                    result.completeExceptionally(e);
+                }
+            } else {
+                result.completeExceptionally(e);
+            }
+        });
+        return Futures.propagateCancellation(result, future);
+    }
+
+    /**
+     * 相同的并发请求只发一次ES请求
+     */
+    private <T> CompletableFuture<T> coalesce(String key, Supplier<CompletableFuture<T>> loader) {
+        return searchProperties.isSingleFlight() ? singleFlight.execute(key, loader) : loader.get();
+    }
+
+    private <T> CompletableFuture<T> execute(SearchMetrics.Trace trace, SearchRequest request,
+                                             Function<SearchResponse, T> parser) {
+        return decode(trace, resilientSearch.searchAsync(trace.op(), request), parser);
+    }
+
+    /**
+     * 存储模板查询，ES找不到模板时让它下次重新注册
+     */
+    private <T> CompletableFuture<T> execute(SearchMetrics.Trace trace, SearchTemplateRequest request,
+                                             Function<SearchResponse, T> parser) {
+        CompletableFuture<SearchResponse> response = resilientSearch.searchTemplateAsync(trace.op(), request);
+        response.whenComplete((r, e) -> {
+            if (e != null) {
+                templates.failed(request, e);
+            }
+        });
+        return decode(trace, response, parser);
+    }
+
+    private <T> CompletableFuture<T> decode(SearchMetrics.Trace trace, CompletableFuture<SearchResponse> response,
+                                            Function<SearchResponse, T> parser) {
+        CompletableFuture<T> future = response.thenApply(r -> {
+            trace.responded(r);
+            return trace.decoded(parser.apply(r));
+        });
+        future.whenComplete((value, e) -> {
+            if (e != null) {
+                trace.failed(e);
+            }
+        });
+        //调用方取消时中断HTTP请求，释放连接
+        return Futures.propagateCancellation(future, response);
+    }
+}
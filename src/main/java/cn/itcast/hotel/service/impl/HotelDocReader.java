@@ -0,0 +1,94 @@
+package cn.itcast.hotel.service.impl;
+
+import cn.itcast.hotel.pojo.HotelDoc;
+import org.apache.lucene.util.BytesRef;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.xcontent.DeprecationHandler;
+import org.elasticsearch.common.xcontent.NamedXContentRegistry;
+import org.elasticsearch.common.xcontent.XContentParser;
+import org.elasticsearch.common.xcontent.XContentType;
+
+import java.io.IOException;
+
+/**
+ * 直接从命中结果的_source字节流式解析成HotelDoc，
+ * 不经过getSourceAsString()的中间字符串，也不经过fastjson的反射和临时JSONObject
+ */
+public final class HotelDocReader {
+    /**
+     * 列表页需要的字段，suggestion和all不需要从ES取回
+     */
+    public static final String[] LIST_FIELDS = {
+            "id", "name", "address", "price", "score", "brand", "city",
+            "starName", "business", "location", "pic", "ADing"
+    };
+
+    private HotelDocReader() {
+    }
+
+    public static HotelDoc read(BytesReference source) throws IOException {
+        try (XContentParser parser = createParser(source)) {
+            HotelDoc doc = new HotelDoc();
+            XContentParser.Token token = parser.nextToken();
+            if (token != XContentParser.Token.START_OBJECT) {
+                throw new IOException("_source不是JSON对象");
+            }
+            while ((token = parser.nextToken()) == XContentParser.Token.FIELD_NAME) {
+                String field = parser.currentName();
+                token = parser.nextToken();
+                if (token == XContentParser.Token.VALUE_NULL) {
+                    continue;
+                }
+                switch (field) {
+                    case "id":
+                        doc.setId(parser.longValue());
+                        break;
+                    case "name":
+                        doc.setName(parser.text());
+                        break;
+                    case "address":
+                        doc.setAddress(parser.text());
+                        break;
+                    case "price":
+                        doc.setPrice(parser.intValue());
+                        break;
+                    case "score":
+                        doc.setScore(parser.intValue());
+                        break;
+                    case "brand":
+                        doc.setBrand(parser.text());
+                        break;
+                    case "city":
+                        doc.setCity(parser.text());
+                        break;
+                    case "starName":
+                        doc.setStarName(parser.text());
+                        break;
+                    case "business":
+                        doc.setBusiness(parser.text());
+                        break;
+                    case "location":
+                        doc.setLocation(parser.text());
+                        break;
+                    case "pic":
+                        doc.setPic(parser.text());
+                        break;
+                    case "ADing":
+                        doc.setADing(parser.booleanValue());
+                        break;
+                    default:
+                        //没用到的字段整体跳过
+                        parser.skipChildren();
+                }
+            }
+            return doc;
+        }
+    }
+
+    private static XContentParser createParser(BytesReference source) throws IOException {
+        //BytesArray时toBytesRef()不复制，直接在原数组上解析
+        BytesRef bytes = source.toBytesRef();
+        return XContentType.JSON.xContent().createParser(NamedXContentRegistry.EMPTY,
+                DeprecationHandler.IGNORE_DEPRECATIONS, bytes.bytes, bytes.offset, bytes.length);
+    }
+}
@@ -0,0 +1,345 @@
+package cn.itcast.hotel.service.impl;
+
+import cn.itcast.hotel.cache.IndexGeneration;
+import cn.itcast.hotel.config.IndexProperties;
+import cn.itcast.hotel.index.HotelRouting;
+import cn.itcast.hotel.index.IndexDefinition;
+import cn.itcast.hotel.index.IndexDefinitions;
+import cn.itcast.hotel.index.MappingDiff;
+import cn.itcast.hotel.pojo.IndexSwitchResult;
+import cn.itcast.hotel.pojo.ReindexReport;
+import cn.itcast.hotel.service.IHotelIndexService;
+import cn.itcast.hotel.service.IHotelReindexService;
+import cn.itcast.hotel.service.IHotelSyncService;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.client.config.RequestConfig;
+import org.elasticsearch.action.admin.cluster.health.ClusterHealthRequest;
+import org.elasticsearch.action.admin.indices.alias.IndicesAliasesRequest;
+import org.elasticsearch.action.admin.indices.alias.get.GetAliasesRequest;
+import org.elasticsearch.action.admin.indices.delete.DeleteIndexRequest;
+import org.elasticsearch.action.admin.indices.forcemerge.ForceMergeRequest;
+import org.elasticsearch.action.admin.indices.refresh.RefreshRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsRequest;
+import org.elasticsearch.action.admin.indices.settings.get.GetSettingsResponse;
+import org.elasticsearch.action.admin.indices.settings.put.UpdateSettingsRequest;
+import org.elasticsearch.client.GetAliasesResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.indices.CreateIndexRequest;
+import org.elasticsearch.client.indices.GetIndexRequest;
+import org.elasticsearch.client.indices.GetMappingsRequest;
+import org.elasticsearch.client.indices.GetMappingsResponse;
+import org.elasticsearch.cluster.health.ClusterHealthStatus;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+import static cn.itcast.hotel.constans.HotelConstants.*;
+
+/**
+ * 蓝绿重建：新版本索引用写入优化的设置导入，合并段、恢复设置后再原子切换读别名
+ * 线上查询始终读旧索引，直到切换的那一刻
+ */
+@Slf4j
+@Service
+public class HotelIndexService implements IHotelIndexService {
+    @Autowired
+    private RestHighLevelClient client;
+    @Autowired
+    private IHotelReindexService reindexService;
+    @Autowired
+    private IHotelSyncService syncService;
+    @Autowired
+    private IndexProperties properties;
+    @Autowired
+    private IndexGeneration indexGeneration;
+    @Autowired
+    private HotelRouting hotelRouting;
+    @Autowired
+    private IndexDefinitions definitions;
+    /**
+     * 被切走的索引 -> 它停止接收增量变更时的发件箱位置，回滚时从这里重放
+     */
+    private final Map<String, Long> detachedPositions = new HashMap<>();
+
+    @Override
+    public synchronized IndexSwitchResult rebuild() {
+        try {
+            String previous = currentIndex();
+            List<Integer> versions = listVersions();
+            int next = versions.isEmpty() ? 1 : versions.get(versions.size() - 1) + 1;
+            String index = INDEX_VERSION_PREFIX + next;
+
+            //1.用写入优化的设置创建新索引：不刷新、无副本
+            createIndex(index);
+            boolean switched = false;
+            try {
+                //导入期间的增量变更只会写到旧索引，记下位置，切换后重放
+                long syncPosition = syncService.headPosition();
+                //2.全量导入
+                ReindexReport report = reindexService.reindex(index);
+                if (!report.isCompleted()) {
+                    log.error("索引[{}]导入不完整，放弃切换：{}", index, report);
+                    throw new IllegalStateException("索引" + index + "导入不完整，已放弃切换");
+                }
+                //3.合并段，之后的查询不用再扫大量小段
+                forceMerge(index);
+                //4.恢复线上设置，等副本分配完成
+                restoreSettings(index);
+                //5.原子切换读别名，重放导入期间的变更
+                if (previous != null) {
+                    detachedPositions.put(previous, syncService.headPosition());
+                }
+                switchAlias(index);
+                switched = true;
+                syncService.rewindTo(syncPosition);
+                //6.清理超出保留数量的旧版本
+                cleanupOldVersions();
+                return new IndexSwitchResult(previous, index, report);
+            } finally {
+                if (!switched) {
+                    //没切换成功的新索引没有别的用处，不删会一直占着磁盘，也会让下次重建的版本号往后跳
+                    discard(index);
+                }
+            }
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public synchronized IndexSwitchResult rollback() {
+        try {
+            String current = currentIndex();
+            Integer currentVersion = parseVersion(current);
+            if (currentVersion == null) {
+                throw new IllegalStateException("别名" + INDEX_ALIAS + "没有指向版本化的索引，无法回滚");
+            }
+            Integer previousVersion = null;
+            for (Integer version : listVersions()) {
+                if (version < currentVersion) {
+                    previousVersion = version;
+                }
+            }
+            if (previousVersion == null) {
+                throw new IllegalStateException("没有比" + current + "更早的版本可以回滚");
+            }
+            String previous = INDEX_VERSION_PREFIX + previousVersion;
+            long position = syncService.headPosition();
+            switchAlias(previous);
+            //把旧索引被切走之后的变更补上
+            Long detachedAt = detachedPositions.remove(previous);
+            if (detachedAt != null) {
+                syncService.rewindTo(detachedAt);
+            } else {
+                log.warn("不知道索引[{}]停止同步的位置，回滚后可能缺少最近的变更", previous);
+            }
+            detachedPositions.put(current, position);
+            return new IndexSwitchResult(current, previous, null);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public String currentIndex() {
+        try {
+            Set<String> indices = aliasHolders();
+            return indices.isEmpty() ? null : indices.iterator().next();
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    @Override
+    public MappingDiff diff() {
+        try {
+            String index = currentIndex();
+            if (index == null) {
+                throw new IllegalStateException("别名" + INDEX_ALIAS + "没有指向任何索引");
+            }
+            GetMappingsResponse mappings = client.indices()
+                    .getMapping(new GetMappingsRequest().indices(index), RequestOptions.DEFAULT);
+            GetSettingsResponse settings = client.indices()
+                    .getSettings(new GetSettingsRequest().indices(index), RequestOptions.DEFAULT);
+            Map<String, Object> live = mappings.mappings().get(index).sourceAsMap();
+            MappingDiff diff = MappingDiff.compare(index, definitions.current(),
+                    live, settings.getIndexToSettings().get(index));
+            //路由方式不在索引定义里，由hotel.index.routing决定，改了也要重建
+            String liveRouting = HotelRouting.routingOf(live);
+            String routing = hotelRouting.configured();
+            if (!Objects.equals(liveRouting, routing)) {
+                diff.getChanges().add(new MappingDiff.Change("mappings._meta." + HotelRouting.META_ROUTING,
+                        liveRouting, routing, false));
+            }
+            //分片数也不在索引定义里，由hotel.index.shards决定
+            String liveShards = settings.getIndexToSettings().get(index).get("index.number_of_shards");
+            String shards = String.valueOf(properties.getShards());
+            if (!shards.equals(liveShards)) {
+                diff.getChanges().add(new MappingDiff.Change("settings.index.number_of_shards",
+                        liveShards, shards, false));
+            }
+            return diff;
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+    }
+
+    /**
+     * 按索引定义建索引，分片数按配置，导入期间再覆盖成写入优化的设置
+     */
+    private void createIndex(String index) throws IOException {
+        IndexDefinition definition = definitions.current();
+        String routing = hotelRouting.configured();
+        if (routing != null && properties.getShards() < 2) {
+            log.warn("按{}路由但只有{}个分片，查询不会因为路由少发分片，请调大hotel.index.shards", routing, properties.getShards());
+        }
+        CreateIndexRequest request = new CreateIndexRequest(index);
+        request.mapping(HotelRouting.mappingsSource(definition, routing), XContentType.JSON);
+        request.settings(Settings.builder()
+                .loadFromSource(definition.settingsSource(), XContentType.JSON)
+                .put("index.number_of_shards", properties.getShards())
+                .put("index.refresh_interval", "-1")
+                .put("index.number_of_replicas", 0));
+        client.indices().create(request, RequestOptions.DEFAULT);
+        log.info("按第{}版索引定义创建索引[{}]，{}个分片，路由：{}", definition.getVersion(), index,
+                properties.getShards(), routing == null ? "按id" : routing);
+    }
+
+    private void forceMerge(String index) throws IOException {
+        ForceMergeRequest request = new ForceMergeRequest(index);
+        request.maxNumSegments(properties.getMaxNumSegments());
+        request.flush(true);
+        //段合并耗时远超客户端默认的socket超时
+        int timeout = (int) TimeUnit.MINUTES.toMillis(properties.getForceMergeTimeoutMinutes());
+        RequestOptions options = RequestOptions.DEFAULT.toBuilder()
+                .setRequestConfig(RequestConfig.custom().setSocketTimeout(timeout).build())
+                .build();
+        client.indices().forcemerge(request, options);
+        log.info("索引[{}]段合并完成", index);
+    }
+
+    private void restoreSettings(String index) throws IOException {
+        UpdateSettingsRequest request = new UpdateSettingsRequest(index);
+        request.settings(Settings.builder()
+                .put("index.refresh_interval", properties.getRefreshInterval())
+                .put("index.number_of_replicas", properties.getReplicas()));
+        client.indices().putSettings(request, RequestOptions.DEFAULT);
+        client.indices().refresh(new RefreshRequest(index), RequestOptions.DEFAULT);
+
+        ClusterHealthRequest health = new ClusterHealthRequest(index);
+        health.waitForStatus(ClusterHealthStatus.fromString(properties.getWaitForStatus()));
+        health.timeout(TimeValue.timeValueMinutes(properties.getForceMergeTimeoutMinutes()));
+        int timeout = (int) TimeUnit.MINUTES.toMillis(properties.getForceMergeTimeoutMinutes()) + 10_000;
+        RequestOptions options = RequestOptions.DEFAULT.toBuilder()
+                .setRequestConfig(RequestConfig.custom().setSocketTimeout(timeout).build())
+                .build();
+        if (client.cluster().health(health, options).isTimedOut()) {
+            throw new IllegalStateException("等待索引" + index + "达到" + properties.getWaitForStatus() + "状态超时");
+        }
+    }
+
+    /**
+     * 一个请求里完成移除旧别名、添加新别名，ES保证原子性
+     */
+    private void switchAlias(String index) throws IOException {
+        IndicesAliasesRequest request = new IndicesAliasesRequest();
+        Set<String> holders = aliasHolders();
+        for (String holder : holders) {
+            if (!holder.equals(index)) {
+                request.addAliasAction(IndicesAliasesRequest.AliasActions.remove().index(holder).alias(INDEX_ALIAS));
+            }
+        }
+        if (holders.isEmpty() && client.indices().exists(new GetIndexRequest(INDEX_ALIAS), RequestOptions.DEFAULT)) {
+            //老版本直接建了名为hotel的索引，和别名冲突，在同一个请求里删掉
+            request.addAliasAction(IndicesAliasesRequest.AliasActions.removeIndex().index(INDEX_ALIAS));
+        }
+        request.addAliasAction(IndicesAliasesRequest.AliasActions.add().index(index).alias(INDEX_ALIAS));
+        client.indices().updateAliases(request, RequestOptions.DEFAULT);
+        indexGeneration.bump();
+        //新旧索引的路由方式可能不同，马上跟上，不等定时刷新
+        hotelRouting.refresh();
+        log.info("别名[{}]切换：{} -> {}", INDEX_ALIAS, holders, index);
+    }
+
+    /**
+     * 按别名现在指向的版本算保留数量：回滚后线上读的是旧版本，不能按最新的版本号算；别名指向的索引任何时候都不删
+     */
+    private void cleanupOldVersions() throws IOException {
+        Set<String> live = aliasHolders();
+        Integer liveVersion = null;
+        for (String holder : live) {
+            Integer version = parseVersion(holder);
+            if (version != null && (liveVersion == null || version > liveVersion)) {
+                liveVersion = version;
+            }
+        }
+        if (liveVersion == null) {
+            return;
+        }
+        //比线上版本旧的，从近到远保留retainVersions个；比线上新的是回滚前的版本，留着
+        List<Integer> older = new ArrayList<>();
+        for (Integer version : listVersions()) {
+            if (version < liveVersion) {
+                older.add(version);
+            }
+        }
+        Collections.reverse(older);
+        for (int i = properties.getRetainVersions(); i < older.size(); i++) {
+            String index = INDEX_VERSION_PREFIX + older.get(i);
+            if (!live.contains(index)) {
+                deleteIndex(index);
+            }
+        }
+    }
+
+    private void discard(String index) {
+        try {
+            deleteIndex(index);
+        } catch (IOException | RuntimeException e) {
+            log.warn("删除未切换的索引[{}]失败，需要手工清理", index, e);
+        }
+    }
+
+    private void deleteIndex(String index) throws IOException {
+        client.indices().delete(new DeleteIndexRequest(index), RequestOptions.DEFAULT);
+        log.info("删除索引[{}]", index);
+    }
+
+    private Set<String> aliasHolders() throws IOException {
+        GetAliasesResponse response = client.indices().getAlias(new GetAliasesRequest(INDEX_ALIAS), RequestOptions.DEFAULT);
+        return new TreeSet<>(response.getAliases().keySet());
+    }
+
+    private List<Integer> listVersions() throws IOException {
+        String[] indices = client.indices()
+                .get(new GetIndexRequest(INDEX_VERSION_PREFIX + "*"), RequestOptions.DEFAULT)
+                .getIndices();
+        List<Integer> versions = new ArrayList<>();
+        for (String index : indices) {
+            Integer version = parseVersion(index);
+            if (version != null) {
+                versions.add(version);
+            }
+        }
+        Collections.sort(versions);
+        return versions;
+    }
+
+    private static Integer parseVersion(String index) {
+        if (index == null || !index.startsWith(INDEX_VERSION_PREFIX)) {
+            return null;
+        }
+        try {
+            return Integer.parseInt(index.substring(INDEX_VERSION_PREFIX.length()));
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,88 @@
+package cn.itcast.hotel.service.impl;
+
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.constans.HotelConstants;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.util.EntityUtils;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.ResponseListener;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * point in time的打开和关闭，7.12的高级客户端还没有封装，直接用低级客户端
+ */
+@Slf4j
+@Component
+public class HotelPointInTime {
+    @Autowired
+    private RestHighLevelClient client;
+    @Autowired
+    private SearchProperties properties;
+
+    public String open() throws IOException {
+        Response response = client.getLowLevelClient().performRequest(openRequest());
+        return parseId(response);
+    }
+
+    public CompletableFuture<String> openAsync() {
+        CompletableFuture<String> future = new CompletableFuture<>();
+        client.getLowLevelClient().performRequestAsync(openRequest(), new ResponseListener() {
+            @Override
+            public void onSuccess(Response response) {
+                try {
+                    future.complete(parseId(response));
+                } catch (IOException | RuntimeException e) {
+                    future.completeExceptionally(e);
+                }
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                future.completeExceptionally(e);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * 翻到最后一页时关闭，关闭失败也没关系，到期后ES会自己释放
+     */
+    public void closeQuietly(String pitId) {
+        Request request = new Request("DELETE", "/_pit");
+        JSONObject body = new JSONObject();
+        body.put("id", pitId);
+        request.setJsonEntity(body.toJSONString());
+        client.getLowLevelClient().performRequestAsync(request, new ResponseListener() {
+            @Override
+            public void onSuccess(Response response) {
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                log.debug("关闭point in time失败", e);
+            }
+        });
+    }
+
+    public String keepAlive() {
+        return properties.getPitKeepAlive();
+    }
+
+    private Request openRequest() {
+        Request request = new Request("POST", "/" + HotelConstants.INDEX_ALIAS + "/_pit");
+        request.addParameter("keep_alive", properties.getPitKeepAlive());
+        return request;
+    }
+
+    private static String parseId(Response response) throws IOException {
+        return JSON.parseObject(EntityUtils.toString(response.getEntity())).getString("id");
+    }
+}
@@ -0,0 +1,203 @@
+package cn.itcast.hotel.service.impl;
+
+import cn.itcast.hotel.config.ReindexProperties;
+import cn.itcast.hotel.index.HotelRouting;
+import cn.itcast.hotel.mapper.HotelMapper;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.ReindexReport;
+import cn.itcast.hotel.service.IHotelReindexService;
+import cn.itcast.hotel.utils.HotelCursor;
+import com.alibaba.fastjson.JSON;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.bulk.BackoffPolicy;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkProcessor;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.unit.ByteSizeUnit;
+import org.elasticsearch.common.unit.ByteSizeValue;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 流式全量导入：游标分批读库 -> 线程池转换HotelDoc -> BulkProcessor按条数/字节数分批写入
+ * 每个环节都有上限，内存占用和表的大小无关
+ */
+@Slf4j
+@Service
+public class HotelReindexService implements IHotelReindexService {
+    @Autowired
+    private HotelMapper hotelMapper;
+    @Autowired
+    private RestHighLevelClient client;
+    @Autowired
+    private ReindexProperties properties;
+    @Autowired
+    private HotelRouting routing;
+
+    private final AtomicBoolean running = new AtomicBoolean(false);
+
+    @Override
+    public ReindexReport reindex(String index) {
+        if (!running.compareAndSet(false, true)) {
+            throw new IllegalStateException("已有重建索引任务在执行");
+        }
+        try {
+            return doReindex(index);
+        } finally {
+            running.set(false);
+        }
+    }
+
+    private ReindexReport doReindex(String index) {
+        Progress progress = new Progress();
+        long start = System.nanoTime();
+        //1.准备BulkProcessor，在途请求满了以后add会阻塞，形成反压
+        BulkProcessor processor = buildProcessor(progress);
+        //2.转换线程池，队列满了由读库线程自己执行，读库速度自然被拖慢
+        ThreadPoolExecutor workers = new ThreadPoolExecutor(
+                properties.getWorkers(), properties.getWorkers(),
+                0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(properties.getQueueCapacity()),
+                namedThreadFactory("reindex-worker"),
+                new ThreadPoolExecutor.CallerRunsPolicy());
+        //3.定时输出进度
+        ScheduledExecutorService reporter = Executors.newSingleThreadScheduledExecutor(namedThreadFactory("reindex-report"));
+        reporter.scheduleAtFixedRate(() -> log.info("重建索引[{}]进度：{}", index, progress.toReport(index, start)),
+                properties.getReportIntervalSeconds(), properties.getReportIntervalSeconds(), TimeUnit.SECONDS);
+
+        //新索引按配置的路由方式建，写入时带上路由
+        boolean routed = HotelRouting.CITY.equals(routing.configured());
+        boolean completed = false;
+        try {
+            //4.游标分批读库，按chunk交给线程池
+            HotelCursor cursor = new HotelCursor(hotelMapper, properties.getFetchSize());
+            int chunkSize = properties.getChunkSize();
+            while (cursor.hasNext()) {
+                List<Hotel> batch = cursor.next();
+                progress.read.add(batch.size());
+                for (int from = 0; from < batch.size(); from += chunkSize) {
+                    List<Hotel> chunk = batch.subList(from, Math.min(from + chunkSize, batch.size()));
+                    workers.execute(() -> convert(index, chunk, routed, processor, progress));
+                }
+            }
+            //5.等待转换完成，再等待最后的bulk完成
+            workers.shutdown();
+            workers.awaitTermination(Long.MAX_VALUE, TimeUnit.MILLISECONDS);
+            completed = processor.awaitClose(properties.getAwaitCloseSeconds(), TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RuntimeException(e);
+        } finally {
+            workers.shutdownNow();
+            reporter.shutdownNow();
+            processor.close();
+        }
+        ReindexReport report = progress.toReport(index, start);
+        report.setCompleted(completed && report.getFailed() == 0);
+        log.info("重建索引[{}]结束：{}", index, report);
+        return report;
+    }
+
+    private void convert(String index, List<Hotel> chunk, boolean routed, BulkProcessor processor, Progress progress) {
+        for (Hotel hotel : chunk) {
+            IndexRequest request;
+            try {
+                HotelDoc hotelDoc = new HotelDoc(hotel);
+                request = new IndexRequest(index)
+                        .id(hotelDoc.getId().toString())
+                        .source(JSON.toJSONString(hotelDoc), XContentType.JSON);
+                if (routed) {
+                    request.routing(HotelRouting.routingOf(hotelDoc));
+                }
+            } catch (RuntimeException e) {
+                //单条脏数据不影响整体导入
+                progress.failed.increment();
+                log.warn("酒店数据转换失败，id={}", hotel.getId(), e);
+                continue;
+            }
+            processor.add(request);
+        }
+    }
+
+    private BulkProcessor buildProcessor(Progress progress) {
+        BulkProcessor.Listener listener = new BulkProcessor.Listener() {
+            @Override
+            public void beforeBulk(long executionId, BulkRequest request) {
+                progress.bulks.increment();
+                progress.bytes.add(request.estimatedSizeInBytes());
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, BulkResponse response) {
+                for (BulkItemResponse item : response.getItems()) {
+                    if (item.isFailed()) {
+                        progress.failed.increment();
+                        log.warn("文档写入失败，id={}，原因：{}", item.getId(), item.getFailureMessage());
+                    } else {
+                        progress.indexed.increment();
+                    }
+                }
+            }
+
+            @Override
+            public void afterBulk(long executionId, BulkRequest request, Throwable failure) {
+                progress.failed.add(request.numberOfActions());
+                log.error("bulk请求失败，丢失{}条", request.numberOfActions(), failure);
+            }
+        };
+        //BulkProcessor只对429(EsRejectedExecutionException)按退避策略重试
+        return BulkProcessor.builder(
+                (request, bulkListener) -> client.bulkAsync(request, RequestOptions.DEFAULT, bulkListener),
+                listener)
+                .setBulkActions(properties.getBulkActions())
+                .setBulkSize(new ByteSizeValue(properties.getBulkSizeMb(), ByteSizeUnit.MB))
+                .setConcurrentRequests(properties.getConcurrentRequests())
+                .setBackoffPolicy(BackoffPolicy.exponentialBackoff(
+                        TimeValue.timeValueMillis(properties.getRetryInitialDelayMs()), properties.getMaxRetries()))
+                .build();
+    }
+
+    private static ThreadFactory namedThreadFactory(String prefix) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, prefix + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    private static class Progress {
+        final LongAdder read = new LongAdder();
+        final LongAdder indexed = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder bulks = new LongAdder();
+        final LongAdder bytes = new LongAdder();
+
+        ReindexReport toReport(String index, long startNanos) {
+            long took = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+            ReindexReport report = new ReindexReport();
+            report.setIndex(index);
+            report.setRead(read.sum());
+            report.setIndexed(indexed.sum());
+            report.setFailed(failed.sum());
+            report.setBulks(bulks.sum());
+            report.setBytes(bytes.sum());
+            report.setTookMillis(took);
+            report.setDocsPerSecond(took == 0 ? 0 : report.getIndexed() * 1000.0 / took);
+            return report;
+        }
+    }
+}
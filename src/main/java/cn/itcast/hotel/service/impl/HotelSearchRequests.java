@@ -0,0 +1,417 @@
+package cn.itcast.hotel.service.impl;
+
+import cn.itcast.hotel.constans.HotelConstants;
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.pojo.SearchResult;
+import cn.itcast.hotel.ranking.RankFeatures;
+import cn.itcast.hotel.ranking.RankingConfig;
+import cn.itcast.hotel.ranking.SortMode;
+import cn.itcast.hotel.utils.HitCount;
+import cn.itcast.hotel.utils.InvalidRequestException;
+import cn.itcast.hotel.utils.SearchCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.lucene.search.TotalHits;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.common.geo.GeoPoint;
+import org.elasticsearch.common.lucene.search.function.CombineFunction;
+import org.elasticsearch.common.lucene.search.function.FieldValueFactorFunction;
+import org.elasticsearch.common.lucene.search.function.FunctionScoreQuery;
+import org.elasticsearch.common.unit.DistanceUnit;
+import org.elasticsearch.common.unit.TimeValue;
+import org.elasticsearch.index.query.BoolQueryBuilder;
+import org.elasticsearch.index.query.QueryBuilders;
+import org.elasticsearch.index.query.functionscore.FunctionScoreQueryBuilder;
+import org.elasticsearch.index.query.functionscore.ScoreFunctionBuilders;
+import org.elasticsearch.search.SearchHit;
+import org.elasticsearch.search.SearchHits;
+import org.elasticsearch.search.aggregations.AggregationBuilders;
+import org.elasticsearch.search.aggregations.Aggregations;
+import org.elasticsearch.search.aggregations.bucket.terms.Terms;
+import org.elasticsearch.search.builder.PointInTimeBuilder;
+import org.elasticsearch.search.sort.GeoDistanceSortBuilder;
+import org.elasticsearch.search.sort.SortBuilders;
+import org.elasticsearch.search.sort.SortOrder;
+import org.elasticsearch.search.suggest.Suggest;
+import org.elasticsearch.search.suggest.SuggestBuilder;
+import org.elasticsearch.search.suggest.SuggestBuilders;
+import org.elasticsearch.search.suggest.completion.CompletionSuggestion;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 酒店搜索请求的组装和响应的解析，同步和异步查询共用
+ */
+@Slf4j
+public final class HotelSearchRequests {
+
+    private HotelSearchRequests() {
+    }
+
+    public static SearchRequest searchRequest(RequestParams params, RankingConfig ranking) {
+        //1.准备Request对象
+        SearchRequest request = new SearchRequest(HotelConstants.INDEX_ALIAS);
+        builderBasicQuery(params, request, ranking);
+        //只取列表页用到的字段
+        request.source().fetchSource(HotelDocReader.LIST_FIELDS, null);
+
+        //2.2分页
+        int size = params.getSize();
+        if (params.isCursorPaging()) {
+            //游标分页：从上一页最后一条的排序值之后开始，不用跳过前面的文档
+            request.source().size(size);
+            if (StringUtils.hasText(params.getCursor())) {
+                request.source().searchAfter(SearchCursor.decode(params.getCursor()).getSortValues());
+            }
+        } else {
+            int page = params.getPage();
+            request.source().from((page - 1) * size).size(size);
+        }
+        //总数数到上限就停，剩下的文档ES可以跳过
+        request.source().trackTotalHitsUpTo(HitCount.of(params).limit());
+
+        //2.3排序
+        SortMode mode = SortMode.of(params);
+        String location = params.getLocation();
+        boolean located = location != null && !location.equals("");
+        switch (mode) {
+            case DISTANCE:
+                request.source().sort(distanceSort(location));
+                break;
+            case PRICE:
+                request.source().sort(SortBuilders.fieldSort("price").order(SortOrder.ASC));
+                break;
+            case SCORE:
+                if (SortMode.sortsByCityFirst(params)) {
+                    request.source().sort(SortBuilders.fieldSort("city").order(SortOrder.ASC));
+                }
+                request.source().sort(SortBuilders.fieldSort("score").order(SortOrder.DESC));
+                break;
+            default:
+                //后面还有别的排序时，要显式按算分排
+                if (located || params.isCursorPaging()) {
+                    request.source().sort(SortBuilders.scoreSort());
+                }
+        }
+        if (located && mode != SortMode.DISTANCE) {
+            //不按距离排时也要显示距离，放在第二位，只在前面相同时才比较
+            request.source().sort(distanceSort(location));
+        }
+        if (params.isCursorPaging() || mode == SortMode.PRICE || mode == SortMode.SCORE) {
+            //id兜底，保证排序唯一，游标不会跳过或重复，价格、评分相同的酒店翻页时顺序也稳定
+            request.source().sort(SortBuilders.fieldSort("id").order(SortOrder.ASC));
+        }
+        return request;
+    }
+
+    private static GeoDistanceSortBuilder distanceSort(String location) {
+        return SortBuilders
+                .geoDistanceSort("location", new GeoPoint(location))
+                .order(SortOrder.ASC)
+                .unit(DistanceUnit.KILOMETERS);
+    }
+
+    /**
+     * 排序值里距离的位置：按距离排时是第一个，带坐标按别的排时紧跟在主排序值后面，没有距离返回-1
+     */
+    private static int distanceIndex(RequestParams params) {
+        if (!StringUtils.hasText(params.getLocation())) {
+            return -1;
+        }
+        if (SortMode.of(params) == SortMode.DISTANCE) {
+            return 0;
+        }
+        return SortMode.sortsByCityFirst(params) ? 2 : 1;
+    }
+
+    public static boolean usesPointInTime(RequestParams params) {
+        return params.isCursorPaging() && Boolean.TRUE.equals(params.getPit());
+    }
+
+    /**
+     * 翻页时沿用游标里的point in time，第一页返回null
+     */
+    public static String pointInTimeOf(RequestParams params) {
+        return StringUtils.hasText(params.getCursor()) ? SearchCursor.decode(params.getCursor()).getPitId() : null;
+    }
+
+    /**
+     * 使用point in time查询，请求里不能再指定索引
+     */
+    public static void applyPointInTime(SearchRequest request, String pitId, String keepAlive) {
+        request.indices(new String[0]);
+        request.source().pointInTimeBuilder(new PointInTimeBuilder(pitId)
+                .setKeepAlive(TimeValue.parseTimeValue(keepAlive, "keep_alive")));
+    }
+
+    private static HotelDoc readHit(SearchHit hit) {
+        try {
+            return HotelDocReader.read(hit.getSourceRef());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static SearchRequest filtersRequest(RequestParams params) {
+        SearchRequest request = new SearchRequest(HotelConstants.INDEX_ALIAS);
+        //2.准备DSL语句
+        //2.1 设置size，聚合只看命中哪些文档，不用算分
+        request.source().query(boolQuery(params));
+        request.source().size(0);
+        addFacetAggregations(request);
+        return request;
+    }
+
+    /**
+     * 分页查询和过滤项聚合放在同一个请求里，共用一次查询
+     */
+    public static SearchRequest combinedRequest(RequestParams params, RankingConfig ranking) {
+        SearchRequest request = searchRequest(params, ranking);
+        addFacetAggregations(request);
+        return request;
+    }
+
+    public static SearchResult handleCombined(SearchResponse response, RequestParams params) {
+        PageResult page = handleResponse(response, params);
+        return new SearchResult(page, handleFilters(response));
+    }
+
+    private static void addFacetAggregations(SearchRequest request) {
+        request.source().aggregation(AggregationBuilders
+                .terms("brandAgg")//参数聚合名字
+                .field("brand")
+                .size(20)
+        );
+        request.source().aggregation(AggregationBuilders
+                .terms("cityAgg")//参数聚合名字
+                .field("city")
+                .size(50)
+        );
+        request.source().aggregation(AggregationBuilders
+                .terms("starNameAgg")//参数聚合名字
+                .field("starName")
+                .size(50)
+        );
+    }
+
+    public static Map<String, List<FacetBucket>> handleFilters(SearchResponse response) {
+        //4.解析结果
+        //4.1.响应过来的聚合结果解析
+        Aggregations aggregations = response.getAggregations();
+        //过滤返回
+        Map<String, List<FacetBucket>> map = new HashMap<>();
+        //4.2根据名称解析结果
+        List<FacetBucket> brandList = getAggByName(aggregations, "brandAgg");
+        List<FacetBucket> cityList = getAggByName(aggregations, "cityAgg");
+        List<FacetBucket> starNameList = getAggByName(aggregations, "starNameAgg");
+        map.put("品牌",brandList);
+        map.put("城市",cityList);
+        map.put("星级",starNameList);
+        return map;
+    }
+
+    public static SearchRequest suggestionRequest(String key) {
+        SearchRequest request = new SearchRequest(HotelConstants.INDEX_ALIAS);
+        request.source()
+                .suggest(new SuggestBuilder().addSuggestion(
+                        "mySuggestion",
+                        SuggestBuilders.completionSuggestion("suggestion")
+                                .prefix(key)//要自动补全的拼音
+                                .skipDuplicates(true)
+                                .size(10)
+                ));
+        return request;
+    }
+
+    public static List<String> handleSuggestion(SearchResponse response) {
+        Suggest suggest = response.getSuggest();
+        CompletionSuggestion suggestion = suggest.getSuggestion("mySuggestion");
+        List<String> suggestionList = new ArrayList<>();
+        for (CompletionSuggestion.Entry.Option options : suggestion.getOptions()) {
+            String text = options.getText().string();
+            if (text.contains("/")){
+                text = text.replace("/", "\n");
+            }
+            suggestionList.add(text);
+        }
+        return suggestionList;
+    }
+
+    /**
+     * 正在投广告的酒店id，本地索引用来还原ADing的加权
+     */
+    public static SearchRequest advertisedRequest(int size) {
+        SearchRequest request = new SearchRequest(HotelConstants.INDEX_ALIAS);
+        request.source().query(QueryBuilders.termQuery("ADing", true)).fetchSource(false).size(size);
+        return request;
+    }
+
+    public static List<Long> handleIds(SearchResponse response) {
+        SearchHit[] hits = response.getHits().getHits();
+        List<Long> ids = new ArrayList<>(hits.length);
+        for (SearchHit hit : hits) {
+            ids.add(Long.valueOf(hit.getId()));
+        }
+        return ids;
+    }
+
+    public static List<FacetBucket> getAggByName(Aggregations aggregations, String aggName) {
+        List<FacetBucket> brandList = new ArrayList<>();
+        //6.根据名称获取聚合结果
+        Terms brandTerms = aggregations.get(aggName);//参数里是聚合名字
+        //7.获取桶
+        List<? extends Terms.Bucket> buckets = brandTerms.getBuckets();
+        for (Terms.Bucket bucket : buckets) {
+            String key = bucket.getKeyAsString();
+            brandList.add(new FacetBucket(key, bucket.getDocCount()));
+        }
+        return brandList;
+    }
+
+    public static void builderBasicQuery(RequestParams params, SearchRequest request) {
+        builderBasicQuery(params, request, new RankingConfig());
+    }
+
+    /**
+     * 只有按相关性排序时才包一层function_score，其他排序不看算分
+     */
+    public static void builderBasicQuery(RequestParams params, SearchRequest request, RankingConfig ranking) {
+        BoolQueryBuilder boolQuery = boolQuery(params);
+        if (SortMode.of(params) != SortMode.RELEVANCE) {
+            request.source().query(boolQuery);
+            return;
+        }
+        //3.算分控制，算分函数只读数值字段，不跑脚本
+        List<FunctionScoreQueryBuilder.FilterFunctionBuilder> functions = new ArrayList<>();
+        //广告加权
+        functions.add(new FunctionScoreQueryBuilder.FilterFunctionBuilder(
+                QueryBuilders.termQuery("ADing", "true"),
+                ScoreFunctionBuilders.weightFactorFunction(ranking.getAdWeight())));
+        //质量分：写索引时由评分算好的rankScore
+        if (ranking.isQualityEnabled()) {
+            functions.add(new FunctionScoreQueryBuilder.FilterFunctionBuilder(
+                    ScoreFunctionBuilders.fieldValueFactorFunction("rankScore")
+                            .factor(ranking.getQualityFactor())
+                            .modifier(FieldValueFactorFunction.Modifier.fromString(ranking.getQualityModifier()))
+                            .missing(RankFeatures.DEFAULT_QUALITY)));
+        }
+        //距离衰减
+        if (ranking.isDecayEnabled() && StringUtils.hasText(params.getLocation())) {
+            functions.add(new FunctionScoreQueryBuilder.FilterFunctionBuilder(
+                    ScoreFunctionBuilders.gaussDecayFunction("location", params.getLocation().trim(),
+                            ranking.getDecayScaleKm() + "km", ranking.getDecayOffsetKm() + "km", ranking.getDecay())));
+        }
+        FunctionScoreQueryBuilder functionScoreQueryBuilder = QueryBuilders
+                .functionScoreQuery(boolQuery, functions.toArray(new FunctionScoreQueryBuilder.FilterFunctionBuilder[0]))
+                .scoreMode(FunctionScoreQuery.ScoreMode.fromString(ranking.getScoreMode()))
+                .boostMode(CombineFunction.fromString(ranking.getBoostMode()));
+        request.source().query(functionScoreQueryBuilder);
+    }
+
+    private static BoolQueryBuilder boolQuery(RequestParams params) {
+        BoolQueryBuilder boolQuery = new BoolQueryBuilder();
+        String key = params.getKey();
+        //2.准备DSL语句
+        //2.1关键词搜索
+        if (StringUtils.isEmpty(key)){
+            boolQuery.must(QueryBuilders.matchAllQuery());
+        }else {
+            boolQuery.must(QueryBuilders.matchQuery("name", key));
+        }
+        //2.2品牌搜索
+        if(params.getBrand() != null && !params.getBrand().equals("")){
+            boolQuery.filter(QueryBuilders.termQuery("brand", params.getBrand()));
+        }
+        //2.3城市搜索
+        if(params.getCity() != null && !params.getCity().equals("")){
+            boolQuery.filter(QueryBuilders.termQuery("city", params.getCity()));
+        }
+        //2.3星级搜索
+        if(params.getStarName() != null && !params.getStarName().equals("")){
+            boolQuery.filter(QueryBuilders.termQuery("starName", params.getStarName()));
+        }
+        //2.3价格区间搜索
+        if(params.getMinPrice() != null && params.getMaxPrice() != null ){
+            boolQuery.filter(QueryBuilders.rangeQuery("price").gte(params.getMinPrice()).lte(params.getMaxPrice()));
+        }
+        //2.4附近：半径范围，只对范围内的酒店算距离排序
+        if (params.getRadius() != null && StringUtils.hasText(params.getLocation())) {
+            boolQuery.filter(QueryBuilders.geoDistanceQuery("location")
+                    .point(new GeoPoint(params.getLocation()))
+                    .distance(params.getRadius(), DistanceUnit.KILOMETERS));
+        }
+        //2.5地图可视范围
+        if (StringUtils.hasText(params.getBbox())) {
+            double[] corners = corners(params.getBbox());
+            boolQuery.filter(QueryBuilders.geoBoundingBoxQuery("location")
+                    .setCorners(corners[0], corners[1], corners[2], corners[3]));
+        }
+        return boolQuery;
+    }
+
+    /**
+     * 地图可视范围的四个值：左上纬度,左上经度,右下纬度,右下经度
+     */
+    static double[] corners(String bbox) {
+        String[] corners = bbox.split(",");
+        if (corners.length != 4) {
+            throw new InvalidRequestException("bbox格式应为 左上纬度,左上经度,右下纬度,右下经度");
+        }
+        double[] values = new double[4];
+        try {
+            for (int i = 0; i < 4; i++) {
+                values[i] = Double.parseDouble(corners[i].trim());
+            }
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("bbox格式应为 左上纬度,左上经度,右下纬度,右下经度", e);
+        }
+        return values;
+    }
+
+    public static PageResult handleResponse(SearchResponse response, RequestParams params) {
+        //1.解析响应
+        SearchHits searchHits = response.getHits();
+        TotalHits totalHits = searchHits.getTotalHits();
+        long total = totalHits.value;
+        //数到track_total_hits的上限时，total只是下限
+        String relation = totalHits.relation == TotalHits.Relation.EQUAL_TO
+                ? HitCount.RELATION_EQ : HitCount.RELATION_GTE;
+        log.debug("总共搜索到 {}{} 条数据", total, HitCount.RELATION_GTE.equals(relation) ? "+" : "");
+        //2。文档数组
+        SearchHit[] hits = searchHits.getHits();
+        //集合存放文档
+        List<HotelDoc> hotels = new ArrayList<>(hits.length);
+        int distanceIndex = distanceIndex(params);
+        for (SearchHit hit : hits) {
+            //3.直接从_source字节解析数据 封装对象
+            HotelDoc hotelDoc = readHit(hit);
+
+            //获取排序值里的距离
+            Object[] sortValues = hit.getSortValues();
+            if (distanceIndex >= 0 && sortValues.length > distanceIndex){
+                Object sortValue = sortValues[distanceIndex];
+                hotelDoc.setDistance(sortValue);
+            }
+            hotels.add(hotelDoc);
+            if (log.isTraceEnabled()) {
+                log.trace("{}", hotelDoc);
+            }
+        }
+        PageResult result = new PageResult(total, relation, hotels);
+        //满一页说明可能还有下一页，用最后一条的排序值做游标
+        if (params.isCursorPaging() && hits.length > 0 && hits.length >= params.getSize()) {
+            Object[] lastSortValues = hits[hits.length - 1].getSortValues();
+            result.setCursor(new SearchCursor(lastSortValues, response.pointInTimeId()).encode());
+        }
+        return result;
+    }
+}
@@ -0,0 +1,464 @@
+package cn.itcast.hotel.service.impl;
+
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.constans.HotelConstants;
+import cn.itcast.hotel.index.HotelRouting;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.ranking.RankingConfig;
+import cn.itcast.hotel.ranking.SortMode;
+import cn.itcast.hotel.utils.Futures;
+import cn.itcast.hotel.utils.HitCount;
+import cn.itcast.hotel.utils.SearchCursor;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.ElasticsearchException;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.admin.cluster.storedscripts.DeleteStoredScriptRequest;
+import org.elasticsearch.action.admin.cluster.storedscripts.PutStoredScriptRequest;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.support.master.AcknowledgedResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.common.bytes.BytesReference;
+import org.elasticsearch.common.geo.GeoPoint;
+import org.elasticsearch.common.unit.DistanceUnit;
+import org.elasticsearch.common.xcontent.XContentBuilder;
+import org.elasticsearch.common.xcontent.XContentFactory;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.elasticsearch.rest.RestStatus;
+import org.elasticsearch.script.ScriptType;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.util.StringUtils;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * 列表、过滤项、列表+过滤项三种查询改用ES里存储的mustache搜索模板
+ * DSL的结构只由查询的"形状"决定：有没有关键字、带了哪些过滤条件、有没有坐标、怎么排序、怎么分页
+ * 每种形状第一次出现时，用HotelSearchRequests按占位值组装一次，序列化以后把占位值换成模板变量，得到模板原文并注册到ES
+ * 之后同形状的请求只发模板id和参数，不再组装、序列化整棵DSL，ES那边也直接用编译好的模板
+ * 模板还没注册好（第一次出现、注册失败、ES丢了脚本）时返回null，调用方照旧发完整DSL
+ * 排序权重变了时同一形状换成新模板，旧模板等正在发出的请求用完后从ES删除，脚本和模板不会越积越多
+ */
+@Slf4j
+@Component
+public class HotelSearchTemplates {
+    public static final String KIND_LIST = "list";
+    public static final String KIND_FILTERS = "filters";
+    public static final String KIND_SEARCH = "search";
+    /**
+     * 注册失败后隔多久再试，毫秒
+     */
+    private static final long RETRY_MS = 30_000;
+    /**
+     * 被替换下来的模板过多久从ES删除，毫秒
+     */
+    private static final long RETIRE_MS = 60_000;
+
+    //占位值：组装DSL时填进去，序列化以后换成模板变量，要选DSL里不会出现的值
+    private static final String KEY = "__key__";
+    private static final String BRAND = "__brand__";
+    private static final String CITY = "__city__";
+    private static final String STAR_NAME = "__starName__";
+    private static final String AFTER = "__after__";
+    private static final int SIZE = 9871;
+    private static final int PAGE = 9873;
+    private static final int MIN_PRICE = 98761;
+    private static final int MAX_PRICE = 98762;
+    private static final double RADIUS = 98763;
+    private static final int TRACK_TOTAL_HITS = 98764;
+    private static final double LAT = -87.654321;
+    private static final double LON = 176.543219;
+    private static final double TOP = -86.111111;
+    private static final double LEFT = 175.222222;
+    private static final double BOTTOM = -86.333333;
+    private static final double RIGHT = 175.444444;
+    /**
+     * 序列化后的占位值 -> 模板变量，按顺序替换，坐标字符串要在经纬度之前
+     */
+    private static final Map<String, String> PLACEHOLDERS = new LinkedHashMap<>();
+
+    static {
+        PLACEHOLDERS.put("[\"" + AFTER + "\"]", "{{#toJson}}after{{/toJson}}");
+        PLACEHOLDERS.put(KEY, "{{key}}");
+        PLACEHOLDERS.put(BRAND, "{{brand}}");
+        PLACEHOLDERS.put(CITY, "{{city}}");
+        PLACEHOLDERS.put(STAR_NAME, "{{starName}}");
+        PLACEHOLDERS.put(LAT + "," + LON, "{{location}}");
+        PLACEHOLDERS.put(String.valueOf((PAGE - 1) * SIZE), "{{from}}");
+        PLACEHOLDERS.put(String.valueOf(SIZE), "{{size}}");
+        PLACEHOLDERS.put(String.valueOf(TRACK_TOTAL_HITS), "{{trackTotalHits}}");
+        PLACEHOLDERS.put(String.valueOf(MIN_PRICE), "{{minPrice}}");
+        PLACEHOLDERS.put(String.valueOf(MAX_PRICE), "{{maxPrice}}");
+        PLACEHOLDERS.put(String.valueOf(DistanceUnit.KILOMETERS.toMeters(RADIUS)), "{{radiusMeters}}");
+        PLACEHOLDERS.put(String.valueOf(LAT), "{{lat}}");
+        PLACEHOLDERS.put(String.valueOf(LON), "{{lon}}");
+        PLACEHOLDERS.put(String.valueOf(TOP), "{{top}}");
+        PLACEHOLDERS.put(String.valueOf(LEFT), "{{left}}");
+        PLACEHOLDERS.put(String.valueOf(BOTTOM), "{{bottom}}");
+        PLACEHOLDERS.put(String.valueOf(RIGHT), "{{right}}");
+    }
+
+    private static final int NEW = 0;
+    private static final int REGISTERING = 1;
+    private static final int READY = 2;
+
+    @Autowired
+    private RestHighLevelClient client;
+    @Autowired
+    private SearchProperties properties;
+    @Autowired
+    private HotelRouting routing;
+
+    /**
+     * 形状 -> 当前排序权重下的模板，模板原文每种形状只生成一次
+     */
+    private final Map<String, Template> templates = new ConcurrentHashMap<>();
+    /**
+     * 被替换下来的模板id -> 可以删除的时间
+     */
+    private final Map<String, Long> retired = new ConcurrentHashMap<>();
+    private final LongAdder templated = new LongAdder();
+    private final LongAdder inline = new LongAdder();
+
+    /**
+     * 分页查询；point in time的请求不走模板
+     */
+    public SearchTemplateRequest list(RequestParams params, RankingConfig ranking) {
+        return HotelSearchRequests.usesPointInTime(params) ? null : request(KIND_LIST, params, ranking);
+    }
+
+    public SearchTemplateRequest filters(RequestParams params) {
+        return request(KIND_FILTERS, params, null);
+    }
+
+    public SearchTemplateRequest combined(RequestParams params, RankingConfig ranking) {
+        return HotelSearchRequests.usesPointInTime(params) ? null : request(KIND_SEARCH, params, ranking);
+    }
+
+    private SearchTemplateRequest request(String kind, RequestParams params, RankingConfig ranking) {
+        if (!properties.isTemplates()) {
+            return null;
+        }
+        Template template = template(kind, params, ranking);
+        purgeRetired();
+        if (template.getId() == null || !ready(template)) {
+            inline.increment();
+            return null;
+        }
+        templated.increment();
+        SearchTemplateRequest request = new SearchTemplateRequest(
+                routing.route(new SearchRequest(HotelConstants.INDEX_ALIAS), params));
+        request.setScriptType(ScriptType.STORED);
+        request.setScript(template.getId());
+        request.setScriptParams(values(params));
+        return request;
+    }
+
+    /**
+     * 这次查询对应的模板；排序权重变了，这种形状的模板重新生成，替换下来的模板过一会儿删除
+     */
+    public Template template(String kind, RequestParams params, RankingConfig ranking) {
+        if (KIND_FILTERS.equals(kind)) {
+            //聚合只用到过滤条件，和排序、分页、算分无关
+            ranking = null;
+        }
+        String shape = shape(kind, params);
+        Template template = templates.get(shape);
+        if (template == null || (ranking != null && !ranking.equals(template.ranking))) {
+            template = build(kind, params, ranking == null ? null : ranking.copy());
+            Template old = templates.put(shape, template);
+            if (template.getId() != null) {
+                //改回了之前的权重，还没删的旧模板接着用
+                retired.remove(template.getId());
+            }
+            if (old != null && old.getId() != null && !old.getId().equals(template.getId())) {
+                retired.put(old.getId(), System.currentTimeMillis() + RETIRE_MS);
+            }
+        }
+        return template;
+    }
+
+    /**
+     * 模板查询失败：ES说找不到脚本（比如集群重建过），下次重新注册
+     */
+    public void failed(SearchTemplateRequest request, Throwable e) {
+        Throwable cause = Futures.unwrap(e);
+        if (!(cause instanceof ElasticsearchException)
+                || ((ElasticsearchException) cause).status() != RestStatus.NOT_FOUND) {
+            return;
+        }
+        for (Template template : templates.values()) {
+            if (request.getScript().equals(template.getId())
+                    && template.state.compareAndSet(READY, NEW)) {
+                log.warn("ES里找不到搜索模板{}，重新注册", template.getId());
+            }
+        }
+    }
+
+    public Map<String, Object> stats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("enabled", properties.isTemplates());
+        stats.put("shapes", templates.size());
+        stats.put("ready", templates.values().stream().filter(t -> t.state.get() == READY).count());
+        stats.put("retired", retired.size());
+        stats.put("templated", templated.sum());
+        stats.put("inline", inline.sum());
+        return stats;
+    }
+
+    /**
+     * 模板参数，和组装DSL时对同一个参数的处理一致
+     */
+    public static Map<String, Object> values(RequestParams params) {
+        Map<String, Object> values = new HashMap<>();
+        int size = params.getSize();
+        values.put("size", size);
+        if (!params.isCursorPaging()) {
+            values.put("from", (params.getPage() - 1) * size);
+        } else if (StringUtils.hasText(params.getCursor())) {
+            values.put("after", Arrays.asList(SearchCursor.decode(params.getCursor()).getSortValues()));
+        }
+        values.put("trackTotalHits", HitCount.of(params).limit());
+        putIfPresent(values, "key", params.getKey());
+        putIfPresent(values, "brand", params.getBrand());
+        putIfPresent(values, "city", params.getCity());
+        putIfPresent(values, "starName", params.getStarName());
+        putIfPresent(values, "minPrice", params.getMinPrice());
+        putIfPresent(values, "maxPrice", params.getMaxPrice());
+        if (StringUtils.hasText(params.getLocation())) {
+            GeoPoint point = new GeoPoint(params.getLocation());
+            values.put("location", params.getLocation().trim());
+            values.put("lat", point.getLat());
+            values.put("lon", point.getLon());
+        }
+        if (params.getRadius() != null) {
+            values.put("radiusMeters", DistanceUnit.KILOMETERS.toMeters(params.getRadius()));
+        }
+        if (StringUtils.hasText(params.getBbox())) {
+            double[] corners = HotelSearchRequests.corners(params.getBbox());
+            values.put("top", corners[0]);
+            values.put("left", corners[1]);
+            values.put("bottom", corners[2]);
+            values.put("right", corners[3]);
+        }
+        return values;
+    }
+
+    private static void putIfPresent(Map<String, Object> values, String name, Object value) {
+        if (value != null) {
+            values.put(name, value);
+        }
+    }
+
+    /**
+     * 形状只包含决定DSL结构的部分，和HotelSearchRequests里的判断条件一致
+     */
+    private static String shape(String kind, RequestParams params) {
+        StringBuilder shape = new StringBuilder(kind).append('|');
+        shape.append(StringUtils.isEmpty(params.getKey()) ? '-' : 'k');
+        shape.append(StringUtils.hasLength(params.getBrand()) ? 'b' : '-');
+        shape.append(StringUtils.hasLength(params.getCity()) ? 'c' : '-');
+        shape.append(StringUtils.hasLength(params.getStarName()) ? 's' : '-');
+        shape.append(params.getMinPrice() != null && params.getMaxPrice() != null ? 'p' : '-');
+        shape.append(params.getRadius() != null && StringUtils.hasText(params.getLocation()) ? 'r' : '-');
+        shape.append(StringUtils.hasText(params.getBbox()) ? 'x' : '-');
+        if (!KIND_FILTERS.equals(kind)) {
+            shape.append(StringUtils.hasLength(params.getLocation()) ? 'l' : '-');
+            shape.append('|').append(SortMode.of(params).key());
+            if (params.isCursorPaging()) {
+                shape.append(StringUtils.hasText(params.getCursor()) ? "|after" : "|cursor");
+            }
+        }
+        return shape.toString();
+    }
+
+    /**
+     * 用占位值组装一次DSL，再把占位值换成模板变量
+     */
+    private static Template build(String kind, RequestParams params, RankingConfig ranking) {
+        RequestParams sample = new RequestParams();
+        sample.setPage(PAGE);
+        sample.setSize(SIZE);
+        if (!StringUtils.isEmpty(params.getKey())) {
+            sample.setKey(KEY);
+        }
+        if (StringUtils.hasLength(params.getBrand())) {
+            sample.setBrand(BRAND);
+        }
+        if (StringUtils.hasLength(params.getCity())) {
+            sample.setCity(CITY);
+        }
+        if (StringUtils.hasLength(params.getStarName())) {
+            sample.setStarName(STAR_NAME);
+        }
+        if (params.getMinPrice() != null && params.getMaxPrice() != null) {
+            sample.setMinPrice(MIN_PRICE);
+            sample.setMaxPrice(MAX_PRICE);
+        }
+        if (StringUtils.hasLength(params.getLocation())) {
+            sample.setLocation(LAT + "," + LON);
+            if (params.getRadius() != null) {
+                sample.setRadius(RADIUS);
+            }
+        }
+        if (StringUtils.hasText(params.getBbox())) {
+            sample.setBbox(TOP + "," + LEFT + "," + BOTTOM + "," + RIGHT);
+        }
+        if (!KIND_FILTERS.equals(kind)) {
+            sample.setSort(SortMode.of(params).key());
+            sample.setPaging(params.getPaging());
+            sample.setCount(String.valueOf(TRACK_TOTAL_HITS));
+            if (params.isCursorPaging() && StringUtils.hasText(params.getCursor())) {
+                sample.setCursor(new SearchCursor(new Object[]{AFTER}, null).encode());
+            }
+        }
+        SearchRequest request;
+        switch (kind) {
+            case KIND_FILTERS:
+                request = HotelSearchRequests.filtersRequest(sample);
+                break;
+            case KIND_SEARCH:
+                request = HotelSearchRequests.combinedRequest(sample, ranking);
+                break;
+            default:
+                request = HotelSearchRequests.searchRequest(sample, ranking);
+        }
+        String source = request.source().toString();
+        for (Map.Entry<String, String> placeholder : PLACEHOLDERS.entrySet()) {
+            //数字要整个匹配，不能替换掉更长数字的一部分
+            Pattern token = Pattern.compile("(?<![\\w.])" + Pattern.quote(placeholder.getKey()) + "(?![\\w.])");
+            source = token.matcher(source).replaceAll(Matcher.quoteReplacement(placeholder.getValue()));
+        }
+        for (String value : PLACEHOLDERS.keySet()) {
+            if (source.contains(value)) {
+                //占位值被改写过（比如换了数字格式），这个形状不用模板
+                log.warn("搜索模板里还有没替换的占位值{}，这种查询继续发完整DSL: {}", value, source);
+                return new Template(null, source, ranking);
+            }
+        }
+        String id = "hotel-" + kind + "-"
+                + DigestUtils.md5DigestAsHex(source.getBytes(StandardCharsets.UTF_8)).substring(0, 16);
+        return new Template(id, source, ranking);
+    }
+
+    /**
+     * 删除到期的旧模板；换模板前发出的请求可能还在用旧id，所以不马上删
+     */
+    private void purgeRetired() {
+        if (retired.isEmpty()) {
+            return;
+        }
+        long now = System.currentTimeMillis();
+        for (Map.Entry<String, Long> entry : retired.entrySet()) {
+            if (entry.getValue() <= now && retired.remove(entry.getKey(), entry.getValue())) {
+                delete(entry.getKey());
+            }
+        }
+    }
+
+    private void delete(String id) {
+        for (Template template : templates.values()) {
+            if (id.equals(template.getId())) {
+                //别的形状生成了一样的模板，还在用
+                return;
+            }
+        }
+        client.deleteScriptAsync(new DeleteStoredScriptRequest(id), RequestOptions.DEFAULT,
+                new ActionListener<AcknowledgedResponse>() {
+                    @Override
+                    public void onResponse(AcknowledgedResponse response) {
+                        log.info("删除不再使用的搜索模板{}", id);
+                    }
+
+                    @Override
+                    public void onFailure(Exception e) {
+                        if (e instanceof ElasticsearchException
+                                && ((ElasticsearchException) e).status() == RestStatus.NOT_FOUND) {
+                            return;
+                        }
+                        retired.putIfAbsent(id, System.currentTimeMillis() + RETRY_MS);
+                        log.warn("删除搜索模板{}失败，{}ms后重试", id, RETRY_MS, e);
+                    }
+                });
+    }
+
+    /**
+     * 已注册的直接用；没注册的异步注册，这次先发完整DSL，不在请求线程上等
+     */
+    private boolean ready(Template template) {
+        int state = template.state.get();
+        if (state == READY) {
+            return true;
+        }
+        if (state == NEW && System.currentTimeMillis() >= template.retryAt
+                && template.state.compareAndSet(NEW, REGISTERING)) {
+            register(template);
+        }
+        return false;
+    }
+
+    private void register(Template template) {
+        PutStoredScriptRequest request;
+        try {
+            XContentBuilder content = XContentFactory.jsonBuilder()
+                    .startObject()
+                    .startObject("script")
+                    .field("lang", "mustache")
+                    .field("source", template.getSource())
+                    .endObject()
+                    .endObject();
+            request = new PutStoredScriptRequest().id(template.getId())
+                    .content(BytesReference.bytes(content), XContentType.JSON);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        client.putScriptAsync(request, RequestOptions.DEFAULT, new ActionListener<AcknowledgedResponse>() {
+            @Override
+            public void onResponse(AcknowledgedResponse response) {
+                template.state.set(READY);
+                log.info("注册搜索模板{}", template.getId());
+            }
+
+            @Override
+            public void onFailure(Exception e) {
+                template.retryAt = System.currentTimeMillis() + RETRY_MS;
+                template.state.set(NEW);
+                log.warn("注册搜索模板{}失败，{}ms后重试", template.getId(), RETRY_MS, e);
+            }
+        });
+    }
+
+    /**
+     * 一种形状的模板；id为null表示这种形状不能用模板
+     */
+    public static final class Template {
+        @Getter
+        private final String id;
+        @Getter
+        private final String source;
+        private final RankingConfig ranking;
+        private final AtomicInteger state = new AtomicInteger(NEW);
+        private volatile long retryAt;
+
+        private Template(String id, String source, RankingConfig ranking) {
+            this.id = id;
+            this.source = source;
+            this.ranking = ranking;
+        }
+    }
+}
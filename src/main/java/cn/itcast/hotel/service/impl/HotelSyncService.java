@@ -0,0 +1,382 @@
+package cn.itcast.hotel.service.impl;
+
+import cn.itcast.hotel.cache.IndexGeneration;
+import cn.itcast.hotel.config.SyncProperties;
+import cn.itcast.hotel.index.HotelRouting;
+import cn.itcast.hotel.mapper.HotelMapper;
+import cn.itcast.hotel.mapper.HotelOutboxMapper;
+import cn.itcast.hotel.mapper.SyncCheckpointMapper;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.HotelOutbox;
+import cn.itcast.hotel.pojo.SyncCheckpoint;
+import cn.itcast.hotel.service.HotelChangeListener;
+import cn.itcast.hotel.service.IHotelSyncService;
+import com.baomidou.mybatisplus.core.conditions.query.LambdaQueryWrapper;
+import lombok.extern.slf4j.Slf4j;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.bulk.BulkItemResponse;
+import org.elasticsearch.action.bulk.BulkRequest;
+import org.elasticsearch.action.bulk.BulkResponse;
+import org.elasticsearch.action.support.WriteRequest;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.client.RestHighLevelClient;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * 发件箱增量同步：按发件箱id顺序读取变更，同一酒店的多次修改合并成一次，
+ * 按数据库里的最新数据做局部更新(doc + upsert)批量写入ES，成功后推进高水位并持久化
+ * 没打开同步的实例跟随发件箱：同样读取、合并变更，只通知本地索引，不写ES，进度只记在内存里
+ */
+@Slf4j
+@Service
+public class HotelSyncService implements IHotelSyncService {
+    private static final String CHECKPOINT_NAME = "hotel-es-sync";
+
+    @Autowired
+    private HotelMapper hotelMapper;
+    @Autowired
+    private HotelOutboxMapper outboxMapper;
+    @Autowired
+    private SyncCheckpointMapper checkpointMapper;
+    @Autowired
+    private RestHighLevelClient client;
+    @Autowired
+    private SyncProperties properties;
+    @Autowired
+    private IndexGeneration indexGeneration;
+    @Autowired
+    private HotelRouting routing;
+    @Autowired(required = false)
+    private List<HotelChangeListener> listeners = Collections.emptyList();
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition signal = lock.newCondition();
+    private boolean signaled;
+    /**
+     * 已经读过的最大发件箱id
+     */
+    private long lastSeenId;
+    /**
+     * 发件箱id里的空洞 -> 第一次发现的时间，可能是还没提交的事务
+     */
+    private final TreeMap<Long, Long> gaps = new TreeMap<>();
+    private long lastPurge;
+    /**
+     * 负责写ES的实例；否则只跟随发件箱更新本地索引
+     */
+    private boolean writer;
+    private volatile boolean running;
+    private Thread worker;
+
+    @PostConstruct
+    public void start() {
+        writer = properties.isEnabled();
+        if (!writer && !properties.isFollow()) {
+            return;
+        }
+        running = true;
+        worker = new Thread(this::loop, writer ? "hotel-es-sync" : "hotel-outbox-follower");
+        worker.setDaemon(true);
+        worker.start();
+    }
+
+    @PreDestroy
+    public void stop() throws InterruptedException {
+        running = false;
+        if (worker != null) {
+            worker.interrupt();
+            worker.join(TimeUnit.SECONDS.toMillis(5));
+        }
+    }
+
+    @Override
+    public void wakeUp() {
+        lock.lock();
+        try {
+            signaled = true;
+            signal.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long watermark() {
+        lock.lock();
+        try {
+            return gaps.isEmpty() ? lastSeenId : gaps.firstKey() - 1;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public void rewindTo(long watermark) {
+        lock.lock();
+        try {
+            if (watermark < lastSeenId) {
+                log.info("同步进度回退：{} -> {}", lastSeenId, watermark);
+                lastSeenId = watermark;
+                gaps.headMap(watermark, true).clear();
+                if (writer) {
+                    saveCheckpoint(watermark);
+                }
+            }
+            signaled = true;
+            signal.signal();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    @Override
+    public long headPosition() {
+        return outboxMapper.selectMaxId();
+    }
+
+    private void loop() {
+        boolean loaded = false;
+        while (running) {
+            try {
+                if (!loaded) {
+                    lastSeenId = writer ? loadCheckpoint() : followFrom();
+                    loaded = true;
+                    log.info("{}从发件箱位置{}开始", writer ? "增量同步" : "跟随发件箱", lastSeenId);
+                }
+                awaitWork();
+                //一直同步到追平为止
+                while (running && syncOnce()) {
+                }
+                if (writer) {
+                    purgeOutbox();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (Exception e) {
+                log.error("增量同步失败，{}ms后重试", properties.getErrorBackoffMs(), e);
+                try {
+                    Thread.sleep(properties.getErrorBackoffMs());
+                } catch (InterruptedException ie) {
+                    return;
+                }
+            }
+        }
+    }
+
+    private void awaitWork() throws InterruptedException {
+        lock.lock();
+        try {
+            if (!signaled) {
+                signal.await(properties.getPollIntervalMs(), TimeUnit.MILLISECONDS);
+            }
+            boolean woken = signaled;
+            signaled = false;
+            if (woken) {
+                //留一个很短的窗口，把紧接着的修改合并进同一批
+                signal.await(properties.getCoalesceWindowMs(), TimeUnit.MILLISECONDS);
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * 同步一批变更
+     * @return 是否读满了一批，读满说明后面可能还有
+     */
+    private boolean syncOnce() throws IOException {
+        //1.读取新的变更和之前空洞里迟到的变更
+        long from;
+        List<Long> pendingGaps;
+        lock.lock();
+        try {
+            from = lastSeenId;
+            pendingGaps = new ArrayList<>(gaps.keySet());
+        } finally {
+            lock.unlock();
+        }
+        List<HotelOutbox> rows = outboxMapper.selectBatchAfter(from, properties.getBatchSize());
+        List<HotelOutbox> late = pendingGaps.isEmpty()
+                ? Collections.emptyList()
+                : outboxMapper.selectBatchIds(pendingGaps);
+        if (rows.isEmpty() && late.isEmpty()) {
+            expireGaps();
+            return false;
+        }
+        //2.按酒店id合并，后面的操作覆盖前面的
+        Map<Long, String> changes = new LinkedHashMap<>();
+        for (HotelOutbox row : late) {
+            changes.put(row.getHotelId(), row.getOp());
+        }
+        for (HotelOutbox row : rows) {
+            changes.remove(row.getHotelId());
+            changes.put(row.getHotelId(), row.getOp());
+        }
+        //3.写入ES，失败抛异常，不推进水位，下次整批重来；跟随时只更新本地索引
+        if (writer) {
+            flush(changes);
+            indexGeneration.changed();
+        } else {
+            notifyListeners(changes.keySet(), latest(changes));
+        }
+        //4.推进水位
+        lock.lock();
+        try {
+            for (HotelOutbox row : late) {
+                gaps.remove(row.getId());
+            }
+            if (lastSeenId == from) {
+                long expected = from + 1;
+                for (HotelOutbox row : rows) {
+                    long gapSize = row.getId() - expected;
+                    if (gapSize > 0 && gapSize <= properties.getMaxGapSize()) {
+                        long now = System.currentTimeMillis();
+                        for (long id = expected; id < row.getId(); id++) {
+                            gaps.put(id, now);
+                        }
+                    }
+                    expected = row.getId() + 1;
+                }
+                if (!rows.isEmpty()) {
+                    lastSeenId = rows.get(rows.size() - 1).getId();
+                }
+            }
+            expireGaps();
+            if (writer) {
+                saveCheckpoint(gaps.isEmpty() ? lastSeenId : gaps.firstKey() - 1);
+            }
+        } finally {
+            lock.unlock();
+        }
+        log.debug("增量同步{}条变更，合并为{}个酒店", rows.size() + late.size(), changes.size());
+        return rows.size() >= properties.getBatchSize();
+    }
+
+    private void flush(Map<Long, String> changes) throws IOException {
+        //1.查询需要更新的酒店的最新数据，查不到的按删除处理
+        Map<Long, Hotel> hotels = latest(changes);
+        //2.组装bulk，更新用局部更新，保留ES里独有的字段(如ADing)
+        //按城市路由的索引要先查出文档现在的路由，删除和换了城市的酒店都要发到旧分片
+        boolean routed = HotelRouting.CITY.equals(routing.refresh());
+        Map<Long, HotelRouting.Placement> placements = routed
+                ? routing.placements(changes.keySet()) : Collections.emptyMap();
+        //等到写入能被搜到再返回，之后才让缓存失效，否则刷新前查到的旧结果会存到新代数下
+        BulkRequest bulkRequest = new BulkRequest().setRefreshPolicy(WriteRequest.RefreshPolicy.WAIT_UNTIL);
+        for (Long id : changes.keySet()) {
+            Hotel hotel = hotels.get(id);
+            for (DocWriteRequest<?> write : HotelRouting.writes(id, hotel == null ? null : new HotelDoc(hotel),
+                    routed, placements.get(id))) {
+                bulkRequest.add(write);
+            }
+        }
+        if (bulkRequest.numberOfActions() == 0) {
+            return;
+        }
+        //3.发送请求，有失败就整批重试，局部更新是幂等的
+        BulkResponse response = client.bulk(bulkRequest, RequestOptions.DEFAULT);
+        if (response.hasFailures()) {
+            for (BulkItemResponse item : response.getItems()) {
+                if (item.isFailed()) {
+                    throw new IllegalStateException("同步酒店" + item.getId() + "失败：" + item.getFailureMessage());
+                }
+            }
+        }
+        //4.通知本地索引
+        notifyListeners(changes.keySet(), hotels);
+    }
+
+    /**
+     * 要更新的酒店在数据库里的最新数据，删除的和查不到的不在结果里
+     */
+    private Map<Long, Hotel> latest(Map<Long, String> changes) {
+        List<Long> upsertIds = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : changes.entrySet()) {
+            if (!HotelOutbox.OP_DELETE.equals(entry.getValue())) {
+                upsertIds.add(entry.getKey());
+            }
+        }
+        Map<Long, Hotel> hotels = new HashMap<>();
+        if (!upsertIds.isEmpty()) {
+            for (Hotel hotel : hotelMapper.selectBatchIds(upsertIds)) {
+                hotels.put(hotel.getId(), hotel);
+            }
+        }
+        return hotels;
+    }
+
+    /**
+     * 跟随的起点：进程启动前followReplayMs以来的第一条变更，本地索引的全量加载在这之后开始
+     */
+    private long followFrom() {
+        long startedAt = ManagementFactory.getRuntimeMXBean().getStartTime();
+        return outboxMapper.selectIdBefore(new Date(startedAt - properties.getFollowReplayMs()));
+    }
+
+    private void notifyListeners(Collection<Long> ids, Map<Long, Hotel> hotels) {
+        for (HotelChangeListener listener : listeners) {
+            for (Long id : ids) {
+                try {
+                    Hotel hotel = hotels.get(id);
+                    if (hotel == null) {
+                        listener.onDelete(id);
+                    } else {
+                        listener.onUpsert(hotel);
+                    }
+                } catch (RuntimeException e) {
+                    log.warn("{}处理酒店{}的变更失败", listener.getClass().getSimpleName(), id, e);
+                }
+            }
+        }
+    }
+
+    private void expireGaps() {
+        long deadline = System.currentTimeMillis() - properties.getGapTimeoutMs();
+        //回滚的事务会永久留下空洞，等待超时后放弃
+        gaps.values().removeIf(firstSeen -> firstSeen < deadline);
+    }
+
+    private long loadCheckpoint() {
+        SyncCheckpoint checkpoint = checkpointMapper.selectById(CHECKPOINT_NAME);
+        if (checkpoint == null) {
+            checkpoint = new SyncCheckpoint();
+            checkpoint.setName(CHECKPOINT_NAME);
+            checkpoint.setWatermark(0L);
+            checkpointMapper.insert(checkpoint);
+        }
+        return checkpoint.getWatermark();
+    }
+
+    private void saveCheckpoint(long watermark) {
+        SyncCheckpoint checkpoint = new SyncCheckpoint();
+        checkpoint.setName(CHECKPOINT_NAME);
+        checkpoint.setWatermark(watermark);
+        checkpointMapper.updateById(checkpoint);
+    }
+
+    private void purgeOutbox() {
+        long now = System.currentTimeMillis();
+        if (now - lastPurge < TimeUnit.MINUTES.toMillis(10)) {
+            return;
+        }
+        lastPurge = now;
+        Date cutoff = new Date(now - TimeUnit.HOURS.toMillis(properties.getOutboxRetentionHours()));
+        int deleted = outboxMapper.delete(new LambdaQueryWrapper<HotelOutbox>()
+                .le(HotelOutbox::getId, watermark())
+                .lt(HotelOutbox::getCreateTime, cutoff));
+        if (deleted > 0) {
+            log.info("清理已同步的发件箱记录{}条", deleted);
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package cn.itcast.hotel.suggest;
+
+import cn.itcast.hotel.config.SuggestProperties;
+import cn.itcast.hotel.mapper.HotelMapper;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.service.HotelChangeListener;
+import cn.itcast.hotel.utils.HotelCursor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 本地自动补全：用HotelDoc.suggestion（品牌+商圈）在后台建前缀树，建好后原子替换
+ * 数据变更只给变更计数加一，计数变了才按最短间隔合并重建；重建在自己的线程上，不占Spring的定时任务线程
+ */
+@Slf4j
+@Component
+public class SuggestionIndex implements HotelChangeListener {
+    /**
+     * 多久检查一次要不要重建，毫秒
+     */
+    private static final long CHECK_INTERVAL_MS = 5_000;
+
+    @Autowired
+    private HotelMapper hotelMapper;
+    @Autowired
+    private SuggestProperties properties;
+
+    private volatile SuggestionTrie trie;
+    /**
+     * 每次数据变更加一
+     */
+    private final AtomicLong changes = new AtomicLong();
+    /**
+     * 当前这棵树开始构建时的变更计数
+     */
+    private volatile long builtFrom = -1;
+    private volatile long builtAt;
+    private final AtomicBoolean building = new AtomicBoolean();
+    private ScheduledExecutorService executor;
+
+    @PostConstruct
+    public void init() {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        executor = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "suggestion-rebuild");
+            thread.setDaemon(true);
+            return thread;
+        });
+        executor.scheduleWithFixedDelay(this::rebuildIfNeeded, 0, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    public boolean isReady() {
+        return trie != null;
+    }
+
+    public List<String> lookup(String prefix) {
+        SuggestionTrie current = trie;
+        if (current == null) {
+            return Collections.emptyList();
+        }
+        return current.lookup(prefix, properties.getSize());
+    }
+
+    public void rebuildIfNeeded() {
+        boolean due = trie == null
+                || (changes.get() != builtFrom
+                && System.currentTimeMillis() - builtAt >= properties.getMinRebuildIntervalMs());
+        if (due) {
+            rebuild();
+        }
+    }
+
+    /**
+     * 已经有一次重建在进行时直接返回false，不会同时扫两遍全表
+     */
+    public boolean rebuild() {
+        if (!building.compareAndSet(false, true)) {
+            log.debug("自动补全索引正在重建，跳过这次");
+            return false;
+        }
+        long start = System.currentTimeMillis();
+        //先记下计数，构建期间的变更会让下一次检查再重建
+        long from = changes.get();
+        try {
+            //1.统计每个补全词出现的次数作为权重
+            Map<String, Integer> weights = new HashMap<>();
+            HotelCursor cursor = new HotelCursor(hotelMapper, 1000);
+            while (cursor.hasNext()) {
+                for (Hotel hotel : cursor.next()) {
+                    collect(hotel, weights);
+                }
+            }
+            //2.建树后整体替换，查询线程看到的要么是旧树要么是新树
+            SuggestionTrie built = SuggestionTrie.build(weights, properties.getSize());
+            trie = built;
+            builtFrom = from;
+            log.info("自动补全索引重建完成，{}个词，{}个节点，耗时{}ms",
+                    built.size(), built.nodeCount(), System.currentTimeMillis() - start);
+            return true;
+        } catch (RuntimeException e) {
+            log.warn("自动补全索引重建失败", e);
+            return false;
+        } finally {
+            builtAt = System.currentTimeMillis();
+            building.set(false);
+        }
+    }
+    private static void collect(Hotel hotel, Map<String, Integer> weights) {
+        List<String> suggestion;
+        try {
+            suggestion = new HotelDoc(hotel).getSuggestion();
+        } catch (RuntimeException e) {
+            return;
+        }
+        if (suggestion == null) {
+            return;
+        }
+        for (String text : suggestion) {
+            if (text == null || text.isEmpty()) {
+                continue;
+            }
+            //和原来ES结果的处理保持一致
+            if (text.contains("/")) {
+                text = text.replace("/", "\n");
+            }
+            weights.merge(text, 1, Integer::sum);
+        }
+    }
+
+    @Override
+    public void onUpsert(Hotel hotel) {
+        changes.incrementAndGet();
+    }
+
+    @Override
+    public void onDelete(Long id) {
+        changes.incrementAndGet();
+    }
+}
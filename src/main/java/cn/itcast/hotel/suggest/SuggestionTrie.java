@@ -0,0 +1,184 @@
+package cn.itcast.hotel.suggest;
+
+import java.util.*;
+
+/**
+ * 只读的前缀树，节点全部展开成数组，每个节点预先算好权重最高的前topK个补全结果，
+ * 查询只需要沿着前缀走到节点，不需要遍历子树
+ */
+public class SuggestionTrie {
+    /**
+     * 补全结果的原文和权重，按匹配用的key排好序
+     */
+    private final String[] texts;
+    /**
+     * 节点i的字符、第一个子节点、子节点个数，子节点连续存放并按字符排序
+     */
+    private final char[] labels;
+    private final int[] firstChild;
+    private final int[] childCount;
+    /**
+     * 节点i的补全结果是tops[topStart[i] .. topStart[i+1])，存的是texts的下标
+     */
+    private final int[] topStart;
+    private final int[] tops;
+
+    private SuggestionTrie(String[] texts, char[] labels, int[] firstChild, int[] childCount, int[] topStart, int[] tops) {
+        this.texts = texts;
+        this.labels = labels;
+        this.firstChild = firstChild;
+        this.childCount = childCount;
+        this.topStart = topStart;
+        this.tops = tops;
+    }
+
+    public int size() {
+        return texts.length;
+    }
+
+    public int nodeCount() {
+        return labels.length;
+    }
+
+    public List<String> lookup(String prefix, int limit) {
+        if (prefix == null || prefix.isEmpty() || texts.length == 0) {
+            return Collections.emptyList();
+        }
+        String key = normalize(prefix);
+        int node = 0;
+        for (int i = 0; i < key.length(); i++) {
+            node = child(node, key.charAt(i));
+            if (node < 0) {
+                return Collections.emptyList();
+            }
+        }
+        int from = topStart[node];
+        int to = Math.min(topStart[node + 1], from + limit);
+        List<String> result = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            result.add(texts[tops[i]]);
+        }
+        return result;
+    }
+
+    private int child(int node, char c) {
+        int lo = firstChild[node];
+        int hi = lo + childCount[node] - 1;
+        while (lo <= hi) {
+            int mid = (lo + hi) >>> 1;
+            char label = labels[mid];
+            if (label < c) {
+                lo = mid + 1;
+            } else if (label > c) {
+                hi = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -1;
+    }
+
+    static String normalize(String text) {
+        return text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * @param weights 补全文本 -> 权重
+     * @param topK 每个节点保留的结果数
+     */
+    public static SuggestionTrie build(Map<String, Integer> weights, int topK) {
+        //1.按匹配key排序，同一前缀的词落在连续的区间里
+        List<Map.Entry<String, Integer>> entries = new ArrayList<>();
+        for (Map.Entry<String, Integer> entry : weights.entrySet()) {
+            if (entry.getKey() != null && !normalize(entry.getKey()).isEmpty()) {
+                entries.add(entry);
+            }
+        }
+        entries.sort(Comparator.comparing(e -> normalize(e.getKey())));
+        int n = entries.size();
+        String[] texts = new String[n];
+        String[] keys = new String[n];
+        int[] termWeights = new int[n];
+        for (int i = 0; i < n; i++) {
+            texts[i] = entries.get(i).getKey();
+            keys[i] = normalize(texts[i]);
+            termWeights[i] = entries.get(i).getValue();
+        }
+
+        //2.广度优先建树，保证同一节点的子节点连续
+        List<int[]> ranges = new ArrayList<>();
+        List<Character> labelList = new ArrayList<>();
+        List<Integer> depthList = new ArrayList<>();
+        ranges.add(new int[]{0, n});
+        labelList.add('\0');
+        depthList.add(0);
+        int[] firstChildTmp = new int[16];
+        int[] childCountTmp = new int[16];
+        for (int node = 0; node < ranges.size(); node++) {
+            if (node >= firstChildTmp.length) {
+                firstChildTmp = Arrays.copyOf(firstChildTmp, firstChildTmp.length * 2);
+                childCountTmp = Arrays.copyOf(childCountTmp, childCountTmp.length * 2);
+            }
+            int[] range = ranges.get(node);
+            int depth = depthList.get(node);
+            firstChildTmp[node] = ranges.size();
+            int i = range[0];
+            //长度等于depth的词在区间开头，它们就终止在这个节点
+            while (i < range[1] && keys[i].length() == depth) {
+                i++;
+            }
+            while (i < range[1]) {
+                char c = keys[i].charAt(depth);
+                int start = i;
+                while (i < range[1] && keys[i].charAt(depth) == c) {
+                    i++;
+                }
+                ranges.add(new int[]{start, i});
+                labelList.add(c);
+                depthList.add(depth + 1);
+            }
+            childCountTmp[node] = ranges.size() - firstChildTmp[node];
+        }
+
+        //3.每个节点取区间内权重最高的topK个
+        int nodes = ranges.size();
+        char[] labels = new char[nodes];
+        int[] topStart = new int[nodes + 1];
+        int[] topsTmp = new int[Math.max(16, nodes)];
+        int written = 0;
+        for (int node = 0; node < nodes; node++) {
+            labels[node] = labelList.get(node);
+            int[] range = ranges.get(node);
+            int[] best = topOf(range[0], range[1], termWeights, texts, topK);
+            if (written + best.length > topsTmp.length) {
+                topsTmp = Arrays.copyOf(topsTmp, Math.max(topsTmp.length * 2, written + best.length));
+            }
+            System.arraycopy(best, 0, topsTmp, written, best.length);
+            topStart[node] = written;
+            written += best.length;
+        }
+        topStart[nodes] = written;
+        return new SuggestionTrie(texts, labels,
+                Arrays.copyOf(firstChildTmp, nodes), Arrays.copyOf(childCountTmp, nodes),
+                topStart, Arrays.copyOf(topsTmp, written));
+    }
+
+    private static int[] topOf(int from, int to, int[] weights, String[] texts, int k) {
+        //小顶堆，堆顶是当前入选结果里最差的
+        Comparator<Integer> order = (a, b) -> weights[a] != weights[b]
+                ? Integer.compare(weights[a], weights[b])
+                : texts[b].compareTo(texts[a]);
+        PriorityQueue<Integer> heap = new PriorityQueue<>(k + 1, order);
+        for (int i = from; i < to; i++) {
+            heap.offer(i);
+            if (heap.size() > k) {
+                heap.poll();
+            }
+        }
+        int[] result = new int[heap.size()];
+        for (int i = result.length - 1; i >= 0; i--) {
+            result[i] = heap.poll();
+        }
+        return result;
+    }
+}
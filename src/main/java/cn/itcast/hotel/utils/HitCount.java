@@ -0,0 +1,96 @@
+package cn.itcast.hotel.utils;
+
+import cn.itcast.hotel.pojo.RequestParams;
+import org.springframework.util.StringUtils;
+
+/**
+ * 列表总数怎么数，由RequestParams.count解析：
+ * exact精确计数，ES要访问每一个命中的文档；approximate数到10000为止，超过时页面显示"10,000+"；
+ * 正整数N最多数到N；不传时按列表页的需要，数到DEFAULT_LIMIT，页码翻得更深时至少数过当前页
+ * 不精确计数时ES数够了就可以跳过剩下的文档（block-max WAND、索引排序提前结束），城市下的全量列表不用扫完整个分片
+ */
+public final class HitCount {
+    public static final String EXACT = "exact";
+    public static final String APPROXIMATE = "approximate";
+    /**
+     * approximate数到多少，和ES默认的track_total_hits一致
+     */
+    public static final int APPROXIMATE_LIMIT = 10_000;
+    /**
+     * 列表页默认数到多少：每页10条时够显示100页的页码
+     */
+    public static final int DEFAULT_LIMIT = 1_000;
+    /**
+     * total是精确值
+     */
+    public static final String RELATION_EQ = "eq";
+    /**
+     * total是下限，实际命中更多
+     */
+    public static final String RELATION_GTE = "gte";
+
+    private static final HitCount EXACT_COUNT = new HitCount(Integer.MAX_VALUE);
+
+    /**
+     * 最多数到多少，精确计数时为Integer.MAX_VALUE（ES里的track_total_hits=true）
+     */
+    private final int limit;
+
+    private HitCount(int limit) {
+        this.limit = limit;
+    }
+
+    public static HitCount of(RequestParams params) {
+        String count = params.getCount();
+        if (!StringUtils.hasText(count)) {
+            int page = params.getPage() == null || params.getPage() < 1 ? 1 : params.getPage();
+            int size = params.getSize() == null || params.getSize() < 1 ? 10 : params.getSize();
+            //页码分页时多数一条，才知道当前页后面还有没有
+            return new HitCount(params.isCursorPaging()
+                    ? DEFAULT_LIMIT : Math.max(DEFAULT_LIMIT, page * size + 1));
+        }
+        count = count.trim().toLowerCase();
+        if (EXACT.equals(count)) {
+            return EXACT_COUNT;
+        }
+        if (APPROXIMATE.equals(count)) {
+            return new HitCount(APPROXIMATE_LIMIT);
+        }
+        int limit;
+        try {
+            limit = Integer.parseInt(count);
+        } catch (NumberFormatException e) {
+            throw new InvalidRequestException("不支持的计数方式：" + params.getCount());
+        }
+        if (limit < 1) {
+            throw new InvalidRequestException("计数上限必须大于0：" + params.getCount());
+        }
+        return limit == Integer.MAX_VALUE ? EXACT_COUNT : new HitCount(limit);
+    }
+
+    public boolean isExact() {
+        return limit == Integer.MAX_VALUE;
+    }
+
+    public int limit() {
+        return limit;
+    }
+
+    /**
+     * 精确的命中数按上限截断，本地索引用，返回和ES一样的total
+     */
+    public long total(long matched) {
+        return Math.min(matched, limit);
+    }
+
+    public String relation(long matched) {
+        return matched > limit ? RELATION_GTE : RELATION_EQ;
+    }
+
+    /**
+     * 规范化后的写法，缓存key用：exact或者上限的数字
+     */
+    public String key() {
+        return isExact() ? EXACT : String.valueOf(limit);
+    }
+}
@@ -0,0 +1,54 @@
+package cn.itcast.hotel.utils;
+
+import cn.itcast.hotel.mapper.HotelMapper;
+import cn.itcast.hotel.pojo.Hotel;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * 按主键顺序分批遍历tb_hotel，同一时刻内存中只有一批数据
+ */
+public class HotelCursor implements Iterator<List<Hotel>> {
+    private final HotelMapper hotelMapper;
+    private final int batchSize;
+    private Long lastId;
+    private List<Hotel> next;
+    private boolean finished;
+
+    public HotelCursor(HotelMapper hotelMapper, int batchSize) {
+        this.hotelMapper = hotelMapper;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (next == null && !finished) {
+            List<Hotel> batch = hotelMapper.selectBatchAfter(lastId, batchSize);
+            if (batch.isEmpty()) {
+                finished = true;
+            } else {
+                next = batch;
+                lastId = batch.get(batch.size() - 1).getId();
+                //不满一批说明已经到末尾，省掉最后一次空查询
+                finished = batch.size() < batchSize;
+            }
+        }
+        return next != null;
+    }
+
+    @Override
+    public List<Hotel> next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        List<Hotel> batch = next;
+        next = null;
+        return batch;
+    }
+
+    public Long getLastId() {
+        return lastId;
+    }
+}
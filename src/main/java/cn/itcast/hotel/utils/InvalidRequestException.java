@@ -0,0 +1,19 @@
+package cn.itcast.hotel.utils;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * 请求参数不合法（游标、计数方式、bbox等），返回400
+ * 仍然是IllegalArgumentException，ES失败后的兜底逻辑照旧不对它兜底
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidRequestException extends IllegalArgumentException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+
+    public InvalidRequestException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
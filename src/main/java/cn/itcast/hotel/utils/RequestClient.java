@@ -1,18 +1,135 @@
 package cn.itcast.hotel.utils;
 
+import cn.itcast.hotel.config.ElasticsearchProperties;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
 import org.apache.http.HttpHost;
+import org.apache.http.conn.ConnectionKeepAliveStrategy;
+import org.apache.http.impl.client.DefaultConnectionKeepAliveStrategy;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.pool.PoolStats;
+import org.elasticsearch.client.Node;
+import org.elasticsearch.client.NodeSelector;
 import org.elasticsearch.client.RestClient;
+import org.elasticsearch.client.RestClientBuilder;
 import org.elasticsearch.client.RestHighLevelClient;
+import org.elasticsearch.client.sniff.SniffOnFailureListener;
+import org.elasticsearch.client.sniff.Sniffer;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.context.annotation.Bean;
 import org.springframework.stereotype.Component;
 
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+@Slf4j
 @Component
-public class RequestClient {
+public class RequestClient implements MeterBinder {
+
+    @Autowired
+    private ElasticsearchProperties properties;
+
+    /**
+     * 自己建连接池，才能拿到池子的使用情况
+     */
+    private PoolingNHttpClientConnectionManager connectionManager;
+    private final SniffOnFailureListener sniffOnFailure = new SniffOnFailureListener();
+
+    @Bean(destroyMethod = "close")
+    public RestHighLevelClient client() throws IOReactorException {
+        HttpHost[] hosts = properties.getHosts().stream().map(HttpHost::create).toArray(HttpHost[]::new);
+
+        IOReactorConfig.Builder ioConfig = IOReactorConfig.custom()
+                .setConnectTimeout(properties.getConnectTimeoutMs())
+                .setSoTimeout(properties.getSocketTimeoutMs())
+                .setSoKeepAlive(true)
+                .setTcpNoDelay(true);
+        if (properties.getIoThreads() > 0) {
+            ioConfig.setIoThreadCount(properties.getIoThreads());
+        }
+        connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(ioConfig.build()));
+        connectionManager.setMaxTotal(properties.getMaxConnTotal());
+        connectionManager.setDefaultMaxPerRoute(properties.getMaxConnPerRoute());
+
+        long keepAliveMs = properties.getKeepAliveMs();
+        ConnectionKeepAliveStrategy keepAlive = (response, context) -> {
+            long server = DefaultConnectionKeepAliveStrategy.INSTANCE.getKeepAliveDuration(response, context);
+            return server > 0 ? Math.min(server, keepAliveMs) : keepAliveMs;
+        };
+
+        RestClientBuilder builder = RestClient.builder(hosts)
+                .setCompressionEnabled(properties.isCompression())
+                .setRequestConfigCallback(config -> config
+                        .setConnectTimeout(properties.getConnectTimeoutMs())
+                        .setSocketTimeout(properties.getSocketTimeoutMs())
+                        .setConnectionRequestTimeout(properties.getConnectionRequestTimeoutMs()))
+                .setHttpClientConfigCallback(httpClient -> httpClient
+                        .setConnectionManager(connectionManager)
+                        .setKeepAliveStrategy(keepAlive))
+                .setFailureListener(new RestClient.FailureListener() {
+                    @Override
+                    public void onFailure(Node node) {
+                        log.warn("ES节点 {} 请求失败，暂时摘除", node.getHost());
+                        if (properties.getSniff().isEnabled()) {
+                            sniffOnFailure.onFailure(node);
+                        }
+                    }
+                });
+        if (properties.getSniff().isEnabled()) {
+            //嗅探出来的节点里去掉专用master，请求只发给数据节点
+            builder.setNodeSelector(NodeSelector.SKIP_DEDICATED_MASTERS);
+        }
+        return new RestHighLevelClient(builder);
+    }
+
+    @Bean(destroyMethod = "close")
+    @ConditionalOnProperty(prefix = "hotel.elasticsearch.sniff", name = "enabled", havingValue = "true")
+    public Sniffer sniffer(RestHighLevelClient client) {
+        Sniffer sniffer = Sniffer.builder(client.getLowLevelClient())
+                .setSniffIntervalMillis((int) properties.getSniff().getIntervalMs())
+                .setSniffAfterFailureDelayMillis((int) properties.getSniff().getAfterFailureDelayMs())
+                .build();
+        sniffOnFailure.setSniffer(sniffer);
+        return sniffer;
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hotel.es.pool.leased", this, c -> c.connectionManager.getTotalStats().getLeased())
+                .description("正在使用的ES连接数")
+                .register(registry);
+        Gauge.builder("hotel.es.pool.available", this, c -> c.connectionManager.getTotalStats().getAvailable())
+                .description("空闲的ES连接数")
+                .register(registry);
+        Gauge.builder("hotel.es.pool.pending", this, c -> c.connectionManager.getTotalStats().getPending())
+                .description("等待连接的请求数")
+                .register(registry);
+        Gauge.builder("hotel.es.pool.max", this, c -> c.connectionManager.getTotalStats().getMax())
+                .register(registry);
+    }
 
-    @Bean
-    public RestHighLevelClient client() {
-        return new RestHighLevelClient(RestClient.builder(
-                HttpHost.create("http://192.168.7.136:9200")
-        ));
+    /**
+     * 连接池使用情况：leased正在用的，available空闲的，pending等连接的请求
+     */
+    public Map<String, Object> poolStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        PoolStats total = connectionManager.getTotalStats();
+        stats.put("leased", total.getLeased());
+        stats.put("available", total.getAvailable());
+        stats.put("pending", total.getPending());
+        stats.put("max", total.getMax());
+        Map<String, Object> routes = new LinkedHashMap<>();
+        connectionManager.getRoutes().forEach(route -> {
+            PoolStats s = connectionManager.getStats(route);
+            routes.put(route.getTargetHost().toURI(), s.getLeased() + "/" + s.getMax() + " leased, " + s.getPending() + " pending");
+        });
+        stats.put("routes", routes);
+        return stats;
     }
 }
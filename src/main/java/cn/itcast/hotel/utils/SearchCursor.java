@@ -0,0 +1,84 @@
+package cn.itcast.hotel.utils;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ArrayNode;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * 游标分页的游标：最后一条的排序值 + point in time的id，对前端是不透明的字符串
+ * 游标由客户端传回来，用Jackson解析成树再逐个检查类型，不按类型名反序列化
+ */
+@Data
+@AllArgsConstructor
+public class SearchCursor {
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private Object[] sortValues;
+    private String pitId;
+
+    public String encode() {
+        ObjectNode json = MAPPER.createObjectNode();
+        json.set("s", MAPPER.valueToTree(sortValues));
+        if (pitId != null) {
+            json.put("p", pitId);
+        }
+        try {
+            return Base64.getUrlEncoder().withoutPadding()
+                    .encodeToString(MAPPER.writeValueAsString(json).getBytes(StandardCharsets.UTF_8));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    public static SearchCursor decode(String cursor) {
+        try {
+            String text = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            JsonNode json = MAPPER.readTree(text);
+            JsonNode array = json == null ? null : json.get("s");
+            JsonNode pit = json == null ? null : json.get("p");
+            if (!(array instanceof ArrayNode) || (pit != null && !pit.isTextual())) {
+                throw new InvalidRequestException("无效的游标：" + cursor);
+            }
+            Object[] sortValues = new Object[array.size()];
+            for (int i = 0; i < sortValues.length; i++) {
+                sortValues[i] = valueOf(array.get(i), cursor);
+            }
+            return new SearchCursor(sortValues, pit == null ? null : pit.asText());
+        } catch (InvalidRequestException e) {
+            throw e;
+        } catch (IOException | RuntimeException e) {
+            throw new InvalidRequestException("无效的游标：" + cursor, e);
+        }
+    }
+
+    /**
+     * 排序值只能是数字、字符串、布尔或null，整数换成long、小数换成double，和ES返回的类型一致
+     */
+    private static Object valueOf(JsonNode node, String cursor) {
+        if (node.isIntegralNumber() && node.canConvertToLong()) {
+            return node.longValue();
+        }
+        if (node.isFloatingPointNumber()) {
+            return node.doubleValue();
+        }
+        if (node.isTextual()) {
+            return node.textValue();
+        }
+        if (node.isBoolean()) {
+            return node.booleanValue();
+        }
+        if (node.isNull()) {
+            return null;
+        }
+        throw new InvalidRequestException("无效的游标：" + cursor);
+    }
+}
@@ -0,0 +1,180 @@
+package cn.itcast.hotel.utils;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * 相同请求合并：同一个key同时只有一个请求在飞，其它并发的调用挂在它上面共享结果或异常
+ * 请求一结束key就移除，之后来的调用重新发请求，不会拿到旧结果
+ * 每个调用方拿到的是自己的future，各自超时、取消互不影响；所有调用方都取消了才取消真正的请求
+ */
+@Component
+public class SingleFlight implements MeterBinder {
+
+    private final Map<String, Flight<?>> inFlight = new ConcurrentHashMap<>();
+    private final LongAdder leaders = new LongAdder();
+    private final LongAdder followers = new LongAdder();
+
+    @SuppressWarnings("unchecked")
+    public <V> CompletableFuture<V> execute(String key, Supplier<CompletableFuture<V>> loader) {
+        while (true) {
+            Flight<V> flight = (Flight<V>) inFlight.get(key);
+            if (flight == null) {
+                Flight<V> created = new Flight<>(key);
+                flight = (Flight<V>) inFlight.putIfAbsent(key, created);
+                if (flight == null) {
+                    leaders.increment();
+                    //先登记自己再发请求，发请求期间跟进来的调用方取消不会把请求取消掉
+                    CompletableFuture<V> view = created.join();
+                    created.start(loader);
+                    return view;
+                }
+            }
+            CompletableFuture<V> view = flight.join();
+            if (view != null) {
+                followers.increment();
+                return view;
+            }
+            //这个请求所有调用方都取消了，正在撤掉，重新来
+        }
+    }
+
+    /**
+     * 同步版本：第一个调用方在自己的线程里执行loader，其它调用方最多等timeoutMs
+     */
+    public <V> V call(String key, Supplier<V> loader, long timeoutMs) {
+        CompletableFuture<V> view = execute(key, () -> {
+            try {
+                return CompletableFuture.completedFuture(loader.get());
+            } catch (RuntimeException e) {
+                CompletableFuture<V> failed = new CompletableFuture<>();
+                failed.completeExceptionally(e);
+                return failed;
+            }
+        });
+        try {
+            return view.get(timeoutMs, TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            view.cancel(true);
+            throw new IllegalStateException("等待相同请求的结果超时: " + key, e);
+        } catch (InterruptedException e) {
+            view.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        } catch (ExecutionException e) {
+            Throwable cause = Futures.unwrap(e);
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IllegalStateException(cause);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("hotel.singleflight.inflight", inFlight, Map::size).register(registry);
+        FunctionCounter.builder("hotel.singleflight.requests", leaders, LongAdder::sum)
+                .description("真正发出去的请求")
+                .register(registry);
+        FunctionCounter.builder("hotel.singleflight.coalesced", followers, LongAdder::sum)
+                .description("合并到已有请求上的调用")
+                .register(registry);
+    }
+
+    public Map<String, Object> stats() {
+        long leaderCount = leaders.sum();
+        long followerCount = followers.sum();
+        Map<String, Object> map = new LinkedHashMap<>();
+        map.put("inFlight", inFlight.size());
+        map.put("requests", leaderCount);
+        map.put("coalesced", followerCount);
+        map.put("coalescedRate", leaderCount + followerCount == 0 ? 0 : followerCount / (double) (leaderCount + followerCount));
+        return map;
+    }
+
+    private final class Flight<V> {
+        private final String key;
+        private final CompletableFuture<V> shared = new CompletableFuture<>();
+        private CompletableFuture<V> upstream;
+        private int waiters;
+        private boolean abandoned;
+
+        private Flight(String key) {
+            this.key = key;
+        }
+
+        private void start(Supplier<CompletableFuture<V>> loader) {
+            CompletableFuture<V> future;
+            try {
+                future = loader.get();
+            } catch (RuntimeException e) {
+                future = new CompletableFuture<>();
+                future.completeExceptionally(e);
+            }
+            synchronized (this) {
+                upstream = future;
+            }
+            future.whenComplete((value, e) -> {
+                //先移除再通知，通知之后到的调用会发新请求
+                inFlight.remove(key, this);
+                if (e != null) {
+                    shared.completeExceptionally(e);
+                } else {
+                    shared.complete(value);
+                }
+            });
+        }
+
+        /**
+         * 登记一个调用方，返回它专属的future；请求已被撤掉时返回null
+         */
+        private synchronized CompletableFuture<V> join() {
+            if (abandoned) {
+                return null;
+            }
+            waiters++;
+            CompletableFuture<V> view = new CompletableFuture<>();
+            shared.whenComplete((value, e) -> {
+                if (e != null) {
+                    view.completeExceptionally(e);
+                } else {
+                    view.complete(value);
+                }
+            });
+            view.whenComplete((value, e) -> {
+                if (view.isCancelled()) {
+                    leave();
+                }
+            });
+            return view;
+        }
+
+        private void leave() {
+            CompletableFuture<V> toCancel = null;
+            synchronized (this) {
+                waiters--;
+                if (waiters == 0 && !shared.isDone()) {
+                    abandoned = true;
+                    toCancel = upstream;
+                }
+            }
+            if (toCancel != null) {
+                inFlight.remove(key, this);
+                toCancel.cancel(true);
+            }
+        }
+    }
+}
@@ -0,0 +1,52 @@
+package cn.itcast.hotel.web;
+
+import cn.itcast.hotel.config.ResilienceProperties;
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.resilience.Deadline;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+/**
+ * 进入接口时确定截止时间：调用方在请求头里给了剩余时间就用它和搜索超时的较小值
+ * 后面的ES调用按剩余时间设置超时，而不是各自用客户端的默认值
+ */
+@Component
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+    @Autowired
+    private ResilienceProperties properties;
+    @Autowired
+    private SearchProperties searchProperties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        long timeoutMs = searchProperties.getTimeoutMs();
+        String header = request.getHeader(properties.getDeadlineHeader());
+        if (StringUtils.hasText(header)) {
+            try {
+                timeoutMs = Math.min(timeoutMs, Long.parseLong(header.trim()));
+            } catch (NumberFormatException e) {
+                //格式不对就忽略，用默认超时
+            }
+        }
+        Deadline.set(Deadline.after(timeoutMs));
+        return true;
+    }
+
+    /**
+     * 异步接口的请求线程在这里就释放了
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Deadline.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        Deadline.clear();
+    }
+}
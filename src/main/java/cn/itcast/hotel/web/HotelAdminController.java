@@ -0,0 +1,120 @@
+package cn.itcast.hotel.web;
+
+import cn.itcast.hotel.cache.HotelDetailLoader;
+import cn.itcast.hotel.cache.HotelSearchCache;
+import cn.itcast.hotel.constans.HotelConstants;
+import cn.itcast.hotel.index.MappingDiff;
+import cn.itcast.hotel.pojo.IndexSwitchResult;
+import cn.itcast.hotel.pojo.ReindexReport;
+import cn.itcast.hotel.ranking.RankingConfig;
+import cn.itcast.hotel.ranking.RankingSettings;
+import cn.itcast.hotel.resilience.ResilientSearch;
+import cn.itcast.hotel.service.IHotelIndexService;
+import cn.itcast.hotel.service.IHotelReindexService;
+import cn.itcast.hotel.service.impl.HotelSearchTemplates;
+import cn.itcast.hotel.utils.RequestClient;
+import cn.itcast.hotel.utils.SingleFlight;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/hotel/admin")
+public class HotelAdminController {
+
+    @Autowired
+    private IHotelReindexService reindexService;
+    @Autowired
+    private IHotelIndexService indexService;
+    @Autowired
+    private HotelSearchCache searchCache;
+    @Autowired
+    private RequestClient requestClient;
+    @Autowired
+    private SingleFlight singleFlight;
+    @Autowired
+    private ResilientSearch resilientSearch;
+    @Autowired
+    private RankingSettings rankingSettings;
+    @Autowired
+    private HotelDetailLoader detailLoader;
+    @Autowired
+    private HotelSearchTemplates searchTemplates;
+
+    @PostMapping("/reindex")
+    public ReindexReport reindex(@RequestParam(value = "index", defaultValue = HotelConstants.INDEX_ALIAS) String index) {
+        return reindexService.reindex(index);
+    }
+
+    @PostMapping("/rebuild")
+    public IndexSwitchResult rebuild() {
+        return indexService.rebuild();
+    }
+
+    @PostMapping("/rollback")
+    public IndexSwitchResult rollback() {
+        return indexService.rollback();
+    }
+
+    @GetMapping("/cache")
+    public Map<String, Object> cacheStats() {
+        return searchCache.stats();
+    }
+
+    @DeleteMapping("/cache")
+    public void invalidateCache() {
+        searchCache.invalidateAll();
+    }
+
+    @GetMapping("/es-pool")
+    public Map<String, Object> esPoolStats() {
+        return requestClient.poolStats();
+    }
+
+    @GetMapping("/single-flight")
+    public Map<String, Object> singleFlightStats() {
+        return singleFlight.stats();
+    }
+
+    @GetMapping("/resilience")
+    public Map<String, Object> resilience() {
+        return resilientSearch.stats();
+    }
+
+    @GetMapping("/detail-cache")
+    public Map<String, Object> detailCacheStats() {
+        return detailLoader.stats();
+    }
+
+    @GetMapping("/templates")
+    public Map<String, Object> templateStats() {
+        return searchTemplates.stats();
+    }
+
+    @GetMapping("/ranking")
+    public RankingConfig ranking() {
+        return rankingSettings.current();
+    }
+
+    /**
+     * 只改传了的字段，立即生效
+     */
+    @PutMapping("/ranking")
+    public RankingConfig updateRanking(@RequestBody Map<String, Object> changes) {
+        return rankingSettings.patch(changes);
+    }
+
+    @GetMapping("/index")
+    public String currentIndex() {
+        return indexService.currentIndex();
+    }
+
+    /**
+     * 线上索引和目标索引定义的差异，rebuildRequired为true时要调/rebuild才能生效
+     */
+    @GetMapping("/index/diff")
+    public MappingDiff indexDiff() {
+        return indexService.diff();
+    }
+}
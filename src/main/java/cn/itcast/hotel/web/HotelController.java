@@ -1,31 +1,123 @@
 package cn.itcast.hotel.web;
 
+import cn.itcast.hotel.config.DetailProperties;
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.HotelDoc;
 import cn.itcast.hotel.pojo.PageResult;
 import cn.itcast.hotel.pojo.RequestParams;
-import cn.itcast.hotel.service.IHotelService;
+import cn.itcast.hotel.pojo.SearchResult;
+import cn.itcast.hotel.resilience.Deadline;
+import cn.itcast.hotel.service.IHotelAsyncService;
+import cn.itcast.hotel.utils.Futures;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.server.ResponseStatusException;
 
+import javax.servlet.http.HttpServletRequest;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 @RestController
 @RequestMapping("/hotel")
+@Timed(value = "hotel.api", histogram = true)
 public class HotelController {
 
     @Autowired
-    private IHotelService hotelService;
+    private IHotelAsyncService hotelAsyncService;
+    @Autowired
+    private SearchProperties searchProperties;
+    @Autowired
+    private SearchETags searchETags;
+    @Autowired
+    private DetailProperties detailProperties;
 
     @PostMapping("/list")
-    public PageResult search(@RequestBody RequestParams params) {
-        return hotelService.search(params);
+    public DeferredResult<PageResult> search(@RequestBody RequestParams params, HttpServletRequest request) {
+        ProjectionAdvice.select(request, params.getFields());
+        return deferred(hotelAsyncService.searchAsync(params));
     }
     @PostMapping("/filters")
-    public Map<String, List<String>> filters(@RequestBody RequestParams params) {
-        return hotelService.filters(params);
+    public DeferredResult<Map<String, List<FacetBucket>>> filters(@RequestBody RequestParams params) {
+        return deferred(hotelAsyncService.filtersAsync(params));
+    }
+    @PostMapping("/search")
+    public DeferredResult<SearchResult> searchWithFilters(@RequestBody RequestParams params, HttpServletRequest request) {
+        ProjectionAdvice.select(request, params.getFields());
+        return deferred(hotelAsyncService.searchWithFiltersAsync(params));
+    }
+
+    /**
+     * GET版本的查询，参数放在查询串里，可以用ETag做条件请求：没变时返回304，不查询
+     */
+    @GetMapping("/list")
+    public DeferredResult<PageResult> searchByGet(RequestParams params, ServletWebRequest request) {
+        if (searchETags.notModified("list", params, request)) {
+            return null;
+        }
+        return search(params, request.getRequest());
+    }
+    @GetMapping("/filters")
+    public DeferredResult<Map<String, List<FacetBucket>>> filtersByGet(RequestParams params, ServletWebRequest request) {
+        if (searchETags.notModified("filters", params, request)) {
+            return null;
+        }
+        return filters(params);
+    }
+    @GetMapping("/search")
+    public DeferredResult<SearchResult> searchWithFiltersByGet(RequestParams params, ServletWebRequest request) {
+        if (searchETags.notModified("search", params, request)) {
+            return null;
+        }
+        return searchWithFilters(params, request.getRequest());
+    }
+    @GetMapping("/{id:\\d+}")
+    public DeferredResult<HotelDoc> get(@PathVariable("id") Long id) {
+        return deferred(hotelAsyncService.getAsync(id).thenApply(hotel -> {
+            if (hotel == null) {
+                throw new ResponseStatusException(HttpStatus.NOT_FOUND, "酒店不存在：" + id);
+            }
+            return hotel;
+        }));
+    }
+
+    /**
+     * 收藏列表等一次要多家酒店的页面用，ids逗号分隔，按传入顺序返回，不存在的跳过
+     */
+    @GetMapping("/batch")
+    public DeferredResult<List<HotelDoc>> batch(@RequestParam("ids") List<Long> ids) {
+        if (ids.size() > detailProperties.getMaxIds()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "一次最多查" + detailProperties.getMaxIds() + "家酒店");
+        }
+        return deferred(hotelAsyncService.getBatchAsync(ids));
     }
     @GetMapping("/suggestion")
-    public List<String> detail(@RequestParam("key") String key) {
-        return hotelService.getSuggestion(key);
+    public DeferredResult<List<String>> detail(@RequestParam("key") String key) {
+        return deferred(hotelAsyncService.suggestAsync(key));
+    }
+
+    /**
+     * 异步返回，请求线程立即释放；到截止时间或客户端断开时取消ES请求
+     */
+    private <T> DeferredResult<T> deferred(CompletableFuture<T> future) {
+        DeferredResult<T> result = new DeferredResult<>(Math.max(1, Deadline.remainingOr(searchProperties.getTimeoutMs())));
+        result.onTimeout(() -> {
+            future.cancel(true);
+            result.setErrorResult(new ResponseStatusException(HttpStatus.GATEWAY_TIMEOUT, "搜索超时"));
+        });
+        result.onError(e -> future.cancel(true));
+        future.whenComplete((value, e) -> {
+            if (e != null) {
+                result.setErrorResult(Futures.unwrap(e));
+            } else {
+                result.setResult(value);
+            }
+        });
+        return result;
     }
 }
@@ -0,0 +1,72 @@
+package cn.itcast.hotel.web;
+
+import cn.itcast.hotel.pojo.HotelDoc;
+import com.fasterxml.jackson.databind.ser.PropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleBeanPropertyFilter;
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.json.MappingJacksonValue;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.util.StringUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.AbstractMappingJacksonResponseBodyAdvice;
+
+import javax.servlet.http.HttpServletRequest;
+import java.util.Collections;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * 按请求的fields参数裁剪返回的酒店字段，只序列化客户端要的，id总是返回
+ * 查询和缓存仍然用完整的结果，只在写响应时过滤
+ */
+@ControllerAdvice(assignableTypes = HotelController.class)
+public class ProjectionAdvice extends AbstractMappingJacksonResponseBodyAdvice {
+    private static final String FIELDS_ATTRIBUTE = ProjectionAdvice.class.getName() + ".fields";
+
+    /**
+     * 记下这次请求要返回的字段，异步返回时响应在另一个线程里写，放在请求属性里
+     */
+    public static void select(HttpServletRequest request, String fields) {
+        Set<String> selected = parseFields(fields);
+        if (!selected.isEmpty()) {
+            request.setAttribute(FIELDS_ATTRIBUTE, selected);
+        }
+    }
+
+    /**
+     * 去空白、去重、排好序，顺序不同的写法是同一个投影
+     */
+    public static Set<String> parseFields(String fields) {
+        if (!StringUtils.hasText(fields)) {
+            return Collections.emptySet();
+        }
+        Set<String> selected = new TreeSet<>();
+        for (String field : fields.split(",")) {
+            if (StringUtils.hasText(field)) {
+                selected.add(field.trim());
+            }
+        }
+        if (!selected.isEmpty()) {
+            selected.add("id");
+        }
+        return selected;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void beforeBodyWriteInternal(MappingJacksonValue bodyContainer, MediaType contentType,
+                                           MethodParameter returnType, ServerHttpRequest request,
+                                           ServerHttpResponse response) {
+        Set<String> fields = request instanceof ServletServerHttpRequest
+                ? (Set<String>) ((ServletServerHttpRequest) request).getServletRequest().getAttribute(FIELDS_ATTRIBUTE)
+                : null;
+        PropertyFilter filter = fields == null
+                ? SimpleBeanPropertyFilter.serializeAll()
+                : SimpleBeanPropertyFilter.filterOutAllExcept(fields);
+        bodyContainer.setFilters(new SimpleFilterProvider().addFilter(HotelDoc.FILTER, filter));
+    }
+}
@@ -0,0 +1,51 @@
+package cn.itcast.hotel.web;
+
+import cn.itcast.hotel.cache.IndexGeneration;
+import cn.itcast.hotel.cache.SearchKeys;
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.embedded.EmbeddedHotelService;
+import cn.itcast.hotel.pojo.RequestParams;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+import org.springframework.web.context.request.ServletWebRequest;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 搜索接口的弱ETag：查询引擎 + 代数来源 + 索引代数 + 规范化后的查询参数 + 返回字段
+ * 代数不变时同样的参数查出来的结果相同，客户端带If-None-Match来时直接返回304，不用查询
+ * 代数来源区分了重启和不共享存储的实例，引擎区分了ES和本地索引，都不会拿别处的ETag误判成没变
+ * 用弱ETag是因为压缩前后字节不同但内容相同，Tomcat也照常压缩弱ETag的响应
+ */
+@Component
+public class SearchETags {
+    @Autowired
+    private IndexGeneration generation;
+    @Autowired
+    private EmbeddedHotelService embeddedHotelService;
+
+    /**
+     * GET请求的ETag和客户端带来的相同时返回true，响应已经设为304；
+     * 不同时把ETag写进响应头，由客户端下次带回来
+     */
+    public boolean notModified(String endpoint, RequestParams params, ServletWebRequest request) {
+        if (!SearchKeys.isCacheable(params)) {
+            return false;
+        }
+        //每次都回来校验，数据变了马上能看到
+        request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, "no-cache");
+        return request.checkNotModified(of(endpoint, params));
+    }
+
+    String of(String endpoint, RequestParams params) {
+        String key = "filters".equals(endpoint)
+                ? SearchKeys.filtersKey(params)
+                : SearchKeys.key(endpoint, SearchKeys.normalize(params));
+        key += '|' + String.join(",", ProjectionAdvice.parseFields(params.getFields()));
+        String digest = DigestUtils.md5DigestAsHex(key.getBytes(StandardCharsets.UTF_8));
+        String engine = embeddedHotelService.serves() ? SearchProperties.ENGINE_EMBEDDED : SearchProperties.ENGINE_ELASTICSEARCH;
+        return "W/\"" + engine + "-" + generation.source() + "-" + generation.current() + "-" + digest + "\"";
+    }
+}
@@ -0,0 +1,51 @@
+package cn.itcast.hotel.web;
+
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.resilience.SessionPreference;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringUtils;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpSession;
+
+/**
+ * 进入接口时按用户会话确定ES的preference：优先用请求头里的会话标识，其次用已有的HttpSession
+ * 不会为了这个新建HttpSession，两者都没有时不指定，由ES自己挑副本
+ */
+@Component
+public class SessionPreferenceInterceptor implements AsyncHandlerInterceptor {
+    @Autowired
+    private SearchProperties properties;
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        if (!properties.isSessionPreference()) {
+            return true;
+        }
+        String sessionId = request.getHeader(properties.getSessionHeader());
+        if (!StringUtils.hasText(sessionId)) {
+            HttpSession session = request.getSession(false);
+            sessionId = session == null ? null : session.getId();
+        }
+        if (StringUtils.hasText(sessionId)) {
+            SessionPreference.set(SessionPreference.of(sessionId.trim()));
+        }
+        return true;
+    }
+
+    /**
+     * 异步接口的请求线程在这里就释放了
+     */
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        SessionPreference.clear();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        SessionPreference.clear();
+    }
+}
@@ -0,0 +1,31 @@
+package cn.itcast.hotel.web;
+
+import com.fasterxml.jackson.databind.ser.impl.SimpleFilterProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.jackson.Jackson2ObjectMapperBuilderCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+@Configuration
+public class WebConfig implements WebMvcConfigurer {
+    @Autowired
+    private DeadlineInterceptor deadlineInterceptor;
+    @Autowired
+    private SessionPreferenceInterceptor sessionPreferenceInterceptor;
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(deadlineInterceptor).addPathPatterns("/hotel/**").excludePathPatterns("/hotel/admin/**");
+        registry.addInterceptor(sessionPreferenceInterceptor).addPathPatterns("/hotel/**").excludePathPatterns("/hotel/admin/**");
+    }
+
+    /**
+     * HotelDoc带了@JsonFilter，没有经过ProjectionAdvice的序列化也要能找到过滤器，找不到时返回全部字段
+     */
+    @Bean
+    public Jackson2ObjectMapperBuilderCustomizer projectionFilterCustomizer() {
+        return builder -> builder.filters(new SimpleFilterProvider().setFailOnUnknownId(false));
+    }
+}
@@ -0,0 +1,17 @@
+-- 酒店数据变更的发件箱，和业务写入在同一个事务里插入
+CREATE TABLE IF NOT EXISTS `tb_hotel_outbox` (
+  `id` bigint(20) NOT NULL AUTO_INCREMENT,
+  `hotel_id` bigint(20) NOT NULL COMMENT '酒店id',
+  `op` char(1) NOT NULL COMMENT 'U新增或修改，D删除',
+  `create_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP,
+  PRIMARY KEY (`id`),
+  KEY `idx_create_time` (`create_time`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
+
+-- 同步进度，重启后从这里继续
+CREATE TABLE IF NOT EXISTS `tb_sync_checkpoint` (
+  `name` varchar(64) NOT NULL,
+  `watermark` bigint(20) NOT NULL DEFAULT 0 COMMENT '已同步到的发件箱id',
+  `update_time` datetime NOT NULL DEFAULT CURRENT_TIMESTAMP ON UPDATE CURRENT_TIMESTAMP,
+  PRIMARY KEY (`name`)
+) ENGINE=InnoDB DEFAULT CHARSET=utf8mb4;
@@ -0,0 +1,285 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.config.EmbeddedProperties;
+import cn.itcast.hotel.config.FacetProperties;
+import cn.itcast.hotel.config.RankingProperties;
+import cn.itcast.hotel.embedded.EmbeddedHotelIndex;
+import cn.itcast.hotel.embedded.NameTokenizer;
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.ranking.RankFeatures;
+import cn.itcast.hotel.ranking.RankingConfig;
+import cn.itcast.hotel.ranking.RankingSettings;
+import cn.itcast.hotel.ranking.SortMode;
+import cn.itcast.hotel.utils.HitCount;
+import cn.itcast.hotel.utils.SearchCursor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EmbeddedHotelIndexTest {
+    private EmbeddedHotelIndex index;
+    private final List<Hotel> hotels = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        EmbeddedProperties properties = new EmbeddedProperties();
+        properties.setEnabled(false);
+        index = new EmbeddedHotelIndex();
+        ReflectionTestUtils.setField(index, "properties", properties);
+        ReflectionTestUtils.setField(index, "facetProperties", new FacetProperties());
+        RankingSettings ranking = new RankingSettings();
+        ReflectionTestUtils.setField(ranking, "properties", new RankingProperties());
+        ranking.init();
+        ReflectionTestUtils.setField(index, "ranking", ranking);
+        index.init();
+        ReflectionTestUtils.setField(index, "touchedWhileLoading", null);
+        ReflectionTestUtils.setField(index, "ready", true);
+
+        Random random = new Random(5);
+        String[] brands = {"如家", "汉庭", "希尔顿"};
+        String[] cities = {"上海", "北京"};
+        for (long id = 1; id <= 300; id++) {
+            Hotel hotel = new Hotel();
+            hotel.setId(id);
+            String brand = brands[random.nextInt(brands.length)];
+            hotel.setName(brand + "酒店(" + (random.nextBoolean() ? "外滩" : "国贸") + "店)");
+            hotel.setBrand(brand);
+            hotel.setCity(cities[random.nextInt(cities.length)]);
+            hotel.setStarName(random.nextBoolean() ? "二钻" : "五星级");
+            hotel.setPrice(100 + random.nextInt(900));
+            hotel.setScore(35 + random.nextInt(15));
+            hotel.setLatitude(String.format("%.6f", 31.2 + (random.nextDouble() - 0.5) * 0.2));
+            hotel.setLongitude(String.format("%.6f", 121.5 + (random.nextDouble() - 0.5) * 0.2));
+            hotels.add(hotel);
+            index.onUpsert(hotel);
+        }
+    }
+
+    @Test
+    void testTokenizer() {
+        assertEquals(new HashSet<>(NameTokenizer.indexTokens("7天酒店")),
+                new HashSet<>(Arrays.asList("7", "天", "酒", "店", "天酒", "酒店")));
+        //查询里的中文只用两字词
+        assertEquals(Collections.singletonList("外滩"), NameTokenizer.queryTokens("外滩"));
+        assertEquals(Collections.singletonList("hilton"), NameTokenizer.queryTokens("Hilton"));
+    }
+
+    @Test
+    void testFiltersMatchBruteForce() {
+        RequestParams params = new RequestParams();
+        params.setPage(1);
+        params.setSize(10);
+        params.setBrand("如家");
+        params.setCity("上海");
+        params.setMinPrice(300);
+        params.setMaxPrice(600);
+        List<Hotel> expected = hotels.stream()
+                .filter(h -> "如家".equals(h.getBrand()) && "上海".equals(h.getCity()))
+                .filter(h -> h.getPrice() >= 300 && h.getPrice() <= 600)
+                .collect(Collectors.toList());
+        PageResult result = index.search(params);
+        assertEquals(expected.size(), result.getTotal().intValue());
+
+        Map<String, List<FacetBucket>> facets = index.facets(params);
+        assertEquals(Collections.singletonList(new FacetBucket("如家", (long) expected.size())), facets.get("品牌"));
+
+        params.setBrand("不存在");
+        assertEquals(0, index.search(params).getTotal().intValue());
+    }
+
+    @Test
+    void testBoundedHitCount() {
+        RequestParams params = new RequestParams();
+        params.setPage(1);
+        params.setSize(10);
+        params.setCount("50");
+        PageResult capped = index.search(params);
+        assertEquals(50, capped.getTotal().intValue());
+        assertEquals(HitCount.RELATION_GTE, capped.getTotalRelation());
+        assertEquals(10, capped.getHotels().size());
+
+        params.setCount(HitCount.EXACT);
+        PageResult exact = index.search(params);
+        assertEquals(hotels.size(), exact.getTotal().intValue());
+        assertEquals(HitCount.RELATION_EQ, exact.getTotalRelation());
+        //只是总数不同，列表一样
+        assertEquals(exact.getHotels(), capped.getHotels());
+
+        //不传时按列表页默认的上限，翻得更深时至少数过当前页
+        params.setCount(null);
+        assertEquals(HitCount.DEFAULT_LIMIT, HitCount.of(params).limit());
+        params.setPage(200);
+        assertEquals(2001, HitCount.of(params).limit());
+        params.setCount("Approximate");
+        assertEquals(HitCount.APPROXIMATE_LIMIT, HitCount.of(params).limit());
+        params.setCount("0");
+        assertThrows(IllegalArgumentException.class, () -> HitCount.of(params));
+    }
+
+    @Test
+    void testKeywordAndAdBoost() {
+        RequestParams params = new RequestParams();
+        params.setPage(1);
+        params.setSize(10);
+        params.setKey("外滩");
+        long expected = hotels.stream().filter(h -> h.getName().contains("外滩")).count();
+        PageResult result = index.search(params);
+        assertEquals(expected, result.getTotal().longValue());
+        for (HotelDoc doc : result.getHotels()) {
+            assertTrue(doc.getName().contains("外滩"));
+        }
+
+        Long advertised = hotels.stream().filter(h -> h.getName().contains("外滩"))
+                .map(Hotel::getId).max(Long::compare).get();
+        index.setAdvertised(Collections.singletonList(advertised));
+        HotelDoc first = index.search(params).getHotels().get(0);
+        assertEquals(advertised, first.getId());
+        assertTrue(first.getADing());
+    }
+
+    @Test
+    void testCursorPagingCoversAllOnce() {
+        for (String sort : new String[]{"default", "price", "score", "relevance"}) {
+            for (String location : new String[]{null, "31.21, 121.48"}) {
+                RequestParams params = new RequestParams();
+                params.setSize(7);
+                params.setPaging(RequestParams.PAGING_CURSOR);
+                params.setCity("北京");
+                params.setSort(sort);
+                params.setLocation(location);
+                Set<Long> seen = new HashSet<>();
+                int pages = 0;
+                while (true) {
+                    PageResult result = index.search(params);
+                    for (HotelDoc doc : result.getHotels()) {
+                        assertTrue(seen.add(doc.getId()), sort + "重复的酒店" + doc.getId());
+                    }
+                    if (result.getCursor() == null) {
+                        break;
+                    }
+                    params.setCursor(result.getCursor());
+                    assertTrue(++pages < 100);
+                }
+                assertEquals(hotels.stream().filter(h -> "北京".equals(h.getCity())).count(), seen.size());
+            }
+        }
+    }
+
+    @Test
+    void testCursorWithNumericId() {
+        //之前本地发出的游标里id是数字，仍然能接着翻
+        RequestParams params = new RequestParams();
+        params.setSize(5);
+        params.setPaging(RequestParams.PAGING_CURSOR);
+        params.setSort("price");
+        PageResult first = index.search(params);
+        params.setCursor(first.getCursor());
+        List<Long> expected = ids(index.search(params));
+        Object[] values = SearchCursor.decode(first.getCursor()).getSortValues();
+        assertEquals(String.class, values[1].getClass());
+        values[1] = Long.valueOf((String) values[1]);
+        params.setCursor(new SearchCursor(values, null).encode());
+        assertEquals(expected, ids(index.search(params)));
+    }
+
+    @Test
+    void testSortModes() {
+        RequestParams params = new RequestParams();
+        params.setPage(2);
+        params.setSize(10);
+        params.setSort("price");
+        //价格相同按id字符串排，和ES的keyword一致
+        List<Long> expected = hotels.stream()
+                .sorted(Comparator.comparing(Hotel::getPrice).thenComparing(h -> h.getId().toString()))
+                .skip(10).limit(10).map(Hotel::getId).collect(Collectors.toList());
+        assertEquals(expected, ids(index.search(params)));
+
+        params.setSort("score");
+        expected = hotels.stream()
+                .sorted(Comparator.comparing(Hotel::getScore).reversed().thenComparing(h -> h.getId().toString()))
+                .skip(10).limit(10).map(Hotel::getId).collect(Collectors.toList());
+        assertEquals(expected, ids(index.search(params)));
+
+        //带坐标按评分排时仍然返回距离
+        params.setLocation("31.21, 121.48");
+        for (HotelDoc doc : index.search(params).getHotels()) {
+            assertNotNull(doc.getDistance());
+        }
+        //没有坐标时distance退回相关性
+        RequestParams noLocation = new RequestParams();
+        noLocation.setSort("distance");
+        assertEquals(SortMode.RELEVANCE, SortMode.of(noLocation));
+        params.setSort("最便宜");
+        assertThrows(IllegalArgumentException.class, () -> index.search(params));
+    }
+
+    @Test
+    void testRankingPipeline() {
+        RankingConfig config = new RankingConfig();
+        //没有广告、没有坐标时只剩质量分：评分越高越靠前
+        double low = config.score(1, false, RankFeatures.quality(35), null);
+        double high = config.score(1, false, RankFeatures.quality(48), null);
+        assertTrue(high > low);
+        assertEquals(Math.sqrt(0.96), high, 1e-6);
+        //offset以内不衰减，offset+scale处衰减到decay
+        assertEquals(1, RankFeatures.gauss(0.5, 5, 1, 0.5), 1e-9);
+        assertEquals(0.5, RankFeatures.gauss(6, 5, 1, 0.5), 1e-9);
+        //广告乘权重
+        assertEquals(10 * high, config.score(1, true, RankFeatures.quality(48), null), 1e-6);
+
+        config.setBoostMode("replace");
+        assertEquals(high, config.score(3, false, RankFeatures.quality(48), null), 1e-6);
+        config.setScoreMode("次方");
+        assertThrows(IllegalArgumentException.class, config::validate);
+
+        //不看评分时，没有关键字的相关性排序只按id，id按字符串比较
+        RequestParams params = new RequestParams();
+        params.setPage(1);
+        params.setSize(5);
+        params.setSort("relevance");
+        List<Long> byQuality = ids(index.search(params));
+        RankingSettings settings = (RankingSettings) ReflectionTestUtils.getField(index, "ranking");
+        RankingConfig withoutQuality = new RankingConfig();
+        withoutQuality.setQualityEnabled(false);
+        ReflectionTestUtils.setField(settings, "current", withoutQuality);
+        assertEquals(Arrays.asList(1L, 10L, 100L, 101L, 102L), ids(index.search(params)));
+        assertNotEquals(byQuality, ids(index.search(params)));
+    }
+
+    private static List<Long> ids(PageResult result) {
+        return result.getHotels().stream().map(HotelDoc::getId).collect(Collectors.toList());
+    }
+
+    @Test
+    void testUpsertAndDelete() {
+        Hotel hotel = hotels.get(0);
+        hotel.setCity("杭州");
+        index.onUpsert(hotel);
+        RequestParams params = new RequestParams();
+        params.setPage(1);
+        params.setSize(10);
+        params.setCity("杭州");
+        assertEquals(1, index.search(params).getTotal().intValue());
+
+        index.onDelete(hotel.getId());
+        assertEquals(0, index.search(params).getTotal().intValue());
+        assertEquals(hotels.size() - 1, index.size());
+    }
+}
@@ -0,0 +1,125 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.config.FacetProperties;
+import cn.itcast.hotel.facet.FacetIndex;
+import cn.itcast.hotel.pojo.FacetBucket;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.RequestParams;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class FacetIndexTest {
+    private FacetIndex facetIndex;
+
+    @BeforeEach
+    void setUp() {
+        FacetProperties properties = new FacetProperties();
+        properties.setEnabled(false);
+        facetIndex = new FacetIndex();
+        ReflectionTestUtils.setField(facetIndex, "properties", properties);
+        facetIndex.init();
+        ReflectionTestUtils.setField(facetIndex, "touchedWhileLoading", null);
+        ReflectionTestUtils.setField(facetIndex, "ready", true);
+
+        facetIndex.onUpsert(hotel(1L, "如家", "上海", "二钻", 100));
+        facetIndex.onUpsert(hotel(2L, "如家", "北京", "二钻", 250));
+        facetIndex.onUpsert(hotel(3L, "希尔顿", "上海", "五钻", 1600));
+    }
+
+    @Test
+    void testFilteredCounts() {
+        RequestParams params = new RequestParams();
+        params.setCity("上海");
+        Map<String, List<FacetBucket>> facets = facetIndex.facets(params);
+        assertEquals(2, facets.get("品牌").size());
+        assertEquals(new FacetBucket("上海", 2), facets.get("城市").get(0));
+    }
+
+    @Test
+    void testInclusivePriceRange() {
+        RequestParams params = new RequestParams();
+        params.setMinPrice(0);
+        params.setMaxPrice(100);
+        assertTrue(facetIndex.canAnswer(params));
+        assertEquals(new FacetBucket("如家", 1), facetIndex.facets(params).get("品牌").get(0));
+
+        params.setMinPrice(50);
+        assertFalse(facetIndex.canAnswer(params));
+    }
+
+    @Test
+    void testUpdateAndDelete() {
+        facetIndex.onUpsert(hotel(2L, "如家", "上海", "二钻", 250));
+        facetIndex.onDelete(3L);
+        Map<String, List<FacetBucket>> facets = facetIndex.facets(new RequestParams());
+        assertEquals(1, facets.get("城市").size());
+        assertEquals(new FacetBucket("上海", 2), facets.get("城市").get(0));
+        assertEquals(1, facets.get("星级").size());
+    }
+
+    @Test
+    void testManyDistinctValues() {
+        //品牌、城市都有几千个取值时，按稠密数组算要几十亿个格子
+        for (long id = 10; id < 5010; id++) {
+            facetIndex.onUpsert(hotel(id, "品牌" + id, "城市" + id, "三钻", 200));
+        }
+        RequestParams params = new RequestParams();
+        params.setBrand("品牌4000");
+        Map<String, List<FacetBucket>> facets = facetIndex.facets(params);
+        assertEquals(new FacetBucket("城市4000", 1), facets.get("城市").get(0));
+        assertEquals(1, facets.get("城市").size());
+    }
+
+    @Test
+    void testRandomChangesMatchRecount() {
+        //反复修改、删除，组合减到0后行被复用，结果要和重新统计一致
+        Random random = new Random(7);
+        Map<Long, Hotel> live = new HashMap<>();
+        live.put(1L, hotel(1L, "如家", "上海", "二钻", 100));
+        live.put(2L, hotel(2L, "如家", "北京", "二钻", 250));
+        live.put(3L, hotel(3L, "希尔顿", "上海", "五钻", 1600));
+        for (int i = 0; i < 20000; i++) {
+            long id = 1 + random.nextInt(500);
+            if (random.nextInt(4) == 0) {
+                facetIndex.onDelete(id);
+                live.remove(id);
+            } else {
+                Hotel hotel = hotel(id, "品牌" + random.nextInt(15), "城市" + random.nextInt(20),
+                        "星级" + random.nextInt(3), random.nextInt(2000));
+                facetIndex.onUpsert(hotel);
+                live.put(id, hotel);
+            }
+        }
+        Map<String, Long> expected = new HashMap<>();
+        for (Hotel hotel : live.values()) {
+            if ("城市3".equals(hotel.getCity())) {
+                expected.merge(hotel.getBrand(), 1L, Long::sum);
+            }
+        }
+        RequestParams params = new RequestParams();
+        params.setCity("城市3");
+        Map<String, Long> actual = new HashMap<>();
+        for (FacetBucket bucket : facetIndex.facets(params).get("品牌")) {
+            actual.put(bucket.getKey(), bucket.getCount());
+        }
+        assertEquals(expected, actual);
+    }
+
+    private static Hotel hotel(Long id, String brand, String city, String starName, int price) {
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setBrand(brand);
+        hotel.setCity(city);
+        hotel.setStarName(starName);
+        hotel.setPrice(price);
+        return hotel;
+    }
+}
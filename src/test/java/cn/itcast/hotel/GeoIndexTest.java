@@ -0,0 +1,138 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.config.GeoProperties;
+import cn.itcast.hotel.geo.GeoIndex;
+import cn.itcast.hotel.geo.Haversine;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.utils.HitCount;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class GeoIndexTest {
+    private GeoIndex geoIndex;
+    private final List<Hotel> hotels = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        GeoProperties properties = new GeoProperties();
+        properties.setEnabled(false);
+        geoIndex = new GeoIndex();
+        ReflectionTestUtils.setField(geoIndex, "properties", properties);
+        geoIndex.init();
+        ReflectionTestUtils.setField(geoIndex, "touchedWhileLoading", null);
+        ReflectionTestUtils.setField(geoIndex, "ready", true);
+
+        Random random = new Random(3);
+        String[] brands = {"如家", "汉庭", "希尔顿"};
+        for (long id = 1; id <= 500; id++) {
+            Hotel hotel = new Hotel();
+            hotel.setId(id);
+            hotel.setName("酒店" + id);
+            hotel.setBrand(brands[random.nextInt(brands.length)]);
+            hotel.setCity("上海");
+            hotel.setPrice(100 + random.nextInt(900));
+            //大部分集中在市区，少量在郊区
+            double spread = random.nextDouble() < 0.8 ? 0.1 : 0.8;
+            hotel.setLatitude(String.format("%.6f", 31.2 + (random.nextDouble() - 0.5) * spread));
+            hotel.setLongitude(String.format("%.6f", 121.5 + (random.nextDouble() - 0.5) * spread));
+            hotels.add(hotel);
+            geoIndex.onUpsert(hotel);
+        }
+    }
+
+    @Test
+    void testSameOrderAsFullSort() {
+        for (String brand : new String[]{null, "希尔顿"}) {
+            for (int page = 1; page <= 4; page++) {
+                RequestParams params = params("31.21, 121.48", page, 10);
+                params.setBrand(brand);
+                assertTrue(geoIndex.canAnswer(params));
+                PageResult result = geoIndex.search(params);
+                List<Long> expected = bruteForce(params, null);
+                assertEquals(expected.size(), result.getTotal().intValue());
+                assertEquals(expected.subList(Math.min((page - 1) * 10, expected.size()), Math.min(page * 10, expected.size())),
+                        result.getHotels().stream().map(HotelDoc::getId).collect(Collectors.toList()));
+            }
+        }
+    }
+
+    @Test
+    void testRadius() {
+        RequestParams params = params("31.21, 121.48", 1, 10);
+        params.setRadius(2.0);
+        PageResult result = geoIndex.search(params);
+        List<Long> expected = bruteForce(params, 2.0);
+        assertEquals(expected.size(), result.getTotal().intValue());
+        for (HotelDoc doc : result.getHotels()) {
+            assertTrue((Double) doc.getDistance() <= 2.0);
+        }
+        //半径大到覆盖全部酒店时和不限半径一样
+        params.setRadius(500.0);
+        assertEquals(hotels.size(), geoIndex.search(params).getTotal().intValue());
+    }
+
+    @Test
+    void testCountStopsAtLimit() {
+        RequestParams params = params("31.21, 121.48", 1, 10);
+        params.setCount("20");
+        PageResult result = geoIndex.search(params);
+        assertEquals(20, result.getTotal().intValue());
+        assertEquals(HitCount.RELATION_GTE, result.getTotalRelation());
+
+        params.setRadius(2.0);
+        params.setCount("exact");
+        int exact = bruteForce(params, 2.0).size();
+        params.setCount(String.valueOf(exact));
+        assertEquals(HitCount.RELATION_EQ, geoIndex.search(params).getTotalRelation());
+        params.setCount(String.valueOf(exact - 1));
+        assertEquals(HitCount.RELATION_GTE, geoIndex.search(params).getTotalRelation());
+    }
+
+    @Test
+    void testKthDistanceAndDelete() {
+        RequestParams params = params("31.21, 121.48", 1, 10);
+        Double kth = geoIndex.kthDistance(params, 10);
+        PageResult result = geoIndex.search(params);
+        assertEquals(result.getHotels().get(9).getDistance(), kth);
+        assertNull(geoIndex.kthDistance(params, 501));
+
+        Long nearest = result.getHotels().get(0).getId();
+        geoIndex.onDelete(nearest);
+        assertNotEquals(nearest, geoIndex.search(params).getHotels().get(0).getId());
+    }
+
+    private List<Long> bruteForce(RequestParams params, Double radius) {
+        double[] center = Haversine.parse(params.getLocation());
+        return hotels.stream()
+                .filter(h -> params.getBrand() == null || params.getBrand().equals(h.getBrand()))
+                .filter(h -> radius == null || distance(center, h) <= radius)
+                .sorted(Comparator.comparingDouble((Hotel h) -> distance(center, h)).thenComparing(Hotel::getId))
+                .map(Hotel::getId)
+                .collect(Collectors.toList());
+    }
+
+    private static double distance(double[] center, Hotel hotel) {
+        return Haversine.distanceKm(center[0], center[1],
+                Double.parseDouble(hotel.getLatitude()), Double.parseDouble(hotel.getLongitude()));
+    }
+
+    private static RequestParams params(String location, int page, int size) {
+        RequestParams params = new RequestParams();
+        params.setLocation(location);
+        params.setPage(page);
+        params.setSize(size);
+        return params;
+    }
+}
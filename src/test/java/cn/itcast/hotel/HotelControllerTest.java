@@ -0,0 +1,170 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.cache.IndexGeneration;
+import cn.itcast.hotel.config.DetailProperties;
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.embedded.EmbeddedHotelService;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.pojo.SearchResult;
+import cn.itcast.hotel.service.IHotelAsyncService;
+import cn.itcast.hotel.utils.InvalidRequestException;
+import cn.itcast.hotel.utils.SearchCursor;
+import cn.itcast.hotel.web.HotelController;
+import cn.itcast.hotel.web.ProjectionAdvice;
+import cn.itcast.hotel.web.SearchETags;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+public class HotelControllerTest {
+    private IHotelAsyncService service;
+    private IndexGeneration generation;
+    private EmbeddedHotelService embeddedHotelService;
+    private MockMvc mvc;
+
+    @BeforeEach
+    void setUp() {
+        service = Mockito.mock(IHotelAsyncService.class);
+        generation = Mockito.mock(IndexGeneration.class);
+        Mockito.when(generation.current()).thenReturn(7L);
+        Mockito.when(generation.source()).thenReturn("a1");
+        embeddedHotelService = Mockito.mock(EmbeddedHotelService.class);
+        HotelDoc doc = new HotelDoc();
+        doc.setId(1L);
+        doc.setName("如家酒店");
+        doc.setPrice(199);
+        doc.setPic("https://example.com/1.jpg");
+        doc.setSuggestion(Collections.singletonList("如家"));
+        Mockito.when(service.searchAsync(any(RequestParams.class)))
+                .thenAnswer(i -> CompletableFuture.completedFuture(new PageResult(1L, Collections.singletonList(doc))));
+
+        SearchETags eTags = new SearchETags();
+        ReflectionTestUtils.setField(eTags, "generation", generation);
+        ReflectionTestUtils.setField(eTags, "embeddedHotelService", embeddedHotelService);
+        HotelController controller = new HotelController();
+        ReflectionTestUtils.setField(controller, "hotelAsyncService", service);
+        ReflectionTestUtils.setField(controller, "searchProperties", new SearchProperties());
+        ReflectionTestUtils.setField(controller, "searchETags", eTags);
+        ReflectionTestUtils.setField(controller, "detailProperties", new DetailProperties());
+        mvc = MockMvcBuilders.standaloneSetup(controller).setControllerAdvice(new ProjectionAdvice()).build();
+    }
+
+    @Test
+    void testNotModifiedSkipsSearch() throws Exception {
+        MvcResult first = mvc.perform(get("/hotel/list").param("city", "上海").param("page", "1"))
+                .andExpect(request().asyncStarted()).andReturn();
+        String eTag = first.getResponse().getHeader(HttpHeaders.ETAG);
+        //压缩前后内容相同，用弱ETag
+        assertTrue(eTag.startsWith("W/\""));
+        mvc.perform(asyncDispatch(first)).andExpect(status().isOk());
+        Mockito.verify(service, Mockito.times(1)).searchAsync(any(RequestParams.class));
+
+        //参数写法不同但规范化以后相同，ETag也相同，直接304
+        mvc.perform(get("/hotel/list").param("city", " 上海 ").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(status().isNotModified());
+        Mockito.verify(service, Mockito.times(1)).searchAsync(any(RequestParams.class));
+
+        //换成本地索引查询、代数来源变了（重启或者另一个实例）、索引有写入以后ETag都变了
+        Mockito.when(embeddedHotelService.serves()).thenReturn(true);
+        mvc.perform(get("/hotel/list").param("city", "上海").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(request().asyncStarted());
+        Mockito.verify(service, Mockito.times(2)).searchAsync(any(RequestParams.class));
+        Mockito.when(embeddedHotelService.serves()).thenReturn(false);
+        Mockito.when(generation.source()).thenReturn("b2");
+        mvc.perform(get("/hotel/list").param("city", "上海").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(request().asyncStarted());
+        Mockito.verify(service, Mockito.times(3)).searchAsync(any(RequestParams.class));
+        Mockito.when(generation.source()).thenReturn("a1");
+        Mockito.when(generation.current()).thenReturn(8L);
+        mvc.perform(get("/hotel/list").param("city", "上海").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(request().asyncStarted());
+        Mockito.verify(service, Mockito.times(4)).searchAsync(any(RequestParams.class));
+    }
+
+    @Test
+    void testProjection() throws Exception {
+        MvcResult full = mvc.perform(get("/hotel/list")).andReturn();
+        mvc.perform(asyncDispatch(full))
+                .andExpect(jsonPath("$.hotels[0].pic").exists())
+                //只给ES用的字段和空字段不返回
+                .andExpect(jsonPath("$.hotels[0].suggestion").doesNotExist())
+                .andExpect(jsonPath("$.hotels[0].distance").doesNotExist());
+
+        MvcResult slim = mvc.perform(get("/hotel/list").param("fields", "name, price")).andReturn();
+        mvc.perform(asyncDispatch(slim))
+                .andExpect(jsonPath("$.hotels[0].id").value(1))
+                .andExpect(jsonPath("$.hotels[0].name").value("如家酒店"))
+                .andExpect(jsonPath("$.hotels[0].pic").doesNotExist());
+        //返回字段不同，ETag不同
+        String fullETag = full.getResponse().getHeader(HttpHeaders.ETAG);
+        Mockito.verify(service, Mockito.times(2)).searchAsync(any(RequestParams.class));
+        assertNotEquals(fullETag, slim.getResponse().getHeader(HttpHeaders.ETAG));
+    }
+
+    @Test
+    void testInvalidCursorIsBadRequest() throws Exception {
+        Mockito.when(service.searchAsync(any(RequestParams.class))).thenAnswer(i -> {
+            CompletableFuture<PageResult> future = new CompletableFuture<>();
+            try {
+                SearchCursor.decode(i.<RequestParams>getArgument(0).getCursor());
+            } catch (RuntimeException e) {
+                future.completeExceptionally(new CompletionException(e));
+            }
+            return future;
+        });
+        MvcResult result = mvc.perform(get("/hotel/list").param("paging", "cursor").param("cursor", "不是游标"))
+                .andExpect(request().asyncStarted()).andReturn();
+        mvc.perform(asyncDispatch(result)).andExpect(status().isBadRequest());
+    }
+
+    @Test
+    void testUnknownSortIsBadRequest() throws Exception {
+        //GET请求算ETag时就解析了排序方式，不会发起查询
+        mvc.perform(get("/hotel/list").param("sort", "最便宜")).andExpect(status().isBadRequest());
+        Mockito.verify(service, Mockito.never()).searchAsync(any(RequestParams.class));
+    }
+
+    @Test
+    void testCombinedSearchReturnsCursor() throws Exception {
+        PageResult page = new PageResult(1L, Collections.emptyList());
+        page.setCursor("next");
+        Mockito.when(service.searchWithFiltersAsync(any(RequestParams.class)))
+                .thenReturn(CompletableFuture.completedFuture(new SearchResult(page, Collections.emptyMap())));
+        MvcResult result = mvc.perform(get("/hotel/search").param("paging", "cursor")).andReturn();
+        //列表+过滤项也要带回游标，才能翻到下一页
+        mvc.perform(asyncDispatch(result)).andExpect(jsonPath("$.cursor").value("next"));
+    }
+
+    @Test
+    void testCursorOnlyAcceptsScalars() {
+        SearchCursor cursor = SearchCursor.decode(new SearchCursor(new Object[]{"上海", 48L, 0.8, "12"}, "pit").encode());
+        assertArrayEquals(new Object[]{"上海", 48L, 0.8, "12"}, cursor.getSortValues());
+        assertEquals("pit", cursor.getPitId());
+        //客户端伪造的对象、带类型名的内容都不接受
+        String forged = Base64.getUrlEncoder().encodeToString(
+                "{\"s\":[{\"@type\":\"java.net.URL\",\"val\":\"http://example.com\"}]}".getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidRequestException.class, () -> SearchCursor.decode(forged));
+        String pitObject = Base64.getUrlEncoder().encodeToString(
+                "{\"s\":[1],\"p\":{\"@type\":\"x\"}}".getBytes(StandardCharsets.UTF_8));
+        assertThrows(InvalidRequestException.class, () -> SearchCursor.decode(pitObject));
+    }
+}
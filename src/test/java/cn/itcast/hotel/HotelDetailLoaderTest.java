@@ -0,0 +1,115 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.cache.HotelDetailLoader;
+import cn.itcast.hotel.config.DetailProperties;
+import cn.itcast.hotel.mapper.HotelMapper;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelDoc;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyCollection;
+
+public class HotelDetailLoaderTest {
+    private HotelMapper mapper;
+    private HotelDetailLoader loader;
+    private final List<Collection<Long>> queries = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        mapper = Mockito.mock(HotelMapper.class);
+        Mockito.when(mapper.selectBatchIds(anyCollection())).thenAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            queries.add(new ArrayList<>(ids));
+            //id大于100的酒店不存在
+            return ids.stream().filter(id -> id <= 100).map(HotelDetailLoaderTest::hotel).collect(Collectors.toList());
+        });
+        DetailProperties properties = new DetailProperties();
+        properties.setBatchWindowMs(20);
+        properties.setMaxBatchSize(3);
+        loader = new HotelDetailLoader();
+        ReflectionTestUtils.setField(loader, "hotelMapper", mapper);
+        ReflectionTestUtils.setField(loader, "properties", properties);
+        loader.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        loader.close();
+    }
+
+    @Test
+    void testMissesInWindowAreBatched() throws Exception {
+        CompletableFuture<HotelDoc> one = loader.load(2L);
+        CompletableFuture<List<HotelDoc>> many = loader.loadAll(Arrays.asList(3L, 1L, 2L, 101L, 3L));
+        assertEquals(2L, one.get(1, TimeUnit.SECONDS).getId());
+        //按传入顺序返回，重复的只返回一次，不存在的跳过
+        assertEquals(Arrays.asList(3L, 1L, 2L), ids(many.get(1, TimeUnit.SECONDS)));
+        //两个请求的4个id合并查询，每批最多3个
+        assertEquals(Arrays.asList(Arrays.asList(2L, 3L, 1L), Arrays.asList(101L)), queries);
+
+        //都在缓存里，包括不存在的
+        assertEquals(Arrays.asList(1L, 3L), ids(loader.loadAll(Arrays.asList(1L, 101L, 3L)).get(1, TimeUnit.SECONDS)));
+        assertNull(loader.load(101L).get(1, TimeUnit.SECONDS));
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void testInvalidateOnWrite() throws Exception {
+        assertEquals("酒店1", loader.load(1L).get(1, TimeUnit.SECONDS).getName());
+        Hotel updated = hotel(1L);
+        updated.setName("改名以后");
+        loader.onUpsert(updated);
+        loader.load(1L).get(1, TimeUnit.SECONDS);
+        assertEquals(2, queries.size());
+    }
+
+    @Test
+    void testWriteDuringLoadIsNotCached() throws Exception {
+        CountDownLatch querying = new CountDownLatch(1);
+        CountDownLatch written = new CountDownLatch(1);
+        Mockito.doAnswer(invocation -> {
+            Collection<Long> ids = invocation.getArgument(0);
+            queries.add(new ArrayList<>(ids));
+            querying.countDown();
+            written.await(1, TimeUnit.SECONDS);
+            return ids.stream().map(HotelDetailLoaderTest::hotel).collect(Collectors.toList());
+        }).when(mapper).selectBatchIds(anyCollection());
+        CompletableFuture<HotelDoc> loading = loader.load(1L);
+        assertTrue(querying.await(1, TimeUnit.SECONDS));
+        //查询期间酒店被修改，查出来的可能是旧数据，返回但不缓存
+        loader.invalidate(1L);
+        written.countDown();
+        assertNotNull(loading.get(1, TimeUnit.SECONDS));
+        loader.load(1L).get(1, TimeUnit.SECONDS);
+        assertEquals(2, queries.size());
+    }
+
+    private static List<Long> ids(List<HotelDoc> hotels) {
+        return hotels.stream().map(HotelDoc::getId).collect(Collectors.toList());
+    }
+
+    private static Hotel hotel(Long id) {
+        Hotel hotel = new Hotel();
+        hotel.setId(id);
+        hotel.setName("酒店" + id);
+        hotel.setBrand("如家");
+        hotel.setBusiness("外滩");
+        hotel.setLatitude("31.2");
+        hotel.setLongitude("121.5");
+        return hotel;
+    }
+}
@@ -0,0 +1,38 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.service.impl.HotelDocReader;
+import com.alibaba.fastjson.JSON;
+import org.elasticsearch.common.bytes.BytesArray;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class HotelDocReaderTest {
+
+    @Test
+    void testSameAsFastjson() throws IOException {
+        String json = "{\"id\":36934,\"name\":\"7天连锁酒店(上海宝山路地铁站店)\",\"address\":\"静安交通路40号\"," +
+                "\"price\":336,\"score\":37,\"brand\":\"7天酒店\",\"city\":\"上海\",\"starName\":\"二钻\"," +
+                "\"business\":\"四川北路商业区\",\"location\":\"31.251433, 121.47522\"," +
+                "\"pic\":\"https://m.tuniucdn.com/fb2/t1/G1/M00/3E/40/Cii9EVkyLrKIXo1vAAHgrxo_pUcAALcKQLD688AAeDH564_w200_h200_c1_t0.jpg\"," +
+                "\"ADing\":true,\"suggestion\":[\"7天酒店\",\"四川北路商业区\"],\"all\":null}";
+
+        HotelDoc expected = JSON.parseObject(json, HotelDoc.class);
+        HotelDoc actual = HotelDocReader.read(new BytesArray(json));
+
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getName(), actual.getName());
+        assertEquals(expected.getPrice(), actual.getPrice());
+        assertEquals(expected.getScore(), actual.getScore());
+        assertEquals(expected.getLocation(), actual.getLocation());
+        assertEquals(expected.getPic(), actual.getPic());
+        assertTrue(actual.getADing());
+        //suggestion不取回
+        assertNull(actual.getSuggestion());
+    }
+}
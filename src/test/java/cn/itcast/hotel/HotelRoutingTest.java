@@ -0,0 +1,101 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.index.HotelRouting;
+import cn.itcast.hotel.index.IndexDefinitions;
+import cn.itcast.hotel.pojo.HotelDoc;
+import cn.itcast.hotel.pojo.RequestParams;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import org.elasticsearch.action.DocWriteRequest;
+import org.elasticsearch.action.delete.DeleteRequest;
+import org.elasticsearch.action.index.IndexRequest;
+import org.elasticsearch.action.update.UpdateRequest;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotelRoutingTest {
+
+    @Test
+    void testSearchRouting() {
+        RequestParams params = new RequestParams();
+        params.setCity(" 上海 ");
+        assertEquals("上海", HotelRouting.routing(HotelRouting.CITY, params));
+        //线上索引不是按城市路由的，或者还不知道时，查所有分片
+        assertNull(HotelRouting.routing(null, params));
+
+        //跨城市的查询照旧发给所有分片
+        params.setCity(null);
+        assertNull(HotelRouting.routing(HotelRouting.CITY, params));
+
+        params.setCity("上海");
+        params.setPaging(RequestParams.PAGING_CURSOR);
+        params.setPit(true);
+        assertNull(HotelRouting.routing(HotelRouting.CITY, params));
+    }
+
+    @Test
+    void testRoutedMapping() {
+        JSONObject mappings = JSON.parseObject(
+                HotelRouting.mappingsSource(IndexDefinitions.latest(), HotelRouting.CITY));
+        assertTrue(mappings.getJSONObject("_routing").getBooleanValue("required"));
+        assertEquals(HotelRouting.CITY, HotelRouting.routingOf(mappings));
+        assertEquals(IndexDefinitions.latest().getVersion(),
+                mappings.getJSONObject("_meta").getIntValue("definition"));
+
+        assertEquals(IndexDefinitions.latest().mappingsSource(),
+                HotelRouting.mappingsSource(IndexDefinitions.latest(), null));
+        assertNull(HotelRouting.routingOf(JSON.parseObject(IndexDefinitions.latest().mappingsSource())));
+    }
+
+    @Test
+    void testSyncWrites() {
+        HotelDoc doc = new HotelDoc();
+        doc.setId(1L);
+        doc.setName("如家酒店");
+        doc.setCity("北京");
+
+        //不按路由时和原来一样
+        List<DocWriteRequest<?>> writes = HotelRouting.writes(1L, doc, false, null);
+        assertEquals(1, writes.size());
+        assertTrue(writes.get(0) instanceof UpdateRequest);
+        assertNull(writes.get(0).routing());
+        assertTrue(HotelRouting.writes(1L, null, false, null).get(0) instanceof DeleteRequest);
+
+        //新酒店、城市没变：带路由局部更新
+        writes = HotelRouting.writes(1L, doc, true, null);
+        assertEquals("北京", writes.get(0).routing());
+        writes = HotelRouting.writes(1L, doc, true, new HotelRouting.Placement("北京", new HashMap<>()));
+        assertEquals(1, writes.size());
+        assertTrue(writes.get(0) instanceof UpdateRequest);
+
+        //换了城市：从旧分片删掉，带着ES里独有的字段写到新分片
+        Map<String, Object> indexed = new HashMap<>();
+        indexed.put("id", 1);
+        indexed.put("city", "上海");
+        indexed.put("ADing", true);
+        writes = HotelRouting.writes(1L, doc, true, new HotelRouting.Placement("上海", indexed));
+        assertEquals(2, writes.size());
+        assertTrue(writes.get(0) instanceof DeleteRequest);
+        assertEquals("上海", writes.get(0).routing());
+        IndexRequest moved = (IndexRequest) writes.get(1);
+        assertEquals("北京", moved.routing());
+        Map<String, Object> source = moved.sourceAsMap();
+        assertEquals("北京", source.get("city"));
+        assertEquals("如家酒店", source.get("name"));
+        assertEquals(true, source.get("ADing"));
+
+        //删除要带上文档现在的路由，索引里没有就不用删
+        writes = HotelRouting.writes(1L, null, true, new HotelRouting.Placement("上海", indexed));
+        assertEquals("上海", writes.get(0).routing());
+        assertTrue(HotelRouting.writes(1L, null, true, null).isEmpty());
+
+        //没有城市的酒店也要有路由值
+        doc.setCity(null);
+        assertEquals(HotelRouting.NO_CITY, HotelRouting.writes(1L, doc, true, null).get(0).routing());
+    }
+}
@@ -0,0 +1,101 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.cache.HotelSearchCache;
+import cn.itcast.hotel.cache.InMemorySearchResultStore;
+import cn.itcast.hotel.cache.IndexGeneration;
+import cn.itcast.hotel.config.CacheProperties;
+import cn.itcast.hotel.pojo.PageResult;
+import cn.itcast.hotel.pojo.RequestParams;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class HotelSearchCacheTest {
+    private HotelSearchCache cache;
+    private IndexGeneration generation;
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<RequestParams, PageResult> loader = params -> {
+        loads.incrementAndGet();
+        return new PageResult(1L, new ArrayList<>());
+    };
+
+    @BeforeEach
+    void setUp() {
+        CacheProperties properties = new CacheProperties();
+        properties.setGenerationRefreshMs(0);
+        InMemorySearchResultStore store = new InMemorySearchResultStore(100);
+        generation = new IndexGeneration();
+        ReflectionTestUtils.setField(generation, "store", store);
+        ReflectionTestUtils.setField(generation, "properties", properties);
+        cache = new HotelSearchCache();
+        ReflectionTestUtils.setField(cache, "properties", properties);
+        ReflectionTestUtils.setField(cache, "store", store);
+        ReflectionTestUtils.setField(cache, "generation", generation);
+        cache.init();
+    }
+
+    @Test
+    void testEquivalentParamsShareEntry() {
+        RequestParams first = params(" 如家 ", "31.21930, 121.44542");
+        RequestParams second = params("如家", "31.2193,121.4454");
+        cache.search(first, loader);
+        cache.search(second, loader);
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void testGenerationBumpInvalidates() {
+        RequestParams params = params("如家", null);
+        cache.search(params, loader);
+        generation.bump();
+        cache.search(params, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testWritesInvalidateAtMostOncePerInterval() {
+        CacheProperties properties = (CacheProperties) ReflectionTestUtils.getField(generation, "properties");
+        properties.setWriteInvalidationMs(60_000);
+        RequestParams params = params("如家", null);
+        //第一次写入马上失效
+        generation.changed();
+        cache.search(params, loader);
+        //间隔内的写入只记下来，缓存继续命中
+        generation.changed();
+        cache.search(params, loader);
+        assertEquals(1, loads.get());
+        //间隔到了，查代数时补上失效
+        properties.setWriteInvalidationMs(0);
+        cache.search(params, loader);
+        assertEquals(2, loads.get());
+        cache.search(params, loader);
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void testLoaderSeesRealLocation() {
+        List<String> locations = new ArrayList<>();
+        cache.search(params("如家", "31.21930, 121.44542"), params -> {
+            locations.add(params.getLocation());
+            return new PageResult(1L, new ArrayList<>());
+        });
+        assertEquals("31.21930, 121.44542", locations.get(0));
+    }
+
+    private static RequestParams params(String key, String location) {
+        RequestParams params = new RequestParams();
+        params.setKey(key);
+        params.setPage(1);
+        params.setSize(10);
+        params.setCity("上海");
+        params.setLocation(location);
+        return params;
+    }
+}
@@ -0,0 +1,181 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.pojo.RequestParams;
+import cn.itcast.hotel.ranking.RankingConfig;
+import cn.itcast.hotel.service.impl.HotelSearchRequests;
+import cn.itcast.hotel.service.impl.HotelSearchTemplates;
+import cn.itcast.hotel.utils.HitCount;
+import cn.itcast.hotel.utils.SearchCursor;
+import com.alibaba.fastjson.JSON;
+import org.elasticsearch.action.search.SearchRequest;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class HotelSearchTemplatesTest {
+    private static final Pattern TO_JSON = Pattern.compile("\\{\\{#toJson}}(\\w+)\\{\\{/toJson}}");
+    private static final Pattern VARIABLE = Pattern.compile("\\{\\{(\\w+)}}");
+
+    private HotelSearchTemplates templates;
+    private final RankingConfig ranking = new RankingConfig();
+
+    @BeforeEach
+    void setUp() {
+        templates = new HotelSearchTemplates();
+        ReflectionTestUtils.setField(templates, "properties", new SearchProperties());
+    }
+
+    @Test
+    void testRenderedTemplateMatchesDsl() {
+        RequestParams keyword = params();
+        keyword.setKey("外滩 \"景观\"");
+        keyword.setCity("上海");
+        keyword.setMinPrice(100);
+        keyword.setMaxPrice(300);
+        assertSameDsl(HotelSearchTemplates.KIND_LIST, keyword);
+        assertSameDsl(HotelSearchTemplates.KIND_FILTERS, keyword);
+        //计数上限只是模板参数
+        keyword.setCount(HitCount.EXACT);
+        assertSameDsl(HotelSearchTemplates.KIND_LIST, keyword);
+        keyword.setCount("200");
+        assertSameDsl(HotelSearchTemplates.KIND_SEARCH, keyword);
+
+        RequestParams nearby = params();
+        nearby.setPage(3);
+        nearby.setBrand("如家");
+        nearby.setStarName("二钻");
+        nearby.setLocation("31.21, 121.5");
+        nearby.setRadius(2.5);
+        assertSameDsl(HotelSearchTemplates.KIND_LIST, nearby);
+        assertSameDsl(HotelSearchTemplates.KIND_SEARCH, nearby);
+        assertSameDsl(HotelSearchTemplates.KIND_FILTERS, nearby);
+
+        RequestParams cursor = params();
+        cursor.setSort("price");
+        cursor.setLocation("31.21,121.5");
+        cursor.setPaging(RequestParams.PAGING_CURSOR);
+        cursor.setCursor(new SearchCursor(new Object[]{199L, 1.25, 12L}, null).encode());
+        assertSameDsl(HotelSearchTemplates.KIND_LIST, cursor);
+        assertSameDsl(HotelSearchTemplates.KIND_SEARCH, cursor);
+
+        //按评分排且限定城市时排序值前面多一个城市
+        RequestParams byScore = params();
+        byScore.setSort("score");
+        byScore.setCity("上海");
+        byScore.setLocation("31.21,121.5");
+        byScore.setPaging(RequestParams.PAGING_CURSOR);
+        byScore.setCursor(new SearchCursor(new Object[]{"上海", 48L, 0.8, "12"}, null).encode());
+        assertSameDsl(HotelSearchTemplates.KIND_LIST, byScore);
+
+        RequestParams map = params();
+        map.setKey("酒店");
+        map.setSort("relevance");
+        map.setLocation("31.21,121.5");
+        map.setBbox("31.3, 121.4, 31.1, 121.6");
+        map.setPaging(RequestParams.PAGING_CURSOR);
+        assertSameDsl(HotelSearchTemplates.KIND_LIST, map);
+        assertSameDsl(HotelSearchTemplates.KIND_FILTERS, map);
+    }
+
+    @Test
+    void testTemplateReusedPerShape() {
+        RequestParams first = params();
+        first.setCity("上海");
+        RequestParams second = params();
+        second.setCity("北京");
+        second.setPage(5);
+        HotelSearchTemplates.Template template = templates.template(HotelSearchTemplates.KIND_LIST, first, ranking);
+        //只是取值不同，用同一个模板
+        assertSame(template, templates.template(HotelSearchTemplates.KIND_LIST, second, ranking));
+
+        second.setBrand("如家");
+        assertNotEquals(template.getId(), templates.template(HotelSearchTemplates.KIND_LIST, second, ranking).getId());
+
+        //算分参数写在模板里，变了以后换一个模板
+        RankingConfig changed = ranking.copy();
+        changed.setAdWeight(20);
+        assertNotEquals(template.getId(), templates.template(HotelSearchTemplates.KIND_LIST, first, changed).getId());
+        assertEquals(template.getId(), templates.template(HotelSearchTemplates.KIND_LIST, first, ranking).getId());
+    }
+
+    @Test
+    void testReplacedTemplatesRetired() {
+        RequestParams params = params();
+        String original = templates.template(HotelSearchTemplates.KIND_LIST, params, ranking).getId();
+        Map<String, Object> stats = templates.stats();
+        //每次改权重都换掉同一形状的模板，不会越积越多
+        String last = original;
+        for (int weight = 11; weight <= 20; weight++) {
+            RankingConfig changed = ranking.copy();
+            changed.setAdWeight(weight);
+            last = templates.template(HotelSearchTemplates.KIND_LIST, params, changed).getId();
+        }
+        assertEquals(stats.get("shapes"), templates.stats().get("shapes"));
+        Map<?, ?> retired = (Map<?, ?>) ReflectionTestUtils.getField(templates, "retired");
+        assertEquals(10, retired.size());
+        assertTrue(retired.containsKey(original));
+        assertFalse(retired.containsKey(last));
+        //改回原来的权重，原来的模板不再删除
+        templates.template(HotelSearchTemplates.KIND_LIST, params, ranking);
+        assertFalse(retired.containsKey(original));
+        assertTrue(retired.containsKey(last));
+    }
+
+    private void assertSameDsl(String kind, RequestParams params) {
+        HotelSearchTemplates.Template template = templates.template(kind, params, ranking);
+        assertNotNull(template.getId(), template.getSource());
+        String rendered = render(template.getSource(), HotelSearchTemplates.values(params));
+        assertEquals(JSON.parseObject(dsl(kind, params).source().toString()), JSON.parseObject(rendered),
+                kind + " " + template.getSource());
+    }
+
+    private SearchRequest dsl(String kind, RequestParams params) {
+        switch (kind) {
+            case HotelSearchTemplates.KIND_FILTERS:
+                return HotelSearchRequests.filtersRequest(params);
+            case HotelSearchTemplates.KIND_SEARCH:
+                return HotelSearchRequests.combinedRequest(params, ranking);
+            default:
+                return HotelSearchRequests.searchRequest(params, ranking);
+        }
+    }
+
+    /**
+     * 只实现模板里用到的两种写法：{{x}}按JSON转义输出，{{#toJson}}x{{/toJson}}输出JSON
+     */
+    private static String render(String source, Map<String, Object> values) {
+        StringBuffer out = new StringBuffer();
+        Matcher toJson = TO_JSON.matcher(source);
+        while (toJson.find()) {
+            toJson.appendReplacement(out, Matcher.quoteReplacement(JSON.toJSONString(values.get(toJson.group(1)))));
+        }
+        toJson.appendTail(out);
+        Matcher variable = VARIABLE.matcher(out.toString());
+        out = new StringBuffer();
+        while (variable.find()) {
+            Object value = values.get(variable.group(1));
+            assertNotNull(value, variable.group(1));
+            String text = value instanceof String ? JSON.toJSONString(value) : String.valueOf(value);
+            if (value instanceof String) {
+                text = text.substring(1, text.length() - 1);
+            }
+            variable.appendReplacement(out, Matcher.quoteReplacement(text));
+        }
+        variable.appendTail(out);
+        return out.toString();
+    }
+
+    private static RequestParams params() {
+        RequestParams params = new RequestParams();
+        params.setPage(1);
+        params.setSize(10);
+        return params;
+    }
+}
@@ -0,0 +1,78 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.cache.IndexGeneration;
+import cn.itcast.hotel.config.SyncProperties;
+import cn.itcast.hotel.mapper.HotelMapper;
+import cn.itcast.hotel.mapper.HotelOutboxMapper;
+import cn.itcast.hotel.mapper.SyncCheckpointMapper;
+import cn.itcast.hotel.pojo.Hotel;
+import cn.itcast.hotel.pojo.HotelOutbox;
+import cn.itcast.hotel.service.HotelChangeListener;
+import cn.itcast.hotel.service.impl.HotelSyncService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.TimeUnit;
+
+import static org.mockito.ArgumentMatchers.*;
+
+public class HotelSyncServiceTest {
+    private HotelSyncService syncService;
+    private HotelOutboxMapper outboxMapper;
+    private SyncCheckpointMapper checkpointMapper;
+    private IndexGeneration generation;
+    private HotelChangeListener listener;
+
+    @BeforeEach
+    void setUp() {
+        HotelMapper hotelMapper = Mockito.mock(HotelMapper.class);
+        Hotel hotel = new Hotel();
+        hotel.setId(1L);
+        Mockito.when(hotelMapper.selectBatchIds(anyCollection())).thenReturn(Collections.singletonList(hotel));
+        outboxMapper = Mockito.mock(HotelOutboxMapper.class);
+        Mockito.when(outboxMapper.selectIdBefore(any())).thenReturn(10L);
+        Mockito.when(outboxMapper.selectBatchAfter(eq(10L), anyInt())).thenReturn(Arrays.asList(
+                outbox(11L, 1L, HotelOutbox.OP_UPSERT), outbox(12L, 2L, HotelOutbox.OP_DELETE)));
+        checkpointMapper = Mockito.mock(SyncCheckpointMapper.class);
+        generation = Mockito.mock(IndexGeneration.class);
+        listener = Mockito.mock(HotelChangeListener.class);
+
+        SyncProperties properties = new SyncProperties();
+        properties.setEnabled(false);
+        properties.setPollIntervalMs(10);
+        syncService = new HotelSyncService();
+        ReflectionTestUtils.setField(syncService, "hotelMapper", hotelMapper);
+        ReflectionTestUtils.setField(syncService, "outboxMapper", outboxMapper);
+        ReflectionTestUtils.setField(syncService, "checkpointMapper", checkpointMapper);
+        ReflectionTestUtils.setField(syncService, "indexGeneration", generation);
+        ReflectionTestUtils.setField(syncService, "properties", properties);
+        ReflectionTestUtils.setField(syncService, "listeners", Collections.singletonList(listener));
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        syncService.stop();
+    }
+
+    @Test
+    void testFollowerUpdatesLocalIndexesOnly() {
+        //没打开同步的实例也跟随发件箱，本地索引能看到其它实例的修改
+        syncService.start();
+        Mockito.verify(listener, Mockito.timeout(TimeUnit.SECONDS.toMillis(2))).onUpsert(argThat(h -> h.getId() == 1L));
+        Mockito.verify(listener, Mockito.timeout(TimeUnit.SECONDS.toMillis(2))).onDelete(2L);
+        //不写ES（没有注入client），不存进度，不让缓存失效
+        Mockito.verifyNoInteractions(checkpointMapper, generation);
+        Mockito.verify(outboxMapper, Mockito.never()).delete(any());
+    }
+
+    private static HotelOutbox outbox(long id, long hotelId, String op) {
+        HotelOutbox outbox = new HotelOutbox(hotelId, op);
+        outbox.setId(id);
+        return outbox;
+    }
+}
@@ -0,0 +1,89 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.index.IndexDefinition;
+import cn.itcast.hotel.index.IndexDefinitions;
+import cn.itcast.hotel.index.MappingDiff;
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import org.elasticsearch.common.settings.Settings;
+import org.elasticsearch.common.xcontent.XContentType;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class IndexDefinitionTest {
+
+    @Test
+    void testDefinitionsAreVersioned() {
+        assertEquals(Arrays.asList(1, 2), IndexDefinitions.all().stream()
+                .map(IndexDefinition::getVersion).collect(Collectors.toList()));
+        IndexDefinition latest = IndexDefinitions.latest();
+        assertEquals(3, latest.indexSort().size());
+        assertArrayEquals(new String[]{"city", "asc"}, latest.indexSort().get(0));
+        assertArrayEquals(new String[]{"score", "desc"}, latest.indexSort().get(1));
+        assertTrue(latest.eagerGlobalOrdinals("brand"));
+        assertFalse(latest.docValues("pic"));
+        assertFalse(latest.norms("all"));
+        assertTrue(latest.norms("name"));
+        assertTrue(IndexDefinitions.get(1).indexSort().isEmpty());
+        assertTrue(IndexDefinitions.get(1).docValues("pic"));
+    }
+
+    @Test
+    void testDiffAgainstOlderIndex() {
+        //ES返回的mapping：没有_meta，单个copy_to写成数组，scaling_factor写成小数
+        Map<String, Object> live = mapping(IndexDefinitions.get(1));
+        live.remove("_meta");
+        JSONObject properties = (JSONObject) live.get("properties");
+        properties.getJSONObject("name").put("copy_to", Collections.singletonList("all"));
+        properties.getJSONObject("rankScore").put("scaling_factor", 1000.0);
+        Settings settings = Settings.builder().put("index.number_of_shards", "1").build();
+
+        MappingDiff diff = MappingDiff.compare("hotel_v3", IndexDefinitions.latest(), live, settings);
+        assertNull(diff.getLiveVersion());
+        Map<String, MappingDiff.Change> changes = diff.getChanges().stream()
+                .collect(Collectors.toMap(MappingDiff.Change::getPath, change -> change));
+        assertEquals(Arrays.asList(
+                "settings.index.sort.field", "settings.index.sort.order",
+                "mappings.properties.address.norms",
+                "mappings.properties.brand.eager_global_ordinals",
+                "mappings.properties.city.eager_global_ordinals",
+                "mappings.properties.starName.eager_global_ordinals",
+                "mappings.properties.pic.doc_values",
+                "mappings.properties.all.norms"),
+                diff.getChanges().stream().map(MappingDiff.Change::getPath).collect(Collectors.toList()));
+        assertTrue(changes.get("mappings.properties.city.eager_global_ordinals").isInPlace());
+        assertTrue(changes.get("mappings.properties.all.norms").isInPlace());
+        assertFalse(changes.get("mappings.properties.pic.doc_values").isInPlace());
+        assertFalse(changes.get("settings.index.sort.field").isInPlace());
+        assertTrue(diff.isRebuildRequired());
+    }
+
+    @Test
+    void testNoDiffWhenUpToDate() {
+        IndexDefinition latest = IndexDefinitions.latest();
+        Settings settings = Settings.builder()
+                .loadFromSource(latest.settingsSource(), XContentType.JSON)
+                .put("index.number_of_replicas", "1")
+                .build();
+        MappingDiff diff = MappingDiff.compare("hotel_v3", latest, mapping(latest), settings);
+        assertEquals(Integer.valueOf(latest.getVersion()), diff.getLiveVersion());
+        assertTrue(diff.isEmpty(), diff.getChanges().toString());
+
+        //新加的字段可以直接put mapping
+        Map<String, Object> live = mapping(latest);
+        ((JSONObject) live.get("properties")).remove("rankScore");
+        diff = MappingDiff.compare("hotel_v3", latest, live, settings);
+        assertEquals(1, diff.getChanges().size());
+        assertFalse(diff.isRebuildRequired());
+    }
+
+    private static Map<String, Object> mapping(IndexDefinition definition) {
+        return JSON.parseObject(definition.mappingsSource());
+    }
+}
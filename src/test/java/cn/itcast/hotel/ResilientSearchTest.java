@@ -0,0 +1,244 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.config.ElasticsearchProperties;
+import cn.itcast.hotel.config.ResilienceProperties;
+import cn.itcast.hotel.config.SearchProperties;
+import cn.itcast.hotel.resilience.CallRejectedException;
+import cn.itcast.hotel.resilience.CircuitBreaker;
+import cn.itcast.hotel.resilience.Deadline;
+import cn.itcast.hotel.resilience.ResilientSearch;
+import cn.itcast.hotel.resilience.SearchTransport;
+import cn.itcast.hotel.resilience.SessionPreference;
+import cn.itcast.hotel.utils.Futures;
+import org.elasticsearch.action.ActionListener;
+import org.elasticsearch.action.search.SearchRequest;
+import org.elasticsearch.action.search.SearchResponse;
+import org.elasticsearch.client.RequestOptions;
+import org.elasticsearch.script.mustache.SearchTemplateRequest;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResilientSearchTest {
+    private ResilienceProperties properties;
+    private FaultyTransport transport;
+    private ResilientSearch search;
+
+    @BeforeEach
+    void setUp() {
+        properties = new ResilienceProperties();
+        properties.setDeadlineReserveMs(0);
+        properties.getBreaker().setWindowSize(10);
+        properties.getBreaker().setMinimumCalls(4);
+        properties.getBulkheads().put("suggestion", 2);
+        transport = new FaultyTransport();
+        search = new ResilientSearch();
+        ReflectionTestUtils.setField(search, "properties", properties);
+        ReflectionTestUtils.setField(search, "searchProperties", new SearchProperties());
+        ReflectionTestUtils.setField(search, "esProperties", new ElasticsearchProperties());
+        ReflectionTestUtils.setField(search, "transport", transport);
+        search.init();
+    }
+
+    @AfterEach
+    void tearDown() {
+        search.close();
+        transport.close();
+        Deadline.clear();
+        SessionPreference.clear();
+    }
+
+    @Test
+    void testBreakerHalfOpen() {
+        AtomicLong now = new AtomicLong();
+        CircuitBreaker breaker = new CircuitBreaker(10, 4, 50, 1000, 2, now::get);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+        assertFalse(breaker.tryAcquire());
+
+        //半开只放两个探测，一个失败就重新打开
+        now.addAndGet(1000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.state());
+
+        now.addAndGet(1000);
+        assertTrue(breaker.tryAcquire());
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.state());
+        assertEquals(2, breaker.openedCount());
+    }
+
+    @Test
+    void testServerErrorsOpenBreaker() {
+        transport.failNext(4);
+        for (int i = 0; i < 4; i++) {
+            assertThrows(IOException.class, () -> search.search("list", new SearchRequest()));
+        }
+        assertEquals(CircuitBreaker.State.OPEN, search.breakerState());
+        int sent = transport.sent.get();
+        assertThrows(CallRejectedException.class, () -> search.search("list", new SearchRequest()));
+        assertEquals(sent, transport.sent.get());
+    }
+
+    @Test
+    void testBulkheadIsolatesEndpoints() throws Exception {
+        transport.latencyMs = 10_000;
+        search.searchAsync("suggestion", new SearchRequest());
+        search.searchAsync("suggestion", new SearchRequest());
+        CompletableFuture<SearchResponse> rejected = search.searchAsync("suggestion", new SearchRequest());
+        assertTrue(Futures.unwrap(assertThrows(Exception.class, rejected::get)) instanceof CallRejectedException);
+        //自动补全满了不影响列表
+        transport.latencyMs = 0;
+        assertNotNull(search.search("list", new SearchRequest()));
+    }
+
+    @Test
+    void testDeadlineCancelsRequest() throws Exception {
+        transport.latencyMs = 10_000;
+        Deadline.set(Deadline.after(100));
+        long start = System.nanoTime();
+        CompletableFuture<SearchResponse> future = search.searchAsync("list", new SearchRequest());
+        Throwable error = Futures.unwrap(assertThrows(Exception.class, future::get));
+        assertTrue(error instanceof TimeoutException);
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        awaitCancelled(1);
+
+        Deadline.set(Deadline.after(0));
+        assertThrows(Exception.class, () -> search.searchAsync("list", new SearchRequest()).get());
+        assertEquals(1, transport.sent.get());
+    }
+
+    @Test
+    void testHedgedRequestWins() throws Exception {
+        properties.getHedge().setEnabled(true);
+        properties.getHedge().setMinSamples(5);
+        properties.getHedge().setMinDelayMs(20);
+        properties.getHedge().setBudgetPercent(100);
+        transport.latencyMs = 5;
+        for (int i = 0; i < 10; i++) {
+            search.search("list", new SearchRequest());
+        }
+        //主请求卡住，对冲请求正常返回
+        transport.preferences.clear();
+        SessionPreference.set(SessionPreference.of("session-1"));
+        transport.slowNext(10_000);
+        long start = System.nanoTime();
+        assertNotNull(search.search("list", new SearchRequest()));
+        assertTrue(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) < 1000);
+        Map<String, Object> stats = search.stats();
+        assertEquals(1L, stats.get("hedges"));
+        assertEquals(1L, stats.get("hedgeWins"));
+        //主请求带会话的preference，对冲请求不带，换一组副本
+        assertEquals(Arrays.asList(SessionPreference.of("session-1"), null), new ArrayList<>(transport.preferences));
+        //卡住的主请求被取消
+        awaitCancelled(1);
+    }
+
+    /**
+     * 结束时的清理在完成future的线程上执行，可能比调用方醒来晚一点
+     */
+    private void awaitCancelled(int expected) throws InterruptedException {
+        long deadline = System.currentTimeMillis() + 1000;
+        while (transport.cancelled.get() < expected && System.currentTimeMillis() < deadline) {
+            TimeUnit.MILLISECONDS.sleep(5);
+        }
+        assertEquals(expected, transport.cancelled.get());
+    }
+
+    /**
+     * 注入故障的ES：按设定的延迟返回，可以让接下来的若干个请求失败或变慢
+     */
+    private static class FaultyTransport implements SearchTransport {
+        private final ScheduledExecutorService executor = Executors.newScheduledThreadPool(2);
+        private final ConcurrentLinkedQueue<Long> slowQueue = new ConcurrentLinkedQueue<>();
+        private final AtomicInteger failures = new AtomicInteger();
+        private final AtomicInteger sent = new AtomicInteger();
+        private final AtomicInteger cancelled = new AtomicInteger();
+        /**
+         * 每次发出的请求带的preference，没带时为null
+         */
+        private final List<String> preferences = Collections.synchronizedList(new ArrayList<>());
+        /**
+         * 第一次mock很慢，提前建好，不要算进延迟里
+         */
+        private final SearchResponse response = Mockito.mock(SearchResponse.class);
+        private volatile long latencyMs;
+
+        void failNext(int n) {
+            failures.set(n);
+        }
+
+        void slowNext(long ms) {
+            slowQueue.add(ms);
+        }
+
+        @Override
+        public Runnable search(SearchRequest request, RequestOptions options, ActionListener<SearchResponse> listener) {
+            sent.incrementAndGet();
+            preferences.add(options.getParameters().get("preference"));
+            Long slow = slowQueue.poll();
+            long latency = slow != null ? slow : latencyMs;
+            boolean fail = failures.getAndUpdate(n -> Math.max(0, n - 1)) > 0;
+            AtomicBoolean started = new AtomicBoolean();
+            ScheduledFuture<?> task = executor.schedule(() -> {
+                started.set(true);
+                if (fail) {
+                    listener.onFailure(new IOException("连接被重置"));
+                } else {
+                    listener.onResponse(response);
+                }
+            }, latency, TimeUnit.MILLISECONDS);
+            return () -> {
+                //已经返回的请求取消是空操作，只统计真正被取消的
+                if (!started.get() && task.cancel(false)) {
+                    cancelled.incrementAndGet();
+                }
+            };
+        }
+
+        @Override
+        public Runnable searchTemplate(SearchTemplateRequest request, RequestOptions options,
+                                       ActionListener<SearchResponse> listener) {
+            return search(request.getRequest(), options, listener);
+        }
+
+        @Override
+        public int nodeCount() {
+            return 2;
+        }
+
+        void close() {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,78 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.utils.SingleFlight;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+
+    @Test
+    void testConcurrentCallsShareOneRequest() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        AtomicInteger calls = new AtomicInteger();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+
+        CompletableFuture<String> first = singleFlight.execute("k", () -> {
+            calls.incrementAndGet();
+            return upstream;
+        });
+        CompletableFuture<String> second = singleFlight.execute("k", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("other");
+        });
+        upstream.complete("result");
+
+        assertEquals("result", first.get());
+        assertEquals("result", second.get());
+        assertEquals(1, calls.get());
+
+        //请求结束后再来的调用重新发请求
+        CompletableFuture<String> third = singleFlight.execute("k", () -> {
+            calls.incrementAndGet();
+            return CompletableFuture.completedFuture("fresh");
+        });
+        assertEquals("fresh", third.get());
+        assertEquals(2, calls.get());
+    }
+
+    @Test
+    void testErrorPropagatesToAll() {
+        SingleFlight singleFlight = new SingleFlight();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("k", () -> upstream);
+        CompletableFuture<String> second = singleFlight.execute("k", () -> upstream);
+        upstream.completeExceptionally(new IllegalStateException("es down"));
+
+        assertThrows(ExecutionException.class, first::get);
+        assertThrows(ExecutionException.class, second::get);
+        assertThrows(IllegalStateException.class, () -> singleFlight.call("sync", () -> {
+            throw new IllegalStateException("es down");
+        }, 1000));
+    }
+
+    @Test
+    void testCancelOnlyWhenAllCallersCancel() throws Exception {
+        SingleFlight singleFlight = new SingleFlight();
+        CompletableFuture<String> upstream = new CompletableFuture<>();
+        CompletableFuture<String> first = singleFlight.execute("k", () -> upstream);
+        CompletableFuture<String> second = singleFlight.execute("k", () -> upstream);
+
+        first.cancel(true);
+        assertFalse(upstream.isCancelled());
+
+        second.cancel(true);
+        assertTrue(upstream.isCancelled());
+
+        //撤掉以后新的调用重新发请求
+        CompletableFuture<String> third = singleFlight.execute("k", () -> CompletableFuture.completedFuture("again"));
+        assertEquals("again", third.get());
+    }
+}
@@ -0,0 +1,36 @@
+package cn.itcast.hotel;
+
+import cn.itcast.hotel.suggest.SuggestionTrie;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class SuggestionTrieTest {
+
+    @Test
+    void testTopByWeight() {
+        Map<String, Integer> weights = new HashMap<>();
+        weights.put("如家", 30);
+        weights.put("如家精选", 5);
+        weights.put("如意", 12);
+        weights.put("7天酒店", 8);
+        weights.put("Hilton", 3);
+        SuggestionTrie trie = SuggestionTrie.build(weights, 2);
+
+        assertEquals(Arrays.asList("如家", "如意"), trie.lookup("如", 10));
+        assertEquals(Arrays.asList("如家", "如家精选"), trie.lookup("如家", 10));
+        assertEquals(Collections.singletonList("Hilton"), trie.lookup("hil", 10));
+        assertEquals(Collections.emptyList(), trie.lookup("汉庭", 10));
+    }
+
+    @Test
+    void testEmpty() {
+        SuggestionTrie trie = SuggestionTrie.build(new HashMap<>(), 10);
+        assertEquals(Collections.emptyList(), trie.lookup("如", 10));
+    }
+}